@@ -70,6 +70,9 @@ import static com.codahale.metrics.MetricRegistry.name;
  * a batch finishes loading. BatchExecutorClient will block when the configured resources are being
  * used to execute tasks.
  *
+ * Queries are sent over REST. {@link ai.grakn.client.BulkLoader} loads queries through long-lived gRPC transactions
+ * instead, and should be preferred for large loads.
+ *
  * @author Domenico Corapi
  */
 public class BatchExecutorClient implements Closeable {
@@ -0,0 +1,429 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.client;
+
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.graql.Query;
+import ai.grakn.util.SimpleURI;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Client to bulk load graql queries which mutate the graph into Grakn over gRPC.
+ *
+ * <p>
+ * Queries are loaded by a fixed number of workers, each writing in its own {@link GraknTxType#WRITE} transaction of a
+ * {@link Grakn.Session}. A worker streams the queries it takes into its transaction as they are added, without waiting
+ * for their answers, and commits once the batch reaches the configured size or has been open for the configured
+ * delay. A batch failing with an error the server may recover from, such as a temporary lock, is retried on its own
+ * in a new transaction, while the other workers keep loading. A batch rejected because one of its queries is invalid is
+ * split in halves which are loaded on their own, down to single queries, so that its valid queries are still loaded
+ * and each invalid query is reported with its own error.
+ * </p>
+ *
+ * <p>
+ * {@link #add(Query)} blocks while the configured number of queries are waiting to be loaded, and {@link #close()}
+ * blocks until all added queries are loaded. A batch whose commit is lost with the connection, or is not answered
+ * within the configured timeout, is cancelled and retried. The server may have committed it already, so its queries
+ * may be loaded twice.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class BulkLoader implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkLoader.class);
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long RETRY_DELAY_MS = 100;
+    private static final long MAX_RETRY_DELAY_MS = 10_000;
+    private static final Set<Status.Code> RETRIABLE = ImmutableSet.of(
+            Status.Code.UNAVAILABLE, Status.Code.RESOURCE_EXHAUSTED, Status.Code.ABORTED, Status.Code.INTERNAL
+    );
+
+    private final Grakn.Session session;
+    private final boolean closeSession;
+    private final BlockingQueue<Query<?>> queue;
+    private final ExecutorService workers;
+
+    // Config
+    private final int batchSize;
+    private final int maxDelay;
+    private final int maxRetries;
+    private final int timeoutMs;
+
+    // Metrics
+    private final Meter loadedMeter;
+    private final Meter failureMeter;
+    private final Meter retryMeter;
+    private final Timer commitTimer;
+    private final Histogram batchSizeHistogram;
+
+    private volatile boolean closed = false;
+
+    @Nullable
+    private volatile Consumer<? super Query<?>> queryHandler = null;
+
+    @Nullable
+    private volatile Consumer<? super Exception> exceptionHandler = null;
+
+    private BulkLoader(Builder builder) {
+        session = builder.session;
+        closeSession = builder.closeSession;
+        batchSize = builder.batchSize;
+        maxDelay = builder.maxDelay;
+        maxRetries = builder.maxRetries;
+        timeoutMs = builder.timeoutMs;
+        queue = new LinkedBlockingQueue<>(builder.maxQueries);
+
+        MetricRegistry metricRegistry = builder.metricRegistry;
+        loadedMeter = metricRegistry.meter(name(BulkLoader.class, "loaded"));
+        failureMeter = metricRegistry.meter(name(BulkLoader.class, "failure"));
+        retryMeter = metricRegistry.meter(name(BulkLoader.class, "retry"));
+        commitTimer = metricRegistry.timer(name(BulkLoader.class, "commit"));
+        batchSizeHistogram = metricRegistry.histogram(name(BulkLoader.class, "batch", "size"));
+        String queued = name(BulkLoader.class, "queued");
+        metricRegistry.remove(queued);
+        metricRegistry.register(queued, (Gauge<Integer>) queue::size);
+
+        workers = Executors.newFixedThreadPool(builder.transactions,
+                new ThreadFactoryBuilder().setNameFormat("bulk-loader-%s").setDaemon(true).build());
+        for (int i = 0; i < builder.transactions; i++) {
+            workers.execute(this::load);
+        }
+    }
+
+    /**
+     * Will block until there is space for the query to be queued
+     */
+    public void add(Query<?> query) {
+        if (closed) throw new IllegalStateException("The bulk loader has been closed");
+        try {
+            queue.put(query);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param queryHandler called with each query once it has been committed
+     */
+    public void onNext(Consumer<? super Query<?>> queryHandler) {
+        this.queryHandler = queryHandler;
+    }
+
+    /**
+     * @param exceptionHandler called with the error of each batch which could not be loaded
+     */
+    public void onError(Consumer<? super Exception> exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Will block until all added queries have been loaded
+     */
+    @Override
+    public void close() {
+        LOG.debug("Closing BulkLoader");
+        closed = true;
+        workers.shutdown();
+
+        boolean interrupted = false;
+        while (!workers.isTerminated()) {
+            try {
+                workers.awaitTermination(POLL_INTERVAL_MS, MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (closeSession) session.close();
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    public static Builder newBuilder(Grakn.Session session) {
+        return new Builder(session, false);
+    }
+
+    public static Builder newBuilderForURI(SimpleURI uri, Keyspace keyspace) {
+        return new Builder(Grakn.session(uri, keyspace), true);
+    }
+
+    /**
+     * Loads the queries taken from the queue in batches, until the loader is closed and the queue is drained
+     */
+    private void load() {
+        Batch batch = null;
+        try {
+            while (batch != null || !closed || !queue.isEmpty()) {
+                long timeout = closed ? 0 : batch == null ? POLL_INTERVAL_MS : batch.remainingMs();
+                Query<?> query = queue.poll(timeout, MILLISECONDS);
+                if (query != null) {
+                    if (batch == null) batch = new Batch();
+                    batch.add(query);
+                }
+
+                if (batch != null && (batch.size() >= batchSize || batch.remainingMs() == 0 || (query == null && closed))) {
+                    batchSizeHistogram.update(batch.size());
+                    flush(batch);
+                    batch = null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(Batch batch) throws InterruptedException {
+        Exception failure;
+        try (Timer.Context context = commitTimer.time()) {
+            failure = batch.commit();
+            for (int attempt = 1; failure != null && attempt <= maxRetries && isRetriable(failure); attempt++) {
+                LOG.debug("Retrying batch of {} queries, attempt {}", batch.size(), attempt, failure);
+                retryMeter.mark();
+                MILLISECONDS.sleep(Math.min(RETRY_DELAY_MS << (attempt - 1), MAX_RETRY_DELAY_MS));
+                batch = new Batch(batch.queries);
+                failure = batch.commit();
+            }
+        }
+
+        if (failure != null && batch.size() > 1 && statusCode(failure) == Status.Code.INVALID_ARGUMENT) {
+            // The whole batch is rejected because of its invalid queries, so the halves are loaded on their own to
+            // narrow the failure down to the invalid queries
+            LOG.debug("Splitting batch of {} queries rejected as invalid", batch.size(), failure);
+            int half = (batch.size() + 1) / 2;
+            flush(new Batch(batch.queries.subList(0, half)));
+            flush(new Batch(batch.queries.subList(half, batch.size())));
+        } else if (failure == null) {
+            loadedMeter.mark(batch.size());
+            Consumer<? super Query<?>> handler = queryHandler;
+            if (handler != null) batch.queries.forEach(query -> handle(handler, query));
+        } else {
+            LOG.warn("Failed to load batch of {} queries", batch.size(), failure);
+            failureMeter.mark(batch.size());
+            Consumer<? super Exception> handler = exceptionHandler;
+            if (handler != null) handle(handler, failure);
+        }
+    }
+
+    private static <T> void handle(Consumer<? super T> handler, T value) {
+        try {
+            handler.accept(value);
+        } catch (RuntimeException e) {
+            LOG.error("Uncaught exception in bulk loader handler", e);
+        }
+    }
+
+    private static boolean isRetriable(Throwable failure) {
+        return RETRIABLE.contains(statusCode(failure));
+    }
+
+    @Nullable
+    private static Status.Code statusCode(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StatusRuntimeException) {
+                return ((StatusRuntimeException) cause).getStatus().getCode();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The queries loaded by a worker in a single transaction
+     */
+    private class Batch {
+        private final List<Query<?>> queries = new ArrayList<>();
+        private final List<CompletableFuture<?>> responses = new ArrayList<>();
+        private final long deadline = System.nanoTime() + MILLISECONDS.toNanos(maxDelay);
+
+        @Nullable
+        private Grakn.Transaction tx = null;
+
+        @Nullable
+        private Exception failure = null;
+
+        Batch() {
+        }
+
+        /**
+         * Creates a batch sending the given queries, e.g. those of a failed batch, in a new transaction
+         */
+        Batch(List<Query<?>> queries) {
+            queries.forEach(this::add);
+        }
+
+        int size() {
+            return queries.size();
+        }
+
+        long remainingMs() {
+            return Math.max(NANOSECONDS.toMillis(deadline - System.nanoTime()), 0);
+        }
+
+        void add(Query<?> query) {
+            queries.add(query);
+            if (failure != null) return;
+
+            try {
+                if (tx == null) tx = session.transaction(GraknTxType.WRITE);
+                responses.add(tx.queryAsync(query));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Commits the transaction once all the queries sent have been executed.
+         *
+         * If the batch is not committed within the timeout, the transaction is cancelled rather than waited for.
+         * The server may still have committed it, in which case retrying the batch loads its queries twice.
+         *
+         * @return the reason the batch failed to load, or null if it has been committed
+         */
+        @Nullable
+        Exception commit() throws InterruptedException {
+            if (failure != null || tx == null) return failure;
+
+            try {
+                // The transaction is closed by commitAsync once committed, and only cancelled here when it fails
+                responses.add(tx.commitAsync());
+                CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).get(timeoutMs, MILLISECONDS);
+            } catch (ExecutionException e) {
+                fail(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            } catch (TimeoutException | RuntimeException e) {
+                fail(e);
+            }
+            return failure;
+        }
+
+        /**
+         * Cancels the transaction without waiting for the server, which may not answer
+         */
+        private void fail(Exception e) {
+            failure = e;
+            if (tx != null) tx.cancel();
+        }
+    }
+
+    /**
+     * Builder
+     *
+     * @author Grakn Warriors
+     */
+    public static final class Builder {
+
+        private final Grakn.Session session;
+        private final boolean closeSession;
+        private int transactions = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 100;
+        private int maxDelay = 500;
+        private int maxRetries = 5;
+        private int timeoutMs = 60_000;
+        private int maxQueries = 10_000;
+        private MetricRegistry metricRegistry = new MetricRegistry();
+
+        private Builder(Grakn.Session session, boolean closeSession) {
+            this.session = session;
+            this.closeSession = closeSession;
+        }
+
+        /**
+         * @param val the number of transactions loading queries at once
+         */
+        public Builder transactions(int val) {
+            transactions = val;
+            return this;
+        }
+
+        /**
+         * @param val the number of queries after which a transaction is committed
+         */
+        public Builder batchSize(int val) {
+            batchSize = val;
+            return this;
+        }
+
+        /**
+         * @param val the milliseconds after which a transaction is committed, however many queries it contains
+         */
+        public Builder maxDelay(int val) {
+            maxDelay = val;
+            return this;
+        }
+
+        public Builder maxRetries(int val) {
+            maxRetries = val;
+            return this;
+        }
+
+        /**
+         * @param val the milliseconds to wait for a batch to be committed before it is cancelled and considered failed.
+         *            The server may commit a batch which timed out, so a batch retried after a timeout may be loaded twice
+         */
+        public Builder timeoutMs(int val) {
+            timeoutMs = val;
+            return this;
+        }
+
+        /**
+         * @param val the number of queries which can wait to be loaded before {@link BulkLoader#add(Query)} blocks
+         */
+        public Builder maxQueries(int val) {
+            maxQueries = val;
+            return this;
+        }
+
+        public Builder metricRegistry(MetricRegistry val) {
+            metricRegistry = val;
+            return this;
+        }
+
+        public BulkLoader build() {
+            return new BulkLoader(this);
+        }
+    }
+}
@@ -41,8 +41,10 @@ import ai.grakn.concept.Type;
 import ai.grakn.exception.GraknTxOperationException;
 import ai.grakn.exception.InvalidKBException;
 import ai.grakn.graql.Pattern;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.Var;
 import ai.grakn.graql.internal.query.QueryBuilderImpl;
 import ai.grakn.kb.admin.GraknAdmin;
 import ai.grakn.rpc.proto.ConceptProto;
@@ -53,13 +55,25 @@ import ai.grakn.rpc.proto.SessionServiceGrpc;
 import ai.grakn.util.CommonUtil;
 import ai.grakn.util.SimpleURI;
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -73,10 +87,23 @@ import static ai.grakn.util.CommonUtil.toImmutableSet;
  */
 public final class Grakn {
 
+    /**
+     * The number of answers of a query or concept method a transaction retrieves per round trip by default
+     */
+    public static final int DEFAULT_ITERATION_BATCH_SIZE = 50;
+
     private Grakn() {}
 
     public static Grakn.Session session(SimpleURI uri, Keyspace keyspace) {
-        return new Session(uri, keyspace);
+        return session(uri, keyspace, DEFAULT_ITERATION_BATCH_SIZE);
+    }
+
+    /**
+     * @param iterationBatchSize the number of answers transactions of the session retrieve per round trip, or 0 to
+     *                           retrieve them one at a time
+     */
+    public static Grakn.Session session(SimpleURI uri, Keyspace keyspace, int iterationBatchSize) {
+        return new Session(uri, keyspace, iterationBatchSize);
     }
 
     /**
@@ -90,10 +117,12 @@ public final class Grakn {
         private final Keyspace keyspace;
         private final SimpleURI uri;
         private final ManagedChannel channel;
+        private final int iterationBatchSize;
 
-        private Session(SimpleURI uri, Keyspace keyspace) {
+        private Session(SimpleURI uri, Keyspace keyspace, int iterationBatchSize) {
             this.keyspace = keyspace;
             this.uri = uri;
+            this.iterationBatchSize = iterationBatchSize;
             this.channel = ManagedChannelBuilder.forAddress(uri.getHost(), uri.getPort()).usePlaintext(true).build();
         }
 
@@ -105,6 +134,10 @@ public final class Grakn {
             return KeyspaceServiceGrpc.newBlockingStub(channel);
         }
 
+        int iterationBatchSize() {
+            return iterationBatchSize;
+        }
+
         @Override
         public Transaction transaction(GraknTxType type) {
             return new Transaction(this, type);
@@ -131,9 +164,38 @@ public final class Grakn {
      */
     public static final class Transaction implements GraknTx, GraknAdmin {
 
+        private static final Set<ConceptProto.Method.Req.ReqCase> WRITE_METHODS = Sets.immutableEnumSet(
+                ConceptProto.Method.Req.ReqCase.CONCEPT_DELETE_REQ,
+                ConceptProto.Method.Req.ReqCase.SCHEMACONCEPT_SETLABEL_REQ,
+                ConceptProto.Method.Req.ReqCase.SCHEMACONCEPT_SETSUP_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_SETABSTRACT_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_HAS_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_KEY_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_PLAYS_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_UNHAS_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_UNKEY_REQ,
+                ConceptProto.Method.Req.ReqCase.TYPE_UNPLAY_REQ,
+                ConceptProto.Method.Req.ReqCase.ENTITYTYPE_CREATE_REQ,
+                ConceptProto.Method.Req.ReqCase.RELATIONTYPE_CREATE_REQ,
+                ConceptProto.Method.Req.ReqCase.RELATIONTYPE_RELATES_REQ,
+                ConceptProto.Method.Req.ReqCase.RELATIONTYPE_UNRELATE_REQ,
+                ConceptProto.Method.Req.ReqCase.ATTRIBUTETYPE_CREATE_REQ,
+                ConceptProto.Method.Req.ReqCase.ATTRIBUTETYPE_SETREGEX_REQ,
+                ConceptProto.Method.Req.ReqCase.THING_RELHAS_REQ,
+                ConceptProto.Method.Req.ReqCase.THING_UNHAS_REQ,
+                ConceptProto.Method.Req.ReqCase.RELATION_ASSIGN_REQ,
+                ConceptProto.Method.Req.ReqCase.RELATION_UNASSIGN_REQ
+        );
+
         private final Session session;
         private final GraknTxType type;
         private final Transceiver transceiver;
+        private final Map<List<Object>, Integer> preparedQueryIds = new HashMap<>();
+        // Readers of the responses to requests sent ahead of time, in the order the requests were sent
+        private final Queue<Consumer<SessionProto.Transaction.Res>> pendingResponses = new ArrayDeque<>();
+        private ConceptProto.Projection projection = ConceptProto.Projection.getDefaultInstance();
+        // Incremented by every request which may change the properties of existing concepts
+        private final AtomicLong writeVersion = new AtomicLong();
 
         private Transaction(Session session, GraknTxType type) {
             this.session = session;
@@ -148,6 +210,28 @@ public final class Grakn {
             return this;
         }
 
+        /**
+         * Sets the properties of concepts which the server inlines into the answers of the following queries.
+         * Inlined properties are read by the concepts of the answers without a round trip to the server each.
+         *
+         * @param projection the properties to inline, none by default
+         * @return this transaction
+         */
+        public Transaction projection(ConceptProto.Projection projection) {
+            this.projection = projection;
+            return this;
+        }
+
+        /**
+         * Mutable properties cached by remote concepts, such as labels, attributes and role players, are only valid
+         * as long as the write version they were cached at is the current one.
+         *
+         * @return the number of requests sent in this transaction which may have changed existing concepts
+         */
+        public long writeVersion() {
+            return writeVersion.get();
+        }
+
         @Override
         public GraknTxType txType() {
             return type;
@@ -163,6 +247,14 @@ public final class Grakn {
             transceiver.close();
         }
 
+        /**
+         * Closes the transaction without waiting for the server, discarding it unless it has already been committed.
+         * Requests which have not been answered yet fail.
+         */
+        public void cancel() {
+            transceiver.cancel();
+        }
+
         @Override
         public boolean isClosed() {
             return transceiver.isClosed();
@@ -187,6 +279,27 @@ public final class Grakn {
         }
 
         private SessionProto.Transaction.Res responseOrThrow() {
+            receivePending();
+            return receiveOrThrow();
+        }
+
+        /**
+         * Sends a request without waiting for its response, which is passed to the provided reader once it is received.
+         * The server answers requests in order, so the response is received before the response of any later request.
+         */
+        private void sendAhead(SessionProto.Transaction.Req request, Consumer<SessionProto.Transaction.Res> reader) {
+            transceiver.send(request);
+            pendingResponses.add(reader);
+        }
+
+        private void receivePending() {
+            Consumer<SessionProto.Transaction.Res> reader;
+            while ((reader = pendingResponses.poll()) != null) {
+                reader.accept(receiveOrThrow());
+            }
+        }
+
+        private SessionProto.Transaction.Res receiveOrThrow() {
             Transceiver.Response response;
 
             try {
@@ -202,7 +315,7 @@ public final class Grakn {
                 case OK:
                     return response.ok();
                 case ERROR:
-                    throw new RuntimeException(response.error().getMessage());
+                    throw new RuntimeException(response.error().getMessage(), response.error());
                 case COMPLETED:
                 default:
                     throw CommonUtil.unreachableStatement("Unexpected response " + response);
@@ -217,7 +330,8 @@ public final class Grakn {
         }
 
         public java.util.Iterator query(Query<?> query) {
-            transceiver.send(RequestBuilder.Transaction.query(query.toString(), query.inferring()));
+            if (!query.isReadOnly()) writeVersion.incrementAndGet();
+            transceiver.send(RequestBuilder.Transaction.query(query.toString(), query.inferring(), projection));
             SessionProto.Transaction.Res txResponse = responseOrThrow();
 
             switch (txResponse.getQueryIter().getIterCase()) {
@@ -231,6 +345,77 @@ public final class Grakn {
             }
         }
 
+        public java.util.Iterator query(PreparedQuery query, Map<Var, ?> bindings) {
+            List<Object> preparedQueryKey = ImmutableList.of(query.query().toString(), query.query().inferring(), query.parameters());
+            Integer preparedQueryId = preparedQueryIds.get(preparedQueryKey);
+            if (preparedQueryId == null) {
+                transceiver.send(RequestBuilder.Transaction.prepareQuery(query));
+                preparedQueryId = responseOrThrow().getPrepareQueryRes().getId();
+                preparedQueryIds.put(preparedQueryKey, preparedQueryId);
+            }
+
+            if (!query.query().isReadOnly()) writeVersion.incrementAndGet();
+            transceiver.send(RequestBuilder.Transaction.executeQuery(preparedQueryId, bindings, projection));
+            int iteratorId = responseOrThrow().getQueryIter().getId();
+            return new Iterator<>(this, iteratorId, response -> RequestBuilder.Answer.answer(response.getQueryIterRes().getAnswer(), this));
+        }
+
+        /**
+         * Commits the transaction without waiting for the responses of the requests sent before.
+         *
+         * @return a future completed once the transaction has been committed and closed
+         */
+        public CompletableFuture<Void> commitAsync() {
+            // Closing waits for the server to end the stream, which cannot be received on the thread of the response
+            return transceiver.sendAsync(RequestBuilder.Transaction.commit()).thenRunAsync(this::close);
+        }
+
+        /**
+         * Executes a query without waiting for the responses of the requests sent before, so that several queries can
+         * be in flight in the same transaction. The server still executes the queries of a transaction in the order
+         * they are sent, and retrieves all the answers of a query, in batches, before the future is completed.
+         *
+         * <p>
+         * Futures are completed by the thread receiving the responses, so their callbacks must not block on this
+         * transaction, e.g. by executing queries synchronously.
+         * </p>
+         *
+         * @param query the query to execute
+         * @return a future of the answers of the query, empty if the query has no result
+         */
+        public CompletableFuture<List<Object>> queryAsync(Query<?> query) {
+            if (!query.isReadOnly()) writeVersion.incrementAndGet();
+            return transceiver.sendAsync(RequestBuilder.Transaction.query(query.toString(), query.inferring(), projection))
+                    .thenCompose(response -> {
+                        switch (response.getQueryIter().getIterCase()) {
+                            case NULL:
+                                return CompletableFuture.completedFuture(Collections.emptyList());
+                            case ID:
+                                return iterateAsync(response.getQueryIter().getId(), new ArrayList<>(),
+                                        res -> RequestBuilder.Answer.answer(res.getQueryIterRes().getAnswer(), this));
+                            default:
+                                throw CommonUtil.unreachableStatement("Unexpected " + response);
+                        }
+                    });
+        }
+
+        private <T> CompletableFuture<List<T>> iterateAsync(
+                int iteratorId, List<T> results, Function<SessionProto.Transaction.Iter.Res, T> responseReader) {
+            int batchSize = Math.max(session.iterationBatchSize(), 1);
+            return transceiver.sendAsync(RequestBuilder.Transaction.iterate(iteratorId, batchSize)).thenCompose(response -> {
+                List<SessionProto.Transaction.Iter.Res> batch = response.hasIterateBatch() ?
+                        response.getIterateBatch().getResList() :
+                        Collections.singletonList(response.getIterateRes());
+                for (SessionProto.Transaction.Iter.Res res : batch) {
+                    if (res.getResCase() == SessionProto.Transaction.Iter.Res.ResCase.DONE) {
+                        return CompletableFuture.completedFuture(results);
+                    }
+                    results.add(responseReader.apply(res));
+                }
+                return iterateAsync(iteratorId, results, responseReader);
+            });
+        }
+
         @Nullable
         @Override
         public <T extends Type> T getType(Label label) {
@@ -355,35 +540,66 @@ public final class Grakn {
                     .setId(id.getValue()).setMethod(method).build();
             SessionProto.Transaction.Req request = SessionProto.Transaction.Req.newBuilder().setConceptMethodReq(conceptMethod).build();
 
+            if (WRITE_METHODS.contains(method.getReqCase())) writeVersion.incrementAndGet();
             transceiver.send(request);
             return responseOrThrow();
         }
 
-        private SessionProto.Transaction.Iter.Res iterate(int iteratorId) {
-            transceiver.send(RequestBuilder.Transaction.iterate(iteratorId));
-            return responseOrThrow().getIterateRes();
-        }
-
         /**
          * A client-side iterator over gRPC messages. Will send {@link SessionProto.Transaction.Iter.Req} messages until
          * {@link SessionProto.Transaction.Iter.Res} returns done as a message.
          *
+         * <p>
+         * Unless the batch size of the session is 0, responses are requested in batches, and the next batch is
+         * requested as soon as the current one starts being read, so that the server computes it in the meantime.
+         * </p>
+         *
          * @param <T> class type of objects being iterated
          */
         public static class Iterator<T> extends AbstractIterator<T> {
             private final int iteratorId;
+            private final int batchSize;
+            private final Queue<SessionProto.Transaction.Iter.Res> responses = new ArrayDeque<>();
+            private boolean requested = false;
+            private boolean done = false;
             private Transaction tx;
             private Function<SessionProto.Transaction.Iter.Res, T> responseReader;
 
             public Iterator(Transaction tx, int iteratorId, Function<SessionProto.Transaction.Iter.Res, T> responseReader) {
                 this.tx = tx;
                 this.iteratorId = iteratorId;
+                this.batchSize = tx.session.iterationBatchSize();
                 this.responseReader = responseReader;
             }
 
+            private void request() {
+                requested = true;
+                SessionProto.Transaction.Req request = batchSize > 0 ?
+                        RequestBuilder.Transaction.iterate(iteratorId, batchSize) :
+                        RequestBuilder.Transaction.iterate(iteratorId);
+                tx.sendAhead(request, this::receive);
+            }
+
+            private void receive(SessionProto.Transaction.Res response) {
+                requested = false;
+                List<SessionProto.Transaction.Iter.Res> batch = response.hasIterateBatch() ?
+                        response.getIterateBatch().getResList() :
+                        Collections.singletonList(response.getIterateRes());
+                for (SessionProto.Transaction.Iter.Res res : batch) {
+                    if (res.getResCase() == SessionProto.Transaction.Iter.Res.ResCase.DONE) done = true;
+                    responses.add(res);
+                }
+            }
+
             @Override
             protected final T computeNext() {
-                SessionProto.Transaction.Iter.Res response = tx.iterate(iteratorId);
+                if (responses.isEmpty()) {
+                    if (!requested) request();
+                    tx.receivePending();
+                }
+
+                SessionProto.Transaction.Iter.Res response = responses.remove();
+                if (batchSize > 0 && !requested && !done) request();
 
                 switch (response.getResCase()) {
                     case DONE:
@@ -0,0 +1,49 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.client.concept;
+
+import ai.grakn.client.Grakn;
+
+import javax.annotation.Nullable;
+
+/**
+ * A mutable property of a remote concept, cached until the next request of the transaction which may change
+ * existing concepts, as given by {@link Grakn.Transaction#writeVersion()}.
+ *
+ * @param <T> the type of the property
+ */
+final class CachedProperty<T> {
+
+    private @Nullable T value = null;
+    private long writeVersion;
+
+    /**
+     * @return the cached value, or null if there is none or the transaction has written since it was cached
+     */
+    @Nullable
+    T get(Grakn.Transaction tx) {
+        T current = value;
+        return current != null && writeVersion == tx.writeVersion() ? current : null;
+    }
+
+    void set(T value, Grakn.Transaction tx) {
+        this.writeVersion = tx.writeVersion();
+        this.value = value;
+    }
+}
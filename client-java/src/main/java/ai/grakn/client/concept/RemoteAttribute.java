@@ -27,6 +27,7 @@ import ai.grakn.concept.Thing;
 import ai.grakn.rpc.proto.ConceptProto;
 import com.google.auto.value.AutoValue;
 
+import javax.annotation.Nullable;
 import java.util.stream.Stream;
 
 /**
@@ -37,16 +38,30 @@ import java.util.stream.Stream;
 @AutoValue
 public abstract class RemoteAttribute<D> extends RemoteThing<Attribute<D>, AttributeType<D>> implements Attribute<D> {
 
+    private @Nullable D value = null;
+
     static <D> RemoteAttribute<D> construct(Grakn.Transaction tx, ConceptId id) {
         return new AutoValue_RemoteAttribute<>(tx, id);
     }
 
+    @Override
+    void inline(ConceptProto.Concept concept) {
+        super.inline(concept);
+        if (concept.hasValue()) value = value(concept.getValue());
+    }
+
     @Override
     public final D value() {
-        ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
-                .setAttributeValueReq(ConceptProto.Attribute.Value.Req.getDefaultInstance()).build();
+        if (value == null) {
+            ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
+                    .setAttributeValueReq(ConceptProto.Attribute.Value.Req.getDefaultInstance()).build();
+
+            value = value(runMethod(method).getAttributeValueRes().getValue());
+        }
+        return value;
+    }
 
-        ConceptProto.ValueObject value = runMethod(method).getAttributeValueRes().getValue();
+    private D value(ConceptProto.ValueObject value) {
         // TODO: Fix this unsafe casting
         return (D) value.getAllFields().values().iterator().next();
     }
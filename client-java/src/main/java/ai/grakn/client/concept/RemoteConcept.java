@@ -38,34 +38,54 @@ public abstract class RemoteConcept<SomeConcept extends Concept> implements Conc
 
     public static Concept of(ConceptProto.Concept concept, Grakn.Transaction tx) {
         ConceptId id = ConceptId.of(concept.getId());
+        RemoteConcept<?> remoteConcept;
 
         switch (concept.getBaseType()) {
             case ENTITY:
-                return RemoteEntity.construct(tx, id);
+                remoteConcept = RemoteEntity.construct(tx, id);
+                break;
             case RELATION:
-                return RemoteRelationship.construct(tx, id);
+                remoteConcept = RemoteRelationship.construct(tx, id);
+                break;
             case ATTRIBUTE:
-                return RemoteAttribute.construct(tx, id);
+                remoteConcept = RemoteAttribute.construct(tx, id);
+                break;
             case ENTITY_TYPE:
-                return RemoteEntityType.construct(tx, id);
+                remoteConcept = RemoteEntityType.construct(tx, id);
+                break;
             case RELATION_TYPE:
-                return RemoteRelationshipType.construct(tx, id);
+                remoteConcept = RemoteRelationshipType.construct(tx, id);
+                break;
             case ATTRIBUTE_TYPE:
-                return RemoteAttributeType.construct(tx, id);
+                remoteConcept = RemoteAttributeType.construct(tx, id);
+                break;
             case ROLE:
-                return RemoteRole.construct(tx, id);
+                remoteConcept = RemoteRole.construct(tx, id);
+                break;
             case RULE:
-                return RemoteRule.construct(tx, id);
+                remoteConcept = RemoteRule.construct(tx, id);
+                break;
             case META_TYPE:
-                return RemoteMetaType.construct(tx, id);
+                remoteConcept = RemoteMetaType.construct(tx, id);
+                break;
             default:
             case UNRECOGNIZED:
                 throw new IllegalArgumentException("Unrecognised " + concept);
         }
+
+        remoteConcept.inline(concept);
+        return remoteConcept;
     }
 
     abstract Grakn.Transaction tx();
 
+    /**
+     * Caches the properties the server inlined into the message the concept is read from, as requested by the
+     * {@link ConceptProto.Projection} of the transaction, so that they are not retrieved with a round trip each
+     */
+    void inline(ConceptProto.Concept concept) {
+    }
+
     @Override
     public abstract ConceptId id();
 
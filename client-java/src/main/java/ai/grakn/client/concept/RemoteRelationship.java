@@ -28,10 +28,12 @@ import ai.grakn.concept.Role;
 import ai.grakn.concept.Thing;
 import ai.grakn.rpc.proto.ConceptProto;
 import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableSet;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -42,12 +44,36 @@ import java.util.stream.Stream;
 @AutoValue
 public abstract class RemoteRelationship extends RemoteThing<Relationship, RelationshipType> implements Relationship {
 
+    // Only known when inlined, and forgotten as soon as the transaction writes
+    private final CachedProperty<Map<Role, Set<Thing>>> rolePlayers = new CachedProperty<>();
+
     static RemoteRelationship construct(Grakn.Transaction tx, ConceptId id) {
         return new AutoValue_RemoteRelationship(tx, id);
     }
 
+    @Override
+    void inline(ConceptProto.Concept concept) {
+        super.inline(concept);
+        if (concept.hasRolePlayers()) {
+            Map<Role, Set<Thing>> inlined = new HashMap<>();
+            for (ConceptProto.Concept.RolePlayers.RolePlayer rolePlayer : concept.getRolePlayers().getRolePlayersList()) {
+                Role role = RemoteConcept.of(rolePlayer.getRole(), tx()).asRole();
+                Thing player = RemoteConcept.of(rolePlayer.getPlayer(), tx()).asThing();
+                inlined.computeIfAbsent(role, key -> new HashSet<>()).add(player);
+            }
+            rolePlayers.set(inlined, tx());
+        }
+    }
+
     @Override // TODO: Weird. Why is this not a stream, while other collections are returned as stream
     public final Map<Role, Set<Thing>> rolePlayersMap() {
+        Map<Role, Set<Thing>> cachedRolePlayers = rolePlayers.get(tx());
+        if (cachedRolePlayers != null) {
+            Map<Role, Set<Thing>> rolePlayerMap = new HashMap<>();
+            cachedRolePlayers.forEach((role, players) -> rolePlayerMap.put(role, new HashSet<>(players)));
+            return rolePlayerMap;
+        }
+
         ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
                 .setRelationRolePlayersMapReq(ConceptProto.Relation.RolePlayersMap.Req.getDefaultInstance()).build();
 
@@ -72,6 +98,15 @@ public abstract class RemoteRelationship extends RemoteThing<Relationship, Relat
 
     @Override
     public final Stream<Thing> rolePlayers(Role... roles) {
+        Map<Role, Set<Thing>> cachedRolePlayers = rolePlayers.get(tx());
+        if (cachedRolePlayers != null) {
+            Set<Role> filter = ImmutableSet.copyOf(roles);
+            return cachedRolePlayers.entrySet().stream()
+                    .filter(entry -> filter.isEmpty() || filter.contains(entry.getKey()))
+                    .flatMap(entry -> entry.getValue().stream())
+                    .distinct();
+        }
+
         ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
                 .setRelationRolePlayersReq(ConceptProto.Relation.RolePlayers.Req.newBuilder()
                         .addAllRoles(RequestBuilder.Concept.concepts(Arrays.asList(roles)))).build();
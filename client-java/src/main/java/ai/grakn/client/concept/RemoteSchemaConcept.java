@@ -37,6 +37,14 @@ import java.util.stream.Stream;
  */
 abstract class RemoteSchemaConcept<SomeSchemaConcept extends SchemaConcept> extends RemoteConcept<SomeSchemaConcept> implements SchemaConcept {
 
+    // Labels can be changed, so the label is only cached until the transaction writes
+    private final CachedProperty<Label> label = new CachedProperty<>();
+
+    @Override
+    void inline(ConceptProto.Concept concept) {
+        if (!concept.getLabel().isEmpty()) label.set(Label.of(concept.getLabel()), tx());
+    }
+
     public final SomeSchemaConcept sup(SomeSchemaConcept type) {
         ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
                 .setSchemaConceptSetSupReq(ConceptProto.SchemaConcept.SetSup.Req.newBuilder()
@@ -57,10 +65,15 @@ abstract class RemoteSchemaConcept<SomeSchemaConcept extends SchemaConcept> exte
 
     @Override
     public final Label label() {
-        ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
-                .setSchemaConceptGetLabelReq(ConceptProto.SchemaConcept.GetLabel.Req.getDefaultInstance()).build();
+        Label cachedLabel = label.get(tx());
+        if (cachedLabel == null) {
+            ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
+                    .setSchemaConceptGetLabelReq(ConceptProto.SchemaConcept.GetLabel.Req.getDefaultInstance()).build();
 
-        return Label.of(runMethod(method).getSchemaConceptGetLabelRes().getLabel());
+            cachedLabel = Label.of(runMethod(method).getSchemaConceptGetLabelRes().getLabel());
+            label.set(cachedLabel, tx());
+        }
+        return cachedLabel;
     }
 
     @Override
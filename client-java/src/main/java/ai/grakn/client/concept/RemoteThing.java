@@ -28,7 +28,10 @@ import ai.grakn.concept.Thing;
 import ai.grakn.concept.Type;
 import ai.grakn.rpc.proto.ConceptProto;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -39,13 +42,32 @@ import java.util.stream.Stream;
  */
 abstract class RemoteThing<SomeThing extends Thing, SomeType extends Type> extends RemoteConcept<SomeThing> implements Thing {
 
+    private @Nullable SomeType type = null;
+    // Only known when inlined, and forgotten as soon as the transaction writes
+    private final CachedProperty<List<Attribute<?>>> attributes = new CachedProperty<>();
+
     @Override
-    public final SomeType type() {
-        ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
-                .setThingTypeReq(ConceptProto.Thing.Type.Req.getDefaultInstance()).build();
+    void inline(ConceptProto.Concept concept) {
+        if (concept.hasType()) {
+            type = asCurrentType(RemoteConcept.of(concept.getType(), tx()));
+        }
+        if (concept.hasAttributes()) {
+            attributes.set(concept.getAttributes().getAttributesList().stream()
+                    .<Attribute<?>>map(attribute -> RemoteConcept.of(attribute, tx()).asAttribute())
+                    .collect(Collectors.toList()), tx());
+        }
+    }
 
-        Concept concept = RemoteConcept.of(runMethod(method).getThingTypeRes().getType(), tx());
-        return asCurrentType(concept);
+    @Override
+    public final SomeType type() {
+        if (type == null) {
+            ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
+                    .setThingTypeReq(ConceptProto.Thing.Type.Req.getDefaultInstance()).build();
+
+            Concept concept = RemoteConcept.of(runMethod(method).getThingTypeRes().getType(), tx());
+            type = asCurrentType(concept);
+        }
+        return type;
     }
 
     @Override
@@ -68,6 +90,9 @@ abstract class RemoteThing<SomeThing extends Thing, SomeType extends Type> exten
 
     @Override
     public final Stream<Attribute<?>> attributes(AttributeType... attributeTypes) {
+        List<Attribute<?>> cachedAttributes = attributes.get(tx());
+        if (cachedAttributes != null && attributeTypes.length == 0) return cachedAttributes.stream();
+
         ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
                 .setThingAttributesReq(ConceptProto.Thing.Attributes.Req.newBuilder()
                         .addAllAttributeTypes(RequestBuilder.Concept.concepts(Arrays.asList(attributeTypes)))).build();
@@ -23,15 +23,19 @@ import ai.grakn.graql.AggregateQuery;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.DefineQuery;
 import ai.grakn.graql.DeleteQuery;
+import ai.grakn.graql.ExplainQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.InsertQuery;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.UndefineQuery;
+import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.client.Grakn;
 import com.google.common.collect.Iterators;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -55,6 +59,13 @@ public final class RemoteQueryExecutor implements QueryExecutor {
         return runAnswerStream(query);
     }
 
+    @Override
+    public Stream<Answer> run(PreparedQuery query, Map<Var, ?> bindings) {
+        Iterable<Object> iterable = () -> tx.query(query, bindings);
+        Stream<Object> stream = StreamSupport.stream(iterable.spliterator(), false);
+        return stream.map(Answer.class::cast);
+    }
+
     @Override
     public Stream<Answer> run(InsertQuery query) {
         return runAnswerStream(query);
@@ -89,6 +100,11 @@ public final class RemoteQueryExecutor implements QueryExecutor {
         return RemoteComputeExecutor.of(answer);
     }
 
+    @Override
+    public String run(ExplainQuery query) {
+        return (String) Iterators.getOnlyElement(tx.query(query));
+    }
+
     private void runVoid(Query<?> query) {
         tx.query(query).forEachRemaining(empty -> {});
     }
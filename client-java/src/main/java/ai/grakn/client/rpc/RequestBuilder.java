@@ -27,6 +27,7 @@ import ai.grakn.concept.Label;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.Graql;
 import ai.grakn.graql.Pattern;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.internal.query.ComputeQueryImpl;
@@ -88,13 +89,49 @@ public class RequestBuilder {
         }
 
         public static SessionProto.Transaction.Req query(String queryString, boolean infer) {
-            SessionProto.Transaction.Query.Req request = SessionProto.Transaction.Query.Req.newBuilder()
+            return query(queryString, infer, ConceptProto.Projection.getDefaultInstance());
+        }
+
+        public static SessionProto.Transaction.Req query(String queryString, boolean infer, ConceptProto.Projection projection) {
+            SessionProto.Transaction.Query.Req.Builder request = SessionProto.Transaction.Query.Req.newBuilder()
                     .setQuery(queryString)
-                    .setInfer(infer ? SessionProto.Transaction.Query.INFER.TRUE : SessionProto.Transaction.Query.INFER.FALSE)
-                    .build();
+                    .setInfer(infer ? SessionProto.Transaction.Query.INFER.TRUE : SessionProto.Transaction.Query.INFER.FALSE);
+            if (!projection.equals(ConceptProto.Projection.getDefaultInstance())) request.setProjection(projection);
             return SessionProto.Transaction.Req.newBuilder().setQueryReq(request).build();
         }
 
+        public static SessionProto.Transaction.Req prepareQuery(PreparedQuery query) {
+            SessionProto.Transaction.PrepareQuery.Req request = SessionProto.Transaction.PrepareQuery.Req.newBuilder()
+                    .setQuery(query.query().toString())
+                    .setInfer(query.query().inferring() ? SessionProto.Transaction.Query.INFER.TRUE : SessionProto.Transaction.Query.INFER.FALSE)
+                    .addAllParameters(query.parameters().stream().map(Var::getValue).collect(toList()))
+                    .build();
+            return SessionProto.Transaction.Req.newBuilder().setPrepareQueryReq(request).build();
+        }
+
+        public static SessionProto.Transaction.Req executeQuery(int preparedQueryId, Map<Var, ?> bindings) {
+            return executeQuery(preparedQueryId, bindings, ConceptProto.Projection.getDefaultInstance());
+        }
+
+        public static SessionProto.Transaction.Req executeQuery(int preparedQueryId, Map<Var, ?> bindings, ConceptProto.Projection projection) {
+            SessionProto.Transaction.ExecuteQuery.Req.Builder request = SessionProto.Transaction.ExecuteQuery.Req.newBuilder()
+                    .setId(preparedQueryId);
+            if (!projection.equals(ConceptProto.Projection.getDefaultInstance())) request.setProjection(projection);
+            bindings.forEach((parameter, value) -> {
+                SessionProto.Transaction.ExecuteQuery.Binding.Builder binding = SessionProto.Transaction.ExecuteQuery.Binding.newBuilder()
+                        .setParameter(parameter.getValue());
+                if (value instanceof ConceptId) {
+                    binding.setId(((ConceptId) value).getValue());
+                } else if (value instanceof ai.grakn.concept.Concept) {
+                    binding.setId(((ai.grakn.concept.Concept) value).getId().getValue());
+                } else {
+                    binding.setValue(Concept.attributeValue(value));
+                }
+                request.addBindings(binding);
+            });
+            return SessionProto.Transaction.Req.newBuilder().setExecuteQueryReq(request).build();
+        }
+
         public static SessionProto.Transaction.Req getSchemaConcept(Label label) {
             return SessionProto.Transaction.Req.newBuilder()
                     .setGetSchemaConceptReq(SessionProto.Transaction.GetSchemaConcept.Req.newBuilder().setLabel(label.getValue()))
@@ -158,6 +195,13 @@ public class RequestBuilder {
                     .setIterateReq(SessionProto.Transaction.Iter.Req.newBuilder()
                             .setId(iteratorId)).build();
         }
+
+        public static SessionProto.Transaction.Req iterate(int iteratorId, int batchSize) {
+            return SessionProto.Transaction.Req.newBuilder()
+                    .setIterateReq(SessionProto.Transaction.Iter.Req.newBuilder()
+                            .setId(iteratorId)
+                            .setBatchSize(batchSize)).build();
+        }
     }
 
     /**
@@ -23,13 +23,19 @@ import ai.grakn.rpc.proto.SessionProto.Transaction;
 import ai.grakn.rpc.proto.SessionServiceGrpc;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Wrapper making transaction calls to the Grakn RPC Server - handles sending a stream of {@link Transaction.Req} and
@@ -38,6 +44,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * A request is sent with the {@link #send(Transaction.Req)}} method, and you can block for a response with the
  * {@link #receive()} method.
  *
+ * Requests can also be pipelined with the {@link #sendAsync(Transaction.Req)} method, which tags them with a request id
+ * and completes a future with the response carrying the same id, instead of queueing it for {@link #receive()}.
+ *
  * {@code
  *     try (Transceiver tx = Transceiver.create(stub) {
  *         tx.send(openMessage);
@@ -51,6 +60,8 @@ public class Transceiver implements AutoCloseable {
 
     private final StreamObserver<Transaction.Req> requestSender;
     private final ResponseListener responseListener;
+    private final AtomicLong requestIds = new AtomicLong();
+    private boolean requestsCompleted = false;
 
     private Transceiver(StreamObserver<Transaction.Req> requestSender, ResponseListener responseListener) {
         this.requestSender = requestSender;
@@ -68,13 +79,32 @@ public class Transceiver implements AutoCloseable {
      *
      * This method is non-blocking - it returns immediately.
      */
-    public void send(Transaction.Req request) {
+    public synchronized void send(Transaction.Req request) {
         if (responseListener.terminated.get()) {
             throw GraknTxOperationException.transactionClosed(null, "The gRPC connection closed");
         }
         requestSender.onNext(request);
     }
 
+    /**
+     * Send a request and return a future of its response, without waiting for the responses of previous requests.
+     *
+     * The future is completed by the thread receiving the response, so its callbacks must not block on this
+     * {@link Transceiver}. If the server fails or the connection closes, the future completes exceptionally.
+     */
+    public CompletableFuture<Transaction.Res> sendAsync(Transaction.Req request) {
+        long requestId = requestIds.incrementAndGet();
+        CompletableFuture<Transaction.Res> response = new CompletableFuture<>();
+        responseListener.pending.put(requestId, response);
+        try {
+            send(request.toBuilder().setRequestId(requestId).build());
+        } catch (RuntimeException e) {
+            responseListener.pending.remove(requestId);
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
     /**
      * Block until a response is returned.
      */
@@ -86,8 +116,30 @@ public class Transceiver implements AutoCloseable {
         return response;
     }
 
+    /**
+     * Ends the stream of requests and blocks until the server ends the stream of responses.
+     *
+     * This method is idempotent and can be called concurrently - every call returns once the stream has ended.
+     */
     @Override
     public void close() {
+        completeRequests();
+        responseListener.close();
+    }
+
+    /**
+     * Cancels the call without waiting for the server, which discards the transaction unless it has already been
+     * committed. Pending responses fail, and {@link #close()} returns once the cancellation has been processed.
+     */
+    public synchronized void cancel() {
+        if (responseListener.terminated.get()) return;
+        requestsCompleted = true;
+        requestSender.onError(Status.CANCELLED.withDescription("Cancelled by the client").asRuntimeException());
+    }
+
+    private synchronized void completeRequests() {
+        if (requestsCompleted) return;
+        requestsCompleted = true;
         try{
             requestSender.onCompleted();
         } catch (IllegalStateException e) {
@@ -97,7 +149,6 @@ public class Transceiver implements AutoCloseable {
             //2. Error can lead to connection closures but the transaction may stay open
             //When this occurs a "half-closed" state is thrown which we can safely ignore
         }
-        responseListener.close();
     }
 
     public boolean isClosed(){
@@ -105,18 +156,26 @@ public class Transceiver implements AutoCloseable {
     }
 
     /**
-     * A {@link StreamObserver} that stores all responses in a blocking queue.
+     * A {@link StreamObserver} that stores all responses in a blocking queue, except for the responses to pipelined
+     * requests, which complete the future of their request.
      *
      * A response can be polled with the {@link #poll()} method.
      */
     private static class ResponseListener implements StreamObserver<Transaction.Res>, AutoCloseable {
 
         private final BlockingQueue<Response> queue = new LinkedBlockingDeque<>();
+        private final Map<Long, CompletableFuture<Transaction.Res>> pending = new ConcurrentHashMap<>();
         private final AtomicBoolean terminated = new AtomicBoolean(false);
+        private final CountDownLatch terminatedLatch = new CountDownLatch(1);
 
         @Override
         public void onNext(Transaction.Res value) {
-            queue.add(Response.ok(value));
+            CompletableFuture<Transaction.Res> response = pending.remove(value.getRequestId());
+            if (response != null) {
+                response.complete(value);
+            } else {
+                queue.add(Response.ok(value));
+            }
         }
 
         @Override
@@ -124,12 +183,23 @@ public class Transceiver implements AutoCloseable {
             terminated.set(true);
             assert throwable instanceof StatusRuntimeException : "The server only yields these exceptions";
             queue.add(Response.error((StatusRuntimeException) throwable));
+            failPending(throwable);
+            terminatedLatch.countDown();
         }
 
         @Override
         public void onCompleted() {
             terminated.set(true);
             queue.add(Response.completed());
+            failPending(GraknTxOperationException.transactionClosed(null, "The gRPC connection closed"));
+            terminatedLatch.countDown();
+        }
+
+        private void failPending(Throwable throwable) {
+            for (Long requestId : pending.keySet()) {
+                CompletableFuture<Transaction.Res> response = pending.remove(requestId);
+                if (response != null) response.completeExceptionally(throwable);
+            }
         }
 
         Response poll() throws InterruptedException {
@@ -150,14 +220,16 @@ public class Transceiver implements AutoCloseable {
             return queue.take();
         }
 
+        /**
+         * Blocks until the server ends the stream, without consuming the responses, so that any number of threads
+         * can wait for it.
+         */
         @Override
         public void close() {
-            while (!terminated.get()) {
-                try {
-                    poll();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+            try {
+                terminatedLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
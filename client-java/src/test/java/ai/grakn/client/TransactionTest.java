@@ -23,6 +23,7 @@ import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
 import ai.grakn.client.concept.RemoteConcept;
 import ai.grakn.client.rpc.RequestBuilder;
+import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
 import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Label;
@@ -54,7 +55,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 import static ai.grakn.graql.Graql.match;
@@ -67,6 +72,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -193,6 +199,136 @@ public class TransactionTest {
         }
     }
 
+    @Test(timeout = 5_000)
+    public void whenStreamingAQueryInBatches_AnswersAreReadFromEachBatch() {
+        when(session.iterationBatchSize()).thenReturn(2);
+
+        Transaction.Res queryIterator = SessionProto.Transaction.Res.newBuilder()
+                .setQueryIter(SessionProto.Transaction.Query.Iter.newBuilder().setId(ITERATOR))
+                .build();
+
+        Query<?> query = match(var("x").sub("thing")).get();
+        String queryString = query.toString();
+        ConceptProto.Concept v123 = ConceptProto.Concept.newBuilder().setId(V123).build();
+        SessionProto.Transaction.Iter.Res answer = SessionProto.Transaction.Iter.Res.newBuilder()
+                .setQueryIterRes(SessionProto.Transaction.Query.Iter.Res.newBuilder()
+                        .setAnswer(AnswerProto.Answer.newBuilder()
+                                .setQueryAnswer(AnswerProto.QueryAnswer.newBuilder().putQueryAnswer("x", v123)))).build();
+        Transaction.Res iteratorNext = Transaction.Res.newBuilder()
+                .setIterateBatch(SessionProto.Transaction.Iter.Batch.newBuilder().addRes(answer).addRes(answer))
+                .build();
+
+        server.setResponse(RequestBuilder.Transaction.query(query), queryIterator);
+        server.setResponse(RequestBuilder.Transaction.iterate(ITERATOR, 2), iteratorNext);
+
+        List<Answer> answers;
+
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            verify(server.requestListener()).onNext(any()); // The open request
+            answers = tx.graql().<GetQuery>parse(queryString).stream().limit(5).collect(toList());
+            verify(server.requestListener(), never()).onNext(RequestBuilder.Transaction.iterate(ITERATOR));
+        }
+
+        assertEquals(5, answers.size());
+
+        for (Answer result : answers) {
+            assertEquals(ConceptId.of("V123"), result.get(var("x")).id());
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void whenQueryingWithAProjection_InlinedPropertiesAreReadWithoutConceptMethods() {
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder().setType(true).setValue(true).build();
+
+        Transaction.Res queryIterator = SessionProto.Transaction.Res.newBuilder()
+                .setQueryIter(SessionProto.Transaction.Query.Iter.newBuilder().setId(ITERATOR))
+                .build();
+
+        Query<?> query = match(var("x").isa("name")).get();
+        String queryString = query.toString();
+        ConceptProto.Concept name = ConceptProto.Concept.newBuilder()
+                .setId(V123)
+                .setBaseType(ConceptProto.Concept.BASE_TYPE.ATTRIBUTE)
+                .setType(ConceptProto.Concept.newBuilder()
+                        .setId("V456").setBaseType(ConceptProto.Concept.BASE_TYPE.ATTRIBUTE_TYPE).setLabel("name"))
+                .setValue(ConceptProto.ValueObject.newBuilder().setString("alice"))
+                .build();
+        Transaction.Res iteratorNext = Transaction.Res.newBuilder()
+                .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
+                        .setQueryIterRes(SessionProto.Transaction.Query.Iter.Res.newBuilder()
+                                .setAnswer(AnswerProto.Answer.newBuilder()
+                                        .setQueryAnswer(AnswerProto.QueryAnswer.newBuilder().putQueryAnswer("x", name))))).build();
+
+        server.setResponse(RequestBuilder.Transaction.query(queryString, query.inferring(), projection), queryIterator);
+        server.setResponse(RequestBuilder.Transaction.iterate(ITERATOR), iteratorNext);
+
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            verify(server.requestListener()).onNext(any()); // The open request
+            Answer answer = tx.projection(projection).graql().<GetQuery>parse(queryString).stream().findFirst().get();
+
+            Attribute<?> attribute = answer.get(var("x")).asAttribute();
+            assertEquals("alice", attribute.value());
+            assertEquals(Label.of("name"), attribute.type().label());
+            verify(server.requestListener(), never()).onNext(argThat(Transaction.Req::hasConceptMethodReq));
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void whenTheTransactionWrites_InlinedMutablePropertiesAreRetrievedAgain() {
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder().setType(true).setValue(true).build();
+
+        Transaction.Res queryIterator = SessionProto.Transaction.Res.newBuilder()
+                .setQueryIter(SessionProto.Transaction.Query.Iter.newBuilder().setId(ITERATOR))
+                .build();
+
+        Query<?> query = match(var("x").isa("name")).get();
+        String queryString = query.toString();
+        ConceptProto.Concept name = ConceptProto.Concept.newBuilder()
+                .setId(V123)
+                .setBaseType(ConceptProto.Concept.BASE_TYPE.ATTRIBUTE)
+                .setType(ConceptProto.Concept.newBuilder()
+                        .setId("V456").setBaseType(ConceptProto.Concept.BASE_TYPE.ATTRIBUTE_TYPE).setLabel("name"))
+                .setValue(ConceptProto.ValueObject.newBuilder().setString("alice"))
+                .build();
+        Transaction.Res iteratorNext = Transaction.Res.newBuilder()
+                .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
+                        .setQueryIterRes(SessionProto.Transaction.Query.Iter.Res.newBuilder()
+                                .setAnswer(AnswerProto.Answer.newBuilder()
+                                        .setQueryAnswer(AnswerProto.QueryAnswer.newBuilder().putQueryAnswer("x", name))))).build();
+
+        Transaction.Req getLabel = Transaction.Req.newBuilder()
+                .setConceptMethodReq(SessionProto.Transaction.ConceptMethod.Req.newBuilder()
+                        .setId("V456")
+                        .setMethod(ConceptProto.Method.Req.newBuilder()
+                                .setSchemaConceptGetLabelReq(ConceptProto.SchemaConcept.GetLabel.Req.getDefaultInstance())))
+                .build();
+        Transaction.Res label = Transaction.Res.newBuilder()
+                .setConceptMethodRes(SessionProto.Transaction.ConceptMethod.Res.newBuilder()
+                        .setResponse(ConceptProto.Method.Res.newBuilder()
+                                .setSchemaConceptGetLabelRes(ConceptProto.SchemaConcept.GetLabel.Res.newBuilder()
+                                        .setLabel("username"))))
+                .build();
+
+        server.setResponse(RequestBuilder.Transaction.query(queryString, query.inferring(), projection), queryIterator);
+        server.setResponse(RequestBuilder.Transaction.iterate(ITERATOR), iteratorNext);
+        server.setResponse(getLabel, label);
+
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            verify(server.requestListener()).onNext(any()); // The open request
+            Answer answer = tx.projection(projection).graql().<GetQuery>parse(queryString).stream().findFirst().get();
+
+            Attribute<?> attribute = answer.get(var("x")).asAttribute();
+            assertEquals(Label.of("name"), attribute.type().label());
+            verify(server.requestListener(), never()).onNext(getLabel);
+
+            attribute.type().label(Label.of("username"));
+
+            assertEquals(Label.of("username"), attribute.type().label());
+            assertEquals("alice", attribute.value());
+            verify(server.requestListener()).onNext(getLabel);
+        }
+    }
+
     @Test
     public void whenCommitting_SendACommitMessageToGrpc() {
         try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
@@ -204,6 +340,96 @@ public class TransactionTest {
         verify(server.requestListener()).onNext(RequestBuilder.Transaction.commit());
     }
 
+    @Test(timeout = 5_000)
+    public void whenCommittingAsynchronously_TheTransactionIsCommittedAndClosed() throws Exception {
+        Transaction.Req commit = RequestBuilder.Transaction.commit().toBuilder().setRequestId(1).build();
+        server.setResponse(commit, Transaction.Res.newBuilder()
+                .setCommitRes(SessionProto.Transaction.Commit.Res.getDefaultInstance()).setRequestId(1).build());
+
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            verify(server.requestListener()).onNext(any()); // The open request
+
+            tx.commitAsync().get();
+
+            verify(server.requestListener()).onNext(commit);
+            verify(server.requestListener()).onCompleted();
+            assertTrue(tx.isClosed());
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void whenQueryingAsynchronously_AllTheAnswersAreRetrieved() throws Exception {
+        Query<?> query = match(var("x").isa("person")).get();
+        String queryString = query.toString();
+
+        Transaction.Req queryRequest = RequestBuilder.Transaction.query(queryString, query.inferring())
+                .toBuilder().setRequestId(1).build();
+        server.setResponse(queryRequest, Transaction.Res.newBuilder()
+                .setQueryIter(SessionProto.Transaction.Query.Iter.newBuilder().setId(ITERATOR)).setRequestId(1).build());
+
+        ConceptProto.Concept person = ConceptProto.Concept.newBuilder()
+                .setId(V123).setBaseType(ConceptProto.Concept.BASE_TYPE.ENTITY).build();
+        SessionProto.Transaction.Iter.Res answer = SessionProto.Transaction.Iter.Res.newBuilder()
+                .setQueryIterRes(SessionProto.Transaction.Query.Iter.Res.newBuilder()
+                        .setAnswer(AnswerProto.Answer.newBuilder()
+                                .setQueryAnswer(AnswerProto.QueryAnswer.newBuilder().putQueryAnswer("x", person))))
+                .build();
+
+        // The first batch of answers is answered as a batch, the end of the iterator as a single response
+        server.setResponse(RequestBuilder.Transaction.iterate(ITERATOR, 1).toBuilder().setRequestId(2).build(),
+                Transaction.Res.newBuilder()
+                        .setIterateBatch(SessionProto.Transaction.Iter.Batch.newBuilder().addRes(answer))
+                        .setRequestId(2).build());
+        server.setResponse(RequestBuilder.Transaction.iterate(ITERATOR, 1).toBuilder().setRequestId(3).build(),
+                Transaction.Res.newBuilder()
+                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder().setDone(true))
+                        .setRequestId(3).build());
+
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            verify(server.requestListener()).onNext(any()); // The open request
+
+            List<Object> answers = tx.queryAsync(query).get();
+
+            assertEquals(1, answers.size());
+            assertEquals(ConceptId.of(V123), ((Answer) answers.get(0)).get(var("x")).id());
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void whenQueryingAsynchronouslyAQueryWithoutResults_AnEmptyListIsReturned() throws Exception {
+        Query<?> query = match(var("x").isa("person")).get();
+
+        Transaction.Req queryRequest = RequestBuilder.Transaction.query(query.toString(), query.inferring())
+                .toBuilder().setRequestId(1).build();
+        server.setResponse(queryRequest, Transaction.Res.newBuilder()
+                .setQueryIter(SessionProto.Transaction.Query.Iter.newBuilder()
+                        .setNull(ConceptProto.Null.getDefaultInstance()))
+                .setRequestId(1).build());
+
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            assertTrue(tx.queryAsync(query).get().isEmpty());
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void whenClosingATransactionConcurrently_EveryCallReturns() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
+            List<Future<?>> closes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                closes.add(executor.submit(tx::close));
+            }
+            for (Future<?> close : closes) {
+                close.get();
+            }
+
+            assertTrue(tx.isClosed());
+            verify(server.requestListener()).onCompleted();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void whenCreatingAGraknRemoteTxWithKeyspace_SetsKeyspaceOnTx() {
         try (Grakn.Transaction tx = session.transaction(GraknTxType.WRITE)) {
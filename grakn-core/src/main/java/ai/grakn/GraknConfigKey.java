@@ -77,6 +77,9 @@ public abstract class GraknConfigKey<T> {
     public static final GraknConfigKey<String> SERVER_HOST_NAME = key("server.host");
     public static final GraknConfigKey<Integer> SERVER_PORT = key("server.port", INT);
     public static final GraknConfigKey<Integer> GRPC_PORT = key("grpc.port", INT);
+    public static final GraknConfigKey<Integer> GRPC_MAX_TRANSACTIONS = key("grpc.max-transactions", INT);
+    public static final GraknConfigKey<Integer> GRPC_MAX_QUEUED_TRANSACTIONS = key("grpc.max-queued-transactions", INT);
+    public static final GraknConfigKey<Long> GRPC_MAX_QUEUE_WAIT_MS = key("grpc.max-queue-wait-ms", LONG);
 
     public static final GraknConfigKey<String> STORAGE_HOSTNAME = key("storage.hostname", STRING);
     public static final GraknConfigKey<String> STORAGE_BATCH_LOADING = key("storage.batch-loading", STRING);
@@ -90,6 +93,12 @@ public abstract class GraknConfigKey<T> {
     public static final GraknConfigKey<Integer> REDIS_POOL_SIZE = key("queue.pool-size", INT);
     public static final GraknConfigKey<Integer> POST_PROCESSOR_POOL_SIZE = key("post-processor.pool-size", INT);
     public static final GraknConfigKey<Integer> POST_PROCESSOR_DELAY = key("post-processor.delay", INT);
+    public static final GraknConfigKey<Integer> POST_PROCESSOR_BATCH_SIZE = key("post-processor.batch-size", INT);
+    public static final GraknConfigKey<Integer> COMMIT_LOG_FLUSH_SIZE = key("post-processor.commit-log.flush-size", INT);
+    public static final GraknConfigKey<Long> COMMIT_LOG_FLUSH_PERIOD_MS = key("post-processor.commit-log.flush-period-ms", LONG);
+    public static final GraknConfigKey<Integer> COMMIT_LOG_MAX_BUFFERED = key("post-processor.commit-log.max-buffered", INT);
+    public static final GraknConfigKey<String> POST_PROCESSOR_STORAGE = key("post-processor.storage");
+    public static final GraknConfigKey<Boolean> POST_PROCESSOR_JOURNAL = key("post-processor.journal", BOOL);
 
     public static final GraknConfigKey<Path> STATIC_FILES_PATH = key("server.static-file-dir", PATH);
 
@@ -97,9 +106,22 @@ public abstract class GraknConfigKey<T> {
 
     public static final GraknConfigKey<Integer> TASKS_RETRY_DELAY = key("tasks.retry.delay", INT);
 
+    public static final GraknConfigKey<Integer> REASONER_SESSION_CACHE_SIZE = key("reasoner.session-cache.size", INT);
+    public static final GraknConfigKey<Integer> REASONER_PARALLELISM = key("reasoner.parallelism", INT);
+    public static final GraknConfigKey<Integer> GRAQL_PLAN_CACHE_SIZE = key("graql.plan-cache.size", INT);
+    public static final GraknConfigKey<Integer> GRAQL_PLAN_CACHE_REPLAN_FACTOR = key("graql.plan-cache.replan-factor", INT);
+    public static final GraknConfigKey<Integer> GRAQL_PLAN_CACHE_PROFILE_INTERVAL = key("graql.plan-cache.profile-interval", INT);
+    public static final GraknConfigKey<Integer> GRAQL_COMPUTE_CACHE_SIZE = key("graql.compute-cache.size", INT);
+    public static final GraknConfigKey<Integer> GRAQL_COMPUTE_CACHE_MAX_PATCH = key("graql.compute-cache.max-patch", INT);
+    public static final GraknConfigKey<Integer> GRAQL_COMPUTE_PATH_MAX_VISITED = key("graql.compute-path.max-visited", INT);
+
     public static final GraknConfigKey<Long> SHARDING_THRESHOLD = key("knowledge-base.sharding-threshold", LONG);
+    public static final GraknConfigKey<Long> SHARDING_LOOKAHEAD_MS = key("knowledge-base.sharding-lookahead-ms", LONG);
+    public static final GraknConfigKey<Integer> SHARD_REBALANCE_BATCH_SIZE = key("knowledge-base.shard-rebalance-batch-size", INT);
+    public static final GraknConfigKey<Integer> ATTRIBUTE_GUARD_TIMEOUT_MS = key("knowledge-base.attribute-guard-timeout-ms", INT);
     public static final GraknConfigKey<String> KB_MODE = key("knowledge-base.mode");
     public static final GraknConfigKey<String> KB_ANALYTICS = key("knowledge-base.analytics");
+    public static final GraknConfigKey<Integer> KB_ANALYTICS_WORKERS = key("knowledge-base.analytics-workers", INT);
     public static final GraknConfigKey<String> DATA_DIR = key("data-dir");
     public static final GraknConfigKey<String> LOG_DIR = key("log.dirs");
 
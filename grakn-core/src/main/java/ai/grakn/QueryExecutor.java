@@ -22,11 +22,15 @@ import ai.grakn.graql.AggregateQuery;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.DefineQuery;
 import ai.grakn.graql.DeleteQuery;
+import ai.grakn.graql.ExplainQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.InsertQuery;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.UndefineQuery;
+import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
 
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -44,6 +48,8 @@ public interface QueryExecutor {
 
     Stream<Answer> run(GetQuery query);
 
+    Stream<Answer> run(PreparedQuery query, Map<Var, ?> bindings);
+
     Stream<Answer> run(InsertQuery query);
 
     void run(DeleteQuery query);
@@ -55,4 +61,6 @@ public interface QueryExecutor {
     <T> T run(AggregateQuery<T> query);
 
     ComputeExecutor<ComputeQuery.Answer> run(ComputeQuery query);
+
+    String run(ExplainQuery query);
 }
@@ -130,6 +130,16 @@ public class GraknConfig {
         return key.parse(prop.getProperty(key.name()), CONFIG_FILE_PATH);
     }
 
+    /**
+     * @param key of the property
+     * @param defaultValue value to be returned if the property is not present
+     * @return the value of the property or the default value if the property is not present
+     */
+    public <T> T getProperty(GraknConfigKey<T> key, T defaultValue) {
+        String value = prop.getProperty(key.name());
+        return value == null? defaultValue : key.parse(value, CONFIG_FILE_PATH);
+    }
+
     public SimpleURI uri() {
         return new SimpleURI(getProperty(GraknConfigKey.SERVER_HOST_NAME), getProperty(GraknConfigKey.SERVER_PORT));
     }
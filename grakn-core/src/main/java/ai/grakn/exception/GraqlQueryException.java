@@ -24,6 +24,7 @@ import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.SchemaConcept;
 import ai.grakn.concept.Type;
+import ai.grakn.graql.Query;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.VarPattern;
 import ai.grakn.graql.admin.Atomic;
@@ -44,10 +45,12 @@ import static ai.grakn.util.ErrorMessage.INVALID_COMPUTE_ARGUMENT;
 import static ai.grakn.util.ErrorMessage.INVALID_COMPUTE_CONDITION;
 import static ai.grakn.util.ErrorMessage.INVALID_COMPUTE_METHOD;
 import static ai.grakn.util.ErrorMessage.INVALID_COMPUTE_METHOD_ALGORITHM;
+import static ai.grakn.util.ErrorMessage.INVALID_PREPARED_QUERY;
 import static ai.grakn.util.ErrorMessage.INVALID_VALUE;
 import static ai.grakn.util.ErrorMessage.MISSING_COMPUTE_CONDITION;
 import static ai.grakn.util.ErrorMessage.NEGATIVE_OFFSET;
 import static ai.grakn.util.ErrorMessage.NON_POSITIVE_LIMIT;
+import static ai.grakn.util.ErrorMessage.UNBOUND_PARAMETER;
 import static ai.grakn.util.ErrorMessage.UNEXPECTED_RESULT;
 import static ai.grakn.util.ErrorMessage.VARIABLE_NOT_IN_QUERY;
 import static ai.grakn.util.GraqlSyntax.Compute;
@@ -225,6 +228,14 @@ public class GraqlQueryException extends GraknException {
         return new GraqlQueryException(VARIABLE_NOT_IN_QUERY.getMessage(var));
     }
 
+    public static GraqlQueryException unboundParameter(Var var) {
+        return new GraqlQueryException(UNBOUND_PARAMETER.getMessage(var));
+    }
+
+    public static GraqlQueryException invalidPreparedQuery(Query<?> query) {
+        return new GraqlQueryException(INVALID_PREPARED_QUERY.getMessage(query));
+    }
+
     public static GraqlQueryException noTx() {
         return new GraqlQueryException(ErrorMessage.NO_TX.getMessage());
     }
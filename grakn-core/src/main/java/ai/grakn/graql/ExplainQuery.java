@@ -0,0 +1,57 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql;
+
+import ai.grakn.GraknTx;
+
+import javax.annotation.CheckReturnValue;
+
+/**
+ * A query describing how a {@link GetQuery} is executed.
+ * <p>
+ * The result describes the plan of the {@link GetQuery}: the fragments of the traversal in order of execution
+ * together with their estimated cost and number of results or, when the query is resolved by the reasoner,
+ * the resolution plan of the query.
+ * <p>
+ * A profile query additionally executes the {@link GetQuery} and describes the number of results observed
+ * after each fragment and the time spent executing it.
+ *
+ * @author Grakn Warriors
+ */
+public interface ExplainQuery extends Query<String> {
+
+    /**
+     * @param tx the transaction to execute the query on
+     * @return a new {@link ExplainQuery} with the transaction set
+     */
+    @Override
+    ExplainQuery withTx(GraknTx tx);
+
+    /**
+     * Get the {@link GetQuery} this {@link ExplainQuery} describes
+     */
+    @CheckReturnValue
+    GetQuery query();
+
+    /**
+     * Whether the {@link GetQuery} is executed in order to profile it
+     */
+    @CheckReturnValue
+    boolean isProfile();
+}
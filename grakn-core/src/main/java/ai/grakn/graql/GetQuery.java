@@ -55,4 +55,16 @@ public interface GetQuery extends Query<List<Answer>>, Streamable<Answer> {
      */
     @CheckReturnValue
     Set<Var> vars();
+
+    /**
+     * @return a query describing the plan of this {@link GetQuery}, without executing it
+     */
+    @CheckReturnValue
+    ExplainQuery explain();
+
+    /**
+     * @return a query executing this {@link GetQuery} and describing its plan and how long each step of it took
+     */
+    @CheckReturnValue
+    ExplainQuery profile();
 }
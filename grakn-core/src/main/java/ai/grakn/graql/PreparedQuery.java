@@ -0,0 +1,83 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.graql.admin.Answer;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A {@link GetQuery} with parameters, which is parsed and planned once and then executed many times with different
+ * bindings of its parameters.
+ * <p>
+ * Parameters are variables of the query. A parameter can be bound to a {@link ConceptId}, a {@link Concept} or the
+ * value of an attribute, in which case it is bound to every attribute with that value.
+ * <p>
+ * Only {@link GetQuery}s over a single conjunction of patterns without ordering, limit or offset can be prepared.
+ *
+ * @author Grakn Warriors
+ */
+public interface PreparedQuery {
+
+    /**
+     * @param tx the transaction to execute the query on
+     * @return a new {@link PreparedQuery} with the transaction set, sharing the query plan of this one
+     */
+    @CheckReturnValue
+    PreparedQuery withTx(GraknTx tx);
+
+    /**
+     * Get the transaction associated with this query
+     */
+    @Nullable
+    GraknTx tx();
+
+    /**
+     * Get the {@link GetQuery} this {@link PreparedQuery} has been prepared from
+     */
+    @CheckReturnValue
+    GetQuery query();
+
+    /**
+     * Get the {@link Var}s which have to be bound when executing the query
+     */
+    @CheckReturnValue
+    Set<Var> parameters();
+
+    /**
+     * @param bindings bindings of all the parameters of the query
+     * @return a stream of answers of the query with the parameters bound
+     */
+    @CheckReturnValue
+    Stream<Answer> stream(Map<Var, ?> bindings);
+
+    /**
+     * @param bindings bindings of all the parameters of the query
+     * @return a list of answers of the query with the parameters bound
+     */
+    List<Answer> execute(Map<Var, ?> bindings);
+}
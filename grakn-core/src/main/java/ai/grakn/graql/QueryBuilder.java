@@ -106,6 +106,22 @@ public interface QueryBuilder {
     @CheckReturnValue
     <T extends Query<?>> T parse(String queryString);
 
+    /**
+     * @param queryString a string representing a {@link GetQuery}
+     * @param parameters the variables of the query to be bound on execution
+     * @return a {@link PreparedQuery} which can be executed many times with different bindings of its parameters
+     */
+    @CheckReturnValue
+    PreparedQuery prepare(String queryString, Var... parameters);
+
+    /**
+     * @param query the query to prepare
+     * @param parameters the variables of the query to be bound on execution
+     * @return a {@link PreparedQuery} which can be executed many times with different bindings of its parameters
+     */
+    @CheckReturnValue
+    PreparedQuery prepare(GetQuery query, Var... parameters);
+
     /**
      * Enable or disable inference
      */
@@ -68,4 +68,10 @@ public interface MatchAdmin extends Match {
      * @return true if query will involve / set to performing inference
      */
     Boolean inferring();
+
+    /**
+     * @return true if the answers matching the pattern are modified, e.g. by ordering, limiting or offsetting them
+     */
+    @CheckReturnValue
+    boolean modifiesAnswers();
 }
@@ -170,6 +170,9 @@ public enum ErrorMessage {
     UNKNOWN_AGGREGATE("unknown aggregate '%s'"),
 
     VARIABLE_NOT_IN_QUERY("the variable %s is not in the query"),
+    UNBOUND_PARAMETER("the parameter %s of the prepared query is not bound"),
+    INVALID_PREPARED_QUERY("the query [%s] cannot be prepared. only get queries over a conjunction of patterns " +
+            "without ordering, limit or offset can be prepared"),
     NO_PATTERNS("no patterns have been provided. at least one pattern must be provided"),
     MATCH_INVALID("cannot match on property of type [%s]"),
     MULTIPLE_TX("a graph has been specified twice for this query"),
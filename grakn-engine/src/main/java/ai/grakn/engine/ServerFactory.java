@@ -20,6 +20,7 @@ package ai.grakn.engine;
 
 import ai.grakn.GraknConfigKey;
 import ai.grakn.engine.controller.HttpController;
+import ai.grakn.engine.data.InMemorySanityCheck;
 import ai.grakn.engine.data.QueueSanityCheck;
 import ai.grakn.engine.data.RedisSanityCheck;
 import ai.grakn.engine.data.RedisWrapper;
@@ -28,9 +29,11 @@ import ai.grakn.engine.keyspace.KeyspaceStoreImpl;
 import ai.grakn.engine.keyspace.KeyspaceSessionImpl;
 import ai.grakn.engine.lock.JedisLockProvider;
 import ai.grakn.engine.lock.LockProvider;
+import ai.grakn.engine.lock.ProcessWideLockProvider;
 import ai.grakn.engine.rpc.KeyspaceService;
 import ai.grakn.engine.rpc.ServerOpenRequest;
 import ai.grakn.engine.rpc.SessionService;
+import ai.grakn.engine.rpc.TransactionExecutor;
 import ai.grakn.engine.task.BackgroundTaskRunner;
 import ai.grakn.engine.task.postprocessing.CountPostProcessor;
 import ai.grakn.engine.task.postprocessing.CountStorage;
@@ -38,6 +41,8 @@ import ai.grakn.engine.task.postprocessing.IndexPostProcessor;
 import ai.grakn.engine.task.postprocessing.IndexStorage;
 import ai.grakn.engine.task.postprocessing.PostProcessingTask;
 import ai.grakn.engine.task.postprocessing.PostProcessor;
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryCountStorage;
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryIndexStorage;
 import ai.grakn.engine.task.postprocessing.redisstorage.RedisCountStorage;
 import ai.grakn.engine.task.postprocessing.redisstorage.RedisIndexStorage;
 import ai.grakn.engine.util.EngineID;
@@ -46,6 +51,7 @@ import ai.grakn.engine.rpc.OpenRequest;
 import com.codahale.metrics.MetricRegistry;
 import io.grpc.ServerBuilder;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -55,8 +61,13 @@ import java.util.Collections;
  * @author Michele Orsi
  */
 public class ServerFactory {
+    private static final String REDIS_STORAGE = "redis";
+    private static final String IN_MEMORY_STORAGE = "in-memory";
+    private static final String JOURNAL_DIR = "post-processing";
+
     /**
-     * Create a {@link Server} configured for Grakn Core. Grakn Queue (which is needed for post-processing and distributed locks) is implemented with Redis as the backend store
+     * Create a {@link Server} configured for Grakn Core. Grakn Queue (which is needed for post-processing and distributed locks) is implemented with Redis as the backend store,
+     * unless post-processing is configured to be stored in memory, in which case a single engine can run without Redis
      *
      * @return a {@link Server} instance configured for Grakn Core
      */
@@ -68,32 +79,50 @@ public class ServerFactory {
 
         MetricRegistry metricRegistry = new MetricRegistry();
 
-        // redis
-        RedisWrapper redisWrapper = RedisWrapper.create(config);
-        QueueSanityCheck queueSanityCheck = new RedisSanityCheck(redisWrapper);
-
-        // distributed locks
-        LockProvider lockProvider = new JedisLockProvider(redisWrapper.getJedisPool());
-
+        // post-processing storage and distributed locks, in redis unless running a single engine without it
+        QueueSanityCheck queueSanityCheck;
+        LockProvider lockProvider;
+        IndexStorage indexStorage;
+        CountStorage countStorage;
+        if (config.getProperty(GraknConfigKey.POST_PROCESSOR_STORAGE, REDIS_STORAGE).equals(IN_MEMORY_STORAGE)) {
+            InMemoryIndexStorage inMemoryIndexStorage;
+            InMemoryCountStorage inMemoryCountStorage;
+            if (config.getProperty(GraknConfigKey.POST_PROCESSOR_JOURNAL, true)) {
+                Path journalDir = GraknConfig.PROJECT_PATH.resolve(config.getProperty(GraknConfigKey.DATA_DIR)).resolve(JOURNAL_DIR);
+                inMemoryIndexStorage = InMemoryIndexStorage.create(journalDir.resolve("indices"));
+                inMemoryCountStorage = InMemoryCountStorage.create(journalDir.resolve("counts"));
+            } else {
+                inMemoryIndexStorage = InMemoryIndexStorage.create();
+                inMemoryCountStorage = InMemoryCountStorage.create();
+            }
+            queueSanityCheck = new InMemorySanityCheck(inMemoryIndexStorage, inMemoryCountStorage);
+            lockProvider = new ProcessWideLockProvider();
+            indexStorage = inMemoryIndexStorage;
+            countStorage = inMemoryCountStorage;
+        } else {
+            RedisWrapper redisWrapper = RedisWrapper.create(config);
+            queueSanityCheck = new RedisSanityCheck(redisWrapper);
+            lockProvider = new JedisLockProvider(redisWrapper.getJedisPool());
+            indexStorage = RedisIndexStorage.create(redisWrapper.getJedisPool(), metricRegistry);
+            countStorage = RedisCountStorage.create(redisWrapper.getJedisPool(), metricRegistry);
+        }
 
         KeyspaceSession keyspaceSession = new KeyspaceSessionImpl(config);
         KeyspaceStore keyspaceStore = KeyspaceStoreImpl.create(keyspaceSession);
 
         // tx-factory
-        EngineGraknTxFactory engineGraknTxFactory = EngineGraknTxFactory.create(lockProvider, config, keyspaceStore);
+        EngineGraknTxFactory engineGraknTxFactory = EngineGraknTxFactory.create(lockProvider, config, keyspaceStore, countStorage);
 
 
         // post-processing
-        IndexStorage indexStorage =  RedisIndexStorage.create(redisWrapper.getJedisPool(), metricRegistry);
-        CountStorage countStorage = RedisCountStorage.create(redisWrapper.getJedisPool(), metricRegistry);
         IndexPostProcessor indexPostProcessor = IndexPostProcessor.create(lockProvider, indexStorage);
         CountPostProcessor countPostProcessor = CountPostProcessor.create(config, engineGraknTxFactory, lockProvider, metricRegistry, countStorage);
-        PostProcessor postProcessor = PostProcessor.create(indexPostProcessor, countPostProcessor);
+        PostProcessor postProcessor = PostProcessor.createBuffered(indexPostProcessor, countPostProcessor, config, metricRegistry);
 
         // http services: spark, http controller, and gRPC server
         spark.Service sparkHttp = spark.Service.ignite();
         Collection<HttpController> httpControllers = Collections.emptyList();
-        ServerRPC rpcServerRPC = configureServerRPC(config, engineGraknTxFactory, postProcessor, keyspaceStore);
+        ServerRPC rpcServerRPC = configureServerRPC(config, engineGraknTxFactory, postProcessor, keyspaceStore, metricRegistry);
 
         return createServer(engineId, config, status, sparkHttp, httpControllers, rpcServerRPC, engineGraknTxFactory, metricRegistry, queueSanityCheck, lockProvider, postProcessor, keyspaceStore);
     }
@@ -112,7 +141,7 @@ public class ServerFactory {
 
         ServerHTTP httpHandler = new ServerHTTP(config, sparkHttp, engineGraknTxFactory, metricRegistry, serverStatus, postProcessor, rpcServerRPC, httpControllers);
 
-        BackgroundTaskRunner taskRunner = configureBackgroundTaskRunner(config, engineGraknTxFactory, postProcessor.index());
+        BackgroundTaskRunner taskRunner = configureBackgroundTaskRunner(config, engineGraknTxFactory, postProcessor, metricRegistry);
 
         Server server = new Server(engineId, config, serverStatus, lockProvider, queueSanityCheck, httpHandler, taskRunner, keyspaceStore);
 
@@ -122,19 +151,25 @@ public class ServerFactory {
         return server;
     }
 
-    private static BackgroundTaskRunner configureBackgroundTaskRunner(GraknConfig graknEngineConfig, EngineGraknTxFactory factory, IndexPostProcessor postProcessor) {
-        PostProcessingTask postProcessingTask = new PostProcessingTask(factory, postProcessor, graknEngineConfig);
+    private static BackgroundTaskRunner configureBackgroundTaskRunner(GraknConfig graknEngineConfig, EngineGraknTxFactory factory, PostProcessor postProcessor, MetricRegistry metricRegistry) {
+        PostProcessingTask postProcessingTask = new PostProcessingTask(factory, postProcessor.index(), graknEngineConfig, metricRegistry);
         BackgroundTaskRunner taskRunner = new BackgroundTaskRunner(graknEngineConfig);
         taskRunner.register(postProcessingTask);
+        taskRunner.register(postProcessor.count().rebalancer());
         return taskRunner;
     }
 
-    private static ServerRPC configureServerRPC(GraknConfig config, EngineGraknTxFactory engineGraknTxFactory, PostProcessor postProcessor, KeyspaceStore keyspaceStore){
+    private static ServerRPC configureServerRPC(GraknConfig config, EngineGraknTxFactory engineGraknTxFactory, PostProcessor postProcessor, KeyspaceStore keyspaceStore, MetricRegistry metricRegistry){
         int grpcPort = config.getProperty(GraknConfigKey.GRPC_PORT);
         OpenRequest requestOpener = new ServerOpenRequest(engineGraknTxFactory);
+        TransactionExecutor transactionExecutor = TransactionExecutor.create(
+                config.getProperty(GraknConfigKey.GRPC_MAX_TRANSACTIONS, TransactionExecutor.DEFAULT_MAX_TRANSACTIONS),
+                config.getProperty(GraknConfigKey.GRPC_MAX_QUEUED_TRANSACTIONS, TransactionExecutor.DEFAULT_MAX_QUEUED_TRANSACTIONS),
+                config.getProperty(GraknConfigKey.GRPC_MAX_QUEUE_WAIT_MS, TransactionExecutor.DEFAULT_MAX_QUEUE_WAIT_MS),
+                metricRegistry);
 
         io.grpc.Server grpcServer = ServerBuilder.forPort(grpcPort)
-                .addService(new SessionService(requestOpener, postProcessor))
+                .addService(new SessionService(requestOpener, postProcessor, transactionExecutor))
                 .addService(new KeyspaceService(requestOpener, keyspaceStore))
                 .build();
 
@@ -92,7 +92,7 @@ public class ServerHTTP {
         new GraqlController(factory, postProcessor, printer, metricRegistry).start(spark);
         new ConceptController(factory, metricRegistry).start(spark);
         new SystemController(prop, factory.keyspaceStore(), serverStatus, metricRegistry).start(spark);
-        new CommitLogController(postProcessor).start(spark);
+        new CommitLogController(factory, postProcessor).start(spark);
 
         additionalCollaborators.forEach(httpController -> httpController.start(spark));
     }
@@ -147,6 +147,9 @@ public class ServerHTTP {
                 running = false;
             }
         }
+
+        // Store the commit logs submitted before the servers stopped
+        postProcessor.close();
     }
 
     /**
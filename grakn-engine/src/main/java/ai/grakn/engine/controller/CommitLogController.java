@@ -18,6 +18,7 @@
 
 package ai.grakn.engine.controller;
 
+import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.engine.task.postprocessing.PostProcessor;
 import ai.grakn.kb.log.CommitLog;
 import ai.grakn.util.REST;
@@ -28,7 +29,6 @@ import spark.Service;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * A controller which core submits commit logs to so we can post-process jobs for cleanup.
@@ -37,9 +37,11 @@ import java.util.concurrent.CompletableFuture;
  */
 public class CommitLogController implements HttpController {
     private static final ObjectMapper mapper = new ObjectMapper();
+    private final EngineGraknTxFactory factory;
     private final PostProcessor postProcessor;
 
-    public CommitLogController(PostProcessor postProcessor){
+    public CommitLogController(EngineGraknTxFactory factory, PostProcessor postProcessor){
+        this.factory = factory;
         this.postProcessor = postProcessor;
 
     }
@@ -48,7 +50,8 @@ public class CommitLogController implements HttpController {
     @Path("/kb/{keyspace}/commit_log")
     private String submitConcepts(Request req) throws IOException {
         CommitLog commitLog = mapper.readValue(req.body(), CommitLog.class);
-        CompletableFuture.allOf(CompletableFuture.runAsync(() -> postProcessor.submit(commitLog))).join();
+        factory.dataChanged(commitLog.keyspace());
+        postProcessor.submit(commitLog);
         return "";
     }
 
@@ -0,0 +1,52 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.data;
+
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryCountStorage;
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryIndexStorage;
+
+/**
+ * The {@link InMemorySanityCheck} class is used when post processing data is stored in the memory of engine instead of
+ * the Grakn Queue component, in which case there is no connection to check. Closing it closes the in-memory storages.
+ *
+ * @author Grakn Warriors
+ */
+public class InMemorySanityCheck implements QueueSanityCheck {
+    private final InMemoryIndexStorage indexStorage;
+    private final InMemoryCountStorage countStorage;
+
+    public InMemorySanityCheck(InMemoryIndexStorage indexStorage, InMemoryCountStorage countStorage) {
+        this.indexStorage = indexStorage;
+        this.countStorage = countStorage;
+    }
+
+    @Override
+    public void testConnection() {
+    }
+
+    @Override
+    public void checkVersion() {
+    }
+
+    @Override
+    public void close() {
+        indexStorage.close();
+        countStorage.close();
+    }
+}
@@ -24,16 +24,24 @@ import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Type;
 import ai.grakn.engine.GraknConfig;
 import ai.grakn.engine.KeyspaceStore;
 import ai.grakn.engine.lock.LockProvider;
+import ai.grakn.engine.task.postprocessing.CountStorage;
 import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.factory.GraknTxFactoryBuilder;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.kb.internal.cache.KeyspaceStatistics;
+import ai.grakn.util.Schema;
 import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -52,20 +60,31 @@ import java.util.concurrent.locks.Lock;
  * @author fppt
  */
 public class EngineGraknTxFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(EngineGraknTxFactory.class);
+
     private final GraknConfig engineConfig;
     private final KeyspaceStore keyspaceStore;
     private final Map<Keyspace, EmbeddedGraknSession> openedSessions;
     private final LockProvider lockProvider;
+    @Nullable private final CountStorage countStorage;
 
     public static EngineGraknTxFactory create(LockProvider lockProvider, GraknConfig engineConfig, KeyspaceStore keyspaceStore) {
-        return new EngineGraknTxFactory(engineConfig, lockProvider, keyspaceStore);
+        return new EngineGraknTxFactory(engineConfig, lockProvider, keyspaceStore, null);
+    }
+
+    /**
+     * @param countStorage the instance counts maintained by engine, from which the statistics of sessions are seeded
+     */
+    public static EngineGraknTxFactory create(LockProvider lockProvider, GraknConfig engineConfig, KeyspaceStore keyspaceStore, CountStorage countStorage) {
+        return new EngineGraknTxFactory(engineConfig, lockProvider, keyspaceStore, countStorage);
     }
 
-    private EngineGraknTxFactory(GraknConfig engineConfig, LockProvider lockProvider, KeyspaceStore keyspaceStore) {
-        this.openedSessions = new HashMap<>();
+    private EngineGraknTxFactory(GraknConfig engineConfig, LockProvider lockProvider, KeyspaceStore keyspaceStore, @Nullable CountStorage countStorage) {
+        this.openedSessions = new ConcurrentHashMap<>();
         this.engineConfig = engineConfig;
         this.lockProvider = lockProvider;
         this.keyspaceStore = keyspaceStore;
+        this.countStorage = countStorage;
     }
 
     //Should only be used for testing
@@ -91,10 +110,66 @@ public class EngineGraknTxFactory {
      * @return a new or existing {@link GraknSession} connecting to the provided {@link Keyspace}
      */
     private EmbeddedGraknSession session(Keyspace keyspace){
-        if(!openedSessions.containsKey(keyspace)){
-            openedSessions.put(keyspace, EmbeddedGraknSession.createEngineSession(keyspace, engineURI(), engineConfig, GraknTxFactoryBuilder.getInstance()));
+        //Sessions are opened atomically, so that concurrent transactions never open two sessions of the same keyspace
+        return openedSessions.computeIfAbsent(keyspace, k -> {
+            EmbeddedGraknSession session = EmbeddedGraknSession.createEngineSession(k, engineURI(), engineConfig, GraknTxFactoryBuilder.getInstance());
+            //Keyspaces which are being created have no instances to count yet
+            if (keyspaceStore.containsKeyspace(k)) seedStatistics(session);
+            return session;
+        });
+    }
+
+    /**
+     * Sets the instance counts of the statistics of a new {@link GraknSession} from the counts maintained by engine,
+     * so that queries can be planned with them before the first commit log of the {@link Keyspace} is processed.
+     * Types without instances in the {@link CountStorage} are left unknown, as their instances may predate the counts.
+     *
+     * @param session the new {@link GraknSession}
+     */
+    private void seedStatistics(EmbeddedGraknSession session){
+        if (countStorage == null) return;
+        KeyspaceStatistics statistics = session.statistics();
+        try (EmbeddedGraknTx<?> tx = session.transaction(GraknTxType.READ)) {
+            tx.admin().getMetaConcept().subs()
+                    .filter(type -> !Schema.MetaSchema.isMetaLabel(type.label()))
+                    .map(Type::id)
+                    .forEach(typeId -> {
+                        long count = countStorage.getInstanceCount(session.keyspace(), typeId);
+                        if (count > 0) statistics.setInstanceCount(typeId, count);
+                    });
+        } catch (RuntimeException e) {
+            LOG.warn("Could not seed the statistics of keyspace {} from the instance counts", session.keyspace(), e);
         }
-        return openedSessions.get(keyspace);
+    }
+
+    /**
+     * Notifies the {@link GraknSession} of the provided {@link Keyspace}, if opened, that its data has been changed
+     * by a transaction which was not opened through engine. Commit logs do not tell whether the schema has changed, so
+     * the schema of the session is marked as changed too. As the {@link Keyspace} has writers which do not go through
+     * engine, the session stops holding exact counts.
+     *
+     * @param keyspace The {@link Keyspace} which data has changed
+     */
+    public void dataChanged(Keyspace keyspace){
+        EmbeddedGraknSession session = openedSessions.get(keyspace);
+        if (session != null) {
+            session.dataChanged();
+            session.schemaChanged();
+            session.statistics().disableExactCounts();
+        }
+    }
+
+    /**
+     * Notifies the {@link GraknSession} of the provided {@link Keyspace}, if opened, of the current number of
+     * instances of a {@link ai.grakn.concept.Type}
+     *
+     * @param keyspace The {@link Keyspace} of the {@link ai.grakn.concept.Type}
+     * @param typeId The id of the {@link ai.grakn.concept.Type}
+     * @param count The number of direct instances of the {@link ai.grakn.concept.Type}
+     */
+    public void instanceCountChanged(Keyspace keyspace, ConceptId typeId, long count){
+        EmbeddedGraknSession session = openedSessions.get(keyspace);
+        if (session != null) session.statistics().setInstanceCount(typeId, count);
     }
 
     /**
@@ -617,7 +617,7 @@ public class ConceptMethod {
         private class AttributeType {
 
             private Transaction.Res create(ConceptProto.ValueObject protoValue) {
-                Object value = protoValue.getAllFields().values().iterator().next();
+                Object value = ResponseBuilder.Concept.value(protoValue);
                 ai.grakn.concept.Attribute<?> attribute = concept.asAttributeType().create(value);
 
                 ConceptProto.Method.Res response = ConceptProto.Method.Res.newBuilder()
@@ -628,7 +628,7 @@ public class ConceptMethod {
             }
 
             private Transaction.Res attribute(ConceptProto.ValueObject protoValue) {
-                Object value = protoValue.getAllFields().values().iterator().next();
+                Object value = ResponseBuilder.Concept.value(protoValue);
                 ai.grakn.concept.Attribute<?> attribute = concept.asAttributeType().attribute(value);
 
                 ConceptProto.AttributeType.Attribute.Res.Builder methodResponse = ConceptProto.AttributeType.Attribute.Res.newBuilder();
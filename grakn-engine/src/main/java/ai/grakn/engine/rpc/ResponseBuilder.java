@@ -20,6 +20,7 @@ package ai.grakn.engine.rpc;
 
 import ai.grakn.concept.AttributeType;
 import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Thing;
 import ai.grakn.exception.GraknBackendException;
 import ai.grakn.exception.GraknException;
 import ai.grakn.exception.GraknTxOperationException;
@@ -38,6 +39,7 @@ import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 
 import javax.annotation.Nullable;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collection;
@@ -98,6 +100,12 @@ public class ResponseBuilder {
             return SessionProto.Transaction.Res.newBuilder().setGetConceptRes(res).build();
         }
 
+        static SessionProto.Transaction.Res prepareQuery(int preparedQueryId) {
+            SessionProto.Transaction.PrepareQuery.Res.Builder res = SessionProto.Transaction.PrepareQuery.Res.newBuilder()
+                    .setId(preparedQueryId);
+            return SessionProto.Transaction.Res.newBuilder().setPrepareQueryRes(res).build();
+        }
+
         static SessionProto.Transaction.Res getAttributesIterator(int iteratorId) {
             SessionProto.Transaction.GetAttributes.Iter.Builder res = SessionProto.Transaction.GetAttributes.Iter.newBuilder()
                     .setId(iteratorId);
@@ -140,10 +148,14 @@ public class ResponseBuilder {
         static class Iter {
 
             static SessionProto.Transaction.Res query(Object object) {
+                return query(object, ConceptProto.Projection.getDefaultInstance());
+            }
+
+            static SessionProto.Transaction.Res query(Object object, ConceptProto.Projection projection) {
                 return SessionProto.Transaction.Res.newBuilder()
                         .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
                                 .setQueryIterRes(SessionProto.Transaction.Query.Iter.Res.newBuilder()
-                                        .setAnswer(Answer.answer(object)))).build();
+                                        .setAnswer(Answer.answer(object, projection)))).build();
             }
 
             static SessionProto.Transaction.Res getAttributes(ai.grakn.concept.Concept concept) {
@@ -166,11 +178,52 @@ public class ResponseBuilder {
      */
     public static class Concept {
 
+        private static final ConceptProto.Projection LABEL = ConceptProto.Projection.newBuilder().setLabel(true).build();
+
         public static ConceptProto.Concept concept(ai.grakn.concept.Concept concept) {
-            return ConceptProto.Concept.newBuilder()
+            return concept(concept, ConceptProto.Projection.getDefaultInstance());
+        }
+
+        /**
+         * @param concept the concept to build a response for
+         * @param projection the properties of the concept to inline into the response
+         */
+        public static ConceptProto.Concept concept(ai.grakn.concept.Concept concept, ConceptProto.Projection projection) {
+            ConceptProto.Concept.Builder builder = ConceptProto.Concept.newBuilder()
                     .setId(concept.id().getValue())
-                    .setBaseType(getBaseType(concept))
-                    .build();
+                    .setBaseType(getBaseType(concept));
+
+            if (projection.getLabel() && concept.isSchemaConcept()) {
+                builder.setLabel(concept.asSchemaConcept().label().getValue());
+            }
+
+            if (concept.isThing()) {
+                Thing thing = concept.asThing();
+                ConceptProto.Projection nested = projection.toBuilder().setAttributes(false).setRolePlayers(false).build();
+
+                if (projection.getType()) {
+                    builder.setType(concept(thing.type(), LABEL));
+                }
+                if (projection.getValue() && thing.isAttribute()) {
+                    builder.setValue(attributeValue(thing.asAttribute().value()));
+                }
+                if (projection.getAttributes()) {
+                    ConceptProto.Concept.Attributes.Builder attributes = ConceptProto.Concept.Attributes.newBuilder();
+                    thing.attributes().forEach(attribute -> attributes.addAttributes(concept(attribute, nested)));
+                    builder.setAttributes(attributes);
+                }
+                if (projection.getRolePlayers() && thing.isRelationship()) {
+                    ConceptProto.Concept.RolePlayers.Builder rolePlayers = ConceptProto.Concept.RolePlayers.newBuilder();
+                    thing.asRelationship().rolePlayersMap().forEach((role, players) -> players.forEach(player ->
+                            rolePlayers.addRolePlayers(ConceptProto.Concept.RolePlayers.RolePlayer.newBuilder()
+                                    .setRole(concept(role, LABEL))
+                                    .setPlayer(concept(player, nested)))
+                    ));
+                    builder.setRolePlayers(rolePlayers);
+                }
+            }
+
+            return builder.build();
         }
 
         private static ConceptProto.Concept.BASE_TYPE getBaseType(ai.grakn.concept.Concept concept) {
@@ -261,6 +314,32 @@ public class ResponseBuilder {
 
             return builder.build();
         }
+
+        /**
+         * @param valueObject a value sent by a client
+         * @return the value, of the type used by the data type of the value
+         */
+        static Object value(ConceptProto.ValueObject valueObject) {
+            switch (valueObject.getValueCase()) {
+                case STRING:
+                    return valueObject.getString();
+                case BOOLEAN:
+                    return valueObject.getBoolean();
+                case INTEGER:
+                    return valueObject.getInteger();
+                case LONG:
+                    return valueObject.getLong();
+                case FLOAT:
+                    return valueObject.getFloat();
+                case DOUBLE:
+                    return valueObject.getDouble();
+                case DATE:
+                    return LocalDateTime.ofInstant(Instant.ofEpochMilli(valueObject.getDate()), ZoneId.of("Z"));
+                default:
+                case VALUE_NOT_SET:
+                    throw exception(Status.INVALID_ARGUMENT);
+            }
+        }
     }
 
     /**
@@ -269,10 +348,18 @@ public class ResponseBuilder {
     public static class Answer {
 
         public static AnswerProto.Answer answer(Object object) {
+            return answer(object, ConceptProto.Projection.getDefaultInstance());
+        }
+
+        /**
+         * @param object the result of a query
+         * @param projection the properties of the concepts of the answer to inline into the response
+         */
+        public static AnswerProto.Answer answer(Object object, ConceptProto.Projection projection) {
             AnswerProto.Answer answer;
 
             if (object instanceof ai.grakn.graql.admin.Answer) {
-                answer = AnswerProto.Answer.newBuilder().setQueryAnswer(queryAnswer((ai.grakn.graql.admin.Answer) object)).build();
+                answer = AnswerProto.Answer.newBuilder().setQueryAnswer(queryAnswer((ai.grakn.graql.admin.Answer) object, projection)).build();
             } else if (object instanceof ComputeQuery.Answer) {
                 answer = AnswerProto.Answer.newBuilder().setComputeAnswer(computeAnswer((ComputeQuery.Answer) object)).build();
             } else {
@@ -284,9 +371,13 @@ public class ResponseBuilder {
         }
 
         static AnswerProto.QueryAnswer queryAnswer(ai.grakn.graql.admin.Answer answer) {
+            return queryAnswer(answer, ConceptProto.Projection.getDefaultInstance());
+        }
+
+        static AnswerProto.QueryAnswer queryAnswer(ai.grakn.graql.admin.Answer answer, ConceptProto.Projection projection) {
             AnswerProto.QueryAnswer.Builder queryAnswerProto = AnswerProto.QueryAnswer.newBuilder();
             answer.forEach((var, concept) -> {
-                ConceptProto.Concept conceptRps = ResponseBuilder.Concept.concept(concept);
+                ConceptProto.Concept conceptRps = ResponseBuilder.Concept.concept(concept, projection);
                 queryAnswerProto.putQueryAnswer(var.getValue(), conceptRps);
             });
 
@@ -33,13 +33,16 @@ import ai.grakn.engine.ServerRPC;
 import ai.grakn.engine.task.postprocessing.PostProcessor;
 import ai.grakn.graql.Graql;
 import ai.grakn.graql.Pattern;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.Streamable;
+import ai.grakn.graql.Var;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.rpc.proto.ConceptProto;
 import ai.grakn.rpc.proto.SessionProto;
 import ai.grakn.rpc.proto.SessionProto.Transaction;
 import ai.grakn.rpc.proto.SessionServiceGrpc;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.codahale.metrics.MetricRegistry;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
@@ -47,13 +50,11 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
@@ -64,44 +65,71 @@ import java.util.stream.Stream;
 public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
     private final OpenRequest requestOpener;
     private PostProcessor postProcessor;
+    private final TransactionExecutor transactionExecutor;
 
     public SessionService(OpenRequest requestOpener, PostProcessor postProcessor) {
+        this(requestOpener, postProcessor, TransactionExecutor.create(
+                TransactionExecutor.DEFAULT_MAX_TRANSACTIONS, TransactionExecutor.DEFAULT_MAX_QUEUED_TRANSACTIONS, new MetricRegistry()));
+    }
+
+    public SessionService(OpenRequest requestOpener, PostProcessor postProcessor, TransactionExecutor transactionExecutor) {
         this.requestOpener = requestOpener;
         this.postProcessor = postProcessor;
+        this.transactionExecutor = transactionExecutor;
     }
 
     public StreamObserver<Transaction.Req> transaction(StreamObserver<Transaction.Res> responseSender) {
-        return TransactionListener.create(responseSender, requestOpener, postProcessor);
+        return TransactionListener.create(responseSender, transactionExecutor, requestOpener, postProcessor);
     }
 
 
     /**
      * A {@link StreamObserver} that implements the transaction-handling behaviour for {@link ServerRPC}.
      * Receives a stream of {@link Transaction.Req}s and returning a stream of {@link Transaction.Res}s.
+     * Requests are handed over to the thread of the transaction without waiting for them to be handled, so gRPC
+     * threads are never held by queued or long running transactions.
      */
     static class TransactionListener implements StreamObserver<Transaction.Req> {
         final Logger LOG = LoggerFactory.getLogger(TransactionListener.class);
         private final StreamObserver<Transaction.Res> responseSender;
         private final AtomicBoolean terminated = new AtomicBoolean(false);
+        // Set when the transaction fails, so that the requests queued behind the failure are not handled
+        private volatile boolean failed = false;
         private final ExecutorService threadExecutor;
         private final OpenRequest requestOpener;
         private final PostProcessor postProcessor;
         private final Iterators iterators = Iterators.create();
+        private final Map<Integer, PreparedQuery> preparedQueries = new HashMap<>();
 
         @Nullable
         private EmbeddedGraknTx<?> tx = null;
+        // The id of the request being handled, echoed in its response. Only accessed by the thread of the transaction
+        private long requestId = 0;
+
+        private TransactionListener(StreamObserver<Transaction.Res> responseSender, TransactionExecutor transactionExecutor, OpenRequest requestOpener, PostProcessor postProcessor) {
+            this.responseSender = new StreamObserver<Transaction.Res>() {
+                @Override
+                public void onNext(Transaction.Res response) {
+                    responseSender.onNext(requestId == 0 ? response : response.toBuilder().setRequestId(requestId).build());
+                }
 
-        private TransactionListener(StreamObserver<Transaction.Res> responseSender, ExecutorService threadExecutor, OpenRequest requestOpener, PostProcessor postProcessor) {
-            this.responseSender = responseSender;
-            this.threadExecutor = threadExecutor;
+                @Override
+                public void onError(Throwable t) {
+                    responseSender.onError(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseSender.onCompleted();
+                }
+            };
+            this.threadExecutor = transactionExecutor.newTransaction(this::terminate);
             this.requestOpener = requestOpener;
             this.postProcessor = postProcessor;
         }
 
-        public static TransactionListener create(StreamObserver<Transaction.Res> responseSender, OpenRequest requestOpener, PostProcessor postProcessor) {
-            ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("transaction-listener-%s").build();
-            ExecutorService threadExecutor = Executors.newSingleThreadExecutor(threadFactory);
-            return new TransactionListener(responseSender, threadExecutor, requestOpener, postProcessor);
+        public static TransactionListener create(StreamObserver<Transaction.Res> responseSender, TransactionExecutor transactionExecutor, OpenRequest requestOpener, PostProcessor postProcessor) {
+            return new TransactionListener(responseSender, transactionExecutor, requestOpener, postProcessor);
         }
 
         private static <T> T nonNull(@Nullable T item) {
@@ -115,7 +143,14 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         @Override
         public void onNext(Transaction.Req request) {
             try {
-                submit(() -> handleRequest(request));
+                threadExecutor.execute(() -> {
+                    if (failed) return;
+                    try {
+                        handleRequest(request);
+                    } catch (RuntimeException e) {
+                        close(e);
+                    }
+                });
             } catch (RuntimeException e) {
                 close(e);
             }
@@ -132,6 +167,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         }
 
         private void handleRequest(Transaction.Req request) {
+            requestId = request.getRequestId();
             switch (request.getReqCase()) {
                 case OPEN_REQ:
                     open(request.getOpenReq());
@@ -172,19 +208,40 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                 case CONCEPTMETHOD_REQ:
                     conceptMethod(request.getConceptMethodReq());
                     break;
+                case PREPAREQUERY_REQ:
+                    prepareQuery(request.getPrepareQueryReq());
+                    break;
+                case EXECUTEQUERY_REQ:
+                    executeQuery(request.getExecuteQueryReq());
+                    break;
                 default:
                 case REQ_NOT_SET:
                     throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
             }
         }
 
+        /**
+         * Closes the transaction once the requests received before are handled, then terminates the response stream.
+         * Does not wait for the transaction to be closed.
+         */
         public void close(@Nullable Throwable error) {
-            submit(() -> {
-                if (tx != null) {
-                    tx.close();
-                }
-            });
+            if (error != null) failed = true;
+            try {
+                threadExecutor.execute(() -> {
+                    try {
+                        if (tx != null) tx.close();
+                    } finally {
+                        terminate(error);
+                    }
+                });
+            } catch (RuntimeException e) {
+                //The transaction has already been closed or has never been served
+                terminate(error);
+            }
+            threadExecutor.shutdown();
+        }
 
+        private void terminate(@Nullable Throwable error) {
             if (!terminated.getAndSet(true)) {
                 if (error != null) {
                     LOG.error("Runtime Exception in RPC TransactionListener: ", error);
@@ -193,20 +250,6 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     responseSender.onCompleted();
                 }
             }
-
-            threadExecutor.shutdown();
-        }
-
-        private void submit(Runnable runnable) {
-            try {
-                threadExecutor.submit(runnable).get();
-            } catch (ExecutionException e) {
-                Throwable cause = e.getCause();
-                assert cause instanceof RuntimeException : "No checked exceptions are thrown, because it's a `Runnable`";
-                throw (RuntimeException) cause;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
         }
 
         private void open(SessionProto.Transaction.Open.Req request) {
@@ -233,18 +276,19 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     .infer(request.getInfer().equals(Transaction.Query.INFER.TRUE))
                     .parse(request.getQuery());
 
+            ConceptProto.Projection projection = request.getProjection();
             Stream<Transaction.Res> responseStream;
             int iteratorId;
             Transaction.Res response;
             if (query instanceof Streamable) {
-                responseStream = ((Streamable<?>) query).stream().map(ResponseBuilder.Transaction.Iter::query);
+                responseStream = ((Streamable<?>) query).stream().map(answer -> ResponseBuilder.Transaction.Iter.query(answer, projection));
                 iteratorId = iterators.add(responseStream.iterator());
             } else {
                 Object result = query.execute();
                 if (result == null) {
                     iteratorId = -1;
                 } else {
-                    responseStream = Stream.of(ResponseBuilder.Transaction.Iter.query(result));
+                    responseStream = Stream.of(ResponseBuilder.Transaction.Iter.query(result, projection));
                     iteratorId = iterators.add(responseStream.iterator());
                 }
             }
@@ -253,6 +297,44 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             responseSender.onNext(response);
         }
 
+        private void prepareQuery(SessionProto.Transaction.PrepareQuery.Req request) {
+            Var[] parameters = request.getParametersList().stream().map(Graql::var).toArray(Var[]::new);
+            PreparedQuery preparedQuery = tx().graql()
+                    .infer(request.getInfer().equals(Transaction.Query.INFER.TRUE))
+                    .prepare(request.getQuery(), parameters);
+
+            int preparedQueryId = preparedQueries.size() + 1;
+            preparedQueries.put(preparedQueryId, preparedQuery);
+            responseSender.onNext(ResponseBuilder.Transaction.prepareQuery(preparedQueryId));
+        }
+
+        private void executeQuery(SessionProto.Transaction.ExecuteQuery.Req request) {
+            PreparedQuery preparedQuery = nonNull(preparedQueries.get(request.getId()));
+
+            Map<Var, Object> bindings = new HashMap<>();
+            for (SessionProto.Transaction.ExecuteQuery.Binding binding : request.getBindingsList()) {
+                Object value;
+                switch (binding.getBindingCase()) {
+                    case ID:
+                        value = ConceptId.of(binding.getId());
+                        break;
+                    case VALUE:
+                        value = ResponseBuilder.Concept.value(binding.getValue());
+                        break;
+                    default:
+                    case BINDING_NOT_SET:
+                        throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+                }
+                bindings.put(Graql.var(binding.getParameter()), value);
+            }
+
+            ConceptProto.Projection projection = request.getProjection();
+            Stream<Transaction.Res> responseStream = preparedQuery.stream(bindings)
+                    .map(answer -> ResponseBuilder.Transaction.Iter.query(answer, projection));
+            int iteratorId = iterators.add(responseStream.iterator());
+            responseSender.onNext(ResponseBuilder.Transaction.queryIterator(iteratorId));
+        }
+
         private void getSchemaConcept(SessionProto.Transaction.GetSchemaConcept.Req request) {
             Concept concept = tx().getSchemaConcept(Label.of(request.getLabel()));
             responseSender.onNext(ResponseBuilder.Transaction.getSchemaConcept(concept));
@@ -264,7 +346,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         }
 
         private void getAttributes(SessionProto.Transaction.GetAttributes.Req request) {
-            Object value = request.getValue().getAllFields().values().iterator().next();
+            Object value = ResponseBuilder.Concept.value(request.getValue());
             Collection<Attribute<Object>> attributes = tx().getAttributesByValue(value);
 
             Iterator<Transaction.Res> iterator = attributes.stream().map(ResponseBuilder.Transaction.Iter::getAttributes).iterator();
@@ -317,7 +399,8 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
 
         private void next(SessionProto.Transaction.Iter.Req iterate) {
             int iteratorId = iterate.getId();
-            Transaction.Res response = iterators.next(iteratorId);
+            int batchSize = iterate.getBatchSize();
+            Transaction.Res response = batchSize > 0 ? iterators.next(iteratorId, batchSize) : iterators.next(iteratorId);
             if (response == null) throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
             responseSender.onNext(response);
         }
@@ -325,7 +408,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
 
     /**
      * Contains a mutable map of iterators of {@link Transaction.Res}s for gRPC. These iterators are used for returning
-     * lazy, streaming responses such as for Graql query results.
+     * lazy, streaming responses such as for Graql query results, either one at a time or in batches.
      */
     public static class Iterators {
         private final AtomicInteger iteratorIdCounter = new AtomicInteger(1);
@@ -341,6 +424,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             return iteratorId;
         }
 
+        @Nullable
         public Transaction.Res next(int iteratorId) {
             Iterator<Transaction.Res> iterator = iterators.get(iteratorId);
             if (iterator == null) return null;
@@ -349,17 +433,40 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             if (iterator.hasNext()) {
                 response = iterator.next();
             } else {
-                response = SessionProto.Transaction.Res.newBuilder()
-                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
-                                .setDone(true)).build();
+                response = SessionProto.Transaction.Res.newBuilder().setIterateRes(done()).build();
                 stop(iteratorId);
             }
 
             return response;
         }
 
+        /**
+         * Answers with up to {@code batchSize} responses of an iterator at once, so that results are not limited by
+         * the latency of a round trip each. Exhausted iterators are marked as done within the same batch.
+         */
+        @Nullable
+        public Transaction.Res next(int iteratorId, int batchSize) {
+            Iterator<Transaction.Res> iterator = iterators.get(iteratorId);
+            if (iterator == null) return null;
+
+            Transaction.Iter.Batch.Builder batch = Transaction.Iter.Batch.newBuilder();
+            while (batch.getResCount() < batchSize && iterator.hasNext()) {
+                batch.addRes(iterator.next().getIterateRes());
+            }
+            if (!iterator.hasNext()) {
+                batch.addRes(done());
+                stop(iteratorId);
+            }
+
+            return SessionProto.Transaction.Res.newBuilder().setIterateBatch(batch).build();
+        }
+
         public void stop(int iteratorId) {
             iterators.remove(iteratorId);
         }
+
+        private static Transaction.Iter.Res done() {
+            return Transaction.Iter.Res.newBuilder().setDone(true).build();
+        }
     }
 }
@@ -0,0 +1,236 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.rpc;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * <p>
+ * Bounded pool of threads shared by the transactions of the {@link SessionService}
+ * </p>
+ *
+ * <p>
+ * Transactions are bound to the thread they are opened in, so the requests of a transaction are executed in order by
+ * a single thread of the pool, which serves the transaction until it is closed. Threads are reused across
+ * transactions rather than started for each of them, and at most a fixed number of transactions are served at once.
+ * Further transactions are queued until a thread is released. They are rejected once the queue is full, or when
+ * they have waited for a thread for longer than the maximum queue wait.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class TransactionExecutor {
+    public static final int DEFAULT_MAX_TRANSACTIONS = 512;
+    public static final int DEFAULT_MAX_QUEUED_TRANSACTIONS = 4096;
+    public static final long DEFAULT_MAX_QUEUE_WAIT_MS = 30_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionExecutor.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor pool;
+    private final long maxQueueWaitNanos;
+    private final Timer waitTimer;
+    private final Meter rejected;
+
+    private TransactionExecutor(int maxTransactions, int maxQueued, long maxQueueWaitMs, MetricRegistry metricRegistry) {
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        this.pool = new ThreadPoolExecutor(maxTransactions, maxTransactions, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxQueued),
+                new ThreadFactoryBuilder().setNameFormat("transaction-listener-%s").setDaemon(true).build());
+        this.pool.allowCoreThreadTimeOut(true);
+
+        String active = name(TransactionExecutor.class, "active");
+        String queued = name(TransactionExecutor.class, "queued");
+        metricRegistry.remove(active);
+        metricRegistry.remove(queued);
+        metricRegistry.register(active, (Gauge<Integer>) pool::getActiveCount);
+        metricRegistry.register(queued, (Gauge<Integer>) () -> pool.getQueue().size());
+        this.waitTimer = metricRegistry.timer(name(TransactionExecutor.class, "wait"));
+        this.rejected = metricRegistry.meter(name(TransactionExecutor.class, "rejected"));
+    }
+
+    /**
+     * @param maxTransactions the number of transactions served at once, i.e. the maximum number of threads
+     * @param maxQueued the number of transactions which can wait for a thread before further ones are rejected
+     * @param metricRegistry registry of the number of active and queued transactions and of the time spent queued
+     */
+    public static TransactionExecutor create(int maxTransactions, int maxQueued, MetricRegistry metricRegistry) {
+        return create(maxTransactions, maxQueued, DEFAULT_MAX_QUEUE_WAIT_MS, metricRegistry);
+    }
+
+    /**
+     * @param maxTransactions the number of transactions served at once, i.e. the maximum number of threads
+     * @param maxQueued the number of transactions which can wait for a thread before further ones are rejected
+     * @param maxQueueWaitMs the time in milliseconds a transaction can wait for a thread before it is rejected
+     * @param metricRegistry registry of the number of active and queued transactions and of the time spent queued
+     */
+    public static TransactionExecutor create(int maxTransactions, int maxQueued, long maxQueueWaitMs, MetricRegistry metricRegistry) {
+        return new TransactionExecutor(maxTransactions, maxQueued, maxQueueWaitMs, metricRegistry);
+    }
+
+    /**
+     * @return an executor running tasks in order on a single thread of the pool, which is held from the first task
+     * until the executor is shut down
+     */
+    public ExecutorService newTransaction() {
+        return newTransaction(e -> LOG.warn("Transaction rejected after waiting for a thread", e));
+    }
+
+    /**
+     * @param onRejected notified, instead of running the tasks, if the transaction waits for a thread for longer
+     *                   than the maximum queue wait
+     * @return an executor running tasks in order on a single thread of the pool, which is held from the first task
+     * until the executor is shut down
+     */
+    public ExecutorService newTransaction(Consumer<StatusRuntimeException> onRejected) {
+        return new SerialExecutor(onRejected);
+    }
+
+    /**
+     * Runs the tasks of a single transaction, in order, on the same thread of the pool
+     */
+    private class SerialExecutor extends AbstractExecutorService {
+        private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private final Runnable stop = () -> {};
+        private final Consumer<StatusRuntimeException> onRejected;
+
+        //Guarded by this
+        private boolean started = false;
+        private boolean shutdown = false;
+
+        SerialExecutor(Consumer<StatusRuntimeException> onRejected) {
+            this.onRejected = onRejected;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            if (shutdown) throw new RejectedExecutionException("The transaction has been closed");
+            tasks.add(task);
+            if (!started) {
+                started = true;
+                long queuedAt = System.nanoTime();
+                try {
+                    pool.execute(() -> run(queuedAt));
+                } catch (RejectedExecutionException e) {
+                    rejected.mark();
+                    shutdown = true;
+                    terminated.countDown();
+                    throw exhausted();
+                }
+            }
+        }
+
+        private void run(long queuedAt) {
+            long waited = System.nanoTime() - queuedAt;
+            waitTimer.update(waited, TimeUnit.NANOSECONDS);
+            if (waited > maxQueueWaitNanos) {
+                rejected.mark();
+                shutdownNow();
+                terminated.countDown();
+                onRejected.accept(exhausted());
+                return;
+            }
+            try {
+                Runnable task;
+                while ((task = tasks.take()) != stop) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        LOG.error("Uncaught exception in transaction", e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            if (shutdown) return;
+            shutdown = true;
+            if (started) {
+                tasks.add(stop);
+            } else {
+                terminated.countDown();
+            }
+        }
+
+        /**
+         * Discards the tasks which have not started yet. The running task, if any, is not interrupted.
+         */
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            List<Runnable> pending = new ArrayList<>();
+            tasks.drainTo(pending);
+            pending.remove(stop);
+            shutdown = true;
+            if (started) {
+                tasks.add(stop);
+            } else {
+                terminated.countDown();
+            }
+            return pending;
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return terminated.getCount() == 0;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return terminated.await(timeout, unit);
+        }
+    }
+
+    private static StatusRuntimeException exhausted() {
+        return ResponseBuilder.exception(Status.RESOURCE_EXHAUSTED.withDescription(
+                "Too many transactions are open, try again later"));
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.kb.log.CommitLog;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * <p>
+ *     Buffers the {@link CommitLog}s submitted to a {@link PostProcessor}, so that committing a transaction does not
+ *     wait for post processing storage.
+ * </p>
+ *
+ * <p>
+ *     The {@link CommitLog}s of a {@link Keyspace} are merged as they are submitted, summing their instance counts and
+ *     unioning their attributes. The merged {@link CommitLog} is passed on when it reaches the flush size or when the
+ *     flush period elapses. When more {@link CommitLog}s are buffered than allowed, the submitting thread flushes the
+ *     buffer itself, slowing down submission to the rate at which {@link CommitLog}s are processed. A
+ *     {@link CommitLog} which could not be processed is merged back into the buffer and retried by the next flush.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class CommitLogBuffer implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitLogBuffer.class);
+
+    private final Consumer<CommitLog> target;
+    private final int flushSize;
+    private final int maxBuffered;
+    private final Map<Keyspace, CommitLog> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+    private final Meter submitted;
+    private final Meter delivered;
+    private final Meter failed;
+    private final Meter throttled;
+    private final Timer flushTimer;
+
+    /**
+     * @param target processes the merged {@link CommitLog}s
+     * @param flushSize the number of entries after which the {@link CommitLog} of a {@link Keyspace} is flushed
+     * @param flushPeriodMs the maximum time in milliseconds a {@link CommitLog} is buffered for
+     * @param maxBuffered the number of buffered entries after which submitting threads flush the buffer themselves
+     * @param metricRegistry registry of the delivery metrics
+     */
+    public CommitLogBuffer(Consumer<CommitLog> target, int flushSize, long flushPeriodMs, int maxBuffered, MetricRegistry metricRegistry) {
+        this.target = target;
+        this.flushSize = flushSize;
+        this.maxBuffered = maxBuffered;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("commit-log-flush-%d").setDaemon(true).build());
+        this.flusher.scheduleWithFixedDelay(this::flushAll, flushPeriodMs, flushPeriodMs, TimeUnit.MILLISECONDS);
+
+        String bufferedGauge = name(CommitLogBuffer.class, "buffered");
+        metricRegistry.remove(bufferedGauge);
+        metricRegistry.register(bufferedGauge, (Gauge<Integer>) buffered::get);
+        this.submitted = metricRegistry.meter(name(CommitLogBuffer.class, "submitted"));
+        this.delivered = metricRegistry.meter(name(CommitLogBuffer.class, "delivered"));
+        this.failed = metricRegistry.meter(name(CommitLogBuffer.class, "failed"));
+        this.throttled = metricRegistry.meter(name(CommitLogBuffer.class, "throttled"));
+        this.flushTimer = metricRegistry.timer(name(CommitLogBuffer.class, "flush"));
+    }
+
+    /**
+     * Merges the {@link CommitLog} into the buffer of its {@link Keyspace}
+     */
+    public void submit(CommitLog commitLog) {
+        submitted.mark();
+        if (sizeOf(commitLog) == 0) return;
+
+        int[] sizes = buffer(commitLog);
+        int keyspaceEntries = sizes[0];
+        int total = buffered.addAndGet(sizes[1]);
+
+        if (total > maxBuffered) {
+            throttled.mark();
+            flushAll();
+        } else if (keyspaceEntries >= flushSize || flusher.isShutdown()) {
+            flushSoon(commitLog.keyspace());
+        }
+    }
+
+    /**
+     * Passes on all the buffered {@link CommitLog}s
+     */
+    public void flushAll() {
+        new HashSet<>(buffers.keySet()).forEach(this::flush);
+    }
+
+    private void flushSoon(Keyspace keyspace) {
+        try {
+            flusher.execute(() -> flush(keyspace));
+        } catch (RejectedExecutionException e) {
+            flush(keyspace);
+        }
+    }
+
+    private void flush(Keyspace keyspace) {
+        CommitLog commitLog = buffers.remove(keyspace);
+        if (commitLog == null) return;
+        buffered.addAndGet(-sizeOf(commitLog));
+
+        try (Timer.Context ignored = flushTimer.time()) {
+            target.accept(commitLog);
+            delivered.mark();
+        } catch (RuntimeException e) {
+            failed.mark();
+            //The log is merged back with the entries submitted since, so it is retried by the next flush
+            buffered.addAndGet(buffer(commitLog)[1]);
+            LOG.error("Could not process the commit log of keyspace {}, will retry", keyspace, e);
+        }
+    }
+
+    /**
+     * Merges the {@link CommitLog} into the buffer of its {@link Keyspace}.
+     * Merging into the buffer is atomic with respect to flushing it, which removes it from the map.
+     *
+     * @return the number of entries of the buffer and the number of entries added to it
+     */
+    private int[] buffer(CommitLog commitLog) {
+        int[] sizes = new int[2];
+        buffers.compute(commitLog.keyspace(), (keyspace, buffer) -> {
+            if (buffer == null) buffer = CommitLog.createDefault(keyspace);
+            int before = sizeOf(buffer);
+            merge(buffer, commitLog);
+            sizes[0] = sizeOf(buffer);
+            sizes[1] = sizes[0] - before;
+            return buffer;
+        });
+        return sizes;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+        if (!buffers.isEmpty()) {
+            LOG.error("Could not process the commit logs of keyspaces {} before closing", buffers.keySet());
+        }
+    }
+
+    private static void merge(CommitLog buffer, CommitLog commitLog) {
+        commitLog.instanceCount().forEach((id, count) -> buffer.instanceCount().merge(id, count, Long::sum));
+        commitLog.attributes().forEach((index, ids) -> buffer.attributes().merge(index, new HashSet<>(ids), (current, added) -> {
+            current.addAll(added);
+            return current;
+        }));
+    }
+
+    private static int sizeOf(CommitLog commitLog) {
+        return commitLog.instanceCount().size() + commitLog.attributes().size();
+    }
+}
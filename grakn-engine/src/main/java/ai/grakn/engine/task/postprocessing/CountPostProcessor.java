@@ -27,14 +27,18 @@ import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.engine.lock.LockProvider;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.kb.log.CommitLog;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -49,24 +53,45 @@ import static com.codahale.metrics.MetricRegistry.name;
  */
 public class CountPostProcessor {
     private final static Logger LOG = LoggerFactory.getLogger(CountPostProcessor.class);
+    private final static long DEFAULT_SHARDING_LOOKAHEAD_MS = 0;
+    private final static int DEFAULT_REBALANCE_BATCH_SIZE = 5000;
+    private final static long INSERT_RATE_EXPIRY_MINUTES = 15;
     private final CountStorage countStorage;
     private final MetricRegistry metricRegistry;
     private final EngineGraknTxFactory factory;
     private final LockProvider lockProvider;
     private final long shardingThreshold;
+    private final long shardingLookaheadMs;
+    private final ShardRebalancer rebalancer;
+
+    //The rate at which instances of each type are being inserted, used to shard types before they cross the threshold.
+    //Rates of types which have not been inserted into for a while, including types of deleted keyspaces, are dropped.
+    private final Map<String, Meter> insertRates = CacheBuilder.newBuilder()
+            .expireAfterAccess(INSERT_RATE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+            .<String, Meter>build().asMap();
 
     private CountPostProcessor(GraknConfig engineConfig, EngineGraknTxFactory factory, LockProvider lockProvider, MetricRegistry metricRegistry, CountStorage countStorage) {
         this.countStorage = countStorage;
         this.shardingThreshold = engineConfig.getProperty(GraknConfigKey.SHARDING_THRESHOLD);
+        this.shardingLookaheadMs = engineConfig.getProperty(GraknConfigKey.SHARDING_LOOKAHEAD_MS, DEFAULT_SHARDING_LOOKAHEAD_MS);
         this.metricRegistry = metricRegistry;
         this.factory = factory;
         this.lockProvider = lockProvider;
+        int rebalanceBatchSize = engineConfig.getProperty(GraknConfigKey.SHARD_REBALANCE_BATCH_SIZE, DEFAULT_REBALANCE_BATCH_SIZE);
+        this.rebalancer = new ShardRebalancer(factory, lockProvider, rebalanceBatchSize);
     }
 
     public static CountPostProcessor create(GraknConfig engineConfig, EngineGraknTxFactory factory, LockProvider lockProvider, MetricRegistry metricRegistry, CountStorage countStorage) {
         return new CountPostProcessor(engineConfig, factory, lockProvider, metricRegistry, countStorage);
     }
 
+    /**
+     * @return the {@link ai.grakn.engine.task.BackgroundTask} moving existing instances into the shards this creates
+     */
+    public ShardRebalancer rebalancer() {
+        return rebalancer;
+    }
+
     /**
      * Updates the counts of {@link ai.grakn.concept.Type}s based on the commit logs received.
      *
@@ -81,29 +106,30 @@ public class CountPostProcessor {
             //We Use countStorage to keep track of counts in order to ensure sharding happens in a centralised manner.
             //The graph cannot be used because each engine can have it's own snapshot of the graph with caching which makes
             //values only approximately correct
-            Set<ConceptId> conceptToShard = new HashSet<>();
+            Map<ConceptId, Long> conceptToShard = new HashMap<>();
+
+            //Update counts with a constant number of round trips to countStorage, regardless of the number of types
+            Keyspace keyspace = commitLog.keyspace();
+            Map<ConceptId, Long> numShards = countStorage.getShardCounts(keyspace, jobs.keySet());
+            Map<ConceptId, Long> numInstances = countStorage.incrementInstanceCounts(keyspace, jobs);
 
-            //Update counts
             jobs.forEach((key, value) -> {
                 metricRegistry
                         .histogram(name(CountPostProcessor.class, "shard-size-increase"))
                         .update(value);
-                Timer.Context contextSingle = metricRegistry
-                        .timer(name(CountPostProcessor.class, "execution-single")).time();
-                try {
-                    if (incrementInstanceCountAndCheckIfShardingIsNeeded(countStorage, commitLog.keyspace(), key, value, shardingThreshold)) {
-                        conceptToShard.add(key);
-                    }
-                } finally {
-                    contextSingle.stop();
+                long instances = numInstances.getOrDefault(key, 0L);
+                factory.instanceCountChanged(keyspace, key, instances);
+                long expectedIncrease = expectedIncrease(keyspace, key, value);
+                if (isShardingNeeded(instances + expectedIncrease, numShards.getOrDefault(key, 0L), shardingThreshold)) {
+                    conceptToShard.put(key, expectedIncrease);
                 }
             });
 
             //Shard anything which requires sharding
-            conceptToShard.forEach(type -> {
+            conceptToShard.forEach((type, expectedIncrease) -> {
                 Timer.Context contextSharding = metricRegistry.timer("sharding").time();
                 try {
-                    shardConcept(countStorage, factory, commitLog.keyspace(), type, shardingThreshold);
+                    shardConcept(countStorage, factory, commitLog.keyspace(), type, expectedIncrease, shardingThreshold);
                 } finally {
                     contextSharding.stop();
                 }
@@ -116,53 +142,74 @@ public class CountPostProcessor {
     }
 
     /**
-     * Updates the type counts in countStorage and checks if sharding is needed.
+     * Records the instances a type has gained and estimates how many more it will gain within the sharding lookahead,
+     * at the rate at which its instances are currently being inserted.
      *
      * @param keyspace The keyspace of the graph which the type comes from
-     * @param conceptId The id of the concept with counts to update
+     * @param conceptId The id of the type
      * @param value The number of instances which the type has gained/lost
-     * @return true if sharding is needed.
+     * @return the number of instances the type is expected to gain before it is next post processed
      */
-    private static boolean incrementInstanceCountAndCheckIfShardingIsNeeded(CountStorage countStorage, Keyspace keyspace, ConceptId conceptId, long value, long shardingThreshold){
-        long numShards = countStorage.getShardCount(keyspace, conceptId);
+    private long expectedIncrease(Keyspace keyspace, ConceptId conceptId, long value){
+        if(shardingLookaheadMs <= 0) return 0;
+        Meter insertRate = insertRates.computeIfAbsent(getLockingKey(keyspace, conceptId), key -> new Meter());
+        if(value > 0) insertRate.mark(value);
+        return (long) (insertRate.getOneMinuteRate() * shardingLookaheadMs / 1000);
+    }
+
+    static boolean isShardingNeeded(long numInstances, long numShards, long shardingThreshold){
+        return shardsNeeded(numInstances, numShards, shardingThreshold) > 0;
+    }
+
+    /**
+     * @return the number of shards to create so that no shard is expected to hold more than the threshold
+     */
+    static long shardsNeeded(long numInstances, long numShards, long shardingThreshold){
         if(numShards == 0) numShards = 1;
-        long numInstances = countStorage.incrementInstanceCount(keyspace, conceptId, value);
-        return numInstances > shardingThreshold * numShards;
+        if(numInstances <= shardingThreshold * numShards) return 0;
+        return (numInstances - 1) / shardingThreshold + 1 - numShards;
     }
 
     /**
      * Performs the high level sharding operation. This includes:
      * - Acquiring a lock to ensure only one thing can shard
-     * - Checking if sharding is still needed after having the lock
+     * - Checking how many shards are still needed after having the lock
      * - Actually sharding
      * - Incrementing the number of shards on each type
+     * - Scheduling existing instances to be moved into the new shards
      *
      * @param keyspace The database containing the {@link ai.grakn.concept.Type} to shard
      * @param conceptId The id of the concept to shard
+     * @param expectedIncrease The number of instances the type is expected to gain before it is next post processed
      */
     private void shardConcept(CountStorage countStorage, EngineGraknTxFactory factory,
-                              Keyspace keyspace, ConceptId conceptId, long shardingThreshold){
+                              Keyspace keyspace, ConceptId conceptId, long expectedIncrease, long shardingThreshold){
         Lock engineLock = lockProvider.getLock(getLockingKey(keyspace, conceptId));
         engineLock.lock(); //Try to get the lock
 
         try {
             //Check if sharding is still needed. Another engine could have sharded whilst waiting for lock
-            if (incrementInstanceCountAndCheckIfShardingIsNeeded(countStorage, keyspace, conceptId, 0, shardingThreshold)) {
-
-
+            long numShards = countStorage.getShardCount(keyspace, conceptId);
+            long numInstances = countStorage.getInstanceCount(keyspace, conceptId);
+            long newShards = shardsNeeded(numInstances + expectedIncrease, numShards, shardingThreshold);
+            if (newShards > 0) {
+                Set<String> newShardIds = new HashSet<>();
                 try(EmbeddedGraknTx<?> tx = factory.tx(keyspace, GraknTxType.WRITE)) {
-                    tx.shard(conceptId);
+                    for (long i = 0; i < newShards; i++) {
+                        tx.shard(conceptId).ifPresent(newShardIds::add);
+                    }
                     tx.commitSubmitNoLogs();
                 }
                 //Update number of shards
-                countStorage.incrementShardCount(keyspace, conceptId, 1);
+                long totalShards = countStorage.incrementShardCount(keyspace, conceptId, newShards);
+                rebalancer.sharded(keyspace, conceptId, newShardIds, numInstances / Math.max(totalShards, 1));
             }
         } finally {
             engineLock.unlock();
         }
     }
 
-    private static String getLockingKey(Keyspace keyspace, ConceptId conceptId){
+    static String getLockingKey(Keyspace keyspace, ConceptId conceptId){
         return "/updating-instance-count-lock/" + keyspace + "/" + conceptId.getValue();
     }
 }
@@ -21,6 +21,10 @@ package ai.grakn.engine.task.postprocessing;
 import ai.grakn.Keyspace;
 import ai.grakn.concept.ConceptId;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  *
  * <p>
@@ -68,4 +72,30 @@ public interface CountStorage {
      * @return the shard count
      */
     long getShardCount(Keyspace keyspace, ConceptId conceptId);
+
+    /**
+     * Adjusts the instance counts of several concepts.
+     *
+     * @param keyspace
+     * @param incrementBy the number to adjust the count of each concept by
+     * @return the final values after being adjusted
+     */
+    default Map<ConceptId, Long> incrementInstanceCounts(Keyspace keyspace, Map<ConceptId, Long> incrementBy){
+        Map<ConceptId, Long> counts = new HashMap<>();
+        incrementBy.forEach((conceptId, value) -> counts.put(conceptId, incrementInstanceCount(keyspace, conceptId, value)));
+        return counts;
+    }
+
+    /**
+     * Get the shard counts of several concepts.
+     *
+     * @param keyspace
+     * @param conceptIds
+     * @return the shard count of each concept
+     */
+    default Map<ConceptId, Long> getShardCounts(Keyspace keyspace, Set<ConceptId> conceptIds){
+        Map<ConceptId, Long> counts = new HashMap<>();
+        conceptIds.forEach(conceptId -> counts.put(conceptId, getShardCount(keyspace, conceptId)));
+        return counts;
+    }
 }
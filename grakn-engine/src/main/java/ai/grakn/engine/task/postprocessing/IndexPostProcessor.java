@@ -26,6 +26,10 @@ import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.kb.log.CommitLog;
 import ai.grakn.util.Schema;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -64,6 +68,17 @@ public class IndexPostProcessor {
         return indexStorage.popIds(keyspace, index);
     }
 
+    /**
+     * Returns indices which have been popped but not post processed to {@link IndexStorage}, so that they are
+     * post processed later
+     *
+     * @param keyspace The {@link Keyspace} of the indices
+     * @param indices The indices mapped to the ids of their suspected duplicates
+     */
+    public void returnIndices(Keyspace keyspace, Map<String, Set<ConceptId>> indices){
+        indexStorage.addIndices(keyspace, indices);
+    }
+
     /**
      * Adds all the new {@link ai.grakn.concept.Attribute}s of a {@link CommitLog} to {@link IndexStorage} for storage.
      * This data will be retrieved later and post processed.
@@ -71,7 +86,7 @@ public class IndexPostProcessor {
      * @param commitLog The {@link CommitLog} which contains the new {@link ai.grakn.concept.Attribute}s to post process
      */
     public void updateIndices(CommitLog commitLog){
-        commitLog.attributes().forEach((index, ids) -> indexStorage.addIndex(commitLog.keyspace(), index, ids));
+        indexStorage.addIndices(commitLog.keyspace(), commitLog.attributes());
     }
 
     /**
@@ -111,6 +126,54 @@ public class IndexPostProcessor {
         }
     }
 
+    /**
+     * Merges the duplicate {@link ai.grakn.concept.Concept}s of several indices in a single transaction, which is
+     * committed once all the indices have been merged.
+     * <p>
+     * The lock of each index is only tried, so that batches locking the same indices in different orders cannot
+     * deadlock. An index which is locked elsewhere is returned to {@link IndexStorage} to be post processed later.
+     * </p>
+     *
+     * @param tx The {@link GraknTx} responsible for performing the merge
+     * @param indices The unique {@link ai.grakn.concept.Concept} indices mapped to the {@link ConceptId}s of their
+     *                suspected duplicates
+     * @return the number of indices which had duplicates merged
+     */
+    public int mergeDuplicateConcepts(EmbeddedGraknTx<?> tx, Map<String, Set<ConceptId>> indices){
+        Map<String, Set<ConceptId>> duplicated = new HashMap<>();
+        indices.forEach((index, conceptIds) -> {
+            if(tx.duplicateResourcesExist(index, conceptIds)) duplicated.put(index, conceptIds);
+        });
+        if(duplicated.isEmpty()) return 0;
+
+        List<Lock> locks = new ArrayList<>();
+        try {
+            Map<String, Set<ConceptId>> merged = new HashMap<>();
+            duplicated.forEach((index, conceptIds) -> {
+                Lock indexLock = lockProvider.getLock(getLockKey(tx.keyspace(), index));
+                if(indexLock.tryLock()) {
+                    locks.add(indexLock);
+                    if(tx.fixDuplicateResources(index, conceptIds)) merged.put(index, conceptIds);
+                } else {
+                    indexStorage.addIndex(tx.keyspace(), index, conceptIds);
+                }
+            });
+
+            if(!merged.isEmpty()) {
+                merged.forEach((index, conceptIds) -> validateMerged(tx, index, conceptIds).
+                        ifPresent(message -> {
+                            throw new RuntimeException(message);
+                        }));
+
+                // persist merged concepts
+                tx.commitSubmitNoLogs();
+            }
+            return merged.size();
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
     /**
      * Checks that post processing was done successfully by doing two things:
      *  1. That there is only 1 valid conceptID left
@@ -22,6 +22,7 @@ import ai.grakn.Keyspace;
 import ai.grakn.concept.ConceptId;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -38,6 +39,13 @@ public interface IndexStorage {
      */
     void addIndex(Keyspace keyspace, String index, Set<ConceptId> conceptIds);
 
+    /**
+     * Add several indices to the list of indices which needs to be post processed
+     */
+    default void addIndices(Keyspace keyspace, Map<String, Set<ConceptId>> indices){
+        indices.forEach((index, conceptIds) -> addIndex(keyspace, index, conceptIds));
+    }
+
     /**
      * Gets and removes the next index to post process
      */
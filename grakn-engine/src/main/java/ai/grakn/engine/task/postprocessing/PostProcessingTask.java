@@ -26,39 +26,76 @@ import ai.grakn.engine.GraknConfig;
 import ai.grakn.engine.KeyspaceStore;
 import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.engine.task.BackgroundTask;
-import ai.grakn.engine.task.postprocessing.redisstorage.RedisIndexStorage;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * <p>
  *     Class which facilitates running {@link PostProcessor} jobs.
  * </p>
  *
+ * <p>
+ *     Indices popped from {@link IndexStorage} are kept in a backlog, where an index popped again is coalesced with the
+ *     pending one. Every run, the indices with the most suspected duplicates are merged first, in batches which are
+ *     each merged in a single transaction. The size of the batches grows with the backlog so a large backlog drains
+ *     with few transactions, while a small one is merged with one transaction per index. The backlog is returned to
+ *     {@link IndexStorage} when the task is closed.
+ * </p>
+ *
  * @author Filipe Peliz Pinto Teixeira
  */
 public class PostProcessingTask implements BackgroundTask{
     private static final Logger LOG = LoggerFactory.getLogger(PostProcessingTask.class);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
     private final EngineGraknTxFactory factory;
     private final IndexPostProcessor indexPostProcessor;
     private final ScheduledExecutorService threadPool;
     private final int postProcessingMaxJobs;
     private final int postprocessingDelay;
+    private final int maxBatchSize;
+    private final int maxBacklog;
+    private final Map<Keyspace, Map<String, Set<ConceptId>>> backlog = new ConcurrentHashMap<>();
+    private final Meter mergedIndices;
+    private final Histogram batchSizes;
+    private final Timer batchTimer;
 
-    public PostProcessingTask(EngineGraknTxFactory factory,  IndexPostProcessor indexPostProcessor, GraknConfig config){
+    public PostProcessingTask(EngineGraknTxFactory factory, IndexPostProcessor indexPostProcessor, GraknConfig config, MetricRegistry metricRegistry){
         this.factory = factory;
         this.indexPostProcessor = indexPostProcessor;
         this.postProcessingMaxJobs = config.getProperty(GraknConfigKey.POST_PROCESSOR_POOL_SIZE);
         this.threadPool = Executors.newScheduledThreadPool(postProcessingMaxJobs);
         this.postprocessingDelay = config.getProperty(GraknConfigKey.POST_PROCESSOR_DELAY);
+        this.maxBatchSize = Math.max(1, config.getProperty(GraknConfigKey.POST_PROCESSOR_BATCH_SIZE, DEFAULT_MAX_BATCH_SIZE));
+        //Enough indices to fill every job with a full batch, plus as many again to choose the next ones from
+        this.maxBacklog = 2 * postProcessingMaxJobs * maxBatchSize;
+
+        String backlogGauge = name(PostProcessingTask.class, "backlog");
+        metricRegistry.remove(backlogGauge);
+        metricRegistry.register(backlogGauge, (Gauge<Integer>) this::backlogSize);
+        this.mergedIndices = metricRegistry.meter(name(PostProcessingTask.class, "merged"));
+        this.batchSizes = metricRegistry.histogram(name(PostProcessingTask.class, "batch-size"));
+        this.batchTimer = metricRegistry.timer(name(PostProcessingTask.class, "batch"));
     }
 
     @Override
@@ -78,51 +115,110 @@ public class PostProcessingTask implements BackgroundTask{
     }
 
     private void runPostProcessing(UUID executionId, Keyspace keyspace) {
+        Map<String, Set<ConceptId>> pending = backlog.computeIfAbsent(keyspace, k -> new ConcurrentHashMap<>());
+
+        //Fill the backlog, coalescing the ids of indices which are already pending
         String index;
-        int limit = 0;
-        do {
-            index = indexPostProcessor.popIndex(keyspace);
-            LOG.info("post-processing '" + executionId + "': working on keyspace '" + keyspace.getValue() +
-                    "'. The index to be post-processed is '" + index + "'");
-            final String i = index;
-            if (index != null) {
-                threadPool.schedule(() -> processIndex(keyspace, i, executionId), postprocessingDelay, TimeUnit.SECONDS);
+        while (pending.size() < maxBacklog && (index = indexPostProcessor.popIndex(keyspace)) != null) {
+            Set<ConceptId> ids = indexPostProcessor.popIds(keyspace, index);
+            //No need to post process if another engine has beaten you to doing it
+            if (!ids.isEmpty()) {
+                pending.merge(index, ids, (current, added) -> {
+                    Set<ConceptId> union = new HashSet<>(current);
+                    union.addAll(added);
+                    return union;
+                });
             }
-            limit++;
-        } while (index != null && limit < postProcessingMaxJobs);
+        }
+        if (pending.isEmpty()) return;
+
+        //Adapt the size of the batches to the backlog, so that all jobs share it
+        int batchSize = Math.min(maxBatchSize, Math.max(1, (pending.size() + postProcessingMaxJobs - 1) / postProcessingMaxJobs));
+        LOG.info("post-processing '" + executionId + "': working on keyspace '" + keyspace.getValue() + "'. " +
+                pending.size() + " indices are pending, scheduling batches of " + batchSize + " indices");
+
+        //Take the indices with the most suspected duplicates first
+        List<String> prioritised = pending.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Set<ConceptId>> e) -> e.getValue().size()).reversed())
+                .limit((long) batchSize * postProcessingMaxJobs)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        for (int start = 0; start < prioritised.size(); start += batchSize) {
+            Map<String, Set<ConceptId>> batch = new HashMap<>();
+            prioritised.subList(start, Math.min(start + batchSize, prioritised.size()))
+                    .forEach(i -> batch.put(i, pending.remove(i)));
+            threadPool.schedule(() -> processBatch(keyspace, batch, executionId), postprocessingDelay, TimeUnit.SECONDS);
+        }
     }
 
     /**
-     * Process the provided index belonging to the provided {@link Keyspace}.
-     * If post processing fails the index and ids relating to that index are restored back in the cache of {@link RedisIndexStorage}
+     * Process the provided indices belonging to the provided {@link Keyspace} in a single transaction.
+     * If the batch fails, each of its indices is processed on its own so that a single failing index does not
+     * prevent the others from being post processed.
      *
-     * @param keyspace The {@link Keyspace} requiring post processing for a specific index
-     * @param index the index to be post processed
+     * @param keyspace The {@link Keyspace} requiring post processing for specific indices
+     * @param batch the indices to be post processed, mapped to the ids of their suspected duplicates
      * @param executionId execution id of the post-processing.
      */
-    private void processIndex(Keyspace keyspace, String index, UUID executionId){
-        Set<ConceptId> ids = indexPostProcessor.popIds(keyspace, index);
-        //No need to post process if another engine has beaten you to doing it
-        if(ids.isEmpty()) {
-            LOG.info("post-processing '" + executionId + "': there " + ids.size() + " concept ids to post-process.");
-            return;
-        }
+    private void processBatch(Keyspace keyspace, Map<String, Set<ConceptId>> batch, UUID executionId){
+        LOG.info("post-processing '" + executionId + "': processing a batch of " + batch.size() + " indices...");
+        batchSizes.update(batch.size());
 
-        LOG.info("post-processing '" + executionId + "': processing " + ids.size() + " concept ids...");
+        try(Timer.Context ignored = batchTimer.time(); EmbeddedGraknTx<?> tx = factory.tx(keyspace, GraknTxType.WRITE)){
+            mergedIndices.mark(indexPostProcessor.mergeDuplicateConcepts(tx, batch));
+        } catch (RuntimeException e){
+            if (batch.size() == 1) {
+                batch.forEach((index, ids) -> logFailure(executionId, index, ids, e));
+            } else {
+                LOG.warn("post-processing '" + executionId + "': Error during post processing a batch of indices, processing them one by one", e);
+                batch.forEach((index, ids) -> processIndex(keyspace, index, ids, executionId));
+            }
+        }
+    }
 
+    /**
+     * Process the provided index belonging to the provided {@link Keyspace} in its own transaction.
+     *
+     * @param keyspace The {@link Keyspace} requiring post processing for a specific index
+     * @param index the index to be post processed
+     * @param ids the ids of the suspected duplicates of the index
+     * @param executionId execution id of the post-processing.
+     */
+    private void processIndex(Keyspace keyspace, String index, Set<ConceptId> ids, UUID executionId){
         try(EmbeddedGraknTx<?> tx = factory.tx(keyspace, GraknTxType.WRITE)){
             indexPostProcessor.mergeDuplicateConcepts(tx, index, ids);
             tx.commit();
         } catch (RuntimeException e){
-            String stringIds = ids.stream().map(ConceptId::getValue).collect(Collectors.joining(","));
-            LOG.error(String.format("post-processing '" + executionId + "': Error during post processing index {%s} with ids {%s}", index, stringIds), e);
+            logFailure(executionId, index, ids, e);
         }
     }
 
+    private static void logFailure(UUID executionId, String index, Set<ConceptId> ids, RuntimeException e){
+        String stringIds = ids.stream().map(ConceptId::getValue).collect(Collectors.joining(","));
+        LOG.error(String.format("post-processing '" + executionId + "': Error during post processing index {%s} with ids {%s}", index, stringIds), e);
+    }
+
+    private int backlogSize(){
+        return backlog.values().stream().mapToInt(Map::size).sum();
+    }
+
     @Override
     public void close(){
         LOG.info("post-processing is shutting down.");
         threadPool.shutdown();
+
+        //Indices which have been popped but not scheduled yet must not be lost
+        new HashSet<>(backlog.keySet()).forEach(keyspace -> {
+            Map<String, Set<ConceptId>> pending = backlog.remove(keyspace);
+            if (pending == null || pending.isEmpty()) return;
+            try {
+                indexPostProcessor.returnIndices(keyspace, pending);
+            } catch (RuntimeException e) {
+                LOG.error("post-processing could not return " + pending.size() + " pending indices of keyspace '" +
+                        keyspace.getValue() + "'", e);
+            }
+        });
     }
 
 }
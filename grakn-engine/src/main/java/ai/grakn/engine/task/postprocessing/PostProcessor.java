@@ -18,9 +18,14 @@
 
 package ai.grakn.engine.task.postprocessing;
 
+import ai.grakn.GraknConfigKey;
+import ai.grakn.engine.GraknConfig;
 import ai.grakn.kb.log.CommitLog;
+import com.codahale.metrics.MetricRegistry;
 import com.google.auto.value.AutoValue;
 
+import javax.annotation.Nullable;
+
 /**
  * <p>
  *     Simple helper class which contains {@link IndexPostProcessor} and {@link CountPostProcessor}.
@@ -31,12 +36,36 @@ import com.google.auto.value.AutoValue;
  * @author Filipe Peliz Pinto Teixeira
  */
 @AutoValue
-public abstract class PostProcessor {
+public abstract class PostProcessor implements AutoCloseable {
+    private static final int DEFAULT_FLUSH_SIZE = 1000;
+    private static final long DEFAULT_FLUSH_PERIOD_MS = 1000;
+    private static final int DEFAULT_MAX_BUFFERED = 100_000;
+
     public abstract IndexPostProcessor index();
     public abstract CountPostProcessor count();
+    @Nullable abstract CommitLogBuffer buffer();
 
     public static PostProcessor create(IndexPostProcessor indexPostProcessor, CountPostProcessor countPostProcessor) {
-        return new AutoValue_PostProcessor(indexPostProcessor, countPostProcessor);
+        return new AutoValue_PostProcessor(indexPostProcessor, countPostProcessor, null);
+    }
+
+    /**
+     * Creates a {@link PostProcessor} which buffers the submitted {@link CommitLog}s, merging them by
+     * {@link ai.grakn.Keyspace} before storing them, so that submission does not wait for post processing storage.
+     *
+     * @param config the config providing the flush size, period and the maximum number of buffered entries
+     * @param metricRegistry registry of the delivery metrics of the buffer
+     */
+    public static PostProcessor createBuffered(IndexPostProcessor indexPostProcessor, CountPostProcessor countPostProcessor,
+                                               GraknConfig config, MetricRegistry metricRegistry) {
+        int flushSize = config.getProperty(GraknConfigKey.COMMIT_LOG_FLUSH_SIZE, DEFAULT_FLUSH_SIZE);
+        if (flushSize <= 1) return create(indexPostProcessor, countPostProcessor);
+
+        PostProcessor unbuffered = create(indexPostProcessor, countPostProcessor);
+        CommitLogBuffer buffer = new CommitLogBuffer(unbuffered::submit, flushSize,
+                config.getProperty(GraknConfigKey.COMMIT_LOG_FLUSH_PERIOD_MS, DEFAULT_FLUSH_PERIOD_MS),
+                config.getProperty(GraknConfigKey.COMMIT_LOG_MAX_BUFFERED, DEFAULT_MAX_BUFFERED), metricRegistry);
+        return new AutoValue_PostProcessor(indexPostProcessor, countPostProcessor, buffer);
     }
 
     /**
@@ -45,7 +74,21 @@ public abstract class PostProcessor {
      * @param commitLog The {@link CommitLog} to store for usage later
      */
     public void submit(CommitLog commitLog){
-        index().updateIndices(commitLog);
-        count().updateCounts(commitLog);
+        CommitLogBuffer buffer = buffer();
+        if (buffer != null) {
+            buffer.submit(commitLog);
+        } else {
+            index().updateIndices(commitLog);
+            count().updateCounts(commitLog);
+        }
+    }
+
+    /**
+     * Stores all the buffered {@link CommitLog}s
+     */
+    @Override
+    public void close(){
+        CommitLogBuffer buffer = buffer();
+        if (buffer != null) buffer.close();
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing;
+
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.factory.EngineGraknTxFactory;
+import ai.grakn.engine.lock.LockProvider;
+import ai.grakn.engine.task.BackgroundTask;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.auto.value.AutoValue;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>
+ *     Moves existing instances of sharded {@link ai.grakn.concept.Type}s into their newly created shards.
+ * </p>
+ *
+ * <p>
+ *     New instances are spread across all the shards of a {@link ai.grakn.concept.Type}, so without rebalancing the
+ *     older shards stay larger than the newer ones. Each time it runs, this task moves a bounded batch of instances of
+ *     each recently sharded {@link ai.grakn.concept.Type} into its new shards, until each of them holds its share.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class ShardRebalancer implements BackgroundTask {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final int PERIOD = 10;
+
+    private final EngineGraknTxFactory factory;
+    private final LockProvider lockProvider;
+    private final int batchSize;
+    private final Map<Rebalance, Progress> pending = new ConcurrentHashMap<>();
+
+    ShardRebalancer(EngineGraknTxFactory factory, LockProvider lockProvider, int batchSize) {
+        this.factory = factory;
+        this.lockProvider = lockProvider;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Schedules instances to be moved into the new shards of a {@link ai.grakn.concept.Type} which has just been sharded.
+     * If the {@link ai.grakn.concept.Type} is still being rebalanced from when it was last sharded, its earlier new
+     * shards keep being rebalanced, towards the new share.
+     *
+     * @param keyspace The keyspace of the {@link ai.grakn.concept.Type}
+     * @param conceptId The id of the {@link ai.grakn.concept.Type}
+     * @param newShardIds The ids of the shards which have just been created
+     * @param share The number of existing instances each new shard should hold
+     */
+    void sharded(Keyspace keyspace, ConceptId conceptId, Set<String> newShardIds, long share) {
+        if (batchSize <= 0 || share <= 0 || newShardIds.isEmpty()) return;
+        pending.merge(Rebalance.of(keyspace, conceptId), Progress.of(newShardIds, share, 0),
+                (previous, next) -> Progress.of(Sets.union(previous.shardIds(), next.shardIds()), share, previous.moved()));
+    }
+
+    @VisibleForTesting
+    Map<Rebalance, Progress> pending() {
+        return ImmutableMap.copyOf(pending);
+    }
+
+    @Override
+    public int period() {
+        return PERIOD;
+    }
+
+    @Override
+    public void run() {
+        pending.keySet().forEach(rebalance -> {
+            try {
+                rebalance(rebalance);
+            } catch (RuntimeException e) {
+                LOG.error("Could not rebalance the shards of {} in keyspace {}", rebalance.conceptId(), rebalance.keyspace(), e);
+                pending.remove(rebalance);
+            }
+        });
+    }
+
+    private void rebalance(Rebalance rebalance) {
+        //Same lock as sharding, so that the new shards do not change while instances are moved into them
+        Lock lock = lockProvider.getLock(CountPostProcessor.getLockingKey(rebalance.keyspace(), rebalance.conceptId()));
+        if (!lock.tryLock()) return;
+
+        try {
+            Progress progress = pending.get(rebalance);
+            if (progress == null) return;
+
+            long moved;
+            try (EmbeddedGraknTx<?> tx = factory.tx(rebalance.keyspace(), GraknTxType.WRITE)) {
+                moved = tx.rebalanceShards(rebalance.conceptId(), progress.shardIds(), Math.min(batchSize, progress.remaining()));
+                tx.commitSubmitNoLogs();
+            }
+            LOG.debug("Moved {} instances of {} into its new shards", moved, rebalance.conceptId());
+
+            //Remove the entry unless the type has been sharded again in the meantime
+            Progress next = Progress.of(progress.shardIds(), progress.share(), progress.moved() + moved);
+            if (moved == 0 || next.remaining() <= 0) {
+                pending.remove(rebalance, progress);
+            } else {
+                pending.replace(rebalance, progress, next);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        pending.clear();
+    }
+
+    /**
+     * A {@link ai.grakn.concept.Type} which shards need rebalancing
+     */
+    @AutoValue
+    static abstract class Rebalance {
+        abstract Keyspace keyspace();
+        abstract ConceptId conceptId();
+
+        static Rebalance of(Keyspace keyspace, ConceptId conceptId) {
+            return new AutoValue_ShardRebalancer_Rebalance(keyspace, conceptId);
+        }
+    }
+
+    /**
+     * The new shards of a {@link ai.grakn.concept.Type} and the number of instances moved into them so far
+     */
+    @AutoValue
+    static abstract class Progress {
+        abstract Set<String> shardIds();
+        abstract long share();
+        abstract long moved();
+
+        long remaining() {
+            return share() * shardIds().size() - moved();
+        }
+
+        static Progress of(Set<String> shardIds, long share, long moved) {
+            return new AutoValue_ShardRebalancer_Progress(ImmutableSet.copyOf(shardIds), share, moved);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing.memorystorage;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.task.postprocessing.CountStorage;
+import ai.grakn.engine.task.postprocessing.memorystorage.PostProcessingJournal.Record;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     Stores the counts of {@link ai.grakn.concept.Type}s in the memory of engine, for single engine deployments.
+ *     The counts are optionally persisted to a {@link PostProcessingJournal} so they survive a restart of engine.
+ *     Increments share a lock which the journal compaction takes exclusively, so that the snapshot of the storage
+ *     contains every increment which was journaled before it.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class InMemoryCountStorage implements CountStorage, AutoCloseable {
+    private static final byte INCREMENT_INSTANCES = 'I';
+    private static final byte INCREMENT_SHARDS = 'S';
+
+    private final Map<Keyspace, Map<ConceptId, Long>> instanceCounts = new ConcurrentHashMap<>();
+    private final Map<Keyspace, Map<ConceptId, Long>> shardCounts = new ConcurrentHashMap<>();
+    private final ReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    @Nullable private final PostProcessingJournal journal;
+
+    private InMemoryCountStorage(@Nullable Path journalPath) {
+        journal = journalPath == null ? null : PostProcessingJournal.open(journalPath, this::replay, this::snapshot);
+    }
+
+    public static InMemoryCountStorage create() {
+        return new InMemoryCountStorage(null);
+    }
+
+    /**
+     * @param journalPath the file persisting the counts, from which the counts of a previous run are restored
+     */
+    public static InMemoryCountStorage create(Path journalPath) {
+        return new InMemoryCountStorage(journalPath);
+    }
+
+    @Override
+    public long incrementInstanceCount(Keyspace keyspace, ConceptId conceptId, long incrementBy) {
+        return increment(instanceCounts, INCREMENT_INSTANCES, keyspace, conceptId, incrementBy);
+    }
+
+    @Override
+    public long incrementShardCount(Keyspace keyspace, ConceptId conceptId, long incrementBy) {
+        return increment(shardCounts, INCREMENT_SHARDS, keyspace, conceptId, incrementBy);
+    }
+
+    @Override
+    public long getInstanceCount(Keyspace keyspace, ConceptId conceptId) {
+        return countsOf(instanceCounts, keyspace).getOrDefault(conceptId, 0L);
+    }
+
+    @Override
+    public long getShardCount(Keyspace keyspace, ConceptId conceptId) {
+        return countsOf(shardCounts, keyspace).getOrDefault(conceptId, 0L);
+    }
+
+    @Override
+    public void close() {
+        if (journal != null) journal.close();
+    }
+
+    private long increment(Map<Keyspace, Map<ConceptId, Long>> counts, byte type, Keyspace keyspace, ConceptId conceptId, long incrementBy){
+        if (incrementBy == 0) return countsOf(counts, keyspace).getOrDefault(conceptId, 0L);
+        if (journal == null) return countsOf(counts, keyspace).merge(conceptId, incrementBy, Long::sum);
+
+        long count;
+        compactionLock.readLock().lock();
+        try {
+            journal.append(Record.of(type, keyspace.getValue(), conceptId.getValue(), Long.toString(incrementBy)));
+            count = countsOf(counts, keyspace).merge(conceptId, incrementBy, Long::sum);
+        } finally {
+            compactionLock.readLock().unlock();
+        }
+
+        if (journal.needsCompaction()) {
+            compactionLock.writeLock().lock();
+            try {
+                //Another thread may have compacted the journal in the meantime
+                if (journal.needsCompaction()) journal.compact();
+            } finally {
+                compactionLock.writeLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    private static Map<ConceptId, Long> countsOf(Map<Keyspace, Map<ConceptId, Long>> counts, Keyspace keyspace){
+        return counts.computeIfAbsent(keyspace, k -> new ConcurrentHashMap<>());
+    }
+
+    private void replay(Record record){
+        Map<Keyspace, Map<ConceptId, Long>> counts;
+        switch (record.type()) {
+            case INCREMENT_INSTANCES:
+                counts = instanceCounts;
+                break;
+            case INCREMENT_SHARDS:
+                counts = shardCounts;
+                break;
+            default:
+                throw new IllegalStateException("Unknown post processing journal record " + record);
+        }
+        countsOf(counts, Keyspace.of(record.field(0)))
+                .merge(ConceptId.of(record.field(1)), Long.parseLong(record.field(2)), Long::sum);
+    }
+
+    private void snapshot(Consumer<Record> snapshot){
+        instanceCounts.forEach((keyspace, counts) -> counts.forEach((conceptId, count) ->
+                snapshot.accept(Record.of(INCREMENT_INSTANCES, keyspace.getValue(), conceptId.getValue(), count.toString()))));
+        shardCounts.forEach((keyspace, counts) -> counts.forEach((conceptId, count) ->
+                snapshot.accept(Record.of(INCREMENT_SHARDS, keyspace.getValue(), conceptId.getValue(), count.toString()))));
+    }
+}
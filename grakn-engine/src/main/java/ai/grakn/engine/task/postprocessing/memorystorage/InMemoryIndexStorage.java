@@ -0,0 +1,217 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing.memorystorage;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.task.postprocessing.IndexStorage;
+import ai.grakn.engine.task.postprocessing.memorystorage.PostProcessingJournal.Record;
+
+import com.google.common.util.concurrent.Striped;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *     Stores the indices which need to be post processed in the memory of engine, for single engine deployments.
+ *     The indices are optionally persisted to a {@link PostProcessingJournal} so they survive a restart of engine.
+ * </p>
+ *
+ * <p>
+ *     Each change is journaled and applied while holding the lock of its index, so that the journal records the changes
+ *     of an index in the order they were applied. Changes share a lock which the journal compaction takes exclusively,
+ *     so that the snapshot of the storage contains every change which was journaled before it.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class InMemoryIndexStorage implements IndexStorage, AutoCloseable {
+    private static final byte ADD_INDEX = 'A';
+    private static final byte POP_INDEX = 'I';
+    private static final byte POP_IDS = 'D';
+
+    private final Map<Keyspace, Set<String>> indices = new ConcurrentHashMap<>();
+    private final Map<Keyspace, Map<String, Set<ConceptId>>> ids = new ConcurrentHashMap<>();
+    private final Striped<Lock> indexLocks = Striped.lazyWeakLock(128);
+    private final ReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    @Nullable private final PostProcessingJournal journal;
+
+    private InMemoryIndexStorage(@Nullable Path journalPath) {
+        journal = journalPath == null ? null : PostProcessingJournal.open(journalPath, this::replay, this::snapshot);
+    }
+
+    public static InMemoryIndexStorage create() {
+        return new InMemoryIndexStorage(null);
+    }
+
+    /**
+     * @param journalPath the file persisting the indices, from which the indices of a previous run are restored
+     */
+    public static InMemoryIndexStorage create(Path journalPath) {
+        return new InMemoryIndexStorage(journalPath);
+    }
+
+    @Override
+    public void addIndex(Keyspace keyspace, String index, Set<ConceptId> conceptIds){
+        change(keyspace, index, () -> {
+            journal(addIndexRecord(keyspace, index, conceptIds));
+            add(keyspace, index, conceptIds);
+            return null;
+        });
+    }
+
+    @Override
+    @Nullable
+    public String popIndex(Keyspace keyspace){
+        Iterator<String> iterator = indicesOf(keyspace).iterator();
+        while (iterator.hasNext()) {
+            String index = iterator.next();
+            //Another thread may have popped the same index in the meantime
+            boolean popped = change(keyspace, index, () -> {
+                if (!indicesOf(keyspace).remove(index)) return false;
+                journal(Record.of(POP_INDEX, keyspace.getValue(), index));
+                return true;
+            });
+            if (popped) return index;
+        }
+        return null;
+    }
+
+    @Override
+    public Set<ConceptId> popIds(Keyspace keyspace, String index){
+        Set<ConceptId> conceptIds = change(keyspace, index, () -> {
+            Set<ConceptId> removed = idsOf(keyspace).remove(index);
+            if (removed != null) journal(Record.of(POP_IDS, keyspace.getValue(), index));
+            return removed;
+        });
+        return conceptIds == null ? Collections.emptySet() : conceptIds;
+    }
+
+    @Override
+    public void close() {
+        if (journal != null) journal.close();
+    }
+
+    /**
+     * Journals and applies a change of an index, then compacts the journal if it has grown too large
+     */
+    private <T> T change(Keyspace keyspace, String index, Supplier<T> change){
+        Lock indexLock = indexLocks.get(Arrays.asList(keyspace, index));
+        T result;
+        compactionLock.readLock().lock();
+        indexLock.lock();
+        try {
+            result = change.get();
+        } finally {
+            indexLock.unlock();
+            compactionLock.readLock().unlock();
+        }
+
+        if (journal != null && journal.needsCompaction()) {
+            compactionLock.writeLock().lock();
+            try {
+                //Another thread may have compacted the journal in the meantime
+                if (journal.needsCompaction()) journal.compact();
+            } finally {
+                compactionLock.writeLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    private void journal(Record record){
+        if (journal != null) journal.append(record);
+    }
+
+    private void add(Keyspace keyspace, String index, Set<ConceptId> conceptIds){
+        //The set of ids of an index is only ever modified atomically, so it is never lost by a concurrent pop
+        idsOf(keyspace).compute(index, (key, current) -> {
+            Set<ConceptId> updated = current == null ? new HashSet<>() : current;
+            updated.addAll(conceptIds);
+            return updated;
+        });
+        indicesOf(keyspace).add(index);
+    }
+
+    private Set<String> indicesOf(Keyspace keyspace){
+        return indices.computeIfAbsent(keyspace, k -> ConcurrentHashMap.newKeySet());
+    }
+
+    private Map<String, Set<ConceptId>> idsOf(Keyspace keyspace){
+        return ids.computeIfAbsent(keyspace, k -> new ConcurrentHashMap<>());
+    }
+
+    private void replay(Record record){
+        Keyspace keyspace = Keyspace.of(record.field(0));
+        String index = record.field(1);
+        switch (record.type()) {
+            case ADD_INDEX:
+                Set<ConceptId> conceptIds = record.fields().subList(2, record.fields().size()).stream()
+                        .map(ConceptId::of).collect(Collectors.toSet());
+                add(keyspace, index, conceptIds);
+                break;
+            case POP_INDEX:
+                indicesOf(keyspace).remove(index);
+                break;
+            case POP_IDS:
+                idsOf(keyspace).remove(index);
+                break;
+            default:
+                throw new IllegalStateException("Unknown post processing journal record " + record);
+        }
+    }
+
+    private void snapshot(Consumer<Record> snapshot){
+        //Ids are restored together with their index, which is popped again if it had already been popped
+        ids.forEach((keyspace, indexIds) -> indexIds.forEach((index, conceptIds) -> {
+            snapshot.accept(addIndexRecord(keyspace, index, conceptIds));
+            if (!indicesOf(keyspace).contains(index)) {
+                snapshot.accept(Record.of(POP_INDEX, keyspace.getValue(), index));
+            }
+        }));
+        indices.forEach((keyspace, keyspaceIndices) -> keyspaceIndices.forEach(index -> {
+            if (!idsOf(keyspace).containsKey(index)) {
+                snapshot.accept(Record.of(ADD_INDEX, keyspace.getValue(), index));
+            }
+        }));
+    }
+
+    private static Record addIndexRecord(Keyspace keyspace, String index, Set<ConceptId> conceptIds){
+        String[] fields = new String[conceptIds.size() + 2];
+        fields[0] = keyspace.getValue();
+        fields[1] = index;
+        int i = 2;
+        for (ConceptId conceptId : conceptIds) fields[i++] = conceptId.getValue();
+        return Record.of(ADD_INDEX, fields);
+    }
+}
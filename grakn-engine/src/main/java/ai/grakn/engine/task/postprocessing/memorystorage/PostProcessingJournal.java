@@ -0,0 +1,229 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing.memorystorage;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     An append-only file of the changes made to an in-memory post processing storage.
+ * </p>
+ *
+ * <p>
+ *     Every change is recorded as a {@link Record} which is flushed to the file before the change is acknowledged,
+ *     so that the storage can be rebuilt by replaying the journal when engine restarts after a crash.
+ *     A record which was only partially written when the process died is ignored on replay.
+ *     The journal is compacted into a snapshot of the storage every time it is opened, and whenever the storage finds
+ *     that {@link #needsCompaction()}, i.e. once more records have been appended than the last snapshot held.
+ *     The storage must not change while the journal is compacted.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class PostProcessingJournal implements AutoCloseable {
+    private final static Logger LOG = LoggerFactory.getLogger(PostProcessingJournal.class);
+    private final static long MIN_COMPACTION_RECORDS = 10_000;
+    private final Path path;
+    private final Consumer<Consumer<Record>> snapshot;
+    private DataOutputStream output;
+    private boolean closed = false;
+    private long snapshotRecords = 0;
+    private long appendedRecords = 0;
+
+    private PostProcessingJournal(Path path, Consumer<Consumer<Record>> snapshot) {
+        this.path = path;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Opens the journal stored at the given path, replaying all of its records and then compacting it.
+     *
+     * @param path the file storing the journal, which is created if it does not exist
+     * @param replay called with each record of the journal, in the order they have been appended
+     * @param snapshot provides the records which rebuild the current state of the storage, once the journal is replayed
+     * @return the journal, ready to be appended to
+     */
+    public static PostProcessingJournal open(Path path, Consumer<Record> replay, Consumer<Consumer<Record>> snapshot) {
+        PostProcessingJournal journal = new PostProcessingJournal(path, snapshot);
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            if (Files.exists(path)) journal.replay(replay);
+            journal.writeSnapshot();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open post processing journal " + path, e);
+        }
+        return journal;
+    }
+
+    /**
+     * Appends a record to the journal and flushes it to the file
+     */
+    public synchronized void append(Record record) {
+        if (closed) {
+            LOG.warn("Post processing journal {} is closed, record {} is not persisted", path, record);
+            return;
+        }
+        try {
+            write(output, record);
+            output.flush();
+            appendedRecords++;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to post processing journal " + path, e);
+        }
+    }
+
+    /**
+     * @return whether more records have been appended to the journal than its last snapshot held, in which case
+     * it should be compacted
+     */
+    public synchronized boolean needsCompaction() {
+        return !closed && appendedRecords > Math.max(MIN_COMPACTION_RECORDS, snapshotRecords);
+    }
+
+    /**
+     * Replaces the journal with a snapshot of the current state of the storage. The storage must not change until
+     * this returns. If the snapshot cannot be written the journal is kept as it is.
+     */
+    public synchronized void compact() {
+        if (closed) return;
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            LOG.error("Could not compact post processing journal {}", path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            output.close();
+        } catch (IOException e) {
+            LOG.error("Could not close post processing journal {}", path, e);
+        }
+    }
+
+    private void replay(Consumer<Record> replay) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            Record record;
+            while ((record = read(input)) != null) {
+                replay.accept(record);
+            }
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compacted");
+        long[] records = new long[1];
+        try (DataOutputStream snapshotOutput = openOutput(compacted, StandardOpenOption.TRUNCATE_EXISTING)) {
+            IOException[] failure = new IOException[1];
+            snapshot.accept(record -> {
+                try {
+                    if (failure[0] == null) write(snapshotOutput, record);
+                    records[0]++;
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+        if (output != null) output.close();
+        try {
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            //If the snapshot could not replace the journal, records keep being appended to the previous journal
+            output = openOutput(path, StandardOpenOption.APPEND);
+        }
+        snapshotRecords = records[0];
+        appendedRecords = 0;
+    }
+
+    private static DataOutputStream openOutput(Path path, StandardOpenOption mode) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)));
+    }
+
+    private static void write(DataOutputStream output, Record record) throws IOException {
+        output.writeByte(record.type());
+        output.writeInt(record.fields().size());
+        for (String field : record.fields()) {
+            byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static Record read(DataInputStream input) throws IOException {
+        int type = input.read();
+        if (type == -1) return null;
+        try {
+            int size = input.readInt();
+            List<String> fields = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                fields.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return Record.of((byte) type, fields);
+        } catch (EOFException e) {
+            LOG.warn("Ignoring incomplete record at the end of post processing journal");
+            return null;
+        }
+    }
+
+    /**
+     * A single change made to a storage, identified by its type and described by a list of fields
+     */
+    @AutoValue
+    public abstract static class Record {
+        public abstract byte type();
+        public abstract ImmutableList<String> fields();
+
+        public static Record of(byte type, String... fields) {
+            return of(type, ImmutableList.copyOf(fields));
+        }
+
+        static Record of(byte type, List<String> fields) {
+            return new AutoValue_PostProcessingJournal_Record(type, ImmutableList.copyOf(fields));
+        }
+
+        public String field(int index) {
+            return fields().get(index);
+        }
+    }
+}
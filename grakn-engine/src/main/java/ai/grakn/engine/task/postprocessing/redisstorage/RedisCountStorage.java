@@ -23,8 +23,18 @@ import ai.grakn.concept.ConceptId;
 import ai.grakn.engine.task.postprocessing.CountStorage;
 import com.codahale.metrics.MetricRegistry;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.util.Pool;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  *
  * <p>
@@ -65,6 +75,54 @@ public class RedisCountStorage implements CountStorage {
         return getCount(getKeyNumShards(keyspace, conceptId));
     }
 
+    /**
+     * Adjusts all the counts in a single pipelined round trip to redis
+     */
+    @Override
+    public Map<ConceptId, Long> incrementInstanceCounts(Keyspace keyspace, Map<ConceptId, Long> incrementBy) {
+        Map<ConceptId, String> keys = new HashMap<>();
+        incrementBy.keySet().forEach(conceptId -> keys.put(conceptId, getKeyNumInstances(keyspace, conceptId)));
+
+        return redisStorage.contactRedis(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            Map<ConceptId, Response<Long>> increments = new HashMap<>();
+            Map<ConceptId, Response<String>> values = new HashMap<>();
+            incrementBy.forEach((conceptId, value) -> {
+                if(value != 0) {
+                    increments.put(conceptId, pipeline.incrBy(keys.get(conceptId), value));
+                } else {
+                    values.put(conceptId, pipeline.get(keys.get(conceptId)));
+                }
+            });
+            pipeline.sync();
+
+            Map<ConceptId, Long> counts = new HashMap<>();
+            increments.forEach((conceptId, response) -> counts.put(conceptId, response.get()));
+            values.forEach((conceptId, response) -> counts.put(conceptId, parseCount(response.get())));
+            return counts;
+        });
+    }
+
+    /**
+     * Gets all the counts with a single variadic {@code MGET}
+     */
+    @Override
+    public Map<ConceptId, Long> getShardCounts(Keyspace keyspace, Set<ConceptId> conceptIds) {
+        if(conceptIds.isEmpty()) return Collections.emptyMap();
+
+        List<ConceptId> ids = new ArrayList<>(conceptIds);
+        String[] keys = ids.stream().map(conceptId -> getKeyNumShards(keyspace, conceptId)).toArray(String[]::new);
+
+        return redisStorage.contactRedis(jedis -> {
+            List<String> values = jedis.mget(keys);
+            Map<ConceptId, Long> counts = new HashMap<>();
+            for(int i = 0; i < ids.size(); i++){
+                counts.put(ids.get(i), parseCount(values.get(i)));
+            }
+            return counts;
+        });
+    }
+
     /**
      * Adjusts the count for a specific key.
      *
@@ -91,11 +149,15 @@ public class RedisCountStorage implements CountStorage {
     public long getCount(String key){
         return redisStorage.contactRedis(jedis -> {
             String value = jedis.get(key);
-            if(value == null) return 0L;
-            return Long.parseLong(value);
+            return parseCount(value);
         });
     }
 
+    private static long parseCount(@Nullable String value){
+        if(value == null) return 0L;
+        return Long.parseLong(value);
+    }
+
     /**
      * All the valid keys which map to values in the redis cache
      */
@@ -24,11 +24,14 @@ import ai.grakn.engine.task.postprocessing.IndexStorage;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.annotations.VisibleForTesting;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Response;
 import redis.clients.jedis.Transaction;
 import redis.clients.util.Pool;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -53,13 +56,28 @@ public class RedisIndexStorage implements IndexStorage {
 
     @Override
     public void addIndex(Keyspace keyspace, String index, Set<ConceptId> conceptIds){
-        String listOfIndicesKey = getIndicesKey(keyspace);
-        String listOfIdsKey = getConceptIdsKey(keyspace, index);
+        addIndices(keyspace, Collections.singletonMap(index, conceptIds));
+    }
+
+    /**
+     * Adds all the indices in a single round trip to redis, using one variadic {@code SADD} per set.
+     * The ids are added before the indices so an index is never popped before its ids are stored.
+     */
+    @Override
+    public void addIndices(Keyspace keyspace, Map<String, Set<ConceptId>> indices){
+        if(indices.isEmpty()) return;
 
         redisStorage.contactRedis(jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            indices.forEach((index, conceptIds) -> {
+                if(!conceptIds.isEmpty()) {
+                    String[] ids = conceptIds.stream().map(ConceptId::getValue).toArray(String[]::new);
+                    pipeline.sadd(getConceptIdsKey(keyspace, index), ids);
+                }
+            });
             //Track all the indices which need to be post proceed
-            jedis.sadd(listOfIndicesKey, index);
-            conceptIds.forEach(id -> jedis.sadd(listOfIdsKey, id.getValue()));
+            pipeline.sadd(getIndicesKey(keyspace), indices.keySet().toArray(new String[indices.size()]));
+            pipeline.sync();
             return null;
         });
     }
@@ -19,6 +19,7 @@
 package ai.grakn.engine.controller;
 
 import ai.grakn.Keyspace;
+import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.engine.task.postprocessing.PostProcessor;
 import ai.grakn.kb.log.CommitLog;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -44,13 +45,14 @@ public class CommitLogControllerTest {
     private static final Keyspace keyspace = Keyspace.of("myks");
     private static final CommitLog commitLog = CommitLog.create(keyspace, Collections.emptyMap(), Collections.emptyMap());
     private static final PostProcessor postProcessor = mock(PostProcessor.class);
+    private static final EngineGraknTxFactory factory = mock(EngineGraknTxFactory.class);
 
     @Rule
-    public final SparkContext sparkContext = SparkContext.withControllers(new CommitLogController(postProcessor));
+    public final SparkContext sparkContext = SparkContext.withControllers(new CommitLogController(factory, postProcessor));
 
     @Before
     public void resetMock(){
-        reset(postProcessor);
+        reset(postProcessor, factory);
     }
 
     @Test
@@ -63,4 +65,10 @@ public class CommitLogControllerTest {
         given().body(mapper.writeValueAsString(commitLog)).post("/kb/" + keyspace.getValue() +"/commit_log");
         verify(postProcessor, Mockito.times(1)).submit(commitLog);
     }
+
+    @Test
+    public void whenPostingToCommitLogEndpoint_NotifyKeyspaceDataChanged() throws JsonProcessingException {
+        given().body(mapper.writeValueAsString(commitLog)).post("/kb/" + keyspace.getValue() +"/commit_log");
+        verify(factory, Mockito.times(1)).dataChanged(keyspace);
+    }
 }
\ No newline at end of file
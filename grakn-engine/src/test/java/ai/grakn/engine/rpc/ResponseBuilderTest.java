@@ -0,0 +1,194 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.rpc;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.Attribute;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Relationship;
+import ai.grakn.concept.RelationshipType;
+import ai.grakn.concept.Role;
+import ai.grakn.rpc.proto.ConceptProto;
+import ai.grakn.test.rule.SampleKBContext;
+import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResponseBuilderTest {
+
+    @ClassRule
+    public static final SampleKBContext sampleKB = SampleKBContext.load(ResponseBuilderTest::buildSchemaAndData);
+
+    private static GraknTx tx;
+    private static Entity alice;
+    private static Attribute<String> aliceName;
+    private static Relationship marriage;
+
+    @BeforeClass
+    public static void getTx(){
+        tx = sampleKB.tx();
+        aliceName = tx.<String>getAttributeType("name").attribute("alice");
+        alice = aliceName.owner().asEntity();
+        marriage = tx.getRelationshipType("marriage").instances().findAny().get();
+    }
+
+    @AfterClass
+    public static void closeTx(){
+        tx.close();
+    }
+
+    private static void buildSchemaAndData(GraknTx tx){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        Role spouse = tx.putRole("spouse");
+        RelationshipType marriage = tx.putRelationshipType("marriage").relates(spouse);
+        EntityType person = tx.putEntityType("person").has(name).plays(spouse);
+
+        marriage.create()
+                .assign(spouse, person.create().has(name.create("alice")))
+                .assign(spouse, person.create().has(name.create("bob")));
+    }
+
+    @Test
+    public void whenConvertingValuesToAndFromValueObjects_TheyAreUnchanged(){
+        LocalDateTime date = LocalDateTime.of(2018, 6, 1, 12, 30);
+        for (Object value : ImmutableList.of("", "alice", false, true, 0, 1, 0L, 1L, 0F, 1.5F, 0D, 1.5D, date)) {
+            assertEquals(value, ResponseBuilder.Concept.value(ResponseBuilder.Concept.attributeValue(value)));
+        }
+    }
+
+    @Test
+    public void whenConvertingAValueObjectWithoutValue_InvalidArgumentIsThrown(){
+        try {
+            ResponseBuilder.Concept.value(ConceptProto.ValueObject.getDefaultInstance());
+            fail();
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+        }
+    }
+
+    @Test
+    public void whenNoPropertyIsProjected_OnlyTheIdAndBaseTypeAreSent(){
+        ConceptProto.Concept concept = ResponseBuilder.Concept.concept(marriage, ConceptProto.Projection.getDefaultInstance());
+
+        assertEquals(ResponseBuilder.Concept.concept(marriage), concept);
+        assertEquals(marriage.id().getValue(), concept.getId());
+        assertEquals(ConceptProto.Concept.BASE_TYPE.RELATION, concept.getBaseType());
+        assertFalse(concept.hasType());
+        assertTrue(concept.getLabel().isEmpty());
+        assertFalse(concept.hasValue());
+        assertFalse(concept.hasAttributes());
+        assertFalse(concept.hasRolePlayers());
+    }
+
+    @Test
+    public void whenTheLabelIsProjected_TheLabelOfSchemaConceptsIsInlined(){
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder().setLabel(true).build();
+
+        assertEquals("person", ResponseBuilder.Concept.concept(alice.type(), projection).getLabel());
+        assertTrue(ResponseBuilder.Concept.concept(alice, projection).getLabel().isEmpty());
+    }
+
+    @Test
+    public void whenTheTypeIsProjected_TheTypeOfThingsIsInlinedWithItsLabel(){
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder().setType(true).build();
+
+        ConceptProto.Concept concept = ResponseBuilder.Concept.concept(alice, projection);
+
+        assertTrue(concept.hasType());
+        assertEquals(alice.type().id().getValue(), concept.getType().getId());
+        assertEquals(ConceptProto.Concept.BASE_TYPE.ENTITY_TYPE, concept.getType().getBaseType());
+        assertEquals("person", concept.getType().getLabel());
+        assertFalse(ResponseBuilder.Concept.concept(alice.type(), projection).hasType());
+    }
+
+    @Test
+    public void whenTheValueIsProjected_TheValueOfAttributesIsInlined(){
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder().setValue(true).build();
+
+        assertEquals("alice", ResponseBuilder.Concept.concept(aliceName, projection).getValue().getString());
+        assertFalse(ResponseBuilder.Concept.concept(alice, projection).hasValue());
+    }
+
+    @Test
+    public void whenAttributesAreProjected_TheAttributesOfThingsAreInlinedWithoutTheirOwnAttributes(){
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder()
+                .setAttributes(true).setValue(true).setType(true).build();
+
+        ConceptProto.Concept concept = ResponseBuilder.Concept.concept(alice, projection);
+
+        assertTrue(concept.hasAttributes());
+        List<ConceptProto.Concept> attributes = concept.getAttributes().getAttributesList();
+        assertEquals(1, attributes.size());
+
+        ConceptProto.Concept attribute = attributes.get(0);
+        assertEquals(aliceName.id().getValue(), attribute.getId());
+        assertEquals("alice", attribute.getValue().getString());
+        assertEquals("name", attribute.getType().getLabel());
+        assertFalse(attribute.hasAttributes());
+    }
+
+    @Test
+    public void whenRolePlayersAreProjected_TheRolePlayersOfRelationshipsAreInlinedWithoutTheirOwnRolePlayers(){
+        ConceptProto.Projection projection = ConceptProto.Projection.newBuilder()
+                .setRolePlayers(true).setAttributes(true).setType(true).build();
+
+        ConceptProto.Concept concept = ResponseBuilder.Concept.concept(marriage, projection);
+
+        assertTrue(concept.hasRolePlayers());
+        List<ConceptProto.Concept.RolePlayers.RolePlayer> rolePlayers = concept.getRolePlayers().getRolePlayersList();
+
+        Set<String> expectedPlayers = marriage.rolePlayers().map(player -> player.id().getValue()).collect(Collectors.toSet());
+        assertThat(
+                rolePlayers.stream().map(rolePlayer -> rolePlayer.getPlayer().getId()).collect(Collectors.toList()),
+                containsInAnyOrder(expectedPlayers.toArray())
+        );
+
+        for (ConceptProto.Concept.RolePlayers.RolePlayer rolePlayer : rolePlayers) {
+            assertEquals("spouse", rolePlayer.getRole().getLabel());
+            assertEquals(ConceptProto.Concept.BASE_TYPE.ROLE, rolePlayer.getRole().getBaseType());
+
+            ConceptProto.Concept player = rolePlayer.getPlayer();
+            assertEquals("person", player.getType().getLabel());
+            assertFalse(player.hasAttributes());
+            assertFalse(player.hasRolePlayers());
+        }
+
+        // the attributes of the relationship itself are still inlined
+        assertTrue(concept.hasAttributes());
+        assertTrue(concept.getAttributes().getAttributesList().isEmpty());
+    }
+}
@@ -20,6 +20,8 @@ package ai.grakn.engine.rpc;
 
 import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
+import ai.grakn.client.BulkLoader;
+import ai.grakn.client.Grakn;
 import ai.grakn.client.rpc.RequestBuilder;
 import ai.grakn.client.rpc.Transceiver;
 import ai.grakn.concept.Concept;
@@ -35,10 +37,12 @@ import ai.grakn.exception.GraknBackendException;
 import ai.grakn.exception.GraknException;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.exception.GraqlSyntaxException;
+import ai.grakn.exception.TemporaryWriteException;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.DeleteQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.Graql;
+import ai.grakn.graql.Query;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.internal.query.ComputeQueryImpl;
@@ -52,6 +56,8 @@ import ai.grakn.rpc.proto.KeyspaceServiceGrpc;
 import ai.grakn.rpc.proto.SessionProto.Transaction;
 import ai.grakn.rpc.proto.SessionProto.Transaction.Open;
 import ai.grakn.rpc.proto.SessionServiceGrpc;
+import ai.grakn.util.SimpleURI;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.grpc.ManagedChannel;
@@ -68,9 +74,15 @@ import org.junit.rules.ExpectedException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -89,10 +101,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -216,6 +230,106 @@ public class ServerRPCTest {
         }
     }
 
+    @Test
+    public void whenPipeliningRequests_EachResponseCompletesTheFutureOfItsRequest() throws Exception {
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, GraknTxType.WRITE));
+            tx.receive();
+
+            CompletableFuture<Transaction.Res> queryResponse = tx.sendAsync(query(QUERY, false));
+            CompletableFuture<Transaction.Res> commitResponse = tx.sendAsync(commit());
+
+            assertTrue(queryResponse.get(5, TimeUnit.SECONDS).hasQueryIter());
+            assertTrue(commitResponse.get(5, TimeUnit.SECONDS).hasCommitRes());
+            assertNotEquals(queryResponse.get().getRequestId(), commitResponse.get().getRequestId());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void whenBulkLoadingQueries_AllQueriesAreCommittedInBatches() {
+        List<Query<?>> loaded = Collections.synchronizedList(new ArrayList<>());
+
+        try (Grakn.Session session = Grakn.session(new SimpleURI("localhost", PORT), MYKS);
+             BulkLoader loader = BulkLoader.newBuilder(session).transactions(2).batchSize(2).build()) {
+            loader.onNext(loaded::add);
+            for (int i = 0; i < 5; i++) {
+                loader.add(Graql.parse(QUERY));
+            }
+        }
+
+        assertEquals(5, loaded.size());
+        verify(tx, atLeast(3)).commitSubmitNoLogs();
+    }
+
+    @Test(timeout = 10_000)
+    public void whenABulkLoadedBatchFailsTemporarily_OnlyThatBatchIsRetried() {
+        when(tx.commitSubmitNoLogs())
+                .thenThrow(TemporaryWriteException.temporaryLock(new Exception()))
+                .thenReturn(Optional.empty());
+        MetricRegistry metricRegistry = new MetricRegistry();
+        List<Query<?>> loaded = Collections.synchronizedList(new ArrayList<>());
+
+        try (Grakn.Session session = Grakn.session(new SimpleURI("localhost", PORT), MYKS);
+             BulkLoader loader = BulkLoader.newBuilder(session).transactions(1).batchSize(2).metricRegistry(metricRegistry).build()) {
+            loader.onNext(loaded::add);
+            for (int i = 0; i < 4; i++) {
+                loader.add(Graql.parse(QUERY));
+            }
+        }
+
+        assertEquals(4, loaded.size());
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(BulkLoader.class, "retry")).getCount());
+        verify(tx, times(3)).commitSubmitNoLogs();
+    }
+
+    @Test(timeout = 10_000)
+    public void whenABulkLoadedBatchContainsAnInvalidQuery_TheOtherQueriesAreLoadedAndOnlyTheInvalidQueryFails() {
+        String invalidQuery = "match $x isa company; get;";
+        GetQuery failingQuery = mock(GetQuery.class);
+        when(tx.graql().parse(invalidQuery)).thenReturn(failingQuery);
+        when(failingQuery.execute()).thenThrow(EXCEPTION);
+
+        List<Query<?>> loaded = Collections.synchronizedList(new ArrayList<>());
+        List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+
+        try (Grakn.Session session = Grakn.session(new SimpleURI("localhost", PORT), MYKS);
+             BulkLoader loader = BulkLoader.newBuilder(session).transactions(1).batchSize(4).build()) {
+            loader.onNext(loaded::add);
+            loader.onError(failures::add);
+            loader.add(Graql.parse(QUERY));
+            loader.add(Graql.parse(invalidQuery));
+            loader.add(Graql.parse(QUERY));
+            loader.add(Graql.parse(QUERY));
+        }
+
+        assertEquals(3, loaded.size());
+        assertEquals(1, failures.size());
+        assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(failures.get(0)).getCode());
+    }
+
+    @Test(timeout = 10_000)
+    public void whenABulkLoadedBatchTimesOut_ItIsCancelledWithoutWaitingForTheServer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(tx.commitSubmitNoLogs()).thenAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+        List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+
+        try (Grakn.Session session = Grakn.session(new SimpleURI("localhost", PORT), MYKS)) {
+            try (BulkLoader loader = BulkLoader.newBuilder(session)
+                    .transactions(1).batchSize(1).maxRetries(0).timeoutMs(100).build()) {
+                loader.onError(failures::add);
+                loader.add(Graql.parse(QUERY));
+            }
+
+            assertEquals(1, failures.size());
+            assertTrue(failures.get(0) instanceof TimeoutException);
+        } finally {
+            release.countDown();
+        }
+    }
+
     @Test
     public void whenOpeningTwoTransactions_TransactionsAreOpenedInDifferentThreads() throws InterruptedException {
         List<Thread> threads = new ArrayList<>();
@@ -348,6 +462,41 @@ public class ServerRPCTest {
         }
     }
 
+    @Test
+    public void whenIteratingInBatches_ResultsAreReturnedTogetherAndTheLastBatchIsDone() throws InterruptedException {
+        Concept conceptX = mock(Concept.class, RETURNS_DEEP_STUBS);
+        when(conceptX.id()).thenReturn(ConceptId.of("V123"));
+        when(conceptX.isEntity()).thenReturn(true);
+        when(conceptX.asEntity().type().label()).thenReturn(Label.of("L123"));
+
+        ImmutableList<Answer> answers = ImmutableList.of(
+                new QueryAnswer(ImmutableMap.of(Graql.var("x"), conceptX)),
+                new QueryAnswer(ImmutableMap.of(Graql.var("x"), conceptX)),
+                new QueryAnswer(ImmutableMap.of(Graql.var("x"), conceptX))
+        );
+
+        when(query.stream()).thenAnswer(params -> answers.stream());
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, GraknTxType.WRITE));
+            tx.receive();
+
+            tx.send(query(QUERY, false));
+            int iterator = tx.receive().ok().getQueryIter().getId();
+
+            tx.send(iterate(iterator, 2));
+            Transaction.Iter.Batch batch1 = tx.receive().ok().getIterateBatch();
+            assertEquals(2, batch1.getResCount());
+            assertTrue(batch1.getResList().stream().allMatch(Transaction.Iter.Res::hasQueryIterRes));
+
+            tx.send(iterate(iterator, 2));
+            Transaction.Iter.Batch batch2 = tx.receive().ok().getIterateBatch();
+            assertEquals(2, batch2.getResCount());
+            assertTrue(batch2.getRes(0).hasQueryIterRes());
+            assertTrue(batch2.getRes(1).getDone());
+        }
+    }
+
     @Test(timeout = 1000) // This tests uses an endless stream, so a failure may cause it to never terminate
     public void whenExecutingAQueryRemotelyAndAskingForOneResult_OnlyOneResultIsReturned() throws InterruptedException {
         Concept conceptX = mock(Concept.class, RETURNS_DEEP_STUBS);
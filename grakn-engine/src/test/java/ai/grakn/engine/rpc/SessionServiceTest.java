@@ -0,0 +1,121 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.rpc;
+
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.engine.task.postprocessing.PostProcessor;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.rpc.proto.SessionProto.Transaction;
+import com.codahale.metrics.MetricRegistry;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static ai.grakn.client.rpc.RequestBuilder.Transaction.open;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SessionServiceTest {
+
+    private static final Keyspace KEYSPACE = Keyspace.of("myks");
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final OpenRequest requestOpener = mock(OpenRequest.class);
+
+    @After
+    public void releaseTransactions() {
+        release.countDown();
+    }
+
+    @Test(timeout = 10_000)
+    public void whenTheQueueOfTransactionsIsFull_FurtherTransactionsAreRejected() throws Exception {
+        SessionService service = blockingService(TransactionExecutor.create(1, 1, 60_000, new MetricRegistry()));
+
+        Responses active = new Responses();
+        service.transaction(active).onNext(open(KEYSPACE, GraknTxType.WRITE));
+        Responses queued = new Responses();
+        service.transaction(queued).onNext(open(KEYSPACE, GraknTxType.WRITE));
+
+        Responses rejected = new Responses();
+        service.transaction(rejected).onNext(open(KEYSPACE, GraknTxType.WRITE));
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, rejected.error().getCode());
+        assertFalse(queued.terminated.isDone());
+    }
+
+    @Test(timeout = 10_000)
+    public void whenATransactionWaitsForAThreadForTooLong_ItIsRejected() throws Exception {
+        SessionService service = blockingService(TransactionExecutor.create(1, 1, 10, new MetricRegistry()));
+
+        StreamObserver<Transaction.Req> active = service.transaction(new Responses());
+        active.onNext(open(KEYSPACE, GraknTxType.WRITE));
+        Responses queued = new Responses();
+        service.transaction(queued).onNext(open(KEYSPACE, GraknTxType.WRITE));
+
+        Thread.sleep(50);
+        release.countDown();
+        active.onCompleted();
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, queued.error().getCode());
+    }
+
+    /**
+     * @return a {@link SessionService} whose transactions hold their thread until they are released
+     */
+    private SessionService blockingService(TransactionExecutor transactionExecutor) {
+        when(requestOpener.open(any())).thenAnswer(invocation -> {
+            release.await();
+            return mock(EmbeddedGraknTx.class);
+        });
+        return new SessionService(requestOpener, mock(PostProcessor.class), transactionExecutor);
+    }
+
+    private static class Responses implements StreamObserver<Transaction.Res> {
+        private final CompletableFuture<Throwable> terminated = new CompletableFuture<>();
+
+        @Override
+        public void onNext(Transaction.Res response) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminated.complete(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            terminated.complete(null);
+        }
+
+        Status error() throws InterruptedException, ExecutionException, TimeoutException {
+            return Status.fromThrowable(terminated.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.rpc;
+
+import com.codahale.metrics.MetricRegistry;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TransactionExecutorTest {
+
+    @Test(timeout = 5_000)
+    public void whenRunningTasksOfATransaction_TheyRunOnASingleThread() throws InterruptedException, ExecutionException {
+        TransactionExecutor executor = TransactionExecutor.create(2, 2, new MetricRegistry());
+        ExecutorService transaction = executor.newTransaction();
+
+        Set<Thread> threads = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            transaction.submit(() -> threads.add(Thread.currentThread())).get();
+        }
+        transaction.shutdown();
+
+        assertTrue(transaction.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(1, threads.size());
+    }
+
+    @Test(timeout = 5_000)
+    public void whenTooManyTransactionsAreOpen_FurtherTransactionsAreRejected() throws InterruptedException {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        TransactionExecutor executor = TransactionExecutor.create(1, 1, metricRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+
+        ExecutorService active = executor.newTransaction();
+        active.execute(started::countDown);
+        started.await();
+        ExecutorService queued = executor.newTransaction();
+        queued.execute(() -> {});
+
+        try {
+            executor.newTransaction().execute(() -> {});
+            fail();
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, e.getStatus().getCode());
+        }
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(TransactionExecutor.class, "rejected")).getCount());
+
+        active.shutdown();
+        queued.shutdown();
+        assertTrue(queued.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 5_000)
+    public void whenShuttingDownATransactionNow_PendingTasksAreReturned() throws InterruptedException {
+        TransactionExecutor executor = TransactionExecutor.create(1, 1, new MetricRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService transaction = executor.newTransaction();
+        transaction.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runnable pending = () -> fail();
+        transaction.execute(pending);
+        started.await();
+
+        assertEquals(Collections.singletonList(pending), transaction.shutdownNow());
+        assertTrue(transaction.isShutdown());
+
+        release.countDown();
+        assertTrue(transaction.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
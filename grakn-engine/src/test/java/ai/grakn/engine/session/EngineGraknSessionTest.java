@@ -24,6 +24,8 @@ import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
 import ai.grakn.engine.GraknConfig;
 import ai.grakn.engine.KeyspaceStore;
 import ai.grakn.engine.KeyspaceStoreFake;
@@ -32,7 +34,9 @@ import ai.grakn.engine.controller.SparkContext;
 import ai.grakn.engine.controller.SystemController;
 import ai.grakn.engine.factory.EngineGraknTxFactory;
 import ai.grakn.engine.lock.JedisLockProvider;
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryCountStorage;
 import ai.grakn.exception.GraknTxOperationException;
+import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.test.rule.InMemoryRedisContext;
 import ai.grakn.test.rule.SessionContext;
@@ -48,8 +52,17 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeFalse;
 import static org.mockito.Mockito.mock;
@@ -111,6 +124,71 @@ public class EngineGraknSessionTest {
         tx2.close();
     }
 
+    @Test
+    public void whenEngineOpensASessionOfAnExistingKeyspace_StatisticsAreSeededFromTheCountStorage(){
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        JedisLockProvider lockProvider = new JedisLockProvider(inMemoryRedisContext.jedisPool());
+        KeyspaceStore keyspaceStore = KeyspaceStoreFake.of();
+
+        ConceptId counted;
+        ConceptId uncounted;
+        try (GraknTx tx = EngineGraknTxFactory.create(lockProvider, config, keyspaceStore).tx(keyspace, GraknTxType.WRITE)) {
+            EntityType countedType = tx.putEntityType("counted");
+            countedType.create();
+            countedType.create();
+            counted = countedType.id();
+            uncounted = tx.putEntityType("uncounted").id();
+            tx.commit();
+        }
+
+        InMemoryCountStorage countStorage = InMemoryCountStorage.create();
+        countStorage.incrementInstanceCount(keyspace, counted, 2);
+
+        EngineGraknTxFactory factory = EngineGraknTxFactory.create(lockProvider, config, keyspaceStore, countStorage);
+        try (EmbeddedGraknTx<?> tx = factory.tx(keyspace, GraknTxType.READ)) {
+            assertEquals(Long.valueOf(2), tx.session().statistics().instanceCount(counted));
+            assertNull(tx.session().statistics().instanceCount(uncounted));
+        }
+    }
+
+    @Test
+    public void whenOpeningTransactionsOfANewKeyspaceConcurrently_EnsureOnlyOneSessionIsOpened() throws Exception {
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<EmbeddedGraknSession>> sessions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                sessions.add(pool.submit(() -> {
+                    try (EmbeddedGraknTx<?> tx = graknFactory.tx(keyspace, GraknTxType.READ)) {
+                        return tx.session();
+                    }
+                }));
+            }
+
+            Set<EmbeddedGraknSession> opened = new HashSet<>();
+            for (Future<EmbeddedGraknSession> session : sessions) opened.add(session.get());
+            assertEquals(1, opened.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void whenEngineIsNotifiedOfACommitFromOutside_SchemaAndDataOfTheSessionAreMarkedAsChanged(){
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        EmbeddedGraknSession session;
+        try (EmbeddedGraknTx<?> tx = graknFactory.tx(keyspace, GraknTxType.READ)) {
+            session = tx.session();
+        }
+        long schemaVersion = session.schemaVersion();
+        long dataVersion = session.dataVersion();
+
+        graknFactory.dataChanged(keyspace);
+
+        assertTrue(session.schemaVersion() > schemaVersion);
+        assertTrue(session.dataVersion() > dataVersion);
+    }
+
     @Test
     public void whenInsertingAfterSessionHasBeenClosed_shouldThrowTxException(){
         assumeFalse(GraknTestUtil.usingTinker()); //Tinker does not have any connections to close
@@ -0,0 +1,109 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.kb.log.CommitLog;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class CommitLogBufferTest {
+    private static final long LONG_PERIOD_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final Keyspace keyspace = Keyspace.of("buffered");
+    private final ConceptId type = ConceptId.of("type");
+    private final List<CommitLog> delivered = new CopyOnWriteArrayList<>();
+    private CommitLogBuffer buffer;
+
+    @After
+    public void closeBuffer(){
+        buffer.close();
+    }
+
+    @Test
+    public void whenSubmittingCommitLogsOfAKeyspace_TheyAreDeliveredMergedOnFlush(){
+        buffer = new CommitLogBuffer(delivered::add, 100, LONG_PERIOD_MS, 1000, new MetricRegistry());
+
+        buffer.submit(CommitLog.create(keyspace, ImmutableMap.of(type, 2L), ImmutableMap.of("a", ImmutableSet.of(ConceptId.of("1")))));
+        buffer.submit(CommitLog.create(keyspace, ImmutableMap.of(type, 3L), ImmutableMap.of("a", ImmutableSet.of(ConceptId.of("2")))));
+        assertThat(delivered, empty());
+
+        buffer.flushAll();
+
+        assertEquals(1, delivered.size());
+        CommitLog merged = delivered.get(0);
+        assertEquals(keyspace, merged.keyspace());
+        assertEquals(5L, (long) merged.instanceCount().get(type));
+        assertEquals(ImmutableSet.of(ConceptId.of("1"), ConceptId.of("2")), merged.attributes().get("a"));
+    }
+
+    @Test
+    public void whenTooManyEntriesAreBuffered_TheSubmittingThreadFlushesThem(){
+        buffer = new CommitLogBuffer(delivered::add, 100, LONG_PERIOD_MS, 1, new MetricRegistry());
+
+        buffer.submit(CommitLog.create(keyspace, ImmutableMap.of(type, 1L), ImmutableMap.of("a", ImmutableSet.of(ConceptId.of("1")))));
+
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    public void whenClosingTheBuffer_BufferedCommitLogsAreDelivered(){
+        buffer = new CommitLogBuffer(delivered::add, 100, LONG_PERIOD_MS, 1000, new MetricRegistry());
+
+        buffer.submit(CommitLog.create(keyspace, ImmutableMap.of(type, 1L), ImmutableMap.of()));
+        buffer.close();
+
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    public void whenACommitLogCannotBeProcessed_ItIsMergedBackAndRetried(){
+        AtomicBoolean failing = new AtomicBoolean(true);
+        buffer = new CommitLogBuffer(commitLog -> {
+            if (failing.get()) throw new RuntimeException("storage unavailable");
+            delivered.add(commitLog);
+        }, 100, LONG_PERIOD_MS, 1000, new MetricRegistry());
+
+        buffer.submit(CommitLog.create(keyspace, ImmutableMap.of(type, 2L), ImmutableMap.of("a", ImmutableSet.of(ConceptId.of("1")))));
+        buffer.flushAll();
+        assertThat(delivered, empty());
+
+        buffer.submit(CommitLog.create(keyspace, ImmutableMap.of(type, 3L), ImmutableMap.of("a", ImmutableSet.of(ConceptId.of("2")))));
+        failing.set(false);
+        buffer.flushAll();
+
+        assertEquals(1, delivered.size());
+        CommitLog merged = delivered.get(0);
+        assertEquals(5L, (long) merged.instanceCount().get(type));
+        assertEquals(ImmutableSet.of(ConceptId.of("1"), ConceptId.of("2")), merged.attributes().get("a"));
+    }
+}
@@ -32,6 +32,7 @@ import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.kb.log.CommitLog;
 import ai.grakn.util.SampleKBLoader;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -39,9 +40,13 @@ import org.mockito.Mockito;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,12 +69,16 @@ public class CountPostProcessorTest {
 
         configMock = mock(GraknConfig.class);
         when(configMock.getProperty(GraknConfigKey.SHARDING_THRESHOLD)).thenReturn(5L);
+        when(configMock.getProperty(eq(GraknConfigKey.SHARDING_LOOKAHEAD_MS), any())).thenReturn(0L);
+        when(configMock.getProperty(eq(GraknConfigKey.SHARD_REBALANCE_BATCH_SIZE), any())).thenReturn(100);
 
         KeyspaceStore keyspaceStoreMock = mock(KeyspaceStore.class);
         when(keyspaceStoreMock.containsKeyspace(any())).thenReturn(true);
 
         EmbeddedGraknTx txMock = mock(EmbeddedGraknTx.class);
         when(txMock.admin()).thenReturn(mock(GraknAdmin.class));
+        AtomicInteger shards = new AtomicInteger();
+        when(txMock.shard(any())).thenAnswer(invocation -> Optional.of("shard-" + shards.incrementAndGet()));
 
         factoryMock = mock(EngineGraknTxFactory.class);
         when(factoryMock.keyspaceStore()).thenReturn(keyspaceStoreMock);
@@ -99,12 +108,10 @@ public class CountPostProcessorTest {
         //Update The Counts
         countPostProcessor.updateCounts(commitLog);
 
-        //Check the calls
-        newInstanceCounts.forEach((id, value) -> {
-            //Redis is updated
-            verify(countStorage, Mockito.times(1)).getShardCount(keyspace, id);
-            verify(countStorage, Mockito.times(1)).incrementInstanceCount(keyspace, id, value);
-        });
+        //Redis is updated once for all the types
+        verify(countStorage, Mockito.times(1)).getShardCounts(keyspace, newInstanceCounts.keySet());
+        verify(countStorage, Mockito.times(1)).incrementInstanceCounts(keyspace, newInstanceCounts);
+        verify(countStorage, Mockito.times(0)).incrementInstanceCount(any(), any(), Mockito.anyLong());
 
         //No Sharding takes place
         verify(factoryMock, Mockito.times(0)).tx(any(Keyspace.class), any());
@@ -115,8 +122,9 @@ public class CountPostProcessorTest {
         //Configure mock to return value which breaches threshold
         ConceptId id = ConceptId.of("e");
         newInstanceCounts.put(id, 6L);
-        when(countStorage.incrementInstanceCount(keyspace, id, 6L)).thenReturn(6L);
-        when(countStorage.incrementInstanceCount(keyspace, id, 0L)).thenReturn(6L);
+        when(countStorage.incrementInstanceCounts(keyspace, newInstanceCounts)).thenReturn(ImmutableMap.of(id, 6L));
+        when(countStorage.getInstanceCount(keyspace, id)).thenReturn(6L);
+        when(countStorage.incrementShardCount(keyspace, id, 1L)).thenReturn(2L);
 
         //Create fake commit log
         CommitLog commitLog = CommitLog.create(keyspace, newInstanceCounts, Collections.emptyMap());
@@ -127,5 +135,37 @@ public class CountPostProcessorTest {
         //Check Sharding Takes Place
         verify(factoryMock, Mockito.times(1)).tx(keyspace, GraknTxType.WRITE);
         verify(countStorage, Mockito.times(1)).incrementShardCount(keyspace, id, 1);
+
+        //The new shard is given its share of the existing instances
+        ShardRebalancer.Progress progress = countPostProcessor.rebalancer().pending().values().iterator().next();
+        assertEquals(1, progress.shardIds().size());
+        assertEquals(3L, progress.share());
+    }
+
+    @Test
+    public void whenInstancesGreatlyExceedTheShardingThreshold_EnoughShardsAreCreatedAtOnce(){
+        ConceptId id = ConceptId.of("e");
+        newInstanceCounts.put(id, 16L);
+        when(countStorage.incrementInstanceCounts(keyspace, newInstanceCounts)).thenReturn(ImmutableMap.of(id, 16L));
+        when(countStorage.getInstanceCount(keyspace, id)).thenReturn(16L);
+        when(countStorage.incrementShardCount(keyspace, id, 3L)).thenReturn(4L);
+
+        countPostProcessor.updateCounts(CommitLog.create(keyspace, newInstanceCounts, Collections.emptyMap()));
+
+        verify(factoryMock, Mockito.times(1)).tx(keyspace, GraknTxType.WRITE);
+        verify(countStorage, Mockito.times(1)).incrementShardCount(keyspace, id, 3);
+
+        //Each of the new shards is given its share of the existing instances
+        ShardRebalancer.Progress progress = countPostProcessor.rebalancer().pending().values().iterator().next();
+        assertEquals(3, progress.shardIds().size());
+        assertEquals(4L, progress.share());
+    }
+
+    @Test
+    public void whenCountingShardsNeeded_NoShardHoldsMoreThanTheThreshold(){
+        assertEquals(0, CountPostProcessor.shardsNeeded(5, 0, 5));
+        assertEquals(1, CountPostProcessor.shardsNeeded(6, 1, 5));
+        assertEquals(0, CountPostProcessor.shardsNeeded(10, 2, 5));
+        assertEquals(2, CountPostProcessor.shardsNeeded(11, 1, 5));
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing;
+
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryCountStorage;
+import ai.grakn.engine.task.postprocessing.memorystorage.InMemoryIndexStorage;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static ai.grakn.util.CommonUtil.toImmutableSet;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ *    Tests that post processing data can be stored in memory and restored from a journal
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class InMemoryStorageTest {
+    private final static Keyspace keyspace = Keyspace.of("myhappypotato");
+    private final static String index = "index1";
+    private final static Set<ConceptId> conceptIds = ImmutableSet.of(ConceptId.of("a"), ConceptId.of("b"));
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void whenPoppingIndicesAndIds_EnsureTheyAreRemoved(){
+        InMemoryIndexStorage indexStorage = InMemoryIndexStorage.create();
+        indexStorage.addIndex(keyspace, index, conceptIds);
+        indexStorage.addIndex(keyspace, index, ImmutableSet.of(ConceptId.of("c")));
+
+        assertEquals(index, indexStorage.popIndex(keyspace));
+        assertNull(indexStorage.popIndex(keyspace));
+        assertEquals(ImmutableSet.of(ConceptId.of("a"), ConceptId.of("b"), ConceptId.of("c")), indexStorage.popIds(keyspace, index));
+        assertThat(indexStorage.popIds(keyspace, index), empty());
+    }
+
+    @Test
+    public void whenIncrementingCounts_EnsureCountsAreUpdated(){
+        InMemoryCountStorage countStorage = InMemoryCountStorage.create();
+        ConceptId roach = ConceptId.of("Roach");
+
+        assertEquals(0, countStorage.getInstanceCount(keyspace, roach));
+        assertEquals(5, countStorage.incrementInstanceCount(keyspace, roach, 5));
+        assertEquals(3, countStorage.incrementInstanceCount(keyspace, roach, -2));
+        assertEquals(3, countStorage.incrementInstanceCount(keyspace, roach, 0));
+        assertEquals(0, countStorage.getShardCount(keyspace, roach));
+    }
+
+    @Test
+    public void whenReopeningIndexStorage_EnsureIndicesWhichWereNotPoppedAreRestored() throws IOException {
+        Path journal = folder.newFolder().toPath().resolve("indices");
+        InMemoryIndexStorage indexStorage = InMemoryIndexStorage.create(journal);
+        indexStorage.addIndex(keyspace, index, conceptIds);
+        indexStorage.addIndex(keyspace, "index2", conceptIds);
+        indexStorage.addIndex(keyspace, "index3", conceptIds);
+        indexStorage.popIds(keyspace, "index2");
+        String popped = indexStorage.popIndex(keyspace);
+        indexStorage.close();
+
+        //Reopened twice so the restored journal is compacted once
+        InMemoryIndexStorage.create(journal).close();
+        InMemoryIndexStorage restored = InMemoryIndexStorage.create(journal);
+
+        Set<String> remaining = ImmutableSet.of(index, "index2", "index3").stream()
+                .filter(i -> !i.equals(popped)).collect(toImmutableSet());
+        assertEquals(remaining, ImmutableSet.of(restored.popIndex(keyspace), restored.popIndex(keyspace)));
+        assertNull(restored.popIndex(keyspace));
+        assertEquals(conceptIds, restored.popIds(keyspace, index));
+        assertThat(restored.popIds(keyspace, "index2"), empty());
+        assertEquals(conceptIds, restored.popIds(keyspace, "index3"));
+        restored.close();
+    }
+
+    @Test
+    public void whenManyChangesAreJournaled_EnsureJournalIsCompactedWhileRunning() throws IOException {
+        Path journal = folder.newFolder().toPath().resolve("indices");
+        InMemoryIndexStorage indexStorage = InMemoryIndexStorage.create(journal);
+        for (int i = 0; i < 10_000; i++) {
+            indexStorage.addIndex(keyspace, "index" + i, conceptIds);
+            indexStorage.popIds(keyspace, indexStorage.popIndex(keyspace));
+        }
+        indexStorage.addIndex(keyspace, index, conceptIds);
+
+        //Each of the 30001 records takes at least 30 bytes, a compacted journal holds at most 10000 records of 50 bytes
+        assertTrue(Files.size(journal) < 10_000 * 50);
+        indexStorage.close();
+
+        InMemoryIndexStorage restored = InMemoryIndexStorage.create(journal);
+        assertEquals(index, restored.popIndex(keyspace));
+        assertNull(restored.popIndex(keyspace));
+        assertEquals(conceptIds, restored.popIds(keyspace, index));
+        restored.close();
+    }
+
+    @Test
+    public void whenIndicesAreChangedConcurrently_EnsureTheJournalRestoresTheSameIndices() throws Exception {
+        Path journal = folder.newFolder().toPath().resolve("indices");
+        InMemoryIndexStorage indexStorage = InMemoryIndexStorage.create(journal);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    String changed = "index" + (i % 10);
+                    indexStorage.addIndex(keyspace, changed, ImmutableSet.of(ConceptId.of(offset + "-" + i)));
+                    if (i % 3 == 0) indexStorage.popIndex(keyspace);
+                    if (i % 7 == 0) indexStorage.popIds(keyspace, changed);
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+        indexStorage.close();
+
+        InMemoryIndexStorage restored = InMemoryIndexStorage.create(journal);
+        assertEquals(drain(indexStorage), drain(restored));
+        restored.close();
+    }
+
+    /**
+     * @return the indices which were pending, marked as such, and the ids of every index
+     */
+    private static Map<String, Set<ConceptId>> drain(InMemoryIndexStorage indexStorage){
+        Map<String, Set<ConceptId>> drained = new HashMap<>();
+        String popped;
+        while ((popped = indexStorage.popIndex(keyspace)) != null) drained.put("pending " + popped, ImmutableSet.of());
+        for (int i = 0; i < 10; i++) drained.put("index" + i, indexStorage.popIds(keyspace, "index" + i));
+        return drained;
+    }
+
+    @Test
+    public void whenReopeningCountStorage_EnsureCountsAreRestored() throws IOException {
+        Path journal = folder.newFolder().toPath().resolve("counts");
+        ConceptId roach = ConceptId.of("Roach");
+        InMemoryCountStorage countStorage = InMemoryCountStorage.create(journal);
+        countStorage.incrementInstanceCount(keyspace, roach, 10);
+        countStorage.incrementInstanceCount(keyspace, roach, -3);
+        countStorage.incrementShardCount(keyspace, roach, 1);
+        countStorage.close();
+
+        InMemoryCountStorage.create(journal).close();
+        InMemoryCountStorage restored = InMemoryCountStorage.create(journal);
+
+        assertEquals(7, restored.getInstanceCount(keyspace, roach));
+        assertEquals(1, restored.getShardCount(keyspace, roach));
+        restored.close();
+    }
+}
@@ -24,17 +24,27 @@ import ai.grakn.concept.ConceptId;
 import ai.grakn.engine.GraknConfig;
 import ai.grakn.engine.KeyspaceStore;
 import ai.grakn.engine.factory.EngineGraknTxFactory;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.mockito.stubbing.OngoingStubbing;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -48,6 +58,7 @@ public class PostProcessingTaskTest {
     private GraknConfig config;
     private PostProcessor postProcessor;
     private PostProcessingTask postProcessingTask;
+    private MetricRegistry metricRegistry;
 
     @Before
     public void setupMocks(){
@@ -63,8 +74,10 @@ public class PostProcessingTaskTest {
         config = mock(GraknConfig.class);
         when(config.getProperty(GraknConfigKey.POST_PROCESSOR_POOL_SIZE)).thenReturn(5);
         when(config.getProperty(GraknConfigKey.POST_PROCESSOR_DELAY)).thenReturn(1);
+        when(config.getProperty(eq(GraknConfigKey.POST_PROCESSOR_BATCH_SIZE), any())).thenReturn(2);
 
-        postProcessingTask = new PostProcessingTask(factory, indexPostProcessor, config);
+        metricRegistry = new MetricRegistry();
+        postProcessingTask = new PostProcessingTask(factory, indexPostProcessor, config, metricRegistry);
     }
 
     @Test
@@ -83,7 +96,7 @@ public class PostProcessingTaskTest {
         Thread.sleep(config.getProperty(GraknConfigKey.POST_PROCESSOR_DELAY) * 2000);
 
         //Check methods are called
-        verify(indexPostProcessor, Mockito.times(1)).mergeDuplicateConcepts(any(), eq(index1), eq(ids));
+        verify(indexPostProcessor, Mockito.times(1)).mergeDuplicateConcepts(any(), eq(ImmutableMap.of(index1, ids)));
     }
 
     @Test
@@ -92,7 +105,7 @@ public class PostProcessingTaskTest {
         postProcessingTask.run();
 
         //Check no methods calls
-        verify(indexPostProcessor, Mockito.times(0)).mergeDuplicateConcepts(any(), any(), any());
+        verify(indexPostProcessor, Mockito.times(0)).mergeDuplicateConcepts(any(), any());
     }
 
     @Test
@@ -121,7 +134,56 @@ public class PostProcessingTaskTest {
         //Give time for PP to run
         Thread.sleep(config.getProperty(GraknConfigKey.POST_PROCESSOR_DELAY) * 2000);
 
-        //Check methods are called
-        verify(indexPostProcessor, Mockito.times(4)).mergeDuplicateConcepts(any(), any(), eq(ids));
+        //Check the indices are merged in batches, sharing the backlog between the jobs
+        verify(indexPostProcessor, Mockito.times(4)).mergeDuplicateConcepts(any(), argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    public void whenTheBacklogExceedsTheJobs_EnsureIndicesAreBatchedByDuplicateCount() throws InterruptedException {
+        List<String> indices = IntStream.range(0, 20).mapToObj(i -> "index" + i).collect(Collectors.toList());
+        OngoingStubbing<String> popIndex = when(indexPostProcessor.popIndex(keyspaceA));
+        for (String index : indices) popIndex = popIndex.thenReturn(index);
+        popIndex.thenReturn(null);
+
+        //The first indices have the most suspected duplicates
+        for (int i = 0; i < indices.size(); i++) {
+            Set<ConceptId> ids = IntStream.range(0, indices.size() - i).mapToObj(j -> ConceptId.of("id" + j)).collect(Collectors.toSet());
+            when(indexPostProcessor.popIds(keyspaceA, indices.get(i))).thenReturn(ids);
+        }
+
+        //Run the method
+        postProcessingTask.run();
+
+        //Batches of at most 2 indices, for at most 5 jobs, are scheduled. The rest stays in the backlog
+        assertEquals(10, metricRegistry.getGauges().get(name(PostProcessingTask.class, "backlog")).getValue());
+
+        //Give time for PP to run
+        Thread.sleep(config.getProperty(GraknConfigKey.POST_PROCESSOR_DELAY) * 2000);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Set<ConceptId>>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(indexPostProcessor, Mockito.times(5)).mergeDuplicateConcepts(any(), batches.capture());
+        Set<String> merged = batches.getAllValues().stream().flatMap(batch -> batch.keySet().stream()).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(indices.subList(0, 10)), merged);
+    }
+
+    @Test
+    public void whenClosingWithIndicesInTheBacklog_EnsureTheyAreReturnedToStorage(){
+        List<String> indices = IntStream.range(0, 20).mapToObj(i -> "index" + i).collect(Collectors.toList());
+        OngoingStubbing<String> popIndex = when(indexPostProcessor.popIndex(keyspaceA));
+        for (String index : indices) popIndex = popIndex.thenReturn(index);
+        popIndex.thenReturn(null);
+
+        Set<ConceptId> ids = Stream.of("id1", "id2").map(ConceptId::of).collect(Collectors.toSet());
+        indices.forEach(index -> when(indexPostProcessor.popIds(keyspaceA, index)).thenReturn(ids));
+
+        postProcessingTask.run();
+        postProcessingTask.close();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Set<ConceptId>>> returned = ArgumentCaptor.forClass(Map.class);
+        verify(indexPostProcessor, Mockito.times(1)).returnIndices(eq(keyspaceA), returned.capture());
+        assertEquals(10, returned.getValue().size());
+        assertEquals(0, metricRegistry.getGauges().get(name(PostProcessingTask.class, "backlog")).getValue());
     }
 }
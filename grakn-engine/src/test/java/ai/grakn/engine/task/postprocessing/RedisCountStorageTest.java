@@ -24,11 +24,14 @@ import ai.grakn.engine.task.postprocessing.redisstorage.RedisCountStorage;
 import ai.grakn.test.rule.InMemoryRedisContext;
 import ai.grakn.util.SampleKBLoader;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -96,4 +99,20 @@ public class RedisCountStorageTest {
         assertEquals(0, redis.getCount(RedisCountStorage.getKeyNumInstances(keyspace1, ciri)));
         assertEquals(1, redis.getCount(RedisCountStorage.getKeyNumInstances(keyspace2, ciri)));
     }
+
+    @Test
+    public void whenIncrementingSeveralCountsAtOnce_EnsureAllCountsAreUpdated(){
+        Keyspace keyspace = SampleKBLoader.randomKeyspace();
+        ConceptId roach = ConceptId.of("Roach");
+        ConceptId ciri = ConceptId.of("Ciri");
+        ConceptId geralt = ConceptId.of("Geralt");
+        redis.incrementInstanceCount(keyspace, roach, 3);
+        redis.incrementShardCount(keyspace, ciri, 2);
+
+        Map<ConceptId, Long> counts = redis.incrementInstanceCounts(keyspace, ImmutableMap.of(roach, 2L, ciri, 1L, geralt, 0L));
+
+        assertEquals(ImmutableMap.of(roach, 5L, ciri, 1L, geralt, 0L), counts);
+        assertEquals(5, redis.getInstanceCount(keyspace, roach));
+        assertEquals(ImmutableMap.of(roach, 0L, ciri, 2L), redis.getShardCounts(keyspace, ImmutableSet.of(roach, ciri)));
+    }
 }
@@ -24,6 +24,8 @@ import ai.grakn.engine.task.postprocessing.redisstorage.RedisIndexStorage;
 import ai.grakn.engine.task.postprocessing.redisstorage.RedisStorage;
 import ai.grakn.test.rule.InMemoryRedisContext;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -113,6 +115,19 @@ public class RedisIndexStorageTest {
         assertThat(directConnection.contactRedis(jedis -> jedis.smembers(conceptIdsKey)), empty());
     }
 
+    @Test
+    public void whenAddingSeveralIndicesAtOnce_EnsureIndicesAndIdsAreStored(){
+        Keyspace keyspace = Keyspace.of("mybatchedbanana");
+        indexStorage.addIndices(keyspace, ImmutableMap.of(index1, conceptIds, index2, ImmutableSet.of(ConceptId.of("d"))));
+
+        assertJedisContains(RedisIndexStorage.getIndicesKey(keyspace), index1, index2);
+        assertEquals(conceptIds, indexStorage.popIds(keyspace, index1));
+        assertEquals(ImmutableSet.of(ConceptId.of("d")), indexStorage.popIds(keyspace, index2));
+
+        indexStorage.popIndex(keyspace);
+        indexStorage.popIndex(keyspace);
+    }
+
     private void assertJedisContains(String key, String... vals){
         Set<String> result = directConnection.contactRedis(jedis -> jedis.smembers(key));
         assertThat(result, containsInAnyOrder(vals));
@@ -0,0 +1,115 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.engine.task.postprocessing;
+
+import ai.grakn.GraknTxType;
+import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.factory.EngineGraknTxFactory;
+import ai.grakn.engine.lock.LockProvider;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.util.SampleKBLoader;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ShardRebalancerTest {
+    private final Keyspace keyspace = SampleKBLoader.randomKeyspace();
+    private final ConceptId type = ConceptId.of("type");
+    private final Set<String> newShards = ImmutableSet.of("shard");
+    private EngineGraknTxFactory factory;
+    private EmbeddedGraknTx tx;
+    private ShardRebalancer rebalancer;
+
+    @Before
+    public void setUp(){
+        tx = mock(EmbeddedGraknTx.class);
+        factory = mock(EngineGraknTxFactory.class);
+        when(factory.tx(any(Keyspace.class), any())).thenReturn(tx);
+
+        LockProvider lockProvider = mock(LockProvider.class);
+        when(lockProvider.getLock(any())).thenReturn(new ReentrantLock());
+
+        rebalancer = new ShardRebalancer(factory, lockProvider, 10);
+    }
+
+    @Test
+    public void whenRunning_InstancesAreMovedInBatchesUntilTheShardHoldsItsShare(){
+        when(tx.rebalanceShards(type, newShards, 10)).thenReturn(10L);
+        when(tx.rebalanceShards(type, newShards, 5)).thenReturn(5L);
+        rebalancer.sharded(keyspace, type, newShards, 25);
+
+        rebalancer.run();
+        assertEquals(15L, rebalancer.pending().get(ShardRebalancer.Rebalance.of(keyspace, type)).remaining());
+
+        rebalancer.run();
+        rebalancer.run();
+        assertTrue(rebalancer.pending().isEmpty());
+        verify(tx).rebalanceShards(type, newShards, 5);
+    }
+
+    @Test
+    public void whenTypeIsShardedAgainWhileRebalancing_AllItsNewShardsAreRebalanced(){
+        Set<String> moreShards = ImmutableSet.of("shard", "another shard");
+        when(tx.rebalanceShards(type, newShards, 10)).thenReturn(10L);
+        rebalancer.sharded(keyspace, type, newShards, 25);
+        rebalancer.run();
+
+        rebalancer.sharded(keyspace, type, ImmutableSet.of("another shard"), 20);
+
+        ShardRebalancer.Progress progress = rebalancer.pending().get(ShardRebalancer.Rebalance.of(keyspace, type));
+        assertEquals(moreShards, progress.shardIds());
+        assertEquals(30L, progress.remaining());
+
+        rebalancer.run();
+        verify(tx).rebalanceShards(type, moreShards, 10);
+    }
+
+    @Test
+    public void whenNoInstancesCanBeMoved_RebalancingStops(){
+        when(tx.rebalanceShards(any(), any(), anyLong())).thenReturn(0L);
+        rebalancer.sharded(keyspace, type, newShards, 25);
+
+        rebalancer.run();
+
+        assertTrue(rebalancer.pending().isEmpty());
+    }
+
+    @Test
+    public void whenRebalancingIsDisabled_NothingIsMoved(){
+        rebalancer = new ShardRebalancer(factory, mock(LockProvider.class), 0);
+        rebalancer.sharded(keyspace, type, newShards, 25);
+
+        rebalancer.run();
+
+        verify(factory, never()).tx(keyspace, GraknTxType.WRITE);
+    }
+}
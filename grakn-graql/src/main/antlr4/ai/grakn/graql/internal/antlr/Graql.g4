@@ -3,7 +3,8 @@ grammar Graql;
 queryList : query* EOF ;
 
 queryEOF       : query EOF ;
-query          : getQuery | insertQuery | defineQuery | undefineQuery | deleteQuery | aggregateQuery | computeQuery ;
+query          : getQuery | insertQuery | defineQuery | undefineQuery | deleteQuery | aggregateQuery | computeQuery
+               | explainQuery ;
 
 matchPart      : MATCH patterns                             # matchBase
                | matchPart 'limit' INTEGER              ';' # matchLimit
@@ -17,6 +18,7 @@ defineQuery    : DEFINE varPatterns ;
 undefineQuery  : UNDEFINE varPatterns ;
 deleteQuery    : matchPart 'delete' variables? ';' ;
 aggregateQuery : matchPart 'aggregate' aggregate ';' ;
+explainQuery   : (EXPLAIN | PROFILE) getQuery ;
 
 variables      : VARIABLE (',' VARIABLE)* ;
 
@@ -151,6 +153,7 @@ identifier     : ID | STRING
                | FROM | TO | OF | IN
                | DEGREE | K_CORE | CONNECTED_COMPONENT
                | MIN_K | K | CONTAINS | MEMBERS | SIZE | WHERE
+               | EXPLAIN | PROFILE
                ;
 
 datatype       : LONG_TYPE | DOUBLE_TYPE | STRING_TYPE | BOOLEAN_TYPE | DATE_TYPE ;
@@ -187,6 +190,8 @@ INSERT         : 'insert' ;
 DEFINE         : 'define' ;
 UNDEFINE       : 'undefine' ;
 COMPUTE        : 'compute' ;
+EXPLAIN        : 'explain' ;
+PROFILE        : 'profile' ;
 ASC            : 'asc' ;
 DESC           : 'desc' ;
 LONG_TYPE      : 'long' ;
@@ -37,6 +37,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -72,14 +73,25 @@ public abstract class GraqlTraversal {
     // Because 'union' accepts an array, we can't use generics
     @SuppressWarnings("unchecked")
     public GraphTraversal<Vertex, Map<String, Element>> getGraphTraversal(EmbeddedGraknTx<?> tx, Set<Var> vars) {
+        return getGraphTraversal(tx, vars, null);
+    }
+
+    /**
+     * Get the {@code GraphTraversal} that this {@code GraqlTraversal} represents, counting the results of each
+     * fragment into the provided {@link TraversalProfile}.
+     */
+    // Because 'union' accepts an array, we can't use generics
+    @SuppressWarnings("unchecked")
+    public GraphTraversal<Vertex, Map<String, Element>> getGraphTraversal(
+            EmbeddedGraknTx<?> tx, Set<Var> vars, @Nullable TraversalProfile profile) {
 
         if (fragments().size() == 1) {
             // If there are no disjunctions, we don't need to union them and get a performance boost
             ImmutableList<Fragment> list = Iterables.getOnlyElement(fragments());
-            return getConjunctionTraversal(tx, tx.getTinkerTraversal().V(), vars, list);
+            return getConjunctionTraversal(tx, tx.getTinkerTraversal().V(), vars, list, profile);
         } else {
             Traversal[] traversals = fragments().stream()
-                    .map(list -> getConjunctionTraversal(tx, __.V(), vars, list))
+                    .map(list -> getConjunctionTraversal(tx, __.V(), vars, list, null))
                     .toArray(Traversal[]::new);
 
             // This is a sneaky trick - we want to do a union but tinkerpop requires all traversals to start from
@@ -113,7 +125,7 @@ public abstract class GraqlTraversal {
      */
     private GraphTraversal<Vertex, Map<String, Element>> getConjunctionTraversal(
             EmbeddedGraknTx<?> tx, GraphTraversal<Vertex, Vertex> traversal, Set<Var> vars,
-            ImmutableList<Fragment> fragmentList
+            ImmutableList<Fragment> fragmentList, @Nullable TraversalProfile profile
     ) {
         GraphTraversal<Vertex, ? extends Element> newTraversal = traversal;
 
@@ -122,21 +134,23 @@ public abstract class GraqlTraversal {
             newTraversal = traversal.union(__.identity(), __.outE(Schema.EdgeLabel.ATTRIBUTE.getLabel()));
         }
 
-        return applyFragments(tx, vars, fragmentList, newTraversal);
+        return applyFragments(tx, vars, fragmentList, newTraversal, profile);
     }
 
     private GraphTraversal<Vertex, Map<String, Element>> applyFragments(
             EmbeddedGraknTx<?> tx, Set<Var> vars, ImmutableList<Fragment> fragmentList,
-            GraphTraversal<Vertex, ? extends Element> traversal
+            GraphTraversal<Vertex, ? extends Element> traversal, @Nullable TraversalProfile profile
     ) {
         Set<Var> foundVars = new HashSet<>();
 
         // Apply fragments in order into one single traversal
         Var currentName = null;
 
-        for (Fragment fragment : fragmentList) {
+        for (int i = 0; i < fragmentList.size(); i++) {
+            Fragment fragment = fragmentList.get(i);
             // Apply fragment to traversal
             fragment.applyTraversal(traversal, tx, foundVars, currentName);
+            if (profile != null) profile.countTraversers(traversal, i);
             currentName = fragment.end() != null ? fragment.end() : fragment.start();
         }
 
@@ -171,6 +185,59 @@ public abstract class GraqlTraversal {
         return listCost;
     }
 
+    /**
+     * Describe the traversal, listing the fragments of each conjunction in order of execution together with their
+     * estimated cost and number of results. If a profile of an execution of the traversal is provided, the observed
+     * number of results of each fragment and the time spent executing it are listed too.
+     *
+     * @param profile profile of a complete execution of this traversal
+     * @return a description of the traversal, one fragment per line
+     */
+    public String describe(@Nullable TraversalProfile profile) {
+        StringBuilder description = new StringBuilder();
+
+        for (List<Fragment> list : fragments()) {
+            description.append(String.format("conjunction, estimated complexity %.2f%n", fragmentListCost(list)));
+            boolean profiled = profile != null && profile.fragments().equals(list);
+
+            Set<Var> names = new HashSet<>();
+            double estimatedCount = 1;
+
+            for (int i = 0; i < list.size(); i++) {
+                Fragment fragment = list.get(i);
+                double cost = fragmentCost(fragment, names);
+                estimatedCount = estimatedCount(fragment, names, cost, estimatedCount);
+                names.addAll(fragment.vars());
+
+                description.append(String.format("%4d. %-60s cost: %8.2f  estimated: %12.0f",
+                        i + 1, fragment, cost, estimatedCount));
+                if (profiled) {
+                    description.append(String.format("  actual: %12d  time: %10.3f ms",
+                            profile.count(i), profile.nanos(i) / 1_000_000D));
+                }
+                description.append(String.format("%n"));
+            }
+        }
+
+        return description.toString();
+    }
+
+    /**
+     * Estimate the number of results after the fragment from the number of results before it and its cost.
+     * Edge fragments multiply the results by their estimated fan-out, while filters keep or reduce them.
+     */
+    private static double estimatedCount(Fragment fragment, Collection<Var> names, double cost, double count) {
+        Var end = fragment.end();
+        if (!names.contains(fragment.start())) {
+            // Either an index lookup or a restart of the traversal from all vertices
+            return fragment.hasFixedFragmentCost() ? count : count * NUM_VERTICES_ESTIMATE;
+        } else if (end != null && !names.contains(end)) {
+            return count * Math.expm1(cost);
+        } else {
+            return count * Math.min(1D, Math.exp(cost));
+        }
+    }
+
     static double fragmentCost(Fragment fragment, Collection<Var> names) {
         if (names.contains(fragment.start()) || fragment.hasFixedFragmentCost()) {
             return fragment.fragmentCost();
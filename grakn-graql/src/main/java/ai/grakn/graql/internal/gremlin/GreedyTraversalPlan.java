@@ -86,11 +86,23 @@ public class GreedyTraversalPlan {
      * @return a semi-optimal traversal plan
      */
     public static GraqlTraversal createTraversal(PatternAdmin pattern, EmbeddedGraknTx<?> tx) {
+        return createTraversal(pattern, tx, Collections.emptyMap());
+    }
+
+    /**
+     * Create a traversal plan, using the costs observed in previous executions of the pattern in place of estimates.
+     *
+     * @param pattern a pattern to find a query plan for
+     * @param observedCosts costs of fragments of the pattern observed in previous executions
+     * @return a semi-optimal traversal plan
+     */
+    public static GraqlTraversal createTraversal(
+            PatternAdmin pattern, EmbeddedGraknTx<?> tx, Map<Fragment, Double> observedCosts) {
         Collection<Conjunction<VarPatternAdmin>> patterns = pattern.getDisjunctiveNormalForm().getPatterns();
 
         Set<? extends List<Fragment>> fragments = patterns.stream()
                 .map(conjunction -> new ConjunctionQuery(conjunction, tx))
-                .map((ConjunctionQuery query) -> planForConjunction(query, tx))
+                .map((ConjunctionQuery query) -> planForConjunction(query, tx, observedCosts))
                 .collect(toImmutableSet());
 
         return GraqlTraversal.create(fragments);
@@ -102,7 +114,8 @@ public class GreedyTraversalPlan {
      * @param query the conjunction query to find a traversal plan
      * @return a semi-optimal traversal plan to execute the given conjunction
      */
-    private static List<Fragment> planForConjunction(ConjunctionQuery query, EmbeddedGraknTx<?> tx) {
+    private static List<Fragment> planForConjunction(
+            ConjunctionQuery query, EmbeddedGraknTx<?> tx, Map<Fragment, Double> observedCosts) {
 
         final List<Fragment> plan = new ArrayList<>(); // this will be the final plan
         final Map<NodeId, Node> allNodes = new HashMap<>(); // all the nodes in the spanning tree
@@ -118,6 +131,10 @@ public class GreedyTraversalPlan {
         // then add a label fragment to the fragment set
         inferRelationshipTypes(tx, allFragments);
 
+        // the known types of the variables, used to estimate fragment costs from the statistics of the knowledge base
+        final Map<Var, Type> labelVarTypeMap = getLabelVarTypeMap(tx, allFragments);
+        final Multimap<Var, Type> instanceVarTypeMap = getInstanceVarTypeMap(allFragments, labelVarTypeMap);
+
         // it's possible that some (or all) fragments are disconnect
         // e.g. $x isa person; $y isa dog;
         // these are valid conjunctions and useful when inserting new data
@@ -139,7 +156,8 @@ public class GreedyTraversalPlan {
                     edgeFragmentSet.add(fragment);
                     // when we are have more info from the cache, e.g. instance count,
                     // we can have a better estimate on the cost of the fragment
-                    updateFragmentCost(allNodes, nodesWithFixedCost, fragment);
+                    updateFragmentCost(allNodes, nodesWithFixedCost, fragment, tx,
+                            labelVarTypeMap, instanceVarTypeMap, observedCosts);
 
                 } else if (fragment.hasFixedFragmentCost()) {
                     Node node = Node.addIfAbsent(NodeId.NodeType.VAR, fragment.start(), allNodes);
@@ -463,10 +481,27 @@ public class GreedyTraversalPlan {
 
     private static void updateFragmentCost(Map<NodeId, Node> allNodes,
                                            Map<Node, Double> nodesWithFixedCost,
-                                           Fragment fragment) {
+                                           Fragment fragment,
+                                           EmbeddedGraknTx<?> tx,
+                                           Map<Var, Type> labelVarTypeMap,
+                                           Multimap<Var, Type> instanceVarTypeMap,
+                                           Map<Fragment, Double> observedCosts) {
+
+        // costs observed when executing the same pattern before are the most accurate
+        Double observedCost = observedCosts.get(fragment);
+        if (observedCost != null) {
+            fragment.setAccurateFragmentCost(observedCost);
+            return;
+        }
+
+        // use the instance counts of the session statistics when they are known for all the types involved
+        Double estimatedCost = fragment.estimatedFragmentCost(tx, labelVarTypeMap, instanceVarTypeMap);
+        if (estimatedCost != null) {
+            fragment.setAccurateFragmentCost(estimatedCost);
+            return;
+        }
 
-        // ideally, this is where we update fragment cost after we get more info and statistics of the graph
-        // however, for now, only shard count is available, which is used to infer number of instances of a type
+        // otherwise, the shard count is used to infer number of instances of a type
         if (fragment instanceof InIsaFragment) {
             Node type = Node.addIfAbsent(NodeId.NodeType.VAR, fragment.start(), allNodes);
             if (nodesWithFixedCost.containsKey(type) && nodesWithFixedCost.get(type) > 0) {
@@ -0,0 +1,262 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.PatternAdmin;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static ai.grakn.util.CommonUtil.toImmutableList;
+
+/**
+ *
+ * <p>
+ * Bounded LRU cache of {@link GraqlTraversal}s produced by {@link GreedyTraversalPlan} shared by all the transactions
+ * of an {@link EmbeddedGraknSession}.
+ *
+ * Plans are grouped by a key provided by the client, which can either be the planned pattern itself or a coarser
+ * key, such as the structural hash of a reasoner query, in which case the client decides which of the plans found applies.
+ *
+ * A plan is only returned if it is still valid, i.e. if the schema version of the session has not changed and
+ * the shard counts of the fixed cost fragments of the plan are the same as when the plan was created.
+ * Shards are only created by transactions which commit, so when the session knows about every commit to its keyspace
+ * the shard counts of a plan are only compared again once the data version of the session has changed.
+ * </p>
+ *
+ * <p>
+ * If {@link GraknConfigKey#GRAQL_PLAN_CACHE_REPLAN_FACTOR} is set, the number of results of each fragment is recorded
+ * when a plan is fully executed. Only one in {@link GraknConfigKey#GRAQL_PLAN_CACHE_PROFILE_INTERVAL} executions of
+ * each plan is profiled, so that the other executions are not instrumented. A plan which observed costs differ from its estimated costs by more than the factor
+ * is invalidated and the pattern is re-planned using the observed costs in place of estimates.
+ * </p>
+ *
+ * <p>
+ * The schema version of a session only changes when it is told about schema writes, either by its own transactions or,
+ * for the sessions of engine, by the commit logs of other writers. Sessions which do not observe every commit to their
+ * keyspace, such as those of clients or of engines sharing their storage backend, could keep using plans of an outdated
+ * schema, so the cache is only used by sessions which do.
+ * The cache is also disabled if {@link GraknConfigKey#GRAQL_PLAN_CACHE_SIZE} is not set to a positive value.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class TraversalPlanCache {
+
+    private static final long UNKNOWN_DATA_VERSION = -1;
+
+    private final Cache<Object, List<Plan>> cache;
+    private final int replanFactor;
+    private final int profileInterval;
+
+    private TraversalPlanCache(int maximumSize, int replanFactor, int profileInterval){
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.replanFactor = replanFactor;
+        this.profileInterval = Math.max(profileInterval, 1);
+    }
+
+    /**
+     * @param tx transaction for which the cache should be retrieved
+     * @return the plan cache of the session of the transaction if the cache is enabled and the session observes every commit
+     */
+    public static Optional<TraversalPlanCache> of(EmbeddedGraknTx<?> tx){
+        EmbeddedGraknSession session = tx.session();
+        if (!session.observesAllCommits()) return Optional.empty();
+        int size = session.config().getProperty(GraknConfigKey.GRAQL_PLAN_CACHE_SIZE, 0);
+        if (size <= 0) return Optional.empty();
+        int replanFactor = session.config().getProperty(GraknConfigKey.GRAQL_PLAN_CACHE_REPLAN_FACTOR, 0);
+        int profileInterval = session.config().getProperty(GraknConfigKey.GRAQL_PLAN_CACHE_PROFILE_INTERVAL, 1);
+        return Optional.of(session.sessionCache(TraversalPlanCache.class,
+                () -> new TraversalPlanCache(size, replanFactor, profileInterval)));
+    }
+
+    /**
+     * Create a traversal plan for the provided pattern, reusing a cached plan of an equal pattern if a valid one exists.
+     *
+     * @param pattern a pattern to find a query plan for
+     * @param tx transaction in which the plan will be executed
+     * @return a semi-optimal traversal plan
+     */
+    public static Plan createPlan(Conjunction<PatternAdmin> pattern, EmbeddedGraknTx<?> tx){
+        return of(tx)
+                .map(cache -> cache.getPlan(pattern, tx))
+                .orElseGet(() -> new Plan(pattern, GreedyTraversalPlan.createTraversal(pattern, tx),
+                        tx.session().schemaVersion(), ImmutableList.of(), UNKNOWN_DATA_VERSION, 0, 1, ImmutableMap.of()));
+    }
+
+    private Plan getPlan(Conjunction<PatternAdmin> pattern, EmbeddedGraknTx<?> tx){
+        Optional<Plan> cached = plans(pattern, tx)
+                .filter(plan -> plan.pattern().equals(pattern))
+                .findFirst();
+        if (cached.isPresent()) return cached.get();
+
+        // a plan which diverged from its estimates is re-planned with the costs observed when executing it,
+        // the pattern of the diverged plan is used so that the observed fragments are recognised
+        long schemaVersion = tx.session().schemaVersion();
+        Optional<Plan> diverged = divergedPlan(pattern, schemaVersion);
+        PatternAdmin plannedPattern = diverged.map(Plan::pattern).orElse(pattern);
+        Map<Fragment, Double> observedCosts = diverged.map(plan -> plan.observedCosts).orElse(ImmutableMap.of());
+
+        GraqlTraversal traversal = GreedyTraversalPlan.createTraversal(plannedPattern, tx, observedCosts);
+        return record(pattern, plannedPattern, traversal, schemaVersion, observedCosts, tx);
+    }
+
+    private Optional<Plan> divergedPlan(Conjunction<PatternAdmin> pattern, long schemaVersion){
+        List<Plan> plans = cache.getIfPresent(pattern);
+        if (plans == null) return Optional.empty();
+        return plans.stream()
+                .filter(plan -> plan.diverged && plan.schemaVersion == schemaVersion)
+                .filter(plan -> plan.pattern().equals(pattern))
+                .findFirst();
+    }
+
+    /**
+     * @param key key under which the plans were recorded
+     * @param tx transaction in which the plans are to be executed
+     * @return valid plans recorded under the provided key
+     */
+    public Stream<Plan> plans(Object key, EmbeddedGraknTx<?> tx){
+        List<Plan> plans = cache.getIfPresent(key);
+        if (plans == null) return Stream.empty();
+        long schemaVersion = tx.session().schemaVersion();
+        return plans.stream().filter(plan -> plan.isValid(schemaVersion, tx));
+    }
+
+    /**
+     * Records the plan of the provided pattern. Plans recorded under the same key which are no longer valid are discarded.
+     *
+     * @param key key under which the plan should be recorded
+     * @param pattern transaction independent pattern the plan was created for
+     * @param traversal plan to be recorded
+     * @param schemaVersion version of the schema at the time the plan was created
+     * @param tx transaction in which the plan was created
+     */
+    public void record(Object key, PatternAdmin pattern, GraqlTraversal traversal, long schemaVersion, EmbeddedGraknTx<?> tx){
+        record(key, pattern, traversal, schemaVersion, ImmutableMap.of(), tx);
+    }
+
+    private Plan record(Object key, PatternAdmin pattern, GraqlTraversal traversal, long schemaVersion,
+                        Map<Fragment, Double> observedCosts, EmbeddedGraknTx<?> tx){
+        Plan plan = new Plan(pattern, traversal, schemaVersion, shardCounts(traversal, tx), dataVersion(tx),
+                replanFactor, profileInterval, observedCosts);
+        if (schemaVersion != tx.session().schemaVersion()) return plan;
+        cache.asMap().merge(
+                key,
+                ImmutableList.of(plan),
+                (plans, newPlans) -> ImmutableList.<Plan>builder()
+                        .addAll(newPlans)
+                        .addAll(plans.stream().filter(p -> p.isValid(schemaVersion, tx)).iterator())
+                        .build()
+        );
+        return plan;
+    }
+
+    /**
+     * @return shard counts of the fixed cost fragments of the traversal, which the plan cost depends on
+     */
+    private static List<Long> shardCounts(GraqlTraversal traversal, EmbeddedGraknTx<?> tx){
+        return traversal.fragments().stream()
+                .flatMap(Collection::stream)
+                .filter(Fragment::hasFixedFragmentCost)
+                .map(fragment -> fragment.getShardCount(tx))
+                .collect(toImmutableList());
+    }
+
+    /**
+     * @return data version of the transaction if the session knows about every commit, so that the shard counts
+     * cannot have changed without the version changing
+     */
+    private static long dataVersion(EmbeddedGraknTx<?> tx){
+        return tx.session().observesAllCommits()? tx.txCache().dataVersion() : UNKNOWN_DATA_VERSION;
+    }
+
+    /**
+     * Transaction independent cache entry.
+     */
+    public static class Plan {
+        private final PatternAdmin pattern;
+        private final GraqlTraversal traversal;
+        private final long schemaVersion;
+        private final List<Long> shardCounts;
+        private volatile long validatedDataVersion;
+        private final int replanFactor;
+        private final int profileInterval;
+        private final AtomicLong executions = new AtomicLong();
+        private final Map<Fragment, Double> observedCosts;
+        private volatile boolean diverged = false;
+
+        Plan(PatternAdmin pattern, GraqlTraversal traversal, long schemaVersion, List<Long> shardCounts,
+             long validatedDataVersion, int replanFactor, int profileInterval, Map<Fragment, Double> observedCosts){
+            this.pattern = pattern;
+            this.traversal = traversal;
+            this.schemaVersion = schemaVersion;
+            this.shardCounts = shardCounts;
+            this.validatedDataVersion = validatedDataVersion;
+            this.replanFactor = replanFactor;
+            this.profileInterval = profileInterval;
+            this.observedCosts = new ConcurrentHashMap<>(observedCosts);
+        }
+
+        public PatternAdmin pattern(){ return pattern;}
+        public GraqlTraversal traversal(){ return traversal;}
+
+        /**
+         * @return a new profile of an execution of this plan if re-planning is enabled and the execution is sampled,
+         * null otherwise
+         */
+        @Nullable
+        public TraversalProfile profile(){
+            if (replanFactor <= 1 || diverged) return null;
+            if (executions.getAndIncrement() % profileInterval != 0) return null;
+            return TraversalProfile.of(traversal, this::observe);
+        }
+
+        private void observe(TraversalProfile profile){
+            observedCosts.putAll(profile.observedCosts());
+            if (profile.diverges(replanFactor)) diverged = true;
+        }
+
+        boolean isValid(long currentSchemaVersion, EmbeddedGraknTx<?> tx){
+            if (diverged || schemaVersion != currentSchemaVersion) return false;
+            long dataVersion = dataVersion(tx);
+            if (dataVersion != UNKNOWN_DATA_VERSION && dataVersion == validatedDataVersion) return true;
+            if (!shardCounts.equals(shardCounts(traversal, tx))) return false;
+            validatedDataVersion = dataVersion;
+            return true;
+        }
+    }
+}
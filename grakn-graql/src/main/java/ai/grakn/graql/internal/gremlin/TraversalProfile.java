@@ -0,0 +1,148 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.graql.Var;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Number of results observed after each {@link Fragment} of a {@link GraqlTraversal} during its execution,
+ * together with the time spent producing them.
+ * <p>
+ * The profile is complete once all the results of the traversal have been retrieved, at which point it is passed
+ * on to the listener it has been created with.
+ *
+ * @author Grakn Warriors
+ */
+public class TraversalProfile {
+
+    private final ImmutableList<Fragment> fragments;
+    private final long[] counts;
+    private final long[] nanos;
+    private final Consumer<TraversalProfile> listener;
+    private long lastResultTime = System.nanoTime();
+    private boolean completed = false;
+
+    private TraversalProfile(ImmutableList<Fragment> fragments, Consumer<TraversalProfile> listener) {
+        this.fragments = fragments;
+        this.counts = new long[fragments.size()];
+        this.nanos = new long[fragments.size()];
+        this.listener = listener;
+    }
+
+    /**
+     * @param traversal the traversal to profile
+     * @param listener called with the profile once the traversal has been fully executed
+     * @return a profile of the traversal or null if the traversal cannot be profiled, i.e. it contains disjunctions
+     */
+    @Nullable
+    public static TraversalProfile of(GraqlTraversal traversal, Consumer<TraversalProfile> listener) {
+        if (traversal.fragments().size() != 1) return null;
+        return new TraversalProfile(Iterables.getOnlyElement(traversal.fragments()), listener);
+    }
+
+    /**
+     * @return the fragments of the profiled traversal, in order of execution
+     */
+    public ImmutableList<Fragment> fragments() {
+        return fragments;
+    }
+
+    /**
+     * @param index the position of a fragment in the traversal
+     * @return the number of results observed after the fragment
+     */
+    public long count(int index) {
+        return counts[index];
+    }
+
+    /**
+     * The time spent in a fragment is approximated by the time elapsed since the previous result of any fragment,
+     * as the traversal is executed lazily, one result at a time.
+     *
+     * @param index the position of a fragment in the traversal
+     * @return the time in nanoseconds spent producing the results of the fragment
+     */
+    public long nanos(int index) {
+        return nanos[index];
+    }
+
+    /**
+     * Counts the traversers leaving the fragment at the provided position
+     */
+    void countTraversers(GraphTraversal<?, ?> traversal, int index) {
+        traversal.sideEffect(traverser -> {
+            long now = System.nanoTime();
+            counts[index] += traverser.bulk();
+            nanos[index] += now - lastResultTime;
+            lastResultTime = now;
+        });
+    }
+
+    /**
+     * Marks the profile as complete, i.e. all the results of the traversal have been retrieved
+     */
+    public void complete() {
+        if (completed) return;
+        completed = true;
+        listener.accept(this);
+    }
+
+    /**
+     * The observed cost of an edge fragment is the log of the average number of results each result of the previous
+     * fragment expanded into, in line with the estimated cost of the fragment. Edge fragments which are not reached
+     * or lead to a variable which has already been visited have no observed cost.
+     *
+     * @return the observed costs of the edge fragments of the traversal
+     */
+    public Map<Fragment, Double> observedCosts() {
+        Map<Fragment, Double> observedCosts = new HashMap<>();
+        Set<Var> visited = new HashSet<>();
+        for (int i = 0; i < fragments.size(); i++) {
+            Fragment fragment = fragments.get(i);
+            Var end = fragment.end();
+            if (i > 0 && end != null && counts[i - 1] > 0 &&
+                    visited.contains(fragment.start()) && !visited.contains(end)) {
+                observedCosts.put(fragment, Math.log1p(counts[i] / (double) counts[i - 1]));
+            }
+            visited.addAll(fragment.vars());
+        }
+        return observedCosts;
+    }
+
+    /**
+     * @param factor the factor by which the observed number of results of a fragment may differ from the estimate
+     * @return true if the observed cost of any fragment differs from its estimated cost by more than the factor
+     */
+    public boolean diverges(double factor) {
+        double threshold = Math.log(factor);
+        return observedCosts().entrySet().stream()
+                .anyMatch(e -> Math.abs(e.getValue() - e.getKey().fragmentCost()) > threshold);
+    }
+}
@@ -20,6 +20,7 @@ package ai.grakn.graql.internal.gremlin.fragment;
 
 import ai.grakn.concept.AttributeType;
 import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Type;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.VarProperty;
 import ai.grakn.graql.internal.gremlin.spanningtree.graph.DirectedEdge;
@@ -27,7 +28,9 @@ import ai.grakn.graql.internal.gremlin.spanningtree.graph.Node;
 import ai.grakn.graql.internal.gremlin.spanningtree.graph.NodeId;
 import ai.grakn.graql.internal.gremlin.spanningtree.util.Weighted;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.kb.internal.cache.KeyspaceStatistics;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -40,6 +43,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ai.grakn.graql.internal.gremlin.spanningtree.util.Weighted.weighted;
 
@@ -241,6 +246,39 @@ public abstract class Fragment {
 
     public abstract double internalFragmentCost();
 
+    /**
+     * Estimate the cost of executing the fragment from the statistics of the knowledge base.
+     *
+     * @param tx the transaction the fragment will be executed in
+     * @param labelVarTypes the types the type variables of the query are labelled with
+     * @param instanceVarTypes the types the instance variables of the query are known to be instances of
+     * @return the estimated cost or null if there are not enough statistics to estimate it
+     */
+    @Nullable
+    public Double estimatedFragmentCost(
+            EmbeddedGraknTx<?> tx, Map<Var, Type> labelVarTypes, Multimap<Var, Type> instanceVarTypes) {
+        return null;
+    }
+
+    /**
+     * @return the number of instances of the types, including instances of their subtypes,
+     * or null if the number of instances of any of them is unknown
+     */
+    @Nullable
+    static Long instanceCount(EmbeddedGraknTx<?> tx, Stream<? extends Type> types) {
+        KeyspaceStatistics statistics = tx.session().statistics();
+        Set<Type> allTypes = types.flatMap(Type::subs).collect(Collectors.toSet());
+        long count = 0L;
+        for (Type type : allTypes) {
+            // abstract types never have instances, so they are never counted
+            if (type.isAbstract()) continue;
+            Long typeCount = statistics.instanceCount(type.getId());
+            if (typeCount == null) return null;
+            count += typeCount;
+        }
+        return count;
+    }
+
     /**
      * If a fragment has fixed cost, the traversal is done using index. This makes the fragment a good starting point.
      * A plan should always start with these fragments when possible.
@@ -18,6 +18,7 @@
 
 package ai.grakn.graql.internal.gremlin.fragment;
 
+import ai.grakn.concept.Type;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.internal.gremlin.spanningtree.graph.DirectedEdge;
 import ai.grakn.graql.internal.gremlin.spanningtree.graph.Node;
@@ -26,6 +27,7 @@ import ai.grakn.graql.internal.gremlin.spanningtree.util.Weighted;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -33,9 +35,11 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static ai.grakn.graql.Graql.var;
 import static ai.grakn.util.Schema.BaseType.RELATIONSHIP_TYPE;
@@ -137,6 +141,16 @@ public abstract class InIsaFragment extends Fragment {
         return COST_INSTANCES_PER_TYPE;
     }
 
+    @Nullable
+    @Override
+    public Double estimatedFragmentCost(
+            EmbeddedGraknTx<?> tx, Map<Var, Type> labelVarTypes, Multimap<Var, Type> instanceVarTypes) {
+        Type type = labelVarTypes.get(start());
+        if (type == null) return null;
+        Long instanceCount = instanceCount(tx, Stream.of(type));
+        return instanceCount == null ? null : Math.log1p(instanceCount);
+    }
+
     @Override
     public Set<Weighted<DirectedEdge<Node>>> directedEdges(Map<NodeId, Node> nodes,
                                                            Map<Node, Map<Node, Fragment>> edges) {
@@ -18,11 +18,16 @@
 
 package ai.grakn.graql.internal.gremlin.fragment;
 
+import ai.grakn.concept.Label;
+import ai.grakn.concept.Role;
+import ai.grakn.concept.SchemaConcept;
+import ai.grakn.concept.Type;
 import ai.grakn.graql.Var;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.util.Schema;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -31,7 +36,11 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static ai.grakn.graql.internal.pattern.Patterns.RELATION_DIRECTION;
 import static ai.grakn.graql.internal.pattern.Patterns.RELATION_EDGE;
@@ -102,4 +111,51 @@ abstract class InRolePlayerFragment extends AbstractRolePlayerFragment {
     public double internalFragmentCost() {
         return COST_RELATIONS_PER_INSTANCE;
     }
+
+    /**
+     * The cost is the average number of relationships a role-player is in, i.e. the number of relationships of the
+     * possible relationship types over the number of instances of the possible role-player types.
+     */
+    @Nullable
+    @Override
+    public Double estimatedFragmentCost(
+            EmbeddedGraknTx<?> tx, Map<Var, Type> labelVarTypes, Multimap<Var, Type> instanceVarTypes) {
+        Set<Label> relationTypeLabels = relationTypeLabels();
+        Set<Label> roleLabels = roleLabels();
+
+        Stream<? extends Type> relationshipTypes;
+        if (relationTypeLabels != null) {
+            relationshipTypes = schemaConcepts(tx, relationTypeLabels).filter(SchemaConcept::isType).map(SchemaConcept::asType);
+        } else if (instanceVarTypes.containsKey(end())) {
+            relationshipTypes = instanceVarTypes.get(end()).stream();
+        } else if (roleLabels != null) {
+            relationshipTypes = roles(tx, roleLabels).flatMap(Role::relationships);
+        } else {
+            return null;
+        }
+
+        Stream<? extends Type> rolePlayerTypes;
+        if (instanceVarTypes.containsKey(start())) {
+            rolePlayerTypes = instanceVarTypes.get(start()).stream();
+        } else if (roleLabels != null) {
+            rolePlayerTypes = roles(tx, roleLabels).flatMap(Role::players);
+        } else {
+            return null;
+        }
+
+        Long relationshipCount = instanceCount(tx, relationshipTypes);
+        if (relationshipCount == null) return null;
+        Long rolePlayerCount = instanceCount(tx, rolePlayerTypes);
+        if (rolePlayerCount == null) return null;
+
+        return Math.log1p(relationshipCount / (double) Math.max(rolePlayerCount, 1L));
+    }
+
+    private static Stream<Role> roles(EmbeddedGraknTx<?> tx, Set<Label> roleLabels) {
+        return schemaConcepts(tx, roleLabels).filter(SchemaConcept::isRole).map(SchemaConcept::asRole);
+    }
+
+    private static Stream<SchemaConcept> schemaConcepts(EmbeddedGraknTx<?> tx, Set<Label> labels) {
+        return labels.stream().<SchemaConcept>map(tx::getSchemaConcept).filter(schemaConcept -> schemaConcept != null);
+    }
 }
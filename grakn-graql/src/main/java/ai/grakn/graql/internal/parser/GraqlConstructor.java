@@ -27,6 +27,7 @@ import ai.grakn.graql.AggregateQuery;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.DefineQuery;
 import ai.grakn.graql.DeleteQuery;
+import ai.grakn.graql.ExplainQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.Graql;
 import ai.grakn.graql.InsertQuery;
@@ -192,6 +193,12 @@ class GraqlConstructor extends GraqlBaseVisitor {
         return visitMatchPart(ctx.matchPart()).aggregate(aggregate);
     }
 
+    @Override
+    public ExplainQuery visitExplainQuery(GraqlParser.ExplainQueryContext ctx) {
+        GetQuery query = visitGetQuery(ctx.getQuery());
+        return ctx.PROFILE() != null ? query.profile() : query.explain();
+    }
+
     @Override
     public Aggregate<?> visitCustomAgg(GraqlParser.CustomAggContext ctx) {
         String name = visitIdentifier(ctx.identifier());
@@ -0,0 +1,70 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query;
+
+import ai.grakn.GraknTx;
+import ai.grakn.graql.ExplainQuery;
+import ai.grakn.graql.GetQuery;
+import com.google.auto.value.AutoValue;
+
+import javax.annotation.Nullable;
+
+/**
+ * Implementation of {@link ExplainQuery}
+ *
+ * @author Grakn Warriors
+ */
+@AutoValue
+abstract class ExplainQueryImpl extends AbstractExecutableQuery<String> implements ExplainQuery {
+
+    public static ExplainQueryImpl of(GetQuery query, boolean profile) {
+        return new AutoValue_ExplainQueryImpl(query, profile);
+    }
+
+    @Override
+    public final ExplainQuery withTx(GraknTx tx) {
+        return Queries.explain(query().withTx(tx), isProfile());
+    }
+
+    @Override
+    public final String execute() {
+        return executor().run(this);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public final GraknTx tx() {
+        return query().tx();
+    }
+
+    @Override
+    public final String toString() {
+        return (isProfile() ? "profile " : "explain ") + query().toString();
+    }
+
+    @Override
+    public final Boolean inferring() {
+        return query().inferring();
+    }
+}
@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.query;
 
 import ai.grakn.GraknTx;
+import ai.grakn.graql.ExplainQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.Match;
 import ai.grakn.graql.Var;
@@ -81,4 +82,14 @@ public abstract class GetQueryImpl extends AbstractQuery<List<Answer>, Answer> i
     public final Boolean inferring() {
         return match().admin().inferring();
     }
+
+    @Override
+    public final ExplainQuery explain() {
+        return Queries.explain(this, false);
+    }
+
+    @Override
+    public final ExplainQuery profile() {
+        return Queries.explain(this, true);
+    }
 }
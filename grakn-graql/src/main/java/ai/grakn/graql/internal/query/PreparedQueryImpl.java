@@ -0,0 +1,173 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query;
+
+import ai.grakn.GraknTx;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.exception.GraqlQueryException;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.GetQuery;
+import ai.grakn.graql.PreparedQuery;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.MatchAdmin;
+import ai.grakn.graql.admin.PatternAdmin;
+import ai.grakn.graql.internal.gremlin.GraqlTraversal;
+import ai.grakn.graql.internal.gremlin.GreedyTraversalPlan;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Default implementation of {@link PreparedQuery}.
+ * <p>
+ * The query is planned with every parameter bound to a placeholder id. On execution, the placeholder ids of the plan
+ * are replaced with the ids the parameters are bound to. The plan is shared by all the copies of the query
+ * and is recreated when the query is executed in a different session or after the schema has changed.
+ *
+ * @author Grakn Warriors
+ */
+public class PreparedQueryImpl implements PreparedQuery {
+
+    private static final ConceptId PLACEHOLDER_ID = ConceptId.of("V0");
+
+    private final GetQuery query;
+    private final ImmutableSet<Var> parameters;
+    private final AtomicReference<Plan> plan;
+
+    private PreparedQueryImpl(GetQuery query, ImmutableSet<Var> parameters, AtomicReference<Plan> plan) {
+        this.query = query;
+        this.parameters = parameters;
+        this.plan = plan;
+    }
+
+    /**
+     * @param query the query to prepare
+     * @param parameters the variables of the query to be bound on execution
+     * @return a prepared query
+     * @throws GraqlQueryException if the query cannot be prepared or a parameter is not a variable of the query
+     */
+    public static PreparedQueryImpl of(GetQuery query, Set<Var> parameters) {
+        MatchAdmin match = query.match().admin();
+        if (match.modifiesAnswers() || match.getPattern().getDisjunctiveNormalForm().getPatterns().size() != 1) {
+            throw GraqlQueryException.invalidPreparedQuery(query);
+        }
+        for (Var parameter : parameters) {
+            if (!match.getSelectedNames().contains(parameter)) throw GraqlQueryException.varNotInQuery(parameter);
+        }
+        return new PreparedQueryImpl(query, ImmutableSet.copyOf(parameters), new AtomicReference<>());
+    }
+
+    @Override
+    public PreparedQuery withTx(GraknTx tx) {
+        return new PreparedQueryImpl(query.withTx(tx), parameters, plan);
+    }
+
+    @Nullable
+    @Override
+    public GraknTx tx() {
+        return query.tx();
+    }
+
+    @Override
+    public GetQuery query() {
+        return query;
+    }
+
+    @Override
+    public Set<Var> parameters() {
+        return parameters;
+    }
+
+    @Override
+    public Stream<Answer> stream(Map<Var, ?> bindings) {
+        GraknTx tx = tx();
+        if (tx == null) throw GraqlQueryException.noTx();
+        for (Var parameter : parameters) {
+            if (!bindings.containsKey(parameter)) throw GraqlQueryException.unboundParameter(parameter);
+        }
+        return tx.admin().queryExecutor().run(this, bindings);
+    }
+
+    @Override
+    public List<Answer> execute(Map<Var, ?> bindings) {
+        return stream(bindings).collect(Collectors.toList());
+    }
+
+    /**
+     * @param tx the transaction the plan will be executed in
+     * @return the plan of this query with the parameters bound to placeholder ids
+     */
+    public GraqlTraversal traversal(EmbeddedGraknTx<?> tx) {
+        EmbeddedGraknSession session = tx.session();
+        long schemaVersion = session.schemaVersion();
+        Plan current = plan.get();
+        if (current != null && current.session == session && current.schemaVersion == schemaVersion) {
+            return current.traversal;
+        }
+        GraqlTraversal traversal = GreedyTraversalPlan.createTraversal(parameterisedPattern(), tx);
+        plan.set(new Plan(session, schemaVersion, traversal));
+        return traversal;
+    }
+
+    /**
+     * @param ids the ids the parameters are bound to
+     * @return the pattern of this query with the parameters bound to the provided ids
+     */
+    public Conjunction<PatternAdmin> boundPattern(Map<Var, ConceptId> ids) {
+        Set<PatternAdmin> idPatterns = ids.entrySet().stream()
+                .map(e -> e.getKey().id(e.getValue()).admin())
+                .collect(Collectors.toSet());
+        return Patterns.conjunction(Sets.union(query.match().admin().getPattern().getPatterns(), idPatterns).immutableCopy());
+    }
+
+    private Conjunction<PatternAdmin> parameterisedPattern() {
+        return boundPattern(parameters.stream().collect(Collectors.toMap(p -> p, p -> PLACEHOLDER_ID)));
+    }
+
+    @Override
+    public String toString() {
+        return query.toString();
+    }
+
+    /**
+     * A query plan together with the session and schema version it was created for.
+     */
+    private static class Plan {
+        private final EmbeddedGraknSession session;
+        private final long schemaVersion;
+        private final GraqlTraversal traversal;
+
+        Plan(EmbeddedGraknSession session, long schemaVersion, GraqlTraversal traversal) {
+            this.session = session;
+            this.schemaVersion = schemaVersion;
+            this.traversal = traversal;
+        }
+    }
+}
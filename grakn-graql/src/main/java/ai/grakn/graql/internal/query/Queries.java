@@ -22,6 +22,7 @@ import ai.grakn.GraknTx;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.Aggregate;
 import ai.grakn.graql.AggregateQuery;
+import ai.grakn.graql.ExplainQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.Match;
 import ai.grakn.graql.Var;
@@ -75,4 +76,8 @@ public class Queries {
     public static <T> AggregateQuery<T> aggregate(MatchAdmin match, Aggregate<T> aggregate) {
         return AggregateQueryImpl.of(match, aggregate);
     }
+
+    public static ExplainQuery explain(GetQuery query, boolean profile) {
+        return ExplainQueryImpl.of(query, profile);
+    }
 }
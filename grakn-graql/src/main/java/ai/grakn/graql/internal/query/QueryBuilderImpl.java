@@ -19,15 +19,19 @@
 package ai.grakn.graql.internal.query;
 
 import ai.grakn.GraknTx;
+import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.DefineQuery;
+import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.InsertQuery;
 import ai.grakn.graql.Match;
 import ai.grakn.graql.Pattern;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.graql.QueryParser;
 import ai.grakn.graql.UndefineQuery;
+import ai.grakn.graql.Var;
 import ai.grakn.graql.VarPattern;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.PatternAdmin;
@@ -38,6 +42,7 @@ import ai.grakn.graql.internal.query.match.MatchBase;
 import ai.grakn.graql.internal.util.AdminConverter;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import javax.annotation.Nullable;
@@ -157,4 +162,27 @@ public class QueryBuilderImpl implements QueryBuilder {
         return queryParser.parseQuery(queryString);
     }
 
+    /**
+     * @param queryString a string representing a get query
+     * @param parameters the variables of the query to be bound on execution
+     * @return a prepared query which can be executed many times with different bindings of its parameters
+     */
+    @Override
+    public PreparedQuery prepare(String queryString, Var... parameters) {
+        Query<?> query = parse(queryString);
+        if (!(query instanceof GetQuery)) throw GraqlQueryException.invalidPreparedQuery(query);
+        return prepare((GetQuery) query, parameters);
+    }
+
+    /**
+     * @param query the query to prepare
+     * @param parameters the variables of the query to be bound on execution
+     * @return a prepared query which can be executed many times with different bindings of its parameters
+     */
+    @Override
+    public PreparedQuery prepare(GetQuery query, Var... parameters) {
+        PreparedQuery preparedQuery = PreparedQueryImpl.of(query, ImmutableSet.copyOf(parameters));
+        return (tx != null && query.tx() == null) ? preparedQuery.withTx(tx) : preparedQuery;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query.executor;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ *
+ * <p>
+ * Cache of the results of compute queries shared by the READ transactions of an {@link EmbeddedGraknSession}.
+ * Results are keyed by the computed algorithm together with the types in scope and are only valid for the data and
+ * schema versions of the session they were computed at, i.e. they are invalidated when a transaction commits or a
+ * commit log of the keyspace is received.
+ * </p>
+ *
+ * <p>
+ * A result recorded with a patch function is not recomputed when the data only changed by creating or connecting
+ * things, as recorded by the session. Such a result is instead patched with the ids of the things connected since it
+ * was recorded, as long as there are no more than {@link GraknConfigKey#GRAQL_COMPUTE_CACHE_MAX_PATCH} of them.
+ * </p>
+ *
+ * <p>
+ * The cache is disabled unless {@link GraknConfigKey#GRAQL_COMPUTE_CACHE_SIZE} is set to a positive value.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class ComputeResultCache {
+
+    private final Cache<Object, Entry> cache;
+    private final int maxPatch;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong patches = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private ComputeResultCache(int maximumSize, int maxPatch){
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.maxPatch = maxPatch;
+    }
+
+    /**
+     * @param tx transaction for which the cache should be retrieved
+     * @return the result cache of the session of the transaction if the cache is enabled and applicable to the transaction
+     */
+    public static Optional<ComputeResultCache> of(EmbeddedGraknTx<?> tx){
+        if (!GraknTxType.READ.equals(tx.txType())) return Optional.empty();
+        EmbeddedGraknSession session = tx.session();
+        int size = session.config().getProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_SIZE, 0);
+        if (size <= 0) return Optional.empty();
+        int maxPatch = session.config().getProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_MAX_PATCH, 0);
+        return Optional.of(session.sessionCache(ComputeResultCache.class, () -> new ComputeResultCache(size, maxPatch)));
+    }
+
+    /**
+     * @return number of results returned from this cache as they were
+     */
+    public long hitCount(){ return hits.get();}
+
+    /**
+     * @return number of results returned from this cache after being patched
+     */
+    public long patchCount(){ return patches.get();}
+
+    /**
+     * @return number of results which had to be computed
+     */
+    public long missCount(){ return misses.get();}
+
+    /**
+     * Retrieves the result recorded under the provided key, computing it if there is no valid result to return or patch.
+     *
+     * @param key the algorithm and the types in scope the result is computed for
+     * @param tx the transaction in which the result is needed
+     * @param compute computes the result from scratch
+     * @param patch patches a result with the ids of the things which have been created or connected since it was
+     *              computed, or null if the result cannot be patched
+     * @param <T> the type of the result, which must not be modified once recorded
+     * @return the valid result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, EmbeddedGraknTx<?> tx, Supplier<T> compute, @Nullable BiFunction<T, Set<ConceptId>, T> patch){
+        EmbeddedGraknSession session = tx.session();
+        long schemaVersion = session.schemaVersion();
+        long dataVersion = session.dataVersion();
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.schemaVersion == schemaVersion) {
+            if (entry.dataVersion == dataVersion) {
+                hits.incrementAndGet();
+                return (T) entry.result;
+            }
+
+            if (patch != null) {
+                Optional<Set<ConceptId>> connectedThings = session.connectedThings(entry.dataVersion, dataVersion);
+                if (connectedThings.isPresent() && connectedThings.get().size() <= maxPatch) {
+                    T result = patch.apply((T) entry.result, connectedThings.get());
+                    record(key, result, schemaVersion, dataVersion, session);
+                    patches.incrementAndGet();
+                    return result;
+                }
+            }
+        }
+
+        misses.incrementAndGet();
+        T result = compute.get();
+        record(key, result, schemaVersion, dataVersion, session);
+        return result;
+    }
+
+    private void record(Object key, Object result, long schemaVersion, long dataVersion, EmbeddedGraknSession session){
+        if (schemaVersion != session.schemaVersion()) return;
+        cache.asMap().merge(
+                key,
+                new Entry(result, schemaVersion, dataVersion),
+                (entry, newEntry) -> entry.schemaVersion == schemaVersion && entry.dataVersion > dataVersion ? entry : newEntry
+        );
+    }
+
+    /**
+     * Transaction independent cache entry.
+     */
+    private static class Entry {
+        private final Object result;
+        private final long schemaVersion;
+        private final long dataVersion;
+
+        Entry(Object result, long schemaVersion, long dataVersion){
+            this.result = result;
+            this.schemaVersion = schemaVersion;
+            this.dataVersion = dataVersion;
+        }
+    }
+}
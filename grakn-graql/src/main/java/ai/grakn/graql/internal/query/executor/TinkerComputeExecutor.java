@@ -20,6 +20,7 @@ package ai.grakn.graql.internal.query.executor;
 
 import ai.grakn.ComputeExecutor;
 import ai.grakn.GraknComputer;
+import ai.grakn.GraknConfigKey;
 import ai.grakn.concept.AttributeType;
 import ai.grakn.concept.Concept;
 import ai.grakn.concept.ConceptId;
@@ -59,6 +60,7 @@ import ai.grakn.graql.internal.analytics.SumMapReduce;
 import ai.grakn.graql.internal.analytics.Utility;
 import ai.grakn.graql.internal.query.ComputeQueryImpl;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.kb.internal.cache.KeyspaceStatistics;
 import ai.grakn.util.CommonUtil;
 import ai.grakn.util.Schema;
 import com.google.common.collect.HashMultimap;
@@ -70,6 +72,9 @@ import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,11 +85,18 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -103,6 +115,7 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
     private final ComputeQuery query;
 
     private static final Logger LOG = LoggerFactory.getLogger(TinkerComputeExecutor.class);
+    private static final int DEFAULT_PATH_MAX_VISITED = 10_000;
     private final EmbeddedGraknTx<?> tx;
 
     public TinkerComputeExecutor(EmbeddedGraknTx<?> tx, ComputeQuery query) {
@@ -301,6 +314,18 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
     private ComputeQuery.Answer runComputeCount() {
         ComputeQueryImpl.AnswerImpl answer = new ComputeQueryImpl.AnswerImpl();
 
+        //Answer from the exact counts maintained by the session when they are known, which avoids an OLAP job
+        KeyspaceStatistics statistics = tx.session().statistics();
+        Set<Type> scopeTypes = scopeTypes().collect(Collectors.toSet());
+        Optional<Map<ConceptId, Long>> exactCounts =
+                statistics.exactInstanceCounts(scopeTypes.stream().map(Concept::id).collect(Collectors.toSet()));
+        if (!scopeTypes.isEmpty() && exactCounts.isPresent()) {
+            long finalCount = exactCounts.get().values().stream().mapToLong(Long::longValue).sum();
+            LOG.debug("Count = " + finalCount + ", from exact counts");
+            return answer.setNumber(finalCount);
+        }
+        Optional<Long> exactCountsVersion = statistics.exactCountsVersion();
+
         if (!scopeContainsInstance()) {
             LOG.debug("Count = 0");
             return answer.setNumber(0L);
@@ -325,10 +350,38 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
             finalCount += count.get(GraknMapReduce.RESERVED_TYPE_LABEL_KEY);
         }
 
+        exactCountsVersion.ifPresent(version -> {
+            if (statistics.setExactInstanceCounts(countsPerType(scopeTypes, count), version)) {
+                LOG.debug("Exact counts seeded for {} types", scopeTypes.size());
+            }
+        });
+
         LOG.debug("Count = " + finalCount);
         return answer.setNumber(finalCount);
     }
 
+    /**
+     * Splits the result of counting the instances in scope by type. Relationships stored as edges are only counted
+     * in total, so they can only be attributed to an implicit relationship type when it is the only one in scope.
+     *
+     * @param scopeTypes the types in scope
+     * @param count the number of instances of each type, by label id, and the number of relationships stored as edges
+     * @return the number of instances of the types which can be known from the count
+     */
+    private Map<ConceptId, Long> countsPerType(Set<Type> scopeTypes, Map<Integer, Long> count) {
+        List<Type> implicitTypes = scopeTypes.stream().filter(Type::isImplicit).collect(Collectors.toList());
+        long edgeCount = count.getOrDefault(GraknMapReduce.RESERVED_TYPE_LABEL_KEY, 0L);
+
+        Map<ConceptId, Long> countsPerType = new HashMap<>();
+        scopeTypes.forEach(type -> {
+            if (type.isImplicit() && implicitTypes.size() > 1) return;
+            long instances = count.getOrDefault(tx.convertToId(type.label()).getValue(), 0L);
+            if (type.isImplicit()) instances += edgeCount;
+            countsPerType.put(type.id(), instances);
+        });
+        return countsPerType;
+    }
+
     /**
      * The Graql compute path query run method
      *
@@ -345,6 +398,23 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
 
         Set<LabelId> scopedLabelIds = convertLabelsToIds(scopeTypeLabels());
 
+        int maxVisited = tx.session().config().getProperty(GraknConfigKey.GRAQL_COMPUTE_PATH_MAX_VISITED, DEFAULT_PATH_MAX_VISITED);
+        Multimap<ConceptId, ConceptId> pathsAsEdgeList = shortestPathsByTraversal(fromID, toID, scopedLabelIds, maxVisited)
+                .orElseGet(() -> shortestPathsByVertexProgram(fromID, toID, scopedLabelIds));
+
+        List<List<ConceptId>> shortestPathAsList;
+        if (!pathsAsEdgeList.isEmpty()) {
+            if (!scopeIncludesAttributes()) shortestPathAsList = getComputePathResultList(pathsAsEdgeList, fromID);
+            else shortestPathAsList = getComputePathResultListIncludingImplicitRelations(getComputePathResultList(pathsAsEdgeList, fromID));
+        }
+        else {
+            shortestPathAsList = Collections.emptyList();
+        }
+
+        return answer.setPaths(shortestPathAsList);
+    }
+
+    private Multimap<ConceptId, ConceptId> shortestPathsByVertexProgram(ConceptId fromID, ConceptId toID, Set<LabelId> scopedLabelIds) {
         ComputerResult result = compute(new ShortestPathVertexProgram(fromID, toID), null, scopedLabelIds);
 
         Multimap<ConceptId, ConceptId> pathsAsEdgeList = HashMultimap.create();
@@ -352,17 +422,124 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
         resultFromMemory.forEach((id, idSet) -> idSet.forEach(id2 -> {
             pathsAsEdgeList.put(ConceptId.of(id), ConceptId.of(id2));
         }));
+        return pathsAsEdgeList;
+    }
 
-        List<List<ConceptId>> shortestPathAsList;
-        if (!resultFromMemory.isEmpty()) {
-            if (!scopeIncludesAttributes()) shortestPathAsList = getComputePathResultList(pathsAsEdgeList, fromID);
-            else shortestPathAsList = getComputePathResultListIncludingImplicitRelations(getComputePathResultList(pathsAsEdgeList, fromID));
+    /**
+     * Finds the shortest paths between two concepts with a bidirectional breadth first search, following the same edges
+     * as {@link ShortestPathVertexProgram}. The search always expands the smaller of its two frontiers and stops at the
+     * first layer where the frontiers meet, which makes it much cheaper than the vertex program for nearby concepts.
+     *
+     * @param fromID the concept the paths start from
+     * @param toID the concept the paths lead to
+     * @param scopedLabelIds the types in scope
+     * @param maxVisited the maximum number of concepts the search may visit
+     * @return the successors of each concept along the shortest paths, empty if the search visited too many concepts
+     */
+    private Optional<Multimap<ConceptId, ConceptId>> shortestPathsByTraversal(ConceptId fromID, ConceptId toID,
+                                                                              Set<LabelId> scopedLabelIds, int maxVisited) {
+        if (maxVisited <= 0) return Optional.empty();
+        Set<Integer> scope = labelIdValues(scopedLabelIds);
+
+        PathSearch forward = new PathSearch(vertexOf(fromID));
+        PathSearch backward = new PathSearch(vertexOf(toID));
+        Set<Vertex> meetings = Collections.emptySet();
+        while (meetings.isEmpty()) {
+            PathSearch search = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+            PathSearch other = search == forward ? backward : forward;
+            if (search.frontier.isEmpty()) return Optional.of(HashMultimap.create());
+
+            List<Vertex> discovered = search.expand(vertex -> neighboursInScope(vertex, scope));
+            if (forward.distances.size() + backward.distances.size() > maxVisited) {
+                LOG.debug("Shortest path search visited more than {} concepts, using the vertex program", maxVisited);
+                return Optional.empty();
+            }
+
+            // every shortest path goes through a discovered concept which is the closest to the other end
+            int closest = discovered.stream()
+                    .filter(other.distances::containsKey)
+                    .mapToInt(other.distances::get)
+                    .min().orElse(-1);
+            meetings = discovered.stream()
+                    .filter(vertex -> other.distances.get(vertex) != null && other.distances.get(vertex) == closest)
+                    .collect(Collectors.toSet());
         }
-        else {
-            shortestPathAsList = Collections.emptyList();
+
+        Multimap<ConceptId, ConceptId> successors = HashMultimap.create();
+        forward.walkBack(meetings, (vertex, parent) -> successors.put(conceptIdOf(parent), conceptIdOf(vertex)));
+        backward.walkBack(meetings, (vertex, parent) -> successors.put(conceptIdOf(vertex), conceptIdOf(parent)));
+        return Optional.of(successors);
+    }
+
+    private Vertex vertexOf(ConceptId id) {
+        return tx.getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), id.getValue()).next();
+    }
+
+    private static ConceptId conceptIdOf(Vertex vertex) {
+        return ConceptId.of(vertex.value(Schema.VertexProperty.ID.name()));
+    }
+
+    /**
+     * @return the vertices in scope connected to the vertex by a role player edge or by an attribute edge in scope,
+     * which are the edges analytics computes over
+     */
+    private List<Vertex> neighboursInScope(Vertex vertex, Set<Integer> scope) {
+        return tx.getTinkerTraversal().V(vertex)
+                .union(
+                        __.bothE(Schema.EdgeLabel.ROLE_PLAYER.getLabel()).otherV(),
+                        __.bothE(Schema.EdgeLabel.ATTRIBUTE.getLabel())
+                                .has(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID.name(), P.within(scope)).otherV())
+                .has(Schema.VertexProperty.THING_TYPE_LABEL_ID.name(), P.within(scope))
+                .toList();
+    }
+
+    /**
+     * One direction of a breadth first search for the shortest paths between two concepts, expanded a layer at a time
+     */
+    private static class PathSearch {
+        private final Map<Vertex, Integer> distances = new HashMap<>();
+        private final Multimap<Vertex, Vertex> parents = HashMultimap.create();
+        private List<Vertex> frontier;
+
+        PathSearch(Vertex start) {
+            distances.put(start, 0);
+            frontier = ImmutableList.of(start);
         }
 
-        return answer.setPaths(shortestPathAsList);
+        /**
+         * @return the vertices discovered by expanding the frontier, which become the new frontier
+         */
+        List<Vertex> expand(Function<Vertex, List<Vertex>> neighbours) {
+            List<Vertex> discovered = new ArrayList<>();
+            for (Vertex vertex : frontier) {
+                int distance = distances.get(vertex) + 1;
+                for (Vertex neighbour : neighbours.apply(vertex)) {
+                    Integer known = distances.get(neighbour);
+                    if (known == null) {
+                        distances.put(neighbour, distance);
+                        discovered.add(neighbour);
+                    }
+                    if (known == null || known == distance) parents.put(neighbour, vertex);
+                }
+            }
+            frontier = discovered;
+            return discovered;
+        }
+
+        /**
+         * Visits the edges of the shortest paths from the start of the search to the provided vertices
+         */
+        void walkBack(Set<Vertex> vertices, BiConsumer<Vertex, Vertex> edgeConsumer) {
+            Deque<Vertex> queue = new ArrayDeque<>(vertices);
+            Set<Vertex> visited = new HashSet<>(vertices);
+            while (!queue.isEmpty()) {
+                Vertex vertex = queue.pollFirst();
+                for (Vertex parent : parents.get(vertex)) {
+                    edgeConsumer.accept(vertex, parent);
+                    if (visited.add(parent)) queue.addLast(parent);
+                }
+            }
+        }
     }
 
     /**
@@ -410,11 +587,53 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
         Set<LabelId> scopeTypeLabelIDs = convertLabelsToIds(scopeTypeLabels);
         Set<LabelId> targetTypeLabelIDs = convertLabelsToIds(targetTypeLabels);
 
-        ComputerResult computerResult = compute(new DegreeVertexProgram(targetTypeLabelIDs),
-                                                new DegreeDistributionMapReduce(targetTypeLabelIDs, DegreeVertexProgram.DEGREE),
-                                                scopeTypeLabelIDs);
+        Map<Long, Set<ConceptId>> centrality = cached(
+                ImmutableList.of(query.method(), DEGREE, ImmutableSet.copyOf(scopeTypeLabelIDs), ImmutableSet.copyOf(targetTypeLabelIDs)),
+                () -> {
+                    ComputerResult computerResult = compute(new DegreeVertexProgram(targetTypeLabelIDs),
+                            new DegreeDistributionMapReduce(targetTypeLabelIDs, DegreeVertexProgram.DEGREE),
+                            scopeTypeLabelIDs);
+                    return computerResult.memory().get(DegreeDistributionMapReduce.class.getName());
+                },
+                (degrees, connectedThings) -> patchDegrees(degrees, connectedThings, scopeTypeLabelIDs, targetTypeLabelIDs));
+
+        return answer.setCentrality(centrality);
+    }
 
-        return answer.setCentrality(computerResult.memory().get(DegreeDistributionMapReduce.class.getName()));
+    /**
+     * Recomputes the degrees of the things which have been created or connected since the degrees were computed.
+     * The degree of a thing is the number of relationships in scope it plays a role in, together with the number of
+     * attributes in scope it owns or owners in scope it is owned by, as counted by {@link DegreeVertexProgram}.
+     *
+     * @param degrees the things of each degree
+     * @param connectedThings the ids of the things whose degree may have changed
+     * @param scopeTypeLabelIds the types in scope
+     * @param targetTypeLabelIds the types whose instances have their degrees computed
+     * @return the things of each degree once patched
+     */
+    private Map<Long, Set<ConceptId>> patchDegrees(Map<Long, Set<ConceptId>> degrees, Set<ConceptId> connectedThings,
+                                                   Set<LabelId> scopeTypeLabelIds, Set<LabelId> targetTypeLabelIds) {
+        Set<Integer> scope = labelIdValues(scopeTypeLabelIds);
+        Set<Integer> targets = labelIdValues(targetTypeLabelIds);
+
+        Map<Long, Set<ConceptId>> patched = new HashMap<>();
+        degrees.forEach((degree, ids) -> patched.put(degree, new HashSet<>(Sets.difference(ids, connectedThings))));
+        connectedThings.forEach(id -> {
+            long degree = tx.getTinkerTraversal().V()
+                    .has(Schema.VertexProperty.ID.name(), id.getValue())
+                    .has(Schema.VertexProperty.THING_TYPE_LABEL_ID.name(), P.within(targets))
+                    .union(
+                            __.inE(Schema.EdgeLabel.ROLE_PLAYER.getLabel()).outV(),
+                            __.inE(Schema.EdgeLabel.ATTRIBUTE.getLabel())
+                                    .has(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID.name(), P.within(scope)).outV(),
+                            __.outE(Schema.EdgeLabel.ATTRIBUTE.getLabel())
+                                    .has(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID.name(), P.within(scope)).inV())
+                    .has(Schema.VertexProperty.THING_TYPE_LABEL_ID.name(), P.within(scope))
+                    .count().next();
+            if (degree > 0) patched.computeIfAbsent(degree, key -> new HashSet<>()).add(id);
+        });
+        patched.values().removeIf(Set::isEmpty);
+        return patched;
     }
 
     /**
@@ -452,19 +671,25 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
             return answer.setCentrality(Collections.emptyMap());
         }
 
-        ComputerResult result;
         Set<LabelId> scopeTypeLabelIDs = convertLabelsToIds(scopeTypeLabels);
         Set<LabelId> targetTypeLabelIDs = convertLabelsToIds(targetTypeLabels);
 
-        try {
-            result = compute(new CorenessVertexProgram(k),
-                             new DegreeDistributionMapReduce(targetTypeLabelIDs, CorenessVertexProgram.CORENESS),
-                             scopeTypeLabelIDs);
-        } catch (NoResultException e) {
-            return answer.setCentrality(Collections.emptyMap());
-        }
-
-        return answer.setCentrality(result.memory().get(DegreeDistributionMapReduce.class.getName()));
+        Map<Long, Set<ConceptId>> centrality = cached(
+                ImmutableList.of(query.method(), K_CORE, k, ImmutableSet.copyOf(scopeTypeLabelIDs), ImmutableSet.copyOf(targetTypeLabelIDs)),
+                () -> {
+                    ComputerResult result;
+                    try {
+                        result = compute(new CorenessVertexProgram(k),
+                                         new DegreeDistributionMapReduce(targetTypeLabelIDs, CorenessVertexProgram.CORENESS),
+                                         scopeTypeLabelIDs);
+                    } catch (NoResultException e) {
+                        return Collections.emptyMap();
+                    }
+                    return result.memory().get(DegreeDistributionMapReduce.class.getName());
+                },
+                null);
+
+        return answer.setCentrality(centrality);
     }
 
     private ComputeQuery.Answer runComputeCluster() {
@@ -489,13 +714,33 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
 
         Set<LabelId> scopeTypeLabelIDs = convertLabelsToIds(scopeTypeLabels());
 
-        GraknVertexProgram<?> vertexProgram;
-        if (query.where().get().contains().isPresent()) {
-            ConceptId conceptId = query.where().get().contains().get();
-            if (!scopeContainsInstances(conceptId)) {
-                throw GraqlQueryException.instanceDoesNotExist();
+        Optional<ConceptId> contains = query.where().get().contains();
+        if (contains.isPresent() && !scopeContainsInstances(contains.get())) {
+            throw GraqlQueryException.instanceDoesNotExist();
+        }
+
+        Optional<ComputeResultCache> resultCache = ComputeResultCache.of(tx);
+        if (resultCache.isPresent()) {
+            // all the components in scope are cached, so that they can be patched and used to answer any cluster query
+            Set<Set<ConceptId>> components = resultCache.get().get(
+                    ImmutableList.of(query.method(), CONNECTED_COMPONENT, ImmutableSet.copyOf(scopeTypeLabelIDs)), tx,
+                    () -> computeConnectedComponents(scopeTypeLabelIDs),
+                    (cached, connectedThings) -> patchConnectedComponents(cached, connectedThings, scopeTypeLabelIDs));
+
+            Stream<Set<ConceptId>> clusters = components.stream();
+            if (contains.isPresent()) clusters = clusters.filter(cluster -> cluster.contains(contains.get()));
+            if (restrictSize) {
+                long size = query.where().get().size().get();
+                clusters = clusters.filter(cluster -> cluster.size() == size);
             }
-            vertexProgram = new ConnectedComponentVertexProgram(conceptId);
+
+            if (getMembers) return answer.setClusters(clusters.collect(Collectors.toSet()));
+            return answer.setClusterSizes(clusters.map(cluster -> (long) cluster.size()).collect(Collectors.toList()));
+        }
+
+        GraknVertexProgram<?> vertexProgram;
+        if (contains.isPresent()) {
+            vertexProgram = new ConnectedComponentVertexProgram(contains.get());
         } else {
             vertexProgram = new ConnectedComponentsVertexProgram();
         }
@@ -523,6 +768,58 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
         return answer;
     }
 
+    private Set<Set<ConceptId>> computeConnectedComponents(Set<LabelId> scopeTypeLabelIds) {
+        ClusterMemberMapReduce mapReduce = new ClusterMemberMapReduce(ConnectedComponentsVertexProgram.CLUSTER_LABEL);
+        Memory memory = compute(new ConnectedComponentsVertexProgram(), mapReduce, scopeTypeLabelIds).memory();
+        Map<String, Set<ConceptId>> result = memory.get(mapReduce.getClass().getName());
+        return new HashSet<>(result.values());
+    }
+
+    /**
+     * Merges the connected components joined by the things which have been created or connected since the components
+     * were computed. Things are connected by role player edges and by the attribute edges of implicit relationships in
+     * scope, as followed by {@link ConnectedComponentsVertexProgram}. A new thing in scope forms a new component.
+     *
+     * @param components the connected components in scope
+     * @param connectedThings the ids of the things which may have joined components
+     * @param scopeTypeLabelIds the types in scope
+     * @return the connected components once patched
+     */
+    private Set<Set<ConceptId>> patchConnectedComponents(Set<Set<ConceptId>> components, Set<ConceptId> connectedThings,
+                                                         Set<LabelId> scopeTypeLabelIds) {
+        Set<Integer> scope = labelIdValues(scopeTypeLabelIds);
+
+        Map<ConceptId, Set<ConceptId>> componentOf = new HashMap<>();
+        components.forEach(component -> {
+            Set<ConceptId> members = new HashSet<>(component);
+            members.forEach(id -> componentOf.put(id, members));
+        });
+
+        connectedThings.forEach(id -> {
+            List<Vertex> vertices = tx.getTinkerTraversal().V()
+                    .has(Schema.VertexProperty.ID.name(), id.getValue())
+                    .has(Schema.VertexProperty.THING_TYPE_LABEL_ID.name(), P.within(scope))
+                    .toList();
+            if (vertices.isEmpty()) return;
+
+            Set<ConceptId> component = componentOf.computeIfAbsent(id, key -> Sets.newHashSet(key));
+            for (Vertex neighbour : neighboursInScope(vertices.get(0), scope)) {
+                Set<ConceptId> other = componentOf.computeIfAbsent(conceptIdOf(neighbour), key -> Sets.newHashSet(key));
+                if (other == component) continue;
+
+                Set<ConceptId> larger = component.size() >= other.size() ? component : other;
+                Set<ConceptId> smaller = larger == component ? other : component;
+                larger.addAll(smaller);
+                smaller.forEach(member -> componentOf.put(member, larger));
+                component = larger;
+            }
+        });
+
+        Set<Set<ConceptId>> patched = Collections.newSetFromMap(new IdentityHashMap<>());
+        patched.addAll(componentOf.values());
+        return new HashSet<>(patched);
+    }
+
     private ComputeQuery.Answer runComputeKCore() {
         ComputeQueryImpl.AnswerImpl answer = new ComputeQueryImpl.AnswerImpl();
 
@@ -534,19 +831,42 @@ class TinkerComputeExecutor implements ComputeExecutor<ComputeQuery.Answer> {
             return answer.setClusters(Collections.emptySet());
         }
 
-        ComputerResult computerResult;
         Set<LabelId> subLabelIds = convertLabelsToIds(scopeTypeLabels());
-        try {
-            computerResult = compute(
-                    new KCoreVertexProgram(k),
-                    new ClusterMemberMapReduce(KCoreVertexProgram.K_CORE_LABEL),
-                    subLabelIds);
-        } catch (NoResultException e) {
-            return answer.setClusters(Collections.emptySet());
-        }
+        Set<Set<ConceptId>> clusters = cached(
+                ImmutableList.of(query.method(), K_CORE, k, ImmutableSet.copyOf(subLabelIds)),
+                () -> {
+                    ComputerResult computerResult;
+                    try {
+                        computerResult = compute(
+                                new KCoreVertexProgram(k),
+                                new ClusterMemberMapReduce(KCoreVertexProgram.K_CORE_LABEL),
+                                subLabelIds);
+                    } catch (NoResultException e) {
+                        return Collections.emptySet();
+                    }
+
+                    Map<String, Set<ConceptId>> result = computerResult.memory().get(ClusterMemberMapReduce.class.getName());
+                    return new HashSet<>(result.values());
+                },
+                null);
+
+        return answer.setClusters(clusters);
+    }
+
+    /**
+     * Retrieves the result of an algorithm from the {@link ComputeResultCache} of the session, if it is enabled
+     *
+     * @param key the algorithm and the types in scope the result is computed for
+     * @param compute computes the result from scratch
+     * @param patch patches a result with the ids of the things created or connected since it was computed, if possible
+     * @return the result of the algorithm
+     */
+    private <T> T cached(Object key, Supplier<T> compute, @Nullable BiFunction<T, Set<ConceptId>, T> patch) {
+        return ComputeResultCache.of(tx).map(cache -> cache.get(key, tx, compute, patch)).orElseGet(compute);
+    }
 
-        Map<String, Set<ConceptId>> result = computerResult.memory().get(ClusterMemberMapReduce.class.getName());
-        return answer.setClusters(new HashSet<>(result.values()));
+    private static Set<Integer> labelIdValues(Set<LabelId> labelIds) {
+        return labelIds.stream().map(LabelId::getValue).collect(Collectors.toSet());
     }
 
     /**
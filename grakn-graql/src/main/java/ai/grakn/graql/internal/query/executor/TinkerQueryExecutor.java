@@ -21,25 +21,41 @@ package ai.grakn.graql.internal.query.executor;
 import ai.grakn.ComputeExecutor;
 import ai.grakn.QueryExecutor;
 import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.AggregateQuery;
 import ai.grakn.graql.ComputeQuery;
 import ai.grakn.graql.DefineQuery;
 import ai.grakn.graql.DeleteQuery;
+import ai.grakn.graql.ExplainQuery;
 import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.InsertQuery;
 import ai.grakn.graql.Match;
+import ai.grakn.graql.PreparedQuery;
 import ai.grakn.graql.UndefineQuery;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.MatchAdmin;
+import ai.grakn.graql.admin.PatternAdmin;
 import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.gremlin.TraversalPlanCache;
+import ai.grakn.graql.internal.gremlin.TraversalProfile;
+import ai.grakn.graql.internal.query.PreparedQueryImpl;
+import ai.grakn.graql.internal.query.match.MatchBase;
+import ai.grakn.graql.internal.reasoner.plan.ResolutionPlan;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.rule.RuleUtils;
 import ai.grakn.graql.internal.util.AdminConverter;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -70,6 +86,45 @@ public class TinkerQueryExecutor implements QueryExecutor {
         return query.match().stream().map(result -> result.project(query.vars())).distinct();
     }
 
+    @Override
+    public Stream<Answer> run(PreparedQuery query, Map<Var, ?> bindings) {
+        PreparedQueryImpl preparedQuery = query instanceof PreparedQueryImpl ?
+                (PreparedQueryImpl) query :
+                PreparedQueryImpl.of(query.query(), query.parameters());
+
+        List<Var> parameters = ImmutableList.copyOf(query.parameters());
+        List<Set<ConceptId>> boundIds = parameters.stream()
+                .map(parameter -> boundIds(bindings.get(parameter)))
+                .collect(toList());
+
+        return Sets.cartesianProduct(boundIds).stream()
+                .flatMap(ids -> {
+                    Map<Var, ConceptId> transform = new HashMap<>();
+                    for (int i = 0; i < parameters.size(); i++) transform.put(parameters.get(i), ids.get(i));
+                    return runPrepared(preparedQuery, transform);
+                })
+                .map(result -> result.project(query.query().vars()))
+                .distinct();
+    }
+
+    private Stream<Answer> runPrepared(PreparedQueryImpl query, Map<Var, ConceptId> ids) {
+        MatchAdmin match = query.query().match().admin();
+        if (match.inferring() && RuleUtils.hasRules(tx)) {
+            return tx.graql().infer(true).match(query.boundPattern(ids)).stream();
+        }
+        return MatchBase.streamWithTraversal(match.getPattern().commonVars(), tx, query.traversal(tx).transform(ids));
+    }
+
+    /**
+     * @param binding a {@link ConceptId}, a {@link Concept} or an attribute value
+     * @return the ids of the concepts the binding refers to
+     */
+    private Set<ConceptId> boundIds(Object binding) {
+        if (binding instanceof ConceptId) return ImmutableSet.of((ConceptId) binding);
+        if (binding instanceof Concept) return ImmutableSet.of(((Concept) binding).getId());
+        return tx.getAttributesByValue(binding).stream().map(Concept::getId).collect(toImmutableSet());
+    }
+
     @Override
     public Stream<Answer> run(InsertQuery query) {
         Collection<VarPatternAdmin> varPatterns = query.admin().varPatterns().stream()
@@ -127,6 +182,38 @@ public class TinkerQueryExecutor implements QueryExecutor {
         return new TinkerComputeExecutor(tx, query);
     }
 
+    @Override
+    public String run(ExplainQuery query) {
+        MatchAdmin match = query.query().match().admin();
+        StringBuilder explanation = new StringBuilder(query.toString()).append(String.format("%n"));
+
+        long answers = 0;
+        long start = System.nanoTime();
+        if (match.inferring() && RuleUtils.hasRules(tx)) {
+            for (Conjunction<VarPatternAdmin> conjunction : match.getPattern().getDisjunctiveNormalForm().getPatterns()) {
+                ResolutionPlan plan = new ResolutionPlan(ReasonerQueries.create(conjunction, tx));
+                explanation.append(String.format("resolution plan:%n")).append(plan).append(String.format("%n"));
+            }
+            if (query.isProfile()) answers = query.query().stream().count();
+        } else {
+            // the plan of the patterns of the query, regardless of any ordering, limit or offset
+            Conjunction<PatternAdmin> pattern = match.getPattern();
+            TraversalPlanCache.Plan plan = TraversalPlanCache.createPlan(pattern, tx);
+            TraversalProfile profile = null;
+            if (query.isProfile()) {
+                profile = TraversalProfile.of(plan.traversal(), completed -> {});
+                answers = MatchBase.streamWithTraversal(pattern.commonVars(), tx, plan.traversal(), profile).count();
+            }
+            explanation.append(plan.traversal().describe(profile));
+        }
+
+        if (query.isProfile()) {
+            explanation.append(String.format("answers: %d, total time: %.3f ms%n",
+                    answers, (System.nanoTime() - start) / 1_000_000D));
+        }
+        return explanation.toString();
+    }
+
     private void deleteResult(Answer result, Collection<? extends Var> vars) {
         Collection<? extends Var> toDelete = vars.isEmpty() ? result.vars() : vars;
 
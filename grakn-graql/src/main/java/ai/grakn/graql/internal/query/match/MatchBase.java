@@ -28,7 +28,8 @@ import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.PatternAdmin;
 import ai.grakn.graql.internal.gremlin.GraqlTraversal;
-import ai.grakn.graql.internal.gremlin.GreedyTraversalPlan;
+import ai.grakn.graql.internal.gremlin.TraversalPlanCache;
+import ai.grakn.graql.internal.gremlin.TraversalProfile;
 import ai.grakn.graql.internal.query.QueryAnswer;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import com.google.common.collect.Sets;
@@ -39,11 +40,16 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
@@ -76,10 +82,11 @@ public class MatchBase extends AbstractMatch {
 
         validatePattern(tx);
 
-        GraqlTraversal graqlTraversal = GreedyTraversalPlan.createTraversal(pattern, tx);
+        TraversalPlanCache.Plan plan = TraversalPlanCache.createPlan(pattern, tx);
+        GraqlTraversal graqlTraversal = plan.traversal();
         LOG.trace("Created query plan");
         LOG.trace(graqlTraversal.toString());
-        return streamWithTraversal(this.getPattern().commonVars(), tx, graqlTraversal);
+        return streamWithTraversal(this.getPattern().commonVars(), tx, graqlTraversal, plan.profile());
     }
 
     /**
@@ -90,18 +97,50 @@ public class MatchBase extends AbstractMatch {
      */
     public static Stream<Answer> streamWithTraversal(
             Set<Var> commonVars, EmbeddedGraknTx<?> tx, GraqlTraversal graqlTraversal
+    ) {
+        return streamWithTraversal(commonVars, tx, graqlTraversal, null);
+    }
+
+    /**
+     * @param commonVars set of variables of interest
+     * @param tx the graph to get results from
+     * @param graqlTraversal gral traversal corresponding to the provided pattern
+     * @param profile profile recording the number of results of each fragment, completed once all results are retrieved
+     * @return resulting answer stream
+     */
+    public static Stream<Answer> streamWithTraversal(
+            Set<Var> commonVars, EmbeddedGraknTx<?> tx, GraqlTraversal graqlTraversal, @Nullable TraversalProfile profile
     ) {
         Set<Var> vars = Sets.filter(commonVars, Var::isUserDefinedName);
 
-        GraphTraversal<Vertex, Map<String, Element>> traversal = graqlTraversal.getGraphTraversal(tx, vars);
+        GraphTraversal<Vertex, Map<String, Element>> traversal = graqlTraversal.getGraphTraversal(tx, vars, profile);
 
-        return traversal.toStream()
+        Stream<Map<String, Element>> results = profile == null ? traversal.toStream() : profiledStream(traversal, profile);
+
+        return results
                 .map(elements -> makeResults(vars, tx, elements))
                 .distinct()
                 .sequential()
                 .map(QueryAnswer::new);
     }
 
+    private static <T> Stream<T> profiledStream(Iterator<T> iterator, TraversalProfile profile) {
+        Iterator<T> completingIterator = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = iterator.hasNext();
+                if (!hasNext) profile.complete();
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(completingIterator, Spliterator.ORDERED), false);
+    }
+
     /**
      * @param vars set of variables of interest
      * @param tx the graph to get results from
@@ -168,6 +207,11 @@ public class MatchBase extends AbstractMatch {
         return false;
     }
 
+    @Override
+    public final boolean modifiesAnswers() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return "match " + pattern.getPatterns().stream().map(p -> p + ";").collect(joining(" "));
@@ -88,6 +88,11 @@ class MatchInfer extends MatchModifier {
         return true;
     }
 
+    @Override
+    public boolean modifiesAnswers() {
+        return inner.modifiesAnswers();
+    }
+
     @Override
     protected String modifierString() {
         return "";
@@ -79,6 +79,11 @@ abstract class MatchModifier extends AbstractMatch {
         return inner.inferring();
     }
 
+    @Override
+    public boolean modifiesAnswers() {
+        return true;
+    }
+
     @Override
     public final String toString() {
         return inner.toString() + modifierString();
@@ -56,6 +56,11 @@ class MatchTx extends MatchModifier {
         return tx;
     }
 
+    @Override
+    public boolean modifiesAnswers() {
+        return inner.modifiesAnswers();
+    }
+
     @Override
     public Set<SchemaConcept> getSchemaConcepts() {
         return inner.getSchemaConcepts(tx);
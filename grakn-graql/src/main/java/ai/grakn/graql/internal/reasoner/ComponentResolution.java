@@ -0,0 +1,163 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknTxType;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.reasoner.cache.CachedAnswer;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * <p>
+ * Resolves the disconnected components of a query, which share no variables and can therefore be resolved
+ * independently of each other.
+ * </p>
+ *
+ * <p>
+ * By default the components are resolved lazily in the transaction of the query. If
+ * {@link GraknConfigKey#REASONER_PARALLELISM} is set to a value greater than 1, the components of queries of read
+ * transactions are instead resolved eagerly by at most that many threads, counting the thread of the query. Each worker
+ * thread resolves its share of the components in its own read transaction and hands the answers back in terms of
+ * {@link ai.grakn.concept.ConceptId}s. Answers of a worker are discarded and the component is resolved again in the
+ * transaction of the query if the worker failed, saw a different version of the data or inferred new concepts, which
+ * only exist in the transaction they were inferred in.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class ComponentResolution {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ComponentResolution.class);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("reasoner-component-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null, false);
+
+    private ComponentResolution(){}
+
+    /**
+     * @param components disconnected components of a query
+     * @param tx transaction of the query
+     * @return suppliers of the answers of each of the components, in the transaction of the query
+     */
+    public static List<Supplier<List<Answer>>> resolve(List<ReasonerQueryImpl> components, EmbeddedGraknTx<?> tx){
+        int workers = Math.min(parallelism(tx) - 1, components.size());
+        if (workers <= 0) {
+            return components.stream()
+                    .map(ComponentResolution::sequential)
+                    .collect(Collectors.toList());
+        }
+
+        LOG.trace("Resolving " + components.size() + " query components with " + workers + " worker transactions");
+        EmbeddedGraknSession session = tx.session();
+        long version = tx.txCache().dataVersion();
+        List<CompletableFuture<List<List<CachedAnswer>>>> futures = new ArrayList<>();
+        for (int worker = 0; worker < workers; worker++) {
+            List<Conjunction<VarPatternAdmin>> share = new ArrayList<>();
+            for (int i = worker; i < components.size(); i += workers) share.add(CachedAnswer.pattern(components.get(i)));
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> resolveInWorker(share, session, version), POOL)
+                    .exceptionally(e -> {
+                        LOG.debug("Failed to resolve query components in a worker transaction", e);
+                        return null;
+                    }));
+        }
+
+        List<Supplier<List<Answer>>> answers = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            ReasonerQueryImpl component = components.get(i);
+            CompletableFuture<List<List<CachedAnswer>>> future = futures.get(i % workers);
+            int index = i / workers;
+            answers.add(Suppliers.memoize(() -> {
+                List<List<CachedAnswer>> workerAnswers = future.join();
+                List<CachedAnswer> cachedAnswers = workerAnswers != null? workerAnswers.get(index) : null;
+                List<Answer> componentAnswers = cachedAnswers != null? CachedAnswer.answers(cachedAnswers, tx) : null;
+                if (componentAnswers != null) return componentAnswers;
+                LOG.trace("Resolving query component in the transaction of the query");
+                return resolve(component);
+            }));
+        }
+        return answers;
+    }
+
+    /**
+     * @return maximum number of threads resolving the components of a query of the transaction
+     */
+    private static int parallelism(EmbeddedGraknTx<?> tx){
+        //workers must not wait for workers of nested queries to avoid exhausting the pool
+        if (ForkJoinTask.getPool() == POOL) return 1;
+        if (!GraknTxType.READ.equals(tx.txType())) return 1;
+        EmbeddedGraknSession session = tx.session();
+        if (!session.observesAllCommits()) return 1;
+        return session.config().getProperty(GraknConfigKey.REASONER_PARALLELISM, 1);
+    }
+
+    private static Supplier<List<Answer>> sequential(ReasonerQueryImpl component){
+        return Suppliers.memoize(() -> resolve(component));
+    }
+
+    private static List<Answer> resolve(ReasonerQueryImpl component){
+        return new ResolutionIterator(component).hasStream().collect(Collectors.toList());
+    }
+
+    /**
+     * @param components patterns of the components to be resolved
+     * @param session session of the query
+     * @param version data version of the transaction of the query
+     * @return transaction independent answers of each of the components, with null for those which cannot be cached
+     */
+    @Nullable
+    private static List<List<CachedAnswer>> resolveInWorker(List<Conjunction<VarPatternAdmin>> components, EmbeddedGraknSession session, long version){
+        try (EmbeddedGraknTx<?> workerTx = session.transaction(GraknTxType.READ)) {
+            if (workerTx.txCache().dataVersion() != version) return null;
+            List<List<CachedAnswer>> answers = new ArrayList<>();
+            for (Conjunction<VarPatternAdmin> component : components) {
+                answers.add(CachedAnswer.of(resolve(ReasonerQueries.create(component, workerTx))));
+            }
+            return answers;
+        }
+    }
+}
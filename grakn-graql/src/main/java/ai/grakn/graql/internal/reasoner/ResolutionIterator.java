@@ -37,6 +37,8 @@ import java.util.Stack;
  *
  * <p>
  * Iterator for query answers maintaining the iterative behaviour of the QSQ scheme.
+ * In subsequent iterations, rules are only reevaluated if their bodies could have received new answers
+ * in the preceding iterations (see {@link QueryCache#isUpdatedSince}).
  * </p>
  *
  * @author Kasper Piskorski
@@ -102,12 +104,14 @@ public class ResolutionIterator extends ReasonerQueryIterator {
             if (dAns != 0 || iter == 0) {
                 LOG.debug("iter: " + iter + " answers: " + answers.size() + " dAns = " + dAns);
                 iter++;
+                cache.nextIteration();
                 states.push(query.subGoal(new QueryAnswer(), new UnifierImpl(), null, new HashSet<>(), cache));
                 oldAns = answers.size();
                 return hasNext();
             }
         }
 
+        LOG.debug("answer lookup cache hits: " + cache.answerLookupHits() + " misses: " + cache.answerLookupMisses());
         return false;
     }
 }
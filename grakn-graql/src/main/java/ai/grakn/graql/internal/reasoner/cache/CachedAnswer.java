@@ -0,0 +1,214 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.cache;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Rule;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.AnswerExplanation;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.PatternAdmin;
+import ai.grakn.graql.admin.ReasonerQuery;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.explanation.Explanation;
+import ai.grakn.graql.internal.reasoner.explanation.JoinExplanation;
+import ai.grakn.graql.internal.reasoner.explanation.LookupExplanation;
+import ai.grakn.graql.internal.reasoner.explanation.RuleExplanation;
+import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * <p>
+ * Transaction independent answer together with its explanation, in terms of {@link ConceptId}s, so that an answer
+ * found in a transaction can be retrieved in any other transaction of the same session.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class CachedAnswer {
+    private final ImmutableMap<Var, ConceptId> map;
+    private final ExplanationType explanationType;
+    @Nullable private final Conjunction<VarPatternAdmin> query;
+    private final boolean atomicQuery;
+    @Nullable private final ConceptId ruleId;
+    private final ImmutableList<CachedAnswer> answers;
+
+    private CachedAnswer(ImmutableMap<Var, ConceptId> map, ExplanationType explanationType,
+                         @Nullable Conjunction<VarPatternAdmin> query, boolean atomicQuery,
+                         @Nullable ConceptId ruleId, ImmutableList<CachedAnswer> answers){
+        this.map = map;
+        this.explanationType = explanationType;
+        this.query = query;
+        this.atomicQuery = atomicQuery;
+        this.ruleId = ruleId;
+        this.answers = answers;
+    }
+
+    /**
+     * @param query reasoner query
+     * @return transaction independent pattern of the query
+     */
+    public static Conjunction<VarPatternAdmin> pattern(ReasonerQueryImpl query){
+        return Patterns.conjunction(
+                query.getPattern().getPatterns().stream()
+                        .map(PatternAdmin::asVarPattern)
+                        .collect(Collectors.toSet())
+        );
+    }
+
+    /**
+     * @param answer answer to be cached
+     * @return transaction independent form of the answer or null if the answer or its explanation refers to
+     * concepts which only exist in the transaction, or cannot be cached otherwise
+     */
+    @Nullable
+    public static CachedAnswer of(Answer answer){
+        ImmutableMap.Builder<Var, ConceptId> map = ImmutableMap.builder();
+        for (Map.Entry<Var, Concept> e : answer.entrySet()) {
+            Concept concept = e.getValue();
+            if (concept.isThing() && concept.asThing().isInferred()) return null;
+            map.put(e.getKey(), concept.getId());
+        }
+
+        AnswerExplanation explanation = answer.getExplanation();
+        ReasonerQuery explanationQuery = explanation.getQuery();
+        if (explanationQuery != null && !(explanationQuery instanceof ReasonerQueryImpl)) return null;
+
+        ImmutableList.Builder<CachedAnswer> answers = ImmutableList.builder();
+        for (Answer explanationAnswer : explanation.getAnswers()) {
+            CachedAnswer cachedAnswer = of(explanationAnswer);
+            if (cachedAnswer == null) return null;
+            answers.add(cachedAnswer);
+        }
+
+        return new CachedAnswer(
+                map.build(),
+                ExplanationType.of(explanation),
+                explanationQuery != null? pattern((ReasonerQueryImpl) explanationQuery) : null,
+                explanationQuery instanceof ReasonerAtomicQuery,
+                explanation.isRuleExplanation()? ((RuleExplanation) explanation).getRule().getRuleId() : null,
+                answers.build()
+        );
+    }
+
+    /**
+     * @param answers answers to be cached
+     * @return transaction independent form of the answers or null if any of them cannot be cached
+     */
+    @Nullable
+    public static List<CachedAnswer> of(List<Answer> answers){
+        List<CachedAnswer> cachedAnswers = new ArrayList<>();
+        for (Answer answer : answers) {
+            CachedAnswer cachedAnswer = of(answer);
+            if (cachedAnswer == null) return null;
+            cachedAnswers.add(cachedAnswer);
+        }
+        return cachedAnswers;
+    }
+
+    /**
+     * @param cachedAnswers cached answers
+     * @param tx transaction in which the answers should be retrieved
+     * @return the answers in the provided transaction or null if any of their concepts does not exist in it
+     */
+    @Nullable
+    public static List<Answer> answers(List<CachedAnswer> cachedAnswers, EmbeddedGraknTx<?> tx){
+        Map<List<Object>, ReasonerQueryImpl> queries = new HashMap<>();
+        ImmutableList.Builder<Answer> builder = ImmutableList.builder();
+        for (CachedAnswer cachedAnswer : cachedAnswers) {
+            Answer answer = cachedAnswer.answer(tx, queries);
+            if (answer == null) return null;
+            builder.add(answer);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param tx transaction in which the answer should be retrieved
+     * @param queries explanation queries already created in the transaction, by pattern
+     * @return the answer in the provided transaction or null if any of its concepts no longer exists
+     */
+    @Nullable
+    Answer answer(EmbeddedGraknTx<?> tx, Map<List<Object>, ReasonerQueryImpl> queries){
+        Map<Var, Concept> concepts = new HashMap<>();
+        for (Map.Entry<Var, ConceptId> e : map.entrySet()) {
+            Concept concept = tx.getConcept(e.getValue());
+            if (concept == null) return null;
+            concepts.put(e.getKey(), concept);
+        }
+
+        List<Answer> explanationAnswers = new ArrayList<>();
+        for (CachedAnswer cachedAnswer : answers) {
+            Answer answer = cachedAnswer.answer(tx, queries);
+            if (answer == null) return null;
+            explanationAnswers.add(answer);
+        }
+
+        ReasonerQueryImpl explanationQuery = query == null? null : queries.computeIfAbsent(
+                ImmutableList.of(query, atomicQuery),
+                k -> atomicQuery? ReasonerQueries.atomic(query, tx) : ReasonerQueries.create(query, tx)
+        );
+        AnswerExplanation explanation;
+        switch (explanationType) {
+            case LOOKUP:
+                explanation = new LookupExplanation(explanationQuery, explanationAnswers);
+                break;
+            case RULE:
+                Rule rule = tx.getConcept(ruleId);
+                if (rule == null) return null;
+                explanation = new RuleExplanation(explanationQuery, explanationAnswers, new InferenceRule(rule, tx));
+                break;
+            case JOIN:
+                explanation = new JoinExplanation(explanationQuery, explanationAnswers);
+                break;
+            default:
+                explanation = new Explanation(explanationQuery, explanationAnswers);
+        }
+        return new QueryAnswer(concepts, explanation);
+    }
+
+    private enum ExplanationType {
+        LOOKUP, RULE, JOIN, OTHER;
+
+        static ExplanationType of(AnswerExplanation explanation){
+            if (explanation.isLookupExplanation()) return LOOKUP;
+            if (explanation.isRuleExplanation()) return RULE;
+            if (explanation.isJoinExplanation()) return JOIN;
+            return OTHER;
+        }
+    }
+}
@@ -18,22 +18,31 @@
 
 package ai.grakn.graql.internal.reasoner.cache;
 
+import ai.grakn.concept.Label;
+import ai.grakn.concept.SchemaConcept;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.MultiUnifier;
 import ai.grakn.graql.internal.query.QueryAnswer;
 import ai.grakn.graql.internal.reasoner.MultiUnifierImpl;
+import ai.grakn.graql.internal.reasoner.atom.Atom;
 import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import ai.grakn.graql.internal.reasoner.utils.Pair;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 
 /**
@@ -49,28 +58,168 @@ import javax.annotation.Nullable;
  */
 public class QueryCache<Q extends ReasonerQueryImpl> extends Cache<Q, QueryAnswers> {
 
+    private long answerLookupHits = 0;
+    private long answerLookupMisses = 0;
+
+    //iteration bookkeeping allowing to only reevaluate rules which bodies could have received new answers
+    private long iteration = 0;
+    private long untypedUpdateIteration = -1;
+    private final Map<Label, Long> typeUpdateIterations = new HashMap<>();
+    private final Map<Label, Set<Label>> typeHierarchies = new HashMap<>();
+    private final Map<Q, Long> resolutionIterations = new HashMap<>();
+
     public QueryCache(){
         super();
     }
 
+    /**
+     * @return number of specific answer lookups ({@link #getAnswer(ReasonerQueryImpl, Answer)}) answered from the cache
+     */
+    public long answerLookupHits(){ return answerLookupHits;}
+
+    /**
+     * @return number of specific answer lookups ({@link #getAnswer(ReasonerQueryImpl, Answer)}) that required a db lookup
+     */
+    public long answerLookupMisses(){ return answerLookupMisses;}
+
+    /**
+     * @return current resolution iteration
+     */
+    public long iteration(){ return iteration;}
+
+    /**
+     * mark the start of a new resolution iteration
+     */
+    public void nextIteration(){ iteration++;}
+
+    /**
+     * register that rules of the provided query were expanded in the current iteration
+     * @param query which rules were expanded
+     * @return iteration in which the rules of the query were previously expanded, null if they were never expanded
+     */
+    @Nullable
+    public Long ackResolution(Q query){ return resolutionIterations.put(query, iteration);}
+
+    /**
+     * @param types of interest, null elements correspond to unknown types
+     * @param iteration lower bound iteration
+     * @return true if answers to any of the provided types could have been recorded since the start of the provided iteration
+     */
+    public boolean isUpdatedSince(Set<SchemaConcept> types, long iteration){
+        if (untypedUpdateIteration >= iteration) return true;
+        return types.stream().anyMatch(type -> type == null
+                || typeUpdateIterations.getOrDefault(type.getLabel(), -1L) >= iteration
+        );
+    }
+
+    /**
+     * mark the types of the query as updated in the current iteration, together with their super- and subtypes,
+     * as answers of a type are also answers of its supertypes and can be answers of any of its subtypes
+     * @param query which answers were updated
+     */
+    private void ackUpdate(Q query){
+        query.getAtoms(Atom.class)
+                .map(Atom::getSchemaConcept)
+                .forEach(type -> {
+                    if (type == null) {
+                        untypedUpdateIteration = iteration;
+                    } else {
+                        typeHierarchy(type).forEach(label -> typeUpdateIterations.put(label, iteration));
+                    }
+                });
+    }
+
+    /**
+     * @param type of interest
+     * @return labels of the type and all of its super- and subtypes
+     */
+    private Set<Label> typeHierarchy(SchemaConcept type){
+        return typeHierarchies.computeIfAbsent(type.getLabel(), label ->
+                Stream.concat(type.sups(), type.subs())
+                        .map(SchemaConcept::getLabel)
+                        .collect(Collectors.toSet())
+        );
+    }
+
     @Override
     public QueryAnswers record(Q query, QueryAnswers answers) {
         CacheEntry<Q, QueryAnswers> match =  this.getEntry(query);
         if (match != null) {
             Q equivalentQuery = match.query();
             QueryAnswers unifiedAnswers = answers.unify(query.getMultiUnifier(equivalentQuery));
-            this.getEntry(query).cachedElement().addAll(unifiedAnswers);
+            if (this.getEntry(query).cachedElement().addAll(unifiedAnswers)) ackUpdate(query);
             return getAnswers(query);
         }
         this.putEntry(query, answers);
+        if (!answers.isEmpty()) ackUpdate(query);
         return answers;
     }
 
+    /**
+     * Lazily record the answer stream: answers are recorded as the returned stream is consumed.
+     * If the query entry does not exist, it is only created once the stream is exhausted, so that a partially
+     * consumed stream never leaves an entry which looks complete but lacks answers.
+     * If the query entry already exists, the returned stream is composed of the cached answers (unified lazily)
+     * followed by the new answers, which are added to the entry as they are consumed.
+     * @param query to be recorded
+     * @param answerStream answer stream of the query
+     * @return updated answer stream
+     */
     @Override
     public Stream<Answer> record(Q query, Stream<Answer> answerStream) {
-        //NB: stream collection!
-        QueryAnswers newAnswers = new QueryAnswers(answerStream.collect(Collectors.toSet()));
-        return record(query, newAnswers).stream();
+        CacheEntry<Q, QueryAnswers> match =  this.getEntry(query);
+        if (match == null){
+            QueryAnswers answers = new QueryAnswers();
+            Iterator<Answer> answerIterator = answerStream.iterator();
+            Iterator<Answer> recordingIterator = new Iterator<Answer>() {
+                private boolean recorded = false;
+
+                @Override
+                public boolean hasNext() {
+                    boolean hasNext = answerIterator.hasNext();
+                    if (!hasNext && !recorded){
+                        recorded = true;
+                        record(query, answers);
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public Answer next() {
+                    Answer answer = answerIterator.next();
+                    answers.add(answer);
+                    return answer;
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(recordingIterator, Spliterator.ORDERED), false)
+                    .onClose(answerStream::close);
+        }
+        Q equivalentQuery = match.query();
+        QueryAnswers answers = match.cachedElement();
+        MultiUnifier recordUnifier = query.getMultiUnifier(equivalentQuery);
+        MultiUnifier retrieveUnifier = equivalentQuery.getMultiUnifier(query);
+
+        Stream<Answer> cachedAnswers = unify(answers, retrieveUnifier);
+        Stream<Answer> newAnswers = answerStream
+                .peek(ans -> {
+                    long added = ans.unify(recordUnifier)
+                            .filter(a -> !a.isEmpty())
+                            .filter(answers::add)
+                            .count();
+                    if (added != 0) ackUpdate(query);
+                });
+        return Stream.concat(cachedAnswers, newAnswers).distinct();
+    }
+
+    /**
+     * @param answers cached answers
+     * @param multiUnifier to be applied to the cached answers
+     * @return lazily unified stream of cached answers present at the time of the call
+     */
+    private static Stream<Answer> unify(QueryAnswers answers, MultiUnifier multiUnifier){
+        return answers.snapshotStream()
+                .flatMap(a -> a.unify(multiUnifier))
+                .filter(a -> !a.isEmpty());
     }
 
     /**
@@ -99,16 +248,19 @@ public class QueryCache<Q extends ReasonerQueryImpl> extends Cache<Q, QueryAnswe
             MultiUnifier multiUnifier = unifier == null? query.getMultiUnifier(equivalentQuery) : unifier;
 
             Set<Var> cacheVars = answers.isEmpty()? new HashSet<>() : answers.iterator().next().vars();
-            multiUnifier.stream()
+            long added = multiUnifier.stream()
                     .map(answer::unify)
                     .peek(ans -> {
                         if (!ans.vars().containsAll(cacheVars)){
                             throw GraqlQueryException.invalidQueryCacheEntry(equivalentQuery);
                         }
                     })
-                    .forEach(answers::add);
+                    .filter(answers::add)
+                    .count();
+            if (added != 0) ackUpdate(query);
         } else {
             this.putEntry(query, new QueryAnswers(answer));
+            ackUpdate(query);
         }
         return answer;
     }
@@ -140,9 +292,7 @@ public class QueryCache<Q extends ReasonerQueryImpl> extends Cache<Q, QueryAnswe
             QueryAnswers answers = match.cachedElement();
             MultiUnifier multiUnifier = equivalentQuery.getMultiUnifier(query);
 
-            //NB: this is not lazy
-            //lazy version would be answers.stream().flatMap(ans -> ans.unify(multiUnifier))
-            return new Pair<>(answers.unify(multiUnifier).stream(), multiUnifier);
+            return new Pair<>(unify(answers, multiUnifier).distinct(), multiUnifier);
         }
         return new Pair<>(
                 structuralCache().get(query),
@@ -162,15 +312,26 @@ public class QueryCache<Q extends ReasonerQueryImpl> extends Cache<Q, QueryAnswe
         CacheEntry<Q, QueryAnswers> match =  this.getEntry(query);
         if (match != null) {
             Q equivalentQuery = match.query();
+            QueryAnswers answers = match.cachedElement();
             MultiUnifier multiUnifier = equivalentQuery.getMultiUnifier(query);
+            Set<Var> queryVars = query.getVarNames();
+            Set<Var> entryVars = equivalentQuery.getVarNames();
 
             //NB: only used when checking for materialised answer duplicates
-            Answer answer = match.cachedElement().stream()
+            //express the sought answer in terms of entry variables and use it to look up candidates in the entry index
+            Answer answer = multiUnifier.inverse().stream()
+                    .map(u -> ans.project(queryVars).unify(u).project(entryVars))
+                    .distinct()
+                    .flatMap(answers::lookup)
                     .flatMap(a -> a.unify(multiUnifier))
                     .filter(a -> a.containsAll(ans))
                     .findFirst().orElse(null);
-            if (answer != null) return answer;
+            if (answer != null) {
+                answerLookupHits++;
+                return answer;
+            }
         }
+        answerLookupMisses++;
 
         //TODO should it create a cache entry?
         List<Answer> answers = ReasonerQueries.create(query, ans).getQuery().execute();
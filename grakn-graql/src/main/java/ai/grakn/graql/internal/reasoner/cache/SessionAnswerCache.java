@@ -0,0 +1,222 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.cache;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.MultiUnifier;
+import ai.grakn.graql.admin.ReasonerQuery;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryEquivalence;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import com.google.common.base.Equivalence;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ *
+ * <p>
+ * Cache of complete answer sets of resolved queries shared by the READ transactions of an {@link EmbeddedGraknSession}.
+ * Entries are identified by means of a query alpha-equivalence check and hold the answers, together with their
+ * explanations, in terms of {@link ConceptId}s, so that they can be retrieved in any transaction of the session.
+ * </p>
+ *
+ * <p>
+ * Entries are only valid for the data version of the session at which the transactions recording and retrieving them
+ * were opened, i.e. they are invalidated when a transaction commits or a commit log of the keyspace is received.
+ * Answers referring to inferred concepts, which only exist in the transaction they were inferred in, are not recorded.
+ * </p>
+ *
+ * <p>
+ * The cache is disabled unless {@link GraknConfigKey#REASONER_SESSION_CACHE_SIZE} is set to a positive value and
+ * the session knows about every commit to its keyspace, see {@link EmbeddedGraknSession#observesAllCommits()}.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class SessionAnswerCache {
+
+    private final Cache<Integer, List<Entry>> cache;
+    private final Equivalence<ReasonerQuery> equivalence = ReasonerQueryEquivalence.AlphaEquivalence;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private SessionAnswerCache(int maximumSize){
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param tx transaction for which the cache should be retrieved
+     * @return the answer cache of the session of the transaction if the cache is enabled and applicable to the transaction
+     */
+    public static Optional<SessionAnswerCache> of(EmbeddedGraknTx<?> tx){
+        if (!GraknTxType.READ.equals(tx.txType())) return Optional.empty();
+        EmbeddedGraknSession session = tx.session();
+        if (!session.observesAllCommits()) return Optional.empty();
+        int size = session.config().getProperty(GraknConfigKey.REASONER_SESSION_CACHE_SIZE, 0);
+        if (size <= 0) return Optional.empty();
+        return Optional.of(session.sessionCache(SessionAnswerCache.class, () -> new SessionAnswerCache(size)));
+    }
+
+    /**
+     * @return number of queries answered from this cache
+     */
+    public long hitCount(){ return hits.get();}
+
+    /**
+     * @return number of queries not found in this cache
+     */
+    public long missCount(){ return misses.get();}
+
+    /**
+     * @return number of entry buckets evicted because of the size bound
+     */
+    public long evictionCount(){ return cache.stats().evictionCount();}
+
+    /**
+     * retrieve the answers of the provided query if a valid alpha-equivalent entry exists
+     * @param query for which to retrieve answers
+     * @return unified cached answers if present
+     */
+    public Optional<Stream<Answer>> getAnswerStream(ReasonerQueryImpl query){
+        EmbeddedGraknTx<?> tx = query.tx();
+        long version = tx.txCache().dataVersion();
+        List<Entry> entries = version == tx.session().dataVersion()? cache.getIfPresent(equivalence.hash(query)) : null;
+        if (entries != null) {
+            for (Entry entry : entries) {
+                if (entry.version() != version) continue;
+                ReasonerQueryImpl equivalentQuery = ReasonerQueries.create(entry.pattern(), tx);
+                if (!equivalence.equivalent(equivalentQuery, query)) continue;
+
+                List<Answer> answers = entry.answers(tx);
+                if (answers == null) break;
+
+                hits.incrementAndGet();
+                MultiUnifier multiUnifier = equivalentQuery.getMultiUnifier(query);
+                return Optional.of(answers.stream()
+                        .flatMap(a -> a.unify(multiUnifier))
+                        .filter(a -> !a.isEmpty())
+                        .distinct()
+                );
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * record the answer stream of the provided query, the answers are recorded once the stream is fully consumed
+     * @param query which answers are recorded
+     * @param answerStream complete answer stream of the query
+     * @return answer stream of the query
+     */
+    public Stream<Answer> record(ReasonerQueryImpl query, Stream<Answer> answerStream){
+        long version = query.tx().txCache().dataVersion();
+        List<Answer> answers = new ArrayList<>();
+        Iterator<Answer> answerIterator = answerStream.iterator();
+        Iterator<Answer> recordingIterator = new Iterator<Answer>() {
+            private boolean recorded = false;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = answerIterator.hasNext();
+                if (!hasNext && !recorded) {
+                    recorded = true;
+                    record(query, answers, version);
+                }
+                return hasNext;
+            }
+
+            @Override
+            public Answer next() {
+                Answer answer = answerIterator.next();
+                answers.add(answer);
+                return answer;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(recordingIterator, Spliterator.ORDERED), false);
+    }
+
+    private void record(ReasonerQueryImpl query, List<Answer> answers, long version){
+        if (version != query.tx().session().dataVersion()) return;
+
+        List<CachedAnswer> cachedAnswers = CachedAnswer.of(answers);
+        if (cachedAnswers == null) return;
+
+        Entry entry = new Entry(CachedAnswer.pattern(query), cachedAnswers, version);
+        cache.asMap().merge(
+                equivalence.hash(query),
+                ImmutableList.of(entry),
+                (entries, newEntries) -> ImmutableList.<Entry>builder()
+                        .addAll(newEntries)
+                        .addAll(entries.stream().filter(e -> e.version() == version).iterator())
+                        .build()
+        );
+    }
+
+    /**
+     * Transaction independent cache entry.
+     */
+    private static class Entry {
+        private final Conjunction<VarPatternAdmin> pattern;
+        private final List<CachedAnswer> answers;
+        private final long version;
+
+        Entry(Conjunction<VarPatternAdmin> pattern, List<CachedAnswer> answers, long version){
+            this.pattern = pattern;
+            this.answers = answers;
+            this.version = version;
+        }
+
+        Conjunction<VarPatternAdmin> pattern(){ return pattern;}
+        long version(){ return version;}
+
+        /**
+         * @param tx transaction in which the answers should be retrieved
+         * @return answers of this entry in the provided transaction or null if any of the concepts no longer exists
+         */
+        @Nullable
+        List<Answer> answers(EmbeddedGraknTx<?> tx){
+            return CachedAnswer.answers(answers, tx);
+        }
+    }
+}
@@ -21,13 +21,19 @@ package ai.grakn.graql.internal.reasoner.cache;
 import ai.grakn.concept.ConceptId;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.PatternAdmin;
 import ai.grakn.graql.admin.ReasonerQuery;
 import ai.grakn.graql.admin.Unifier;
+import ai.grakn.graql.admin.VarPatternAdmin;
 import ai.grakn.graql.internal.gremlin.GraqlTraversal;
 import ai.grakn.graql.internal.gremlin.GreedyTraversalPlan;
+import ai.grakn.graql.internal.gremlin.TraversalPlanCache;
+import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.query.match.MatchBase;
 import ai.grakn.graql.internal.reasoner.UnifierType;
 import ai.grakn.graql.internal.reasoner.explanation.LookupExplanation;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryEquivalence;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
@@ -35,6 +41,8 @@ import com.google.common.base.Equivalence;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -46,6 +54,8 @@ import java.util.stream.Stream;
  * id predicates of the cached query are transformed.
  *
  * The returned stream is a stream of the transformed cached query unified with the provided query.
+ *
+ * Traversals are additionally shared between the transactions of a session by means of the {@link TraversalPlanCache}.
  * </p>
  *
  * @param <Q> the type of query that is being cached
@@ -56,7 +66,7 @@ import java.util.stream.Stream;
 class StructuralCache<Q extends ReasonerQueryImpl>{
 
     private final Equivalence<ReasonerQuery> equivalence = ReasonerQueryEquivalence.StructuralEquivalence;
-    private final Map<Equivalence.Wrapper<Q>, CacheEntry<Q, GraqlTraversal>> structCache;
+    private final Map<Equivalence.Wrapper<Q>, CacheEntry<ReasonerQueryImpl, GraqlTraversal>> structCache;
 
     StructuralCache(){
         this.structCache = new HashMap<>();
@@ -70,9 +80,13 @@ class StructuralCache<Q extends ReasonerQueryImpl>{
         Equivalence.Wrapper<Q> structQuery = equivalence.wrap(query);
         EmbeddedGraknTx<?> tx = query.tx();
 
-        CacheEntry<Q, GraqlTraversal> match = structCache.get(structQuery);
+        CacheEntry<ReasonerQueryImpl, GraqlTraversal> match = structCache.get(structQuery);
+        if (match == null) {
+            match = getSessionPlan(query).orElse(null);
+            if (match != null) structCache.put(structQuery, match);
+        }
         if (match != null){
-            Q equivalentQuery = match.query();
+            ReasonerQueryImpl equivalentQuery = match.query();
             GraqlTraversal traversal = match.cachedElement();
             Unifier unifier = equivalentQuery.getMultiUnifier(query, UnifierType.STRUCTURAL).getAny();
             Map<Var, ConceptId> idTransform = equivalentQuery.idTransform(query, unifier);
@@ -84,10 +98,40 @@ class StructuralCache<Q extends ReasonerQueryImpl>{
                     .map(a -> a.explain(new LookupExplanation(query)));
         }
 
+        long schemaVersion = tx.session().schemaVersion();
         GraqlTraversal traversal = GreedyTraversalPlan.createTraversal(query.getPattern(), tx);
         structCache.put(structQuery, new CacheEntry<>(query, traversal));
+        TraversalPlanCache.of(tx).ifPresent(planCache ->
+                planCache.record(equivalence.hash(query), pattern(query), traversal, schemaVersion, tx)
+        );
 
         return MatchBase.streamWithTraversal(query.getPattern().commonVars(), tx, traversal)
                 .map(a -> a.explain(new LookupExplanation(query)));
     }
+
+    /**
+     * @param query to find the plan for
+     * @return a structurally equivalent query together with its plan if one is cached in the session plan cache
+     */
+    private Optional<CacheEntry<ReasonerQueryImpl, GraqlTraversal>> getSessionPlan(Q query){
+        EmbeddedGraknTx<?> tx = query.tx();
+        return TraversalPlanCache.of(tx).flatMap(planCache -> planCache.plans(equivalence.hash(query), tx)
+                .map(plan -> new CacheEntry<>(ReasonerQueries.create(patternOf(plan), tx), plan.traversal()))
+                .filter(entry -> equivalence.equivalent(entry.query(), query))
+                .findFirst()
+        );
+    }
+
+    private static Conjunction<VarPatternAdmin> pattern(ReasonerQueryImpl query){
+        return Patterns.conjunction(
+                query.getPattern().getPatterns().stream()
+                        .map(PatternAdmin::asVarPattern)
+                        .collect(Collectors.toSet())
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Conjunction<VarPatternAdmin> patternOf(TraversalPlanCache.Plan plan){
+        return (Conjunction<VarPatternAdmin>) plan.pattern().asConjunction();
+    }
 }
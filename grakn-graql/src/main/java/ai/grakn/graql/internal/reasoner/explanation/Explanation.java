@@ -42,7 +42,7 @@ public class Explanation implements AnswerExplanation {
     public Explanation(){
         this.query = null;
         this.answers = ImmutableList.of();}
-    Explanation(ReasonerQuery q, List<Answer> ans){
+    public Explanation(ReasonerQuery q, List<Answer> ans){
         this.query = q;
         this.answers = ImmutableList.copyOf(ans);
     }
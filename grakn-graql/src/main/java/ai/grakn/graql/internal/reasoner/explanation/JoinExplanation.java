@@ -20,6 +20,7 @@ package ai.grakn.graql.internal.reasoner.explanation;
 
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.AnswerExplanation;
+import ai.grakn.graql.admin.ReasonerQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import ai.grakn.graql.internal.reasoner.utils.ReasonerUtils;
@@ -38,6 +39,7 @@ import java.util.stream.Collectors;
 public class JoinExplanation extends Explanation {
 
     public JoinExplanation(List<Answer> answers){ super(answers);}
+    public JoinExplanation(ReasonerQuery q, List<Answer> answers){ super(q, answers);}
     public JoinExplanation(ReasonerQueryImpl q, Answer mergedAnswer){
         super(q, q.selectAtoms().stream()
                 .map(at -> at.inferTypes(mergedAnswer.project(at.getVarNames())))
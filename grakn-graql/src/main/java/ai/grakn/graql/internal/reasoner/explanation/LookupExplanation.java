@@ -35,7 +35,7 @@ import java.util.List;
 public class LookupExplanation extends Explanation {
 
     public LookupExplanation(ReasonerQuery q){ super(q);}
-    private LookupExplanation(ReasonerQuery q, List<Answer> answers){
+    public LookupExplanation(ReasonerQuery q, List<Answer> answers){
         super(q, answers);
     }
 
@@ -43,7 +43,7 @@ public class RuleExplanation extends Explanation {
         super(q);
         this.rule = rl;
     }
-    private RuleExplanation(ReasonerQuery q, List<Answer> answers, InferenceRule rl){
+    public RuleExplanation(ReasonerQuery q, List<Answer> answers, InferenceRule rl){
         super(q, answers);
         this.rule = rl;
     }
@@ -18,13 +18,23 @@
 
 package ai.grakn.graql.internal.reasoner.query;
 
+import ai.grakn.graql.Var;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.MultiUnifier;
 import ai.grakn.graql.admin.Unifier;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
@@ -39,6 +49,11 @@ import javax.annotation.Nonnull;
 public class QueryAnswers implements Iterable<Answer>{
 
     private final HashSet<Answer> set = new HashSet<>();
+    //NB: insertion-ordered copy of the set allowing for iteration that is not invalidated by appends,
+    //removals replace the list so that the indices of the answers of an existing snapshot never shift
+    private List<Answer> list = new ArrayList<>();
+    //secondary indices: (indexed vars) -> (answer projection on indexed vars) -> (answers)
+    private final Map<Set<Var>, SetMultimap<Answer, Answer>> indices = new HashMap<>();
 
     @Nonnull
     @Override
@@ -60,18 +75,64 @@ public class QueryAnswers implements Iterable<Answer>{
 
     public Stream<Answer> stream(){ return set.stream();}
 
+    /**
+     * Lazy stream over the answers present at the time of the call. The stream is not invalidated
+     * by answers added or removed afterwards (these are not reflected in the stream) so it can be consumed
+     * while the answers are being updated.
+     * @return stream of answers present at the time of the call
+     */
+    public Stream<Answer> snapshotStream(){
+        List<Answer> snapshot = list;
+        int size = snapshot.size();
+        return IntStream.range(0, size).mapToObj(snapshot::get);
+    }
+
     public QueryAnswers(){}
-    public QueryAnswers(Answer ans){ set.add(ans);}
-    public QueryAnswers(Collection<Answer> ans){ set.addAll(ans); }
-    private QueryAnswers(QueryAnswers ans){ ans.forEach(set::add);}
+    public QueryAnswers(Answer ans){ add(ans);}
+    public QueryAnswers(Collection<Answer> ans){ ans.forEach(this::add); }
+    private QueryAnswers(QueryAnswers ans){ ans.forEach(this::add);}
+
+    public boolean add(Answer a){
+        if (!set.add(a)) return false;
+        list.add(a);
+        indices.forEach((vars, index) -> index.put(a.project(vars), a));
+        return true;
+    }
+    public boolean addAll(QueryAnswers ans){
+        boolean changed = false;
+        for(Answer a : ans.list) changed |= add(a);
+        return changed;
+    }
 
-    public boolean add(Answer a){ return set.add(a);}
-    public boolean addAll(QueryAnswers ans){ return set.addAll(ans.set);}
+    public boolean removeAll(QueryAnswers ans){
+        if (!set.removeAll(ans.set)) return false;
+        list = list.stream().filter(set::contains).collect(Collectors.toCollection(ArrayList::new));
+        indices.clear();
+        return true;
+    }
 
-    public boolean removeAll(QueryAnswers ans){ return set.removeAll(ans.set);}
+    /**
+     * Find answers compatible with the provided partial answer, i.e. answers whose projection on the variables
+     * of the partial answer equals the partial answer. The index for a specific variable set is built on first use
+     * and is maintained on subsequent additions.
+     * @param partialAnswer partial answer to be looked up
+     * @return stream of answers containing the partial answer
+     */
+    public Stream<Answer> lookup(Answer partialAnswer){
+        if (partialAnswer.isEmpty()) return snapshotStream();
+        Set<Var> vars = partialAnswer.vars();
+        SetMultimap<Answer, Answer> index = indices.get(vars);
+        if (index == null){
+            index = HashMultimap.create();
+            for(Answer a : list) index.put(a.project(vars), a);
+            indices.put(vars, index);
+        }
+        return new ArrayList<>(index.get(partialAnswer)).stream();
+    }
 
     public boolean contains(Answer a){ return set.contains(a);}
     public boolean isEmpty(){ return set.isEmpty();}
+    public int size(){ return set.size();}
 
     /**
      * unify the answers by applying unifier to variable set
@@ -18,6 +18,7 @@
 
 package ai.grakn.graql.internal.reasoner.query;
 
+import ai.grakn.concept.SchemaConcept;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Atomic;
@@ -199,13 +200,31 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
             subGoalIterator = Collections.emptyIterator();
         } else {
             visitedSubGoals.add(this);
+            Long lastResolution = cache.ackResolution(this);
+            boolean resolvedInPreviousIteration = lastResolution != null && lastResolution < cache.iteration();
             subGoalIterator = this.getRuleStream()
+                    .filter(rulePair -> !resolvedInPreviousIteration || requiresReevaluation(rulePair.getKey(), lastResolution, cache))
                     .map(rulePair -> rulePair.getKey().subGoal(this.getAtom(), rulePair.getValue(), parent, visitedSubGoals, cache))
                     .iterator();
         }
         return Iterators.concat(dbIterator, subGoalIterator);
     }
 
+    /**
+     * A rule needs to be reevaluated for a query resolved in a previous iteration only if its body could have
+     * received new answers since the start of that iteration, otherwise it can only rederive already cached answers.
+     * @param rule applicable to this query
+     * @param lastResolution iteration in which this query was previously resolved
+     * @param cache query cache
+     * @return true if the rule needs to be reevaluated
+     */
+    private boolean requiresReevaluation(InferenceRule rule, long lastResolution, QueryCache<ReasonerAtomicQuery> cache){
+        Set<SchemaConcept> bodyTypes = rule.getBody().getAtoms(Atom.class)
+                .map(Atom::getSchemaConcept)
+                .collect(Collectors.toSet());
+        return cache.isUpdatedSince(bodyTypes, lastResolution);
+    }
+
     /**
      * @return stream of all rules applicable to this atomic query including permuted cases when the role types are meta roles
      */
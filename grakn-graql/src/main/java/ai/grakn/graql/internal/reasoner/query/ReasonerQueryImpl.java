@@ -35,6 +35,7 @@ import ai.grakn.graql.admin.UnifierComparison;
 import ai.grakn.graql.admin.VarPatternAdmin;
 import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.query.QueryAnswer;
+import ai.grakn.graql.internal.reasoner.ComponentResolution;
 import ai.grakn.graql.internal.reasoner.ResolutionIterator;
 import ai.grakn.graql.internal.reasoner.UnifierType;
 import ai.grakn.graql.internal.reasoner.atom.Atom;
@@ -46,6 +47,7 @@ import ai.grakn.graql.internal.reasoner.atom.binary.IsaAtom;
 import ai.grakn.graql.internal.reasoner.atom.predicate.IdPredicate;
 import ai.grakn.graql.internal.reasoner.atom.predicate.NeqPredicate;
 import ai.grakn.graql.internal.reasoner.cache.QueryCache;
+import ai.grakn.graql.internal.reasoner.cache.SessionAnswerCache;
 import ai.grakn.graql.internal.reasoner.explanation.JoinExplanation;
 import ai.grakn.graql.internal.reasoner.plan.ResolutionPlan;
 import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
@@ -58,6 +60,7 @@ import ai.grakn.graql.internal.reasoner.state.ResolutionState;
 import ai.grakn.graql.internal.reasoner.utils.Pair;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.util.Schema;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
@@ -66,6 +69,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -76,6 +80,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -458,7 +463,55 @@ public class ReasonerQueryImpl implements ReasonerQuery {
 
     @Override
     public Stream<Answer> resolve() {
-        return new ResolutionIterator(this).hasStream();
+        Optional<SessionAnswerCache> sessionCache = SessionAnswerCache.of(tx());
+        if (!sessionCache.isPresent()) return resolveComponents();
+
+        SessionAnswerCache cache = sessionCache.get();
+        return cache.getAnswerStream(this).orElseGet(() -> cache.record(this, resolveComponents()));
+    }
+
+    private Stream<Answer> resolveComponents() {
+        List<ReasonerQueryImpl> components = connectedComponents();
+        if (components.size() == 1) return new ResolutionIterator(this).hasStream();
+
+        //NB: components do not share variables so each of them is resolved once and their answers are joined
+        LOG.trace("Resolving query as a join of " + components.size() + " disconnected components");
+        List<Supplier<List<Answer>>> otherComponents = ComponentResolution.resolve(components.subList(1, components.size()), tx());
+        Stream<Answer> answerStream = new ResolutionIterator(components.get(0)).hasStream();
+        for(Supplier<List<Answer>> componentAnswers : otherComponents){
+            answerStream = answerStream
+                    .flatMap(ans -> componentAnswers.get().stream().map(cAns -> ans.merge(cAns, true)))
+                    .filter(ans -> !ans.isEmpty());
+        }
+        return answerStream;
+    }
+
+    /**
+     * @return queries formed of the maximal sets of atomics of this query that are connected via shared variables
+     */
+    public List<ReasonerQueryImpl> connectedComponents(){
+        List<Set<Atomic>> components = new ArrayList<>();
+        List<Set<Var>> componentVars = new ArrayList<>();
+        for(Atomic atomic : getAtoms()){
+            Set<Atomic> component = Sets.newHashSet(atomic);
+            Set<Var> vars = new HashSet<>(atomic.getVarNames());
+            for(int i = components.size() - 1; i >= 0 ; i--){
+                if (!Sets.intersection(vars, componentVars.get(i)).isEmpty()){
+                    component.addAll(components.remove(i));
+                    vars.addAll(componentVars.remove(i));
+                }
+            }
+            components.add(component);
+            componentVars.add(vars);
+        }
+        //only decompose if each component can be resolved on its own
+        if (components.size() == 1
+                || components.stream().anyMatch(component -> component.stream().noneMatch(Atomic::isSelectable))) {
+            return Collections.singletonList(this);
+        }
+        return components.stream()
+                .map(component -> ReasonerQueries.create(component, tx()))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -18,6 +18,7 @@
 
 package ai.grakn.graql.internal.analytics;
 
+import ai.grakn.GraknConfigKey;
 import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
@@ -29,9 +30,13 @@ import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
+import ai.grakn.engine.GraknConfig;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.exception.InvalidKBException;
+import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.graql.Graql;
+import ai.grakn.graql.internal.query.executor.ComputeResultCache;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.test.rule.SessionContext;
 import ai.grakn.util.GraknTestUtil;
 import ai.grakn.util.Schema;
@@ -294,6 +299,34 @@ public class ConnectedComponentTest {
         });
     }
 
+    @Test
+    public void whenResultCacheIsEnabled_ComponentsArePatchedWithNewConnections() {
+        GraknConfig config = ((EmbeddedGraknSession) session).config();
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_SIZE, 10);
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_MAX_PATCH, 100);
+
+        addSchemaAndEntities();
+        computeClustersIncludingAttributes();
+        addResourceRelations();
+        Set<Set<ConceptId>> patched = computeClustersIncludingAttributes();
+
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            ComputeResultCache cache = ComputeResultCache.of((EmbeddedGraknTx<?>) graph).get();
+            assertEquals(1L, cache.missCount());
+            assertEquals(1L, cache.patchCount());
+        }
+
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_SIZE, 0);
+        assertEquals(computeClustersIncludingAttributes(), patched);
+    }
+
+    private Set<Set<ConceptId>> computeClustersIncludingAttributes() {
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            return graph.graql().compute(CLUSTER).using(CONNECTED_COMPONENT).includeAttributes(true)
+                    .where(members(true)).execute().getClusters().get();
+        }
+    }
+
     private void addSchemaAndEntities() throws InvalidKBException {
         try (GraknTx graph = session.transaction(GraknTxType.WRITE)) {
 
@@ -23,16 +23,20 @@ import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
 import ai.grakn.graql.ComputeQuery;
+import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.graql.Graql;
+import ai.grakn.kb.internal.cache.KeyspaceStatistics;
 import ai.grakn.test.rule.SessionContext;
 import ai.grakn.util.GraknTestUtil;
 import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSet;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -46,6 +50,7 @@ import java.util.stream.Collectors;
 
 import static ai.grakn.util.GraqlSyntax.Compute.Method.COUNT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeFalse;
 
 public class CountTest {
@@ -308,6 +313,59 @@ public class CountTest {
         }
     }
 
+    @Test
+    public void whenExactCountsAreEnabled_CountsAreMaintainedAcrossCommits() {
+        KeyspaceStatistics statistics = ((EmbeddedGraknSession) session).statistics();
+        statistics.enableExactCounts();
+
+        ConceptId personId;
+        ConceptId hasNameId;
+        try (GraknTx graph = session.transaction(GraknTxType.WRITE)) {
+            EntityType person = graph.putEntityType("person");
+            AttributeType<String> name = graph.putAttributeType("name", AttributeType.DataType.STRING);
+            person.has(name);
+            person.create().has(name.create("jason"));
+            personId = person.id();
+            hasNameId = graph.getSchemaConcept(Schema.ImplicitType.HAS.getLabel(Label.of("name"))).id();
+            graph.commit();
+        }
+
+        // the first counts are computed and seed the exact counts
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            assertEquals(1L, graph.graql().compute(COUNT).in("person").execute().getNumber().get());
+            assertEquals(1L, graph.graql().compute(COUNT).in("@has-name").execute().getNumber().get());
+        }
+        assertTrue(statistics.exactInstanceCounts(ImmutableSet.of(personId, hasNameId)).isPresent());
+
+        ConceptId toDelete;
+        try (GraknTx graph = session.transaction(GraknTxType.WRITE)) {
+            AttributeType<String> name = graph.getAttributeType("name");
+            graph.getEntityType("person").create().has(name.create("jason"));
+            toDelete = graph.getEntityType("person").create().has(name.create("john")).id();
+            graph.commit();
+        }
+
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            assertEquals(3L, graph.graql().compute(COUNT).in("person").execute().getNumber().get());
+            assertEquals(3L, graph.graql().compute(COUNT).in("@has-name").execute().getNumber().get());
+        }
+
+        try (GraknTx graph = session.transaction(GraknTxType.WRITE)) {
+            graph.getConcept(toDelete).delete();
+            graph.commit();
+        }
+
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            assertEquals(2L, graph.graql().compute(COUNT).in("person").execute().getNumber().get());
+            assertEquals(2L, graph.graql().compute(COUNT).in("@has-name").execute().getNumber().get());
+
+            // the maintained counts agree with the computed counts
+            statistics.invalidateExactCounts();
+            assertEquals(2L, graph.graql().compute(COUNT).in("person").execute().getNumber().get());
+            assertEquals(2L, graph.graql().compute(COUNT).in("@has-name").execute().getNumber().get());
+        }
+    }
+
     private Long executeCount(GraknSession factory) {
         try (GraknTx graph = factory.transaction(GraknTxType.READ)) {
             return graph.graql().compute(COUNT).execute().getNumber().get().longValue();
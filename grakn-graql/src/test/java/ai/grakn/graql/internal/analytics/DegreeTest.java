@@ -18,6 +18,7 @@
 
 package ai.grakn.graql.internal.analytics;
 
+import ai.grakn.GraknConfigKey;
 import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
@@ -30,7 +31,11 @@ import ai.grakn.concept.Label;
 import ai.grakn.concept.Relationship;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
+import ai.grakn.engine.GraknConfig;
 import ai.grakn.exception.InvalidKBException;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.internal.query.executor.ComputeResultCache;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.test.rule.SessionContext;
 import ai.grakn.util.GraknTestUtil;
 import com.google.common.collect.Sets;
@@ -158,6 +163,60 @@ public class DegreeTest {
         }
     }
 
+    @Test
+    public void whenResultCacheIsEnabled_DegreesArePatchedUnlessDataIsRemoved() {
+        GraknConfig config = ((EmbeddedGraknSession) session).config();
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_SIZE, 10);
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_CACHE_MAX_PATCH, 100);
+
+        Role role1 = tx.putRole("role1");
+        Role role2 = tx.putRole("role2");
+        EntityType thingy = tx.putEntityType("thingy").plays(role1).plays(role2);
+        RelationshipType related = tx.putRelationshipType("related").relates(role1).relates(role2);
+        ConceptId entity1 = thingy.create().id();
+        ConceptId entity2 = thingy.create().id();
+        ConceptId entity3 = thingy.create().id();
+        related.create().assign(role1, tx.getConcept(entity1)).assign(role2, tx.getConcept(entity2));
+        tx.commit();
+
+        Map<Long, Set<ConceptId>> correctDegrees = new HashMap<>();
+        correctDegrees.put(1L, Sets.newHashSet(entity1, entity2));
+        assertEquals(correctDegrees, computeDegrees());
+
+        ConceptId relationshipId;
+        try (GraknTx graph = session.transaction(GraknTxType.WRITE)) {
+            relationshipId = graph.getRelationshipType("related").create()
+                    .assign(graph.getRole("role1"), graph.getConcept(entity2))
+                    .assign(graph.getRole("role2"), graph.getConcept(entity3)).id();
+            graph.commit();
+        }
+
+        correctDegrees.put(1L, Sets.newHashSet(entity1, entity3));
+        correctDegrees.put(2L, Sets.newHashSet(entity2));
+        assertEquals(correctDegrees, computeDegrees());
+
+        try (GraknTx graph = session.transaction(GraknTxType.WRITE)) {
+            graph.getConcept(relationshipId).delete();
+            graph.commit();
+        }
+
+        correctDegrees.remove(2L);
+        correctDegrees.put(1L, Sets.newHashSet(entity1, entity2));
+        assertEquals(correctDegrees, computeDegrees());
+
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            ComputeResultCache cache = ComputeResultCache.of((EmbeddedGraknTx<?>) graph).get();
+            assertEquals(2L, cache.missCount());
+            assertEquals(1L, cache.patchCount());
+        }
+    }
+
+    private Map<Long, Set<ConceptId>> computeDegrees() {
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            return graph.graql().compute(CENTRALITY).using(DEGREE).execute().getCentrality().get();
+        }
+    }
+
     @Test
     public void testSubIsAccountedForInSubgraph() {
         Role pet = tx.putRole("pet");
@@ -0,0 +1,129 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.analytics;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknSession;
+import ai.grakn.GraknSystemProperty;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationshipType;
+import ai.grakn.concept.Role;
+import ai.grakn.engine.GraknConfig;
+import ai.grakn.factory.GraknSessionLocal;
+import ai.grakn.test.rule.SessionContext;
+import ai.grakn.util.GraknTestUtil;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+
+import static ai.grakn.util.GraqlSyntax.Compute.Algorithm.DEGREE;
+import static ai.grakn.util.GraqlSyntax.Compute.Method.CENTRALITY;
+import static ai.grakn.util.GraqlSyntax.Compute.Method.COUNT;
+import static ai.grakn.util.SampleKBLoader.randomKeyspace;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests that the in process graph computer of the local analytics mode only computes over the requested subgraph
+ */
+public class LocalAnalyticsTest {
+
+    @ClassRule
+    public final static SessionContext sessionContext = SessionContext.create();
+
+    private GraknSession session;
+    private ConceptId entity1;
+    private ConceptId entity2;
+    private ConceptId entity3;
+    private ConceptId entity4;
+
+    @Before
+    public void setUp() {
+        assumeTrue(GraknTestUtil.usingJanus());
+
+        GraknConfig config = GraknConfig.read(Paths.get(
+                GraknSystemProperty.PROJECT_RELATIVE_DIR.value() + "/conf/test/janus/grakn.properties").toFile());
+        config.setConfigProperty(GraknConfigKey.KB_ANALYTICS, "local");
+        config.setConfigProperty(GraknConfigKey.KB_ANALYTICS_WORKERS, 2);
+        session = GraknSessionLocal.create(randomKeyspace(), "fake-local-engine-uri", config);
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            Role role1 = tx.putRole("role1");
+            Role role2 = tx.putRole("role2");
+            EntityType thingy = tx.putEntityType("thingy").plays(role1).plays(role2);
+            EntityType anotherThing = tx.putEntityType("another").plays(role1).plays(role2);
+            RelationshipType related = tx.putRelationshipType("related").relates(role1).relates(role2);
+
+            entity1 = thingy.create().id();
+            entity2 = thingy.create().id();
+            entity3 = thingy.create().id();
+            entity4 = anotherThing.create().id();
+
+            related.create().assign(role1, tx.getConcept(entity1)).assign(role2, tx.getConcept(entity2));
+            related.create().assign(role1, tx.getConcept(entity2)).assign(role2, tx.getConcept(entity3));
+            related.create().assign(role1, tx.getConcept(entity2)).assign(role2, tx.getConcept(entity4));
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        if (session != null) session.close();
+    }
+
+    @Test
+    public void whenCountingInLocalMode_OnlyInstancesOfTheSubgraphAreCounted() {
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            assertEquals(7L, tx.graql().compute(COUNT).execute().getNumber().get().longValue());
+            assertEquals(3L, count(tx, "thingy"));
+            assertEquals(4L, count(tx, "thingy", "another"));
+            assertEquals(3L, count(tx, "related"));
+        }
+    }
+
+    @Test
+    public void whenComputingDegreesInLocalMode_OnlyRelationshipsOfTheSubgraphAreCounted() {
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            Map<Long, Set<ConceptId>> thingyDegrees = ImmutableMap.of(
+                    1L, ImmutableSet.of(entity1, entity3),
+                    3L, ImmutableSet.of(entity2));
+
+            assertEquals(thingyDegrees, tx.graql().compute(CENTRALITY).using(DEGREE)
+                    .in("thingy", "related").execute().getCentrality().get());
+            assertEquals(thingyDegrees, tx.graql().compute(CENTRALITY).using(DEGREE)
+                    .of("thingy").in("related").execute().getCentrality().get());
+            assertEquals(ImmutableMap.of(1L, ImmutableSet.of(entity4)), tx.graql().compute(CENTRALITY).using(DEGREE)
+                    .in("another", "related").execute().getCentrality().get());
+        }
+    }
+
+    private static long count(GraknTx tx, String type, String... types) {
+        return tx.graql().compute(COUNT).in(type, types).execute().getNumber().get().longValue();
+    }
+}
@@ -18,6 +18,7 @@
 
 package ai.grakn.graql.internal.analytics;
 
+import ai.grakn.GraknConfigKey;
 import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
@@ -29,8 +30,10 @@ import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
 import ai.grakn.concept.RelationshipType;
 import ai.grakn.concept.Role;
+import ai.grakn.engine.GraknConfig;
 import ai.grakn.exception.GraqlQueryException;
 import ai.grakn.exception.InvalidKBException;
+import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.graql.Graql;
 import ai.grakn.test.rule.SessionContext;
 import ai.grakn.util.GraknTestUtil;
@@ -532,6 +535,34 @@ public class PathTest {
         }
     }
 
+    @Test
+    public void whenSearchingWithTraversalsOrTheVertexProgram_TheSamePathsAreFound() {
+        addSchemaAndEntities();
+        GraknConfig config = ((EmbeddedGraknSession) session).config();
+
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_PATH_MAX_VISITED, 100);
+        Set<List<ConceptId>> pathsByTraversal = computePaths(entityId1, entityId4);
+
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_PATH_MAX_VISITED, 2);
+        Set<List<ConceptId>> pathsAfterFallback = computePaths(entityId1, entityId4);
+
+        config.setConfigProperty(GraknConfigKey.GRAQL_COMPUTE_PATH_MAX_VISITED, 0);
+        Set<List<ConceptId>> pathsByVertexProgram = computePaths(entityId1, entityId4);
+
+        Set<List<ConceptId>> correctPaths = new HashSet<>();
+        correctPaths.add(Lists.newArrayList(entityId1, relationId12, entityId2, relationId24, entityId4));
+        correctPaths.add(Lists.newArrayList(entityId1, relationId13, entityId3, relationId34, entityId4));
+        assertEquals(correctPaths, pathsByTraversal);
+        assertEquals(correctPaths, pathsAfterFallback);
+        assertEquals(correctPaths, pathsByVertexProgram);
+    }
+
+    private Set<List<ConceptId>> computePaths(ConceptId from, ConceptId to) {
+        try (GraknTx graph = session.transaction(GraknTxType.READ)) {
+            return new HashSet<>(graph.graql().compute(PATH).from(from).to(to).execute().getPaths().get());
+        }
+    }
+
     private void checkPathsAreEqual(List<ConceptId> correctPath, List<ConceptId> computedPath) {
         assertEquals(correctPath.size(), computedPath.size());
         for (int i = 0; i < correctPath.size(); i++) {
@@ -0,0 +1,155 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknSession;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.PatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.test.rule.SessionContext;
+import ai.grakn.util.GraknTestUtil;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import static ai.grakn.graql.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+public class TraversalPlanCacheTest {
+
+    private static final Var x = var("x");
+
+    private static final Conjunction<PatternAdmin> PEOPLE = Patterns.conjunction(ImmutableSet.of(x.isa("person").admin()));
+    private static final Conjunction<PatternAdmin> NAMES = Patterns.conjunction(ImmutableSet.of(x.isa("name").admin()));
+
+    @ClassRule
+    public static final SessionContext sessionContext = SessionContext.create();
+
+    private GraknSession session;
+
+    @Before
+    public void setUp(){
+        assumeTrue(GraknTestUtil.usingTinker());
+        session = sessionContext.newSession();
+        ((EmbeddedGraknSession) session).config().setConfigProperty(GraknConfigKey.GRAQL_PLAN_CACHE_SIZE, 10);
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            tx.graql().parse("define name sub attribute, datatype string; person sub entity, has name;").execute();
+            tx.graql().parse("insert $x isa person, has name 'a';").execute();
+            tx.commit();
+        }
+    }
+
+    @Test
+    public void whenPatternIsPlannedAgainInAnotherTransaction_cachedPlanIsReturned(){
+        TraversalPlanCache.Plan plan = plan(PEOPLE);
+
+        assertSame(plan, plan(PEOPLE));
+    }
+
+    @Test
+    public void whenAnotherPatternIsPlanned_itIsPlannedAndCachedSeparately(){
+        TraversalPlanCache.Plan people = plan(PEOPLE);
+        TraversalPlanCache.Plan names = plan(NAMES);
+
+        assertNotSame(people, names);
+        assertEquals(NAMES, names.pattern());
+        assertSame(people, plan(PEOPLE));
+        assertSame(names, plan(NAMES));
+    }
+
+    @Test
+    public void whenDataIsCommittedWithoutChangingShards_cachedPlanIsReturned(){
+        TraversalPlanCache.Plan plan = plan(PEOPLE);
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            tx.graql().parse("insert $x isa person, has name 'b';").execute();
+            tx.commit();
+        }
+
+        assertSame(plan, plan(PEOPLE));
+    }
+
+    @Test
+    public void whenSchemaChanges_cachedPlanIsInvalidated(){
+        TraversalPlanCache.Plan plan = plan(PEOPLE);
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            tx.graql().parse("define age sub attribute, datatype long;").execute();
+            tx.commit();
+        }
+
+        TraversalPlanCache.Plan newPlan = plan(PEOPLE);
+        assertNotSame(plan, newPlan);
+        assertSame(newPlan, plan(PEOPLE));
+    }
+
+    @Test
+    public void whenSchemaChangeOfAnotherWriterIsReported_cachedPlanIsInvalidated(){
+        TraversalPlanCache.Plan plan = plan(PEOPLE);
+
+        //engine reports the commit logs of writers which do not go through it as schema changes
+        ((EmbeddedGraknSession) session).schemaChanged();
+
+        TraversalPlanCache.Plan newPlan = plan(PEOPLE);
+        assertNotSame(plan, newPlan);
+        assertSame(newPlan, plan(PEOPLE));
+    }
+
+    @Test
+    public void whenPlannedTypeIsSharded_cachedPlanIsInvalidated(){
+        TraversalPlanCache.Plan plan = plan(PEOPLE);
+
+        try (EmbeddedGraknTx<?> tx = (EmbeddedGraknTx<?>) session.transaction(GraknTxType.WRITE)) {
+            tx.shard(tx.getEntityType("person").id());
+            tx.commit();
+        }
+
+        TraversalPlanCache.Plan newPlan = plan(PEOPLE);
+        assertNotSame(plan, newPlan);
+        assertSame(newPlan, plan(PEOPLE));
+    }
+
+    @Test
+    public void whenCacheIsDisabled_plansAreNotCached(){
+        ((EmbeddedGraknSession) session).config().setConfigProperty(GraknConfigKey.GRAQL_PLAN_CACHE_SIZE, 0);
+
+        try (EmbeddedGraknTx<?> tx = (EmbeddedGraknTx<?>) session.transaction(GraknTxType.READ)) {
+            assertFalse(TraversalPlanCache.of(tx).isPresent());
+        }
+        assertNotSame(plan(PEOPLE), plan(PEOPLE));
+    }
+
+    private TraversalPlanCache.Plan plan(Conjunction<PatternAdmin> pattern){
+        try (EmbeddedGraknTx<?> tx = (EmbeddedGraknTx<?>) session.transaction(GraknTxType.READ)) {
+            return TraversalPlanCache.createPlan(pattern, tx);
+        }
+    }
+}
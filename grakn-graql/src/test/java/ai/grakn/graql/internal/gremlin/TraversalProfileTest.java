@@ -0,0 +1,91 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.PatternAdmin;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.query.match.MatchBase;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.test.kbs.MovieKB;
+import ai.grakn.test.rule.SampleKBContext;
+import com.google.common.collect.ImmutableSet;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static ai.grakn.graql.Graql.var;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public class TraversalProfileTest {
+
+    private static final Var x = var("x");
+
+    @ClassRule
+    public static final SampleKBContext movieKB = MovieKB.context();
+
+    @Test
+    public void whenTraversalIsFullyExecuted_ProfileIsCompletedWithObservedCosts() {
+        EmbeddedGraknTx<?> tx = movieKB.tx();
+        Conjunction<PatternAdmin> pattern = Patterns.conjunction(ImmutableSet.of(x.isa("movie").admin()));
+        GraqlTraversal traversal = GreedyTraversalPlan.createTraversal(pattern, tx);
+
+        AtomicReference<TraversalProfile> completed = new AtomicReference<>();
+        TraversalProfile profile = TraversalProfile.of(traversal, completed::set);
+        assertNotNull(profile);
+
+        List<Answer> answers = MatchBase.streamWithTraversal(pattern.commonVars(), tx, traversal, profile)
+                .collect(Collectors.toList());
+        long movies = tx.getEntityType("movie").instances().count();
+
+        assertEquals(profile, completed.get());
+        assertEquals(movies, answers.size());
+        assertEquals(movies, profile.count(profile.fragments().size() - 1));
+
+        Map<Fragment, Double> observedCosts = profile.observedCosts();
+        assertThat(observedCosts.values(), hasItem(Math.log1p(movies)));
+    }
+
+    @Test
+    public void whenTraversalIsNotFullyExecuted_ProfileIsNotCompleted() {
+        EmbeddedGraknTx<?> tx = movieKB.tx();
+        Conjunction<PatternAdmin> pattern = Patterns.conjunction(ImmutableSet.of(x.isa("movie").admin()));
+        GraqlTraversal traversal = GreedyTraversalPlan.createTraversal(pattern, tx);
+
+        AtomicReference<TraversalProfile> completed = new AtomicReference<>();
+        TraversalProfile profile = TraversalProfile.of(traversal, completed::set);
+
+        Iterator<Answer> answers = MatchBase.streamWithTraversal(pattern.commonVars(), tx, traversal, profile).iterator();
+        answers.next();
+
+        assertNull(completed.get());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query;
+
+import ai.grakn.graql.ExplainQuery;
+import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.Var;
+import ai.grakn.test.kbs.MovieKB;
+import ai.grakn.test.rule.SampleKBContext;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import static ai.grakn.graql.Graql.var;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ExplainQueryTest {
+
+    private static final Var x = var("x");
+
+    private QueryBuilder qb;
+
+    @ClassRule
+    public static final SampleKBContext movieKB = MovieKB.context();
+
+    @Before
+    public void setUp() {
+        qb = movieKB.tx().graql().infer(false);
+    }
+
+    @Test
+    public void whenExplainingQuery_PlanIsDescribedWithoutExecutingIt() {
+        String explanation = qb.match(x.isa("movie")).get().explain().execute();
+
+        assertThat(explanation, containsString("estimated"));
+        assertThat(explanation, not(containsString("actual")));
+        assertThat(explanation, not(containsString("answers")));
+    }
+
+    @Test
+    public void whenProfilingQuery_ActualCountsAreDescribed() {
+        long movies = qb.match(x.isa("movie")).get().stream().count();
+
+        String profile = qb.match(x.isa("movie")).get().profile().execute();
+
+        assertThat(profile, containsString("actual"));
+        assertThat(profile, containsString("answers: " + movies));
+    }
+
+    @Test
+    public void whenParsingExplainQuery_ResultIsExplainQuery() {
+        ExplainQuery explain = qb.parse("explain match $x isa movie; get;");
+        ExplainQuery profile = qb.parse("profile match $x isa movie; get;");
+
+        assertFalse(explain.isProfile());
+        assertTrue(profile.isProfile());
+        assertThat(explain.toString(), containsString("explain match"));
+    }
+}
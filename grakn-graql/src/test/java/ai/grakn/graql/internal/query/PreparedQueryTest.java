@@ -0,0 +1,115 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.exception.GraqlQueryException;
+import ai.grakn.graql.PreparedQuery;
+import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.test.rule.SampleKBContext;
+import ai.grakn.test.kbs.MovieKB;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+
+import static ai.grakn.graql.Graql.var;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class PreparedQueryTest {
+
+    private static final Var x = var("x");
+    private static final Var y = var("y");
+    private static final Var n = var("n");
+
+    private QueryBuilder qb;
+
+    @ClassRule
+    public static final SampleKBContext movieKB = MovieKB.context();
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Before
+    public void setUp() {
+        qb = movieKB.tx().graql().infer(false);
+    }
+
+    @Test
+    public void whenBindingParameterToAttributeValues_AnswersAreSameAsOfQueryWithValues() {
+        PreparedQuery query = qb.prepare("match $x isa person, has name $n; ($x, $y); $y isa movie; get $y;", n);
+
+        for (String name : new String[]{"Marlon Brando", "Al Pacino", "Martin Sheen"}) {
+            List<Answer> expected = qb.match(x.isa("person").has("name", name), var().rel(x).rel(y), y.isa("movie")).get(y).execute();
+            List<Answer> answers = query.execute(ImmutableMap.of(n, name));
+
+            assertThat(expected, not(empty()));
+            assertThat(answers, containsInAnyOrder(expected.toArray()));
+        }
+    }
+
+    @Test
+    public void whenBindingParameterToConcept_AnswersAreSameAsOfQueryWithId() {
+        PreparedQuery query = qb.prepare(qb.match(x.isa("person"), var().rel(x).rel(y), y.isa("movie")).get(y), x);
+
+        for (Answer person : qb.match(x.isa("person")).get().execute()) {
+            Concept concept = person.get(x);
+            List<Answer> expected = qb.match(x.id(concept.getId()), var().rel(x).rel(y), y.isa("movie")).get(y).execute();
+            List<Answer> answers = query.execute(ImmutableMap.of(x, concept));
+
+            assertThat(answers, containsInAnyOrder(expected.toArray()));
+        }
+    }
+
+    @Test
+    public void whenParameterIsNotBound_Throw() {
+        PreparedQuery query = qb.prepare("match $x isa person, has name $n; get;", n);
+
+        exception.expect(GraqlQueryException.class);
+        exception.expectMessage(GraqlQueryException.unboundParameter(n).getMessage());
+
+        query.execute(ImmutableMap.of());
+    }
+
+    @Test
+    public void whenPreparingQueryWithLimit_Throw() {
+        exception.expect(GraqlQueryException.class);
+
+        //noinspection ResultOfMethodCallIgnored
+        qb.prepare(qb.match(x.isa("person").has("name", n)).limit(10).get(), n);
+    }
+
+    @Test
+    public void whenParameterIsNotInQuery_Throw() {
+        exception.expect(GraqlQueryException.class);
+        exception.expectMessage(GraqlQueryException.varNotInQuery(y).getMessage());
+
+        //noinspection ResultOfMethodCallIgnored
+        qb.prepare("match $x isa person, has name $n; get;", y);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknSession;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.GetQuery;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.admin.Conjunction;
+import ai.grakn.graql.admin.VarPatternAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.test.rule.SessionContext;
+import ai.grakn.util.GraknTestUtil;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class ComponentResolutionTest {
+
+    @ClassRule
+    public static final SessionContext sessionContext = SessionContext.create();
+
+    private static final String NAMES = "$x has name $n;";
+    private static final String PARENTHOODS = "(parent: $p, child: $c) isa parenthood;";
+
+    private GraknSession session;
+
+    @Before
+    public void setUp(){
+        assumeTrue(GraknTestUtil.usingTinker());
+        session = sessionContext.newSession();
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            tx.graql().parse("define " +
+                    "name sub attribute, datatype string;" +
+                    "parent sub role; child sub role;" +
+                    "parenthood sub relationship, relates parent, relates child;" +
+                    "person sub entity, has name, plays parent, plays child;" +
+                    "name-inheritance sub rule, " +
+                    "when {(parent: $p, child: $c) isa parenthood; $p has name $n;}, " +
+                    "then {$c has name $n;};"
+            ).execute();
+            tx.graql().parse("insert " +
+                    "$a isa person, has name 'a';" +
+                    "$b isa person;" +
+                    "$c isa person, has name 'c';" +
+                    "(parent: $a, child: $b) isa parenthood;"
+            ).execute();
+            tx.commit();
+        }
+    }
+
+    @Test
+    public void whenQueryIsDisconnected_itIsSplitIntoConnectedComponents(){
+        try (EmbeddedGraknTx<?> tx = (EmbeddedGraknTx<?>) session.transaction(GraknTxType.READ)) {
+            ReasonerQueryImpl query = ReasonerQueries.create(conjunction("{" + NAMES + PARENTHOODS + "}", tx), tx);
+            List<ReasonerQueryImpl> components = query.connectedComponents();
+
+            assertEquals(2, components.size());
+            assertEquals(
+                    query.getAtoms().collect(Collectors.toSet()),
+                    components.stream().flatMap(ReasonerQueryImpl::getAtoms).collect(Collectors.toSet())
+            );
+            assertEquals(
+                    query.getVarNames().size(),
+                    components.stream().mapToInt(component -> component.getVarNames().size()).sum()
+            );
+        }
+    }
+
+    @Test
+    public void whenQueryIsConnected_itIsNotSplit(){
+        try (EmbeddedGraknTx<?> tx = (EmbeddedGraknTx<?>) session.transaction(GraknTxType.READ)) {
+            ReasonerQueryImpl query = ReasonerQueries.create(conjunction("{$p has name $n;" + PARENTHOODS + "}", tx), tx);
+            List<ReasonerQueryImpl> components = query.connectedComponents();
+
+            assertEquals(1, components.size());
+            assertEquals(query, components.iterator().next());
+        }
+    }
+
+    @Test
+    public void whenQueryIsDisconnected_answersAreTheJoinOfTheAnswersOfItsComponents(){
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            Set<Answer> answers = answers(tx, NAMES + PARENTHOODS);
+            Set<Answer> names = answers(tx, NAMES);
+            Set<Answer> parenthoods = answers(tx, PARENTHOODS);
+
+            assertEquals(3, names.size());
+            assertEquals(1, parenthoods.size());
+            assertEquals(join(names, parenthoods), answers);
+        }
+    }
+
+    @Test
+    public void whenParallelismIsEnabled_answersOfDisconnectedQueriesAreTheSameAsWithoutIt(){
+        Set<Answer> answers;
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            answers = answers(tx, NAMES + PARENTHOODS + "$y isa person;");
+        }
+        assertEquals(9, answers.size());
+
+        ((EmbeddedGraknSession) session).config().setConfigProperty(GraknConfigKey.REASONER_PARALLELISM, 3);
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            assertEquals(answers, answers(tx, NAMES + PARENTHOODS + "$y isa person;"));
+        }
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            assertEquals(answers, answers(tx, NAMES + PARENTHOODS + "$y isa person;"));
+        }
+    }
+
+    private static Set<Answer> answers(GraknTx tx, String patterns){
+        return tx.graql().infer(true).<GetQuery>parse("match " + patterns + " get;").stream()
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<Answer> join(Set<Answer> answers, Set<Answer> otherAnswers){
+        Set<Answer> join = new HashSet<>();
+        answers.forEach(ans -> otherAnswers.forEach(otherAns -> join.add(ans.merge(otherAns))));
+        return join;
+    }
+
+    private static Conjunction<VarPatternAdmin> conjunction(String patternString, EmbeddedGraknTx<?> tx){
+        Set<VarPatternAdmin> vars = tx.graql().parser().parsePattern(patternString).admin()
+                .getDisjunctiveNormalForm().getPatterns()
+                .stream().flatMap(p -> p.getPatterns().stream()).collect(Collectors.toSet());
+        return Patterns.conjunction(vars);
+    }
+}
@@ -20,6 +20,7 @@ package ai.grakn.graql.internal.reasoner;
 
 import ai.grakn.GraknTx;
 import ai.grakn.concept.Entity;
+import ai.grakn.graql.GetQuery;
 import ai.grakn.graql.admin.Answer;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.Unifier;
@@ -32,14 +33,20 @@ import ai.grakn.graql.internal.reasoner.iterator.LazyAnswerIterator;
 import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
 import ai.grakn.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueries;
+import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.test.rule.SampleKBContext;
 import ai.grakn.util.GraknTestUtil;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,6 +55,7 @@ import static ai.grakn.graql.Graql.var;
 import static java.util.stream.Collectors.toSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
@@ -56,6 +64,35 @@ public class QueryCacheTest {
     @ClassRule
     public static final SampleKBContext testContext = SampleKBContext.load("ruleApplicabilityTest.gql");
 
+    //edges leaving a reachable node become special, only special edges form paths
+    @ClassRule
+    public static final SampleKBContext reachabilityContext = SampleKBContext.load(tx -> {
+        tx.graql().parse("define " +
+                "node sub entity, has name, plays source, plays target;" +
+                "name sub attribute, datatype string;" +
+                "source sub role; target sub role;" +
+                "edge sub relationship, relates source, relates target;" +
+                "special-edge sub edge, relates source, relates target;" +
+                "path sub relationship, relates source, relates target;" +
+                "special-path-rule sub rule, " +
+                "when {(source: $x, target: $y) isa special-edge;}, " +
+                "then {(source: $x, target: $y) isa path;};" +
+                "transitive-path-rule sub rule, " +
+                "when {(source: $x, target: $z) isa path; (source: $z, target: $y) isa path;}, " +
+                "then {(source: $x, target: $y) isa path;};" +
+                "special-edge-rule sub rule, " +
+                "when {(source: $x, target: $y) isa path; (source: $y, target: $z) isa edge;}, " +
+                "then {(source: $y, target: $z) isa special-edge;};"
+        ).execute();
+        tx.graql().parse("insert " +
+                "$a isa node, has name 'a'; $b isa node, has name 'b';" +
+                "$c isa node, has name 'c'; $d isa node, has name 'd';" +
+                "(source: $a, target: $b) isa special-edge;" +
+                "(source: $b, target: $c) isa edge;" +
+                "(source: $c, target: $d) isa edge;"
+        ).execute();
+    });
+
     private static EmbeddedGraknTx<?> graph;
     private static ReasonerAtomicQuery recordQuery;
     private static ReasonerAtomicQuery retrieveQuery;
@@ -112,11 +149,48 @@ public class QueryCacheTest {
     @Test
     public void recordUpdateRetrieveAnswerStream(){
         QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
-        cache.record(recordQuery, recordQuery.getQuery().stream());
+        Set<Answer> record = cache.record(recordQuery, recordQuery.getQuery().stream()).collect(Collectors.toSet());
         cache.recordAnswer(recordQuery, singleAnswer);
 
-        assertTrue(cache.getAnswerStream(recordQuery).anyMatch(ans -> ans.equals(singleAnswer)));
-        assertTrue(cache.getAnswerStream(retrieveQuery).anyMatch(ans -> ans.equals(singleAnswer.unify(recordToRetrieveUnifier))));
+        Set<Answer> recordAnswers = cache.getAnswerStream(recordQuery).collect(Collectors.toSet());
+        Set<Answer> retrieveAnswers = cache.getAnswerStream(retrieveQuery).collect(Collectors.toSet());
+        assertTrue(recordAnswers.containsAll(record));
+        assertTrue(recordAnswers.contains(singleAnswer));
+        assertTrue(retrieveAnswers.contains(singleAnswer.unify(recordToRetrieveUnifier)));
+        assertEquals(record.size() + 1, retrieveAnswers.size());
+    }
+
+    @Test
+    public void removeAnswersWhileStreamingSnapshot_snapshotIsUnaffected(){
+        Set<Answer> answers = recordQuery.getQuery().stream().collect(Collectors.toSet());
+        assumeTrue(answers.size() > 1);
+        QueryAnswers queryAnswers = new QueryAnswers(answers);
+        Iterator<Answer> snapshot = queryAnswers.snapshotStream().iterator();
+        Answer first = snapshot.next();
+
+        queryAnswers.removeAll(new QueryAnswers(first));
+
+        Set<Answer> streamed = Sets.newHashSet(first);
+        snapshot.forEachRemaining(streamed::add);
+        assertEquals(answers, streamed);
+        assertFalse(queryAnswers.contains(first));
+    }
+
+    @Test
+    public void recordPartiallyConsumedAnswerStream_entryIsNotCreated(){
+        QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
+        Set<Answer> answers = recordQuery.getQuery().stream().collect(Collectors.toSet());
+        assumeTrue(answers.size() > 1);
+
+        Answer first = cache.record(recordQuery, recordQuery.getQuery().stream()).findFirst().orElse(null);
+        assertNotNull(first);
+        assertFalse(cache.contains(recordQuery));
+
+        //a fully consumed stream records all the answers
+        Set<Answer> record = cache.record(recordQuery, recordQuery.getQuery().stream()).collect(Collectors.toSet());
+        assertTrue(cache.contains(recordQuery));
+        assertEquals(record, cache.getAnswerStream(recordQuery).collect(Collectors.toSet()));
+        assertEquals(answers, record);
     }
 
     @Test
@@ -175,6 +249,24 @@ public class QueryCacheTest {
         assertEquals(cache.getAnswer(retrieveQuery, answer), retrieveAnswer);
     }
 
+    @Test
+    public void recordRetrieveSingleAnswer_answerLookupCountersAreUpdated(){
+        QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
+        cache.record(recordQuery, new QueryAnswers(recordQuery.getQuery().execute()));
+        Answer answer = recordQuery.getQuery().stream().findFirst().orElse(null);
+        Answer retrieveAnswer = answer.unify(recordToRetrieveUnifier);
+
+        Answer partialAnswer = answer.project(Collections.singleton(var("x")));
+
+        assertTrue(cache.getAnswer(recordQuery, partialAnswer).containsAll(partialAnswer));
+        assertEquals(cache.getAnswer(retrieveQuery, retrieveAnswer), retrieveAnswer);
+        assertEquals(2, cache.answerLookupHits());
+        assertEquals(0, cache.answerLookupMisses());
+
+        cache.getAnswer(recordQuery, singleAnswer);
+        assertEquals(1, cache.answerLookupMisses());
+    }
+
     /**
      * ##################################
      *
@@ -244,6 +336,38 @@ public class QueryCacheTest {
         assertTrue(cache.getAnswers(retrieveQuery).stream().anyMatch(ans -> ans.equals(retrieveSingleAnswer)));
     }
 
+    @Test
+    public void recordAnswers_typeTogetherWithItsSuperAndSubTypesAreUpdated(){
+        QueryCache<ReasonerAtomicQuery> cache = new QueryCache<>();
+        cache.nextIteration();
+        cache.recordAnswer(recordQuery, singleAnswer);
+
+        assertTrue(cache.isUpdatedSince(ImmutableSet.of(graph.getRelationshipType("reifiable-relation")), 1));
+        assertTrue(cache.isUpdatedSince(ImmutableSet.of(graph.getRelationshipType("binary")), 1));
+        assertTrue(cache.isUpdatedSince(ImmutableSet.of(graph.admin().getMetaRelationType()), 1));
+        assertFalse(cache.isUpdatedSince(ImmutableSet.of(graph.getRelationshipType("ternary")), 1));
+        assertFalse(cache.isUpdatedSince(ImmutableSet.of(graph.getRelationshipType("binary")), 2));
+    }
+
+    @Test
+    public void reiterateResolution_rulesWhichBodiesReceiveNewAnswersAreReevaluated(){
+        EmbeddedGraknTx<?> tx = reachabilityContext.tx();
+        String queryString = "match (source: $x, target: $y) isa path; $x has name $nx; $y has name $ny; get $nx, $ny;";
+        ReasonerQueryImpl query = ReasonerQueries.create(conjunction("{(source: $x, target: $y) isa path;}", tx), tx);
+        assertTrue(query.requiresReiteration());
+
+        Set<ImmutableList<Object>> paths = tx.graql().infer(true).<GetQuery>parse(queryString).stream()
+                .map(ans -> ImmutableList.of(
+                        ans.get("nx").asAttribute().getValue(),
+                        ans.get("ny").asAttribute().getValue()))
+                .collect(toSet());
+        assertEquals(
+                ImmutableSet.of(
+                        ImmutableList.of("a", "b"), ImmutableList.of("b", "c"), ImmutableList.of("c", "d"),
+                        ImmutableList.of("a", "c"), ImmutableList.of("b", "d"), ImmutableList.of("a", "d")),
+                paths
+        );
+    }
 
     private Conjunction<VarPatternAdmin> conjunction(String patternString, GraknTx graph){
         Set<VarPatternAdmin> vars = graph.graql().parser().parsePattern(patternString).admin()
@@ -0,0 +1,127 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.GraknSession;
+import ai.grakn.GraknTx;
+import ai.grakn.GraknTxType;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.graql.GetQuery;
+import ai.grakn.graql.admin.Answer;
+import ai.grakn.graql.internal.reasoner.cache.SessionAnswerCache;
+import ai.grakn.kb.internal.EmbeddedGraknTx;
+import ai.grakn.test.rule.SessionContext;
+import ai.grakn.util.GraknTestUtil;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class SessionAnswerCacheTest {
+
+    @ClassRule
+    public static final SessionContext sessionContext = SessionContext.create();
+
+    private static final String QUERY = "match $x has name $n; get;";
+
+    private GraknSession session;
+
+    @Before
+    public void setUp(){
+        assumeTrue(GraknTestUtil.usingTinker());
+        session = sessionContext.newSession();
+        ((EmbeddedGraknSession) session).config().setConfigProperty(GraknConfigKey.REASONER_SESSION_CACHE_SIZE, 10);
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            tx.graql().parse("define " +
+                    "name sub attribute, datatype string;" +
+                    "parent sub role; child sub role;" +
+                    "parenthood sub relationship, relates parent, relates child;" +
+                    "person sub entity, has name, plays parent, plays child;" +
+                    "name-inheritance sub rule, " +
+                    "when {(parent: $p, child: $c) isa parenthood; $p has name $n;}, " +
+                    "then {$c has name $n;};"
+            ).execute();
+            tx.graql().parse("insert " +
+                    "$a isa person, has name 'a';" +
+                    "$b isa person;" +
+                    "(parent: $a, child: $b) isa parenthood;"
+            ).execute();
+            tx.commit();
+        }
+    }
+
+    @Test
+    public void whenQueryIsRepeatedInReadTransactions_answersAndExplanationsAreRetrievedFromCache(){
+        List<Answer> answers;
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            answers = tx.graql().infer(true).<GetQuery>parse(QUERY).execute();
+            assertEquals(2, answers.size());
+            assertEquals(1, cache(tx).missCount());
+            assertEquals(0, cache(tx).hitCount());
+        }
+
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            List<Answer> cachedAnswers = tx.graql().infer(true).<GetQuery>parse(QUERY).execute();
+            assertEquals(1, cache(tx).hitCount());
+            assertEquals(answers, cachedAnswers);
+
+            List<Answer> inferredAnswers = cachedAnswers.stream()
+                    .filter(ans -> ans.getExplanation().isRuleExplanation())
+                    .collect(Collectors.toList());
+            assertEquals(1, inferredAnswers.size());
+            assertEquals(
+                    answers.stream().filter(ans -> ans.getExplanation().isRuleExplanation()).collect(Collectors.toSet()),
+                    new HashSet<>(inferredAnswers)
+            );
+            assertTrue(inferredAnswers.stream().allMatch(ans -> !ans.getExplanation().getAnswers().isEmpty()));
+        }
+    }
+
+    @Test
+    public void whenTransactionCommits_cachedAnswersAreNotRetrieved(){
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            tx.graql().infer(true).<GetQuery>parse(QUERY).execute();
+        }
+
+        try (GraknTx tx = session.transaction(GraknTxType.WRITE)) {
+            tx.graql().parse("insert $c isa person, has name 'c';").execute();
+            tx.commit();
+        }
+
+        try (GraknTx tx = session.transaction(GraknTxType.READ)) {
+            List<Answer> answers = tx.graql().infer(true).<GetQuery>parse(QUERY).execute();
+            assertEquals(3, answers.size());
+            assertEquals(0, cache(tx).hitCount());
+            assertEquals(2, cache(tx).missCount());
+        }
+    }
+
+    private static SessionAnswerCache cache(GraknTx tx){
+        return SessionAnswerCache.of((EmbeddedGraknTx<?>) tx).get();
+    }
+}
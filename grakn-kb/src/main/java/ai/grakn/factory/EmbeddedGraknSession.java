@@ -25,10 +25,13 @@ import ai.grakn.GraknSession;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.engine.GraknConfig;
 import ai.grakn.exception.GraknTxOperationException;
 import ai.grakn.kb.internal.EmbeddedGraknTx;
 import ai.grakn.kb.internal.GraknTxTinker;
+import ai.grakn.kb.internal.cache.DataChangeLog;
+import ai.grakn.kb.internal.cache.KeyspaceStatistics;
 import ai.grakn.kb.internal.computer.GraknComputerImpl;
 import ai.grakn.kb.internal.log.CommitLogHandler;
 import ai.grakn.util.ErrorMessage;
@@ -43,12 +46,19 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import static ai.grakn.util.EngineCommunicator.contactEngine;
 import static mjson.Json.read;
@@ -62,7 +72,12 @@ import static mjson.Json.read;
  */
 public class EmbeddedGraknSession implements GraknSession {
     private static final Logger LOG = LoggerFactory.getLogger(EmbeddedGraknSession.class);
-    private static final int LOG_SUBMISSION_PERIOD = 1;
+    private static final long DEFAULT_LOG_SUBMISSION_PERIOD_MS = 1000;
+    private static final int DEFAULT_LOG_SUBMISSION_SIZE = 1000;
+    private static final int DEFAULT_MAX_PENDING_LOGS = 100_000;
+    private static final int MAX_TRACKED_DATA_CHANGES = 100_000;
+    //Post processing storage only used by single engine deployments
+    private static final String IN_MEMORY_POST_PROCESSOR_STORAGE = "in-memory";
     private final String engineUri;
     private final Keyspace keyspace;
     private final GraknConfig config;
@@ -73,6 +88,13 @@ public class EmbeddedGraknSession implements GraknSession {
     private final TxFactory<?> txFactory;
     private final TxFactory<?> computerTxFactory;
 
+    //Caches shared by all the transactions of this session together with the version of the data they were built on
+    private final Map<Class<?>, Object> sessionCaches = new ConcurrentHashMap<>();
+    private final DataChangeLog dataChanges = new DataChangeLog(MAX_TRACKED_DATA_CHANGES);
+    private final AtomicLong schemaVersion = new AtomicLong();
+    private final KeyspaceStatistics statistics = new KeyspaceStatistics();
+    private final boolean observesAllCommits;
+
 
 
     //References so we don't have to open a tx just to check the count of the transactions
@@ -94,14 +116,6 @@ public class EmbeddedGraknSession implements GraknSession {
         this.engineUri = engineUri;
         this.keyspace = keyspace;
 
-        //Create commit log submitter if needed
-        if(remoteSubmissionNeeded) {
-            ThreadFactory namedThreadFactory = new ThreadFactoryBuilder()
-                    .setNameFormat("commit-log-submit-%d").build();
-            commitLogSubmitter = Executors.newSingleThreadScheduledExecutor(namedThreadFactory);
-            commitLogSubmitter.scheduleAtFixedRate(this::submitLogs, 0, LOG_SUBMISSION_PERIOD, TimeUnit.SECONDS);
-        }
-
         //Set properties directly or via a remote call
         if(config == null) {
             if (Grakn.IN_MEMORY.equals(engineUri)) {
@@ -111,9 +125,19 @@ public class EmbeddedGraknSession implements GraknSession {
             }
         }
         this.config = config;
+        this.observesAllCommits = observesAllCommits(config, remoteSubmissionNeeded);
 
         this.commitLogHandler = new CommitLogHandler(keyspace());
 
+        //Create commit log submitter if needed
+        if(remoteSubmissionNeeded) {
+            ThreadFactory namedThreadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("commit-log-submit-%d").build();
+            long period = config.getProperty(GraknConfigKey.COMMIT_LOG_FLUSH_PERIOD_MS, DEFAULT_LOG_SUBMISSION_PERIOD_MS);
+            commitLogSubmitter = Executors.newSingleThreadScheduledExecutor(namedThreadFactory);
+            commitLogSubmitter.scheduleWithFixedDelay(this::submitLogsQuietly, period, period, TimeUnit.MILLISECONDS);
+        }
+
 
         this.txFactory = txFactoryBuilder.getFactory(this, false);
         this.computerTxFactory = txFactoryBuilder.getFactory(this, true);
@@ -123,6 +147,94 @@ public class EmbeddedGraknSession implements GraknSession {
         return commitLogHandler;
     }
 
+    /**
+     * Retrieves a cache shared by all the transactions of this session, creating it if it does not exist yet.
+     * Cached data should be validated against {@link #dataVersion()}.
+     *
+     * @param type the type of the cache
+     * @param cacheSupplier supplier of the cache used if the cache does not exist yet
+     * @return the session cache of the provided type
+     */
+    public <T> T sessionCache(Class<T> type, Supplier<T> cacheSupplier){
+        return type.cast(sessionCaches.computeIfAbsent(type, t -> cacheSupplier.get()));
+    }
+
+    /**
+     * Data held by the session caches, such as answers or counts, can only be trusted when the session knows about
+     * every commit to its {@link Keyspace}. This holds for in-memory knowledge bases, which only exist in this process,
+     * and for the sessions of a single engine deployment, which receive the commit logs of every other writer.
+     * It does not hold when several engines share the storage backend, since commits made through another engine are
+     * never reported to this one.
+     *
+     * @return whether every commit to this {@link Keyspace} is known to this session
+     */
+    public boolean observesAllCommits(){
+        return observesAllCommits;
+    }
+
+    private static boolean observesAllCommits(GraknConfig config, boolean remoteSubmissionNeeded){
+        if (TxFactoryBuilder.IN_MEMORY.equals(config.getProperty(GraknConfigKey.KB_MODE, ""))) return true;
+        return !remoteSubmissionNeeded &&
+                IN_MEMORY_POST_PROCESSOR_STORAGE.equals(config.getProperty(GraknConfigKey.POST_PROCESSOR_STORAGE, ""));
+    }
+
+    /**
+     * @return the version of the data of this {@link Keyspace} as known to this session
+     */
+    public long dataVersion(){
+        return dataChanges.version();
+    }
+
+    /**
+     * Marks the data of this {@link Keyspace} as changed, invalidating the data held by the session caches.
+     * This happens when a commit log is received for this {@link Keyspace}, in which case how the data changed is unknown.
+     */
+    public void dataChanged(){
+        dataChanges.record(null);
+    }
+
+    /**
+     * Marks the data of this {@link Keyspace} as changed by a transaction of this session which committed.
+     *
+     * @param connectedThings the ids of the things which have been created or have gained role players or attributes,
+     *                        or null if the transaction also removed data
+     */
+    public void dataChanged(@Nullable Set<ConceptId> connectedThings){
+        dataChanges.record(connectedThings);
+    }
+
+    /**
+     * @param fromVersion the data version from which the changes are needed
+     * @param toVersion the data version up to which the changes are needed
+     * @return the ids of the things which have been created or have gained role players or attributes between the two
+     * data versions, or empty if the data may have changed in any other way
+     */
+    public Optional<Set<ConceptId>> connectedThings(long fromVersion, long toVersion){
+        return dataChanges.connectedThings(fromVersion, toVersion);
+    }
+
+    /**
+     * @return the version of the schema of this {@link Keyspace} as known to this session
+     */
+    public long schemaVersion(){
+        return schemaVersion.get();
+    }
+
+    /**
+     * Marks the schema of this {@link Keyspace} as changed, invalidating the query plans held by the session caches.
+     * This happens when a transaction of this session which modified the schema commits.
+     */
+    public void schemaChanged(){
+        schemaVersion.incrementAndGet();
+    }
+
+    /**
+     * @return the statistics of this {@link Keyspace} as known to this session, used to estimate query plan costs
+     */
+    public KeyspaceStatistics statistics(){
+        return statistics;
+    }
+
     /**
      * This methods creates a {@link EmbeddedGraknSession} object for the remote API.
      * A user should not call this method directly.
@@ -140,7 +252,10 @@ public class EmbeddedGraknSession implements GraknSession {
      * using provided Grakn configuration and disabling the remote (via REST) submission of commit log.
      */
     public static EmbeddedGraknSession createEngineSession(Keyspace keyspace, String engineUri, GraknConfig config, TxFactoryBuilder txFactoryBuilder){
-        return new EmbeddedGraknSession(keyspace, engineUri, config, false, txFactoryBuilder);
+        EmbeddedGraknSession session = new EmbeddedGraknSession(keyspace, engineUri, config, false, txFactoryBuilder);
+        //Exact counts can only be held if all the writes go through this engine, otherwise counts are computed
+        if (session.observesAllCommits()) session.statistics().enableExactCounts();
+        return session;
     }
 
     GraknConfig getTxConfig(){
@@ -208,7 +323,7 @@ public class EmbeddedGraknSession implements GraknSession {
     @CheckReturnValue
     public GraknComputer getGraphComputer() {
         Graph graph = computerTxFactory.getTinkerPopGraph(false);
-        return new GraknComputerImpl(graph);
+        return new GraknComputerImpl(graph, config.getProperty(GraknConfigKey.KB_ANALYTICS_WORKERS, 0));
     }
 
     @Override
@@ -250,6 +365,34 @@ public class EmbeddedGraknSession implements GraknSession {
         commitLogHandler().submit(engineUri, keyspace).ifPresent(LOG::debug);
     }
 
+    /**
+     * Submits the commit logs of the session without waiting for the next submission period when enough have been
+     * added. When engine falls too far behind, the committing thread submits the logs itself.
+     */
+    public void commitLogsAdded(){
+        if(!remoteSubmissionNeeded) return;
+
+        int pending = commitLogHandler().size();
+        if(pending >= config().getProperty(GraknConfigKey.COMMIT_LOG_MAX_BUFFERED, DEFAULT_MAX_PENDING_LOGS)){
+            submitLogs();
+        } else if(pending >= config().getProperty(GraknConfigKey.COMMIT_LOG_FLUSH_SIZE, DEFAULT_LOG_SUBMISSION_SIZE)){
+            try {
+                commitLogSubmitter.execute(this::submitLogsQuietly);
+            } catch (RejectedExecutionException e){
+                LOG.debug("Session is closing, commit logs are submitted on close");
+            }
+        }
+    }
+
+    //Failed submissions are kept by the handler and retried, so the background submitter must not stop on them
+    private void submitLogsQuietly(){
+        try {
+            submitLogs();
+        } catch (RuntimeException e){
+            LOG.warn("Could not submit the commit logs of keyspace {}, will retry", keyspace, e);
+        }
+    }
+
     private int openTransactions(EmbeddedGraknTx<?> graph){
         if(graph == null) return 0;
         return graph.numOpenTx();
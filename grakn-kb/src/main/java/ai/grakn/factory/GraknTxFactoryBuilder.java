@@ -43,6 +43,7 @@ public class GraknTxFactoryBuilder extends TxFactoryBuilder {
     private static final Map<String, String> factoryMapper = ImmutableMap.of(
             "in-memory", "ai.grakn.factory.TxFactoryTinker",
             "production", "ai.grakn.factory.TxFactoryJanus",
+            "local", "ai.grakn.factory.TxFactoryJanus",
             "distributed", "ai.grakn.factory.TxFactoryJanusHadoop");
 
     private static TxFactoryBuilder instance = null;
@@ -43,6 +43,7 @@ import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.graql.Pattern;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.kb.admin.GraknAdmin;
+import ai.grakn.kb.internal.cache.AttributeGuard;
 import ai.grakn.kb.internal.cache.GlobalCache;
 import ai.grakn.kb.internal.cache.TxCache;
 import ai.grakn.kb.internal.concept.AttributeImpl;
@@ -79,6 +80,7 @@ import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -130,7 +132,7 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
         globalCache = new GlobalCache(session.config());
 
         //Initialise Graph
-        txCache().openTx(GraknTxType.WRITE);
+        txCache().openTx(GraknTxType.WRITE, session.dataVersion());
 
         if (initialiseMetaConcepts()) close(true, false);
     }
@@ -188,7 +190,7 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
      * Opens the thread bound transaction
      */
     public void openTransaction(GraknTxType txType) {
-        txCache().openTx(txType);
+        txCache().openTx(txType, session().dataVersion());
     }
 
     /**
@@ -385,6 +387,7 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
     public void checkSchemaMutationAllowed() {
         checkMutationAllowed();
         if (isBatchTx()) throw GraknTxOperationException.schemaMutation();
+        txCache().schemaWriteOccurred();
     }
 
     public void checkMutationAllowed() {
@@ -711,6 +714,10 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
             if (commitRequired) {
                 closeMessage = ErrorMessage.TX_CLOSED_ON_ACTION.getMessage("committed", keyspace());
                 logs = commitWithLogs(trackLogs);
+                if (!GraknTxType.READ.equals(txType())) {
+                    session().dataChanged(txCache().hasDataBeenRemoved() ? null : txCache().getConnectedThings());
+                }
+                if (txCache().hasSchemaWriteOccurred()) session().schemaChanged();
                 txCache().writeToGraphCache(true);
             } else {
                 txCache().writeToGraphCache(txType().equals(GraknTxType.READ));
@@ -727,10 +734,39 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
         } catch (UnsupportedOperationException e) {
             //Ignored for Tinker
         } finally {
+            if (!txCache().getAttributeGuards().isEmpty()) {
+                AttributeGuard.of(session()).ifPresent(guard -> guard.release(txCache().getAttributeGuards()));
+            }
             txCache().closeTx(closedReason);
         }
     }
 
+    /**
+     * Acquires the guard of an {@link Attribute} index, so that concurrent transactions of the session creating the
+     * same {@link Attribute} wait for this transaction to close and reuse its {@link Attribute}.
+     *
+     * Read transactions never commit the {@link Attribute}s they create, so they never acquire guards.
+     *
+     * @param index the index of the {@link Attribute} about to be created
+     * @return true if the guard of the index is held by this transaction
+     */
+    public boolean guardAttribute(String index) {
+        if (GraknTxType.READ.equals(txType())) return false;
+        return AttributeGuard.of(session()).
+                map(guard -> guard.acquire(index, txCache().getAttributeGuards())).
+                orElse(false);
+    }
+
+    /**
+     * @param index the index of an {@link Attribute}
+     * @return the {@link Attribute} with the index recently committed by a transaction of the session, if it exists
+     */
+    public <V> Optional<Attribute<V>> getRecentAttribute(String index) {
+        return AttributeGuard.of(session()).
+                map(guard -> guard.recentAttribute(index)).
+                map(this::<Attribute<V>>getConcept);
+    }
+
     /**
      * Commits to the graph without submitting any commit logs.
      * @return the commit log that would have been submitted if it is needed.
@@ -745,22 +781,42 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
 
         Map<ConceptId, Long> newInstances = txCache().getShardingCount();
         Map<String, ConceptId> newAttributes = txCache().getNewAttributes();
-        boolean logsExist = !newInstances.isEmpty() || !newAttributes.isEmpty();
+
+        //Relationships stored as edges never result in a new shard, so their types are logged without any new instances.
+        //This still lets engine know that the keyspace has been written to.
+        Map<ConceptId, Long> loggedInstances = new HashMap<>(newInstances);
+        txCache().getEdgeInstanceCount().keySet().forEach(typeId -> loggedInstances.putIfAbsent(typeId, 0L));
+        //Likewise the meta type, which never has direct instances, is logged when the schema has been written to
+        if (txCache().hasSchemaWriteOccurred()) loggedInstances.putIfAbsent(getMetaConcept().id(), 0L);
+        boolean logsExist = !loggedInstances.isEmpty() || !newAttributes.isEmpty();
 
         LOG.trace("Graph is valid. Committing graph . . . ");
-        commitTransactionInternal();
+        boolean committed = false;
+        session().statistics().committing();
+        try {
+            commitTransactionInternal();
+            committed = true;
+        } finally {
+            session().statistics().committed(
+                    committed ? newInstances : Collections.emptyMap(),
+                    committed ? txCache().getEdgeInstanceCount() : Collections.emptyMap());
+        }
 
         LOG.trace("Graph committed.");
+        if (!newAttributes.isEmpty()) {
+            AttributeGuard.of(session()).ifPresent(guard -> guard.committed(newAttributes));
+        }
 
         //If we have logs to commit get them and add them
         if (logsExist) {
             if(trackingNeeded) {
-                session().commitLogHandler().addNewInstances(newInstances);
+                session().commitLogHandler().addNewInstances(loggedInstances);
                 session().commitLogHandler().addNewAttributes(newAttributes);
+                session().commitLogsAdded();
             } else {
                 Map<String, Set<ConceptId>> attributes = newAttributes.entrySet().stream().
                         collect(Collectors.toMap(Map.Entry::getKey, e -> Collections.singleton(e.getValue())));
-                return Optional.of(CommitLog.create(keyspace(), newInstances, attributes));
+                return Optional.of(CommitLog.create(keyspace(), loggedInstances, attributes));
             }
         }
 
@@ -857,7 +913,7 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
                 otherRelations.forEach(otherRelation -> copyRelation(mainResource, otherAttribute, otherRelation));
 
                 //Delete the node
-                AttributeImpl.from(otherAttribute).deleteNode();
+                AttributeImpl.from(otherAttribute).deleteThingNode();
             }
 
             //Restore the index
@@ -924,14 +980,32 @@ public abstract class EmbeddedGraknTx<G extends Graph> implements GraknAdmin {
     /**
          * Creates a new shard for the concept
          * @param conceptId the id of the concept to shard
+         * @return the id of the new shard, or empty if the concept does not exist
          */
-    public void shard(ConceptId conceptId) {
+    public Optional<String> shard(ConceptId conceptId) {
         ConceptImpl type = getConcept(conceptId);
         if (type == null) {
             LOG.warn("Cannot shard concept [" + conceptId + "] due to it not existing in the graph");
+            return Optional.empty();
         } else {
-            type.createShard();
+            return Optional.of(type.createShard().id());
+        }
+    }
+
+    /**
+         * Moves instances of the concept from its older shards to its newly created shards
+         * @param conceptId the id of the concept to rebalance
+         * @param newShardIds the ids of the newly created shards of the concept
+         * @param limit the maximum number of instances to move
+         * @return the number of instances which have been moved
+         */
+    public long rebalanceShards(ConceptId conceptId, Set<String> newShardIds, long limit) {
+        ConceptImpl type = getConcept(conceptId);
+        if (type == null) {
+            LOG.warn("Cannot rebalance the shards of concept [" + conceptId + "] due to it not existing in the graph");
+            return 0;
         }
+        return type.rebalanceShards(newShardIds, limit);
     }
 
     /**
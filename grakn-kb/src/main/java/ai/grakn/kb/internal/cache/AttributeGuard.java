@@ -0,0 +1,137 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.GraknConfigKey;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.factory.EmbeddedGraknSession;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Guards the creation of {@link ai.grakn.concept.Attribute}s by the transactions of a session
+ * </p>
+ *
+ * <p>
+ *     Concurrent transactions which create an {@link ai.grakn.concept.Attribute} with the same index each create their
+ *     own vertex, which have to be merged by post processing later. To avoid this, a transaction about to create an
+ *     {@link ai.grakn.concept.Attribute} first acquires the guard of its index, which it holds until it is closed.
+ *     A concurrent transaction about to create the same {@link ai.grakn.concept.Attribute} waits for the guard, and then
+ *     reuses the {@link ai.grakn.concept.Attribute} committed in the meantime, which is found among the recently
+ *     committed {@link ai.grakn.concept.Attribute}s of the session if it cannot be found by index yet.
+ * </p>
+ *
+ * <p>
+ *     Guards are semaphores rather than locks, as transactions may be closed by another thread than the one which
+ *     created their {@link ai.grakn.concept.Attribute}s. There is one guard per index, held weakly, so transactions
+ *     only ever wait for transactions creating the same {@link ai.grakn.concept.Attribute}. Waiting for a guard is
+ *     bounded, so transactions which guard the same indices in a different order do not deadlock but create a
+ *     duplicate, as they would without guard.
+ * </p>
+ *
+ * <p>
+ *     The guard is disabled by default, see {@link GraknConfigKey#ATTRIBUTE_GUARD_TIMEOUT_MS}.
+ * </p>
+ *
+ * @author Grakn Warriors
+ */
+public class AttributeGuard {
+    private static final int RECENT_ATTRIBUTES = 100_000;
+
+    private final LoadingCache<String, Semaphore> guards = CacheBuilder.newBuilder()
+            .weakValues()
+            .build(CacheLoader.from(() -> new Semaphore(1)));
+    private final Cache<String, ConceptId> recentAttributes;
+    private final long timeoutMs;
+
+    AttributeGuard(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.recentAttributes = CacheBuilder.newBuilder()
+                .maximumSize(RECENT_ATTRIBUTES)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * @param session the session whose transactions create {@link ai.grakn.concept.Attribute}s
+     * @return the attribute guard of the session if it is enabled
+     */
+    public static Optional<AttributeGuard> of(EmbeddedGraknSession session) {
+        AttributeGuard guard = session.sessionCache(AttributeGuard.class, () ->
+                new AttributeGuard(session.config().getProperty(GraknConfigKey.ATTRIBUTE_GUARD_TIMEOUT_MS, 0)));
+        return guard.timeoutMs > 0 ? Optional.of(guard) : Optional.empty();
+    }
+
+    /**
+     * Acquires the guard of an index on behalf of a transaction, waiting for the transaction holding it to close
+     *
+     * @param index the index of the {@link ai.grakn.concept.Attribute} about to be created
+     * @param held the guards held by the transaction, to which the guard is added once acquired
+     * @return true if the transaction holds the guard of the index
+     */
+    public boolean acquire(String index, Set<Semaphore> held) {
+        Semaphore guard = guards.getUnchecked(index);
+        //The transaction may create the same attribute more than once, in which case it already holds the guard
+        if (held.contains(guard)) return true;
+        try {
+            if (!guard.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        held.add(guard);
+        return true;
+    }
+
+    /**
+     * Releases all the guards held by a transaction
+     */
+    public void release(Set<Semaphore> held) {
+        held.forEach(Semaphore::release);
+        held.clear();
+    }
+
+    /**
+     * @param index the index of an {@link ai.grakn.concept.Attribute}
+     * @return the id of the {@link ai.grakn.concept.Attribute} recently committed with the index, if there is one
+     */
+    @Nullable
+    public ConceptId recentAttribute(String index) {
+        return recentAttributes.getIfPresent(index);
+    }
+
+    /**
+     * Records the {@link ai.grakn.concept.Attribute}s committed by a transaction, before it releases its guards
+     *
+     * @param attributes the committed {@link ai.grakn.concept.Attribute}s by index
+     */
+    public void committed(Map<String, ConceptId> attributes) {
+        recentAttributes.putAll(attributes);
+    }
+}
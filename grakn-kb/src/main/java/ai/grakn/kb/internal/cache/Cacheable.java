@@ -25,8 +25,10 @@ import ai.grakn.concept.Label;
 import ai.grakn.concept.LabelId;
 import ai.grakn.kb.internal.structure.Shard;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.UnaryOperator;
@@ -86,6 +88,10 @@ public class Cacheable<V> {
         return new Cacheable<>(HashSet::new);
     }
 
+    public static <T> Cacheable<List<T>> list(){
+        return new Cacheable<>(ArrayList::new);
+    }
+
     public static <K, T> Cacheable<Map<K, T>> map(){
         return new Cacheable<>(HashMap::new);
     }
@@ -0,0 +1,117 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.concept.ConceptId;
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Tracks how the data of a keyspace changed between data versions of a session
+ * </p>
+ *
+ * <p>
+ *     Each data version records the {@link ai.grakn.concept.Thing}s which have been created or have gained role players
+ *     or attributes, so that results computed over the data can be patched rather than recomputed. Changes which remove
+ *     data, or which are only known from a commit log, are recorded as unknown. Only the most recent changes are kept.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class DataChangeLog {
+    private final int maxTrackedConcepts;
+
+    //Guarded by this
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private long version = 0;
+    private long forgottenVersion = 0;
+    private int trackedConcepts = 0;
+
+    public DataChangeLog(int maxTrackedConcepts){
+        this.maxTrackedConcepts = maxTrackedConcepts;
+    }
+
+    /**
+     * @return the current data version
+     */
+    public synchronized long version(){
+        return version;
+    }
+
+    /**
+     * Records a change of the data, moving to the next data version
+     *
+     * @param connectedThings the ids of the things which have been created or have gained role players or attributes,
+     *                        or null if the change is unknown
+     * @return the new data version
+     */
+    public synchronized long record(@Nullable Set<ConceptId> connectedThings){
+        version++;
+        if (connectedThings == null || connectedThings.size() > maxTrackedConcepts) {
+            changes.clear();
+            trackedConcepts = 0;
+            forgottenVersion = version;
+            return version;
+        }
+
+        changes.addLast(new Change(version, ImmutableSet.copyOf(connectedThings)));
+        trackedConcepts += connectedThings.size();
+        while (trackedConcepts > maxTrackedConcepts) {
+            Change forgotten = changes.removeFirst();
+            trackedConcepts -= forgotten.connectedThings.size();
+            forgottenVersion = forgotten.version;
+        }
+        return version;
+    }
+
+    /**
+     * @param fromVersion the data version the changes are applied to
+     * @param toVersion the data version the changes lead to
+     * @return the ids of the things connected between the two versions, or empty if any of the changes is unknown
+     */
+    public synchronized Optional<Set<ConceptId>> connectedThings(long fromVersion, long toVersion){
+        if (fromVersion < forgottenVersion || toVersion > version || fromVersion > toVersion) return Optional.empty();
+
+        Set<ConceptId> connectedThings = new HashSet<>();
+        for (Change change : changes) {
+            if (change.version > fromVersion && change.version <= toVersion) {
+                connectedThings.addAll(change.connectedThings);
+            }
+        }
+        return Optional.of(connectedThings);
+    }
+
+    private static class Change {
+        private final long version;
+        private final Set<ConceptId> connectedThings;
+
+        Change(long version, Set<ConceptId> connectedThings){
+            this.version = version;
+            this.connectedThings = connectedThings;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.concept.ConceptId;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ *     Tracks Keyspace Statistics
+ * </p>
+ *
+ * <p>
+ *     Holds the number of direct instances of each {@link ai.grakn.concept.Type} of a keyspace, as known to a session.
+ *     Counts are set from the centrally maintained counts of engine whenever a commit log of the keyspace is processed
+ *     and are incremented when a transaction of the session commits. Counts of types which have not been written to
+ *     since the session has been opened are unknown.
+ * </p>
+ *
+ * <p>
+ *     Sessions through which all the writes to a keyspace go, such as the sessions of engine, can also hold exact
+ *     counts. Exact counts are seeded from a full count of the instances of the types, which is only accepted if no
+ *     transaction committed while it was running, and are then updated by every commit of the session.
+ * </p>
+ *
+ * @author Grakn Warriors
+ *
+ */
+public class KeyspaceStatistics {
+    private final Map<ConceptId, Long> instanceCounts = new ConcurrentHashMap<>();
+
+    //Guarded by this
+    private final Map<ConceptId, Long> exactCounts = new HashMap<>();
+    private boolean exactCountsEnabled = false;
+    private long exactCountsVersion = 0;
+    private int committing = 0;
+
+    /**
+     * @param typeId the id of the type
+     * @return the number of direct instances of the type or null if it is unknown
+     */
+    @Nullable
+    public Long instanceCount(ConceptId typeId){
+        return instanceCounts.get(typeId);
+    }
+
+    /**
+     * @param typeId the id of the type
+     * @param count the number of direct instances the type has
+     */
+    public void setInstanceCount(ConceptId typeId, long count){
+        instanceCounts.put(typeId, Math.max(count, 0L));
+    }
+
+    /**
+     * Updates the known counts with the number of instances types have gained or lost.
+     * Types which counts are unknown are left unknown, as the increment alone does not tell how many instances they have.
+     *
+     * @param increments the number of instances gained or lost by types
+     */
+    public void increment(Map<ConceptId, Long> increments){
+        increments.forEach((typeId, increment) ->
+                instanceCounts.computeIfPresent(typeId, (id, count) -> Math.max(count + increment, 0L)));
+    }
+
+    /**
+     * Allows exact counts to be held. This should only be done when all the writes to the keyspace go through the session.
+     */
+    public synchronized void enableExactCounts(){
+        exactCountsEnabled = true;
+    }
+
+    /**
+     * Marks the start of a commit of a transaction of the session
+     */
+    public synchronized void committing(){
+        committing++;
+        exactCountsVersion++;
+    }
+
+    /**
+     * Marks the end of a commit of a transaction of the session, updating both the known and the exact counts.
+     * Relationships stored as edges are only reflected in the exact counts, as the known counts mirror the counts
+     * engine keeps for sharding.
+     *
+     * @param increments the number of instances gained or lost by types, empty if the commit failed
+     * @param edgeIncrements the number of relationships stored as edges gained or lost by types, empty if the commit failed
+     */
+    public synchronized void committed(Map<ConceptId, Long> increments, Map<ConceptId, Long> edgeIncrements){
+        committing = Math.max(committing - 1, 0);
+        exactCountsVersion++;
+        increment(increments);
+        Stream.of(increments, edgeIncrements).forEach(map -> map.forEach((typeId, increment) ->
+                exactCounts.computeIfPresent(typeId, (id, count) -> Math.max(count + increment, 0L))));
+    }
+
+    /**
+     * Discards the exact counts, because the keyspace has been written to without going through the session
+     */
+    public synchronized void invalidateExactCounts(){
+        exactCounts.clear();
+        exactCountsVersion++;
+    }
+
+    /**
+     * Stops holding exact counts, because the keyspace is written to by transactions which do not go through the
+     * session. Their writes are only learnt about once their commit logs arrive, which may be long after they commit.
+     */
+    public synchronized void disableExactCounts(){
+        exactCountsEnabled = false;
+        invalidateExactCounts();
+    }
+
+    /**
+     * @return the version to pass to {@link #setExactInstanceCounts(Map, long)} when seeding exact counts, or empty if
+     * exact counts cannot currently be seeded
+     */
+    public synchronized Optional<Long> exactCountsVersion(){
+        if (!exactCountsEnabled || committing > 0) return Optional.empty();
+        return Optional.of(exactCountsVersion);
+    }
+
+    /**
+     * Seeds exact counts, unless a transaction has committed since the version was retrieved
+     *
+     * @param counts the number of direct instances of types
+     * @param version the version retrieved by {@link #exactCountsVersion()} before counting the instances
+     * @return true if the counts have been seeded
+     */
+    public synchronized boolean setExactInstanceCounts(Map<ConceptId, Long> counts, long version){
+        if (!exactCountsEnabled || committing > 0 || version != exactCountsVersion) return false;
+        exactCounts.putAll(counts);
+        return true;
+    }
+
+    /**
+     * @param typeIds the ids of the types
+     * @return the exact number of direct instances of each type or empty if the exact count of any type is unknown
+     */
+    public synchronized Optional<Map<ConceptId, Long>> exactInstanceCounts(Set<ConceptId> typeIds){
+        Map<ConceptId, Long> counts = new HashMap<>();
+        for (ConceptId typeId : typeIds) {
+            Long count = exactCounts.get(typeId);
+            if (count == null) return Optional.empty();
+            counts.put(typeId, count);
+        }
+        return Optional.of(counts);
+    }
+}
@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
 
 /**
  * <p>
@@ -80,6 +81,16 @@ public class TxCache{
     //We Track the number of concept connections which have been made which may result in a new shard
     private final Map<ConceptId, Long> shardingCount = new HashMap<>();
 
+    //We Track the number of relationships stored as edges which have been added or removed, these never result in a new shard
+    private final Map<ConceptId, Long> edgeInstanceCount = new HashMap<>();
+
+    //Things which have been created or have gained role players or attributes, and whether any data has been removed
+    private final Set<ConceptId> connectedThings = new HashSet<>();
+    private boolean dataRemoved = false;
+
+    //Guards of the attributes created by this transaction, held until it is closed
+    private final Set<Semaphore> attributeGuards = new HashSet<>();
+
     //New attributes are tracked so that we can merge any duplicate attributes in post.
     // This is a map of attribute indices to concept ids
     // The index and id are directly cached to prevent unneeded reads
@@ -88,7 +99,9 @@ public class TxCache{
     //Transaction Specific Meta Data
     private boolean isTxOpen = false;
     private boolean writeOccurred = false;
+    private boolean schemaWriteOccurred = false;
     private GraknTxType txType;
+    private long dataVersion = 0;
     private String closedReason = null;
 
     public TxCache(GlobalCache globalCache) {
@@ -116,6 +129,21 @@ public class TxCache{
         writeOccurred = true;
     }
 
+    /**
+     * Notifies the cache that the schema has been mutated.
+     * This is later used to determine if the schema dependent session caches need to be invalidated on commit.
+     */
+    public void schemaWriteOccurred(){
+        schemaWriteOccurred = true;
+    }
+
+    /**
+     * @return true if the schema has been mutated in this transaction
+     */
+    public boolean hasSchemaWriteOccurred(){
+        return schemaWriteOccurred;
+    }
+
     /**
      *
      * @return true if ths schema labels have been cached. The graph cannot operate if this is false.
@@ -167,6 +195,14 @@ public class TxCache{
         return shardingCount;
     }
 
+    /**
+     *
+     * @return All the implicit relationship types that have gained or lost instances stored as edges and by how much
+     */
+    public Map<ConceptId, Long> getEdgeInstanceCount(){
+        return edgeInstanceCount;
+    }
+
     /**
      *
      * @return All the types currently cached in the transaction. Used for
@@ -220,6 +256,7 @@ public class TxCache{
 
     public void remove(Casting casting){
         modifiedCastings.remove(casting);
+        dataRemoved = true;
     }
 
     /**
@@ -310,11 +347,35 @@ public class TxCache{
     public void removedInstance(ConceptId conceptId){
         shardingCount.compute(conceptId, (key, value) -> value == null ? -1 : value - 1);
         cleanupShardingCount(conceptId);
+        dataRemoved = true;
     }
     private void cleanupShardingCount(ConceptId conceptId){
         if(shardingCount.get(conceptId) == 0) shardingCount.remove(conceptId);
     }
 
+    public void addedEdgeInstance(ConceptId conceptId){
+        edgeInstanceCount.compute(conceptId, (key, value) -> value == null ? 1 : value + 1);
+        cleanupEdgeInstanceCount(conceptId);
+    }
+    public void removedEdgeInstance(ConceptId conceptId){
+        edgeInstanceCount.compute(conceptId, (key, value) -> value == null ? -1 : value - 1);
+        cleanupEdgeInstanceCount(conceptId);
+        dataRemoved = true;
+    }
+    private void cleanupEdgeInstanceCount(ConceptId conceptId){
+        if(edgeInstanceCount.get(conceptId) == 0) edgeInstanceCount.remove(conceptId);
+    }
+
+
+    public void thingConnected(ConceptId conceptId){
+        connectedThings.add(conceptId);
+    }
+    public Set<ConceptId> getConnectedThings(){
+        return connectedThings;
+    }
+    public boolean hasDataBeenRemoved(){
+        return dataRemoved;
+    }
 
     public void addNewAttribute(String index, ConceptId conceptId){
         newAttributes.put(index, conceptId);
@@ -344,6 +405,10 @@ public class TxCache{
         return modifiedCastings;
     }
 
+    public Set<Semaphore> getAttributeGuards() {
+        return attributeGuards;
+    }
+
     public void addNewRelationship(Relationship relationship){
         newRelationships.add(relationship);
     }
@@ -354,6 +419,7 @@ public class TxCache{
     //--------------------------------------- Transaction Specific Meta Data -------------------------------------------
     public void closeTx(String closedReason){
         isTxOpen = false;
+        schemaWriteOccurred = false;
         this.closedReason = closedReason;
 
         //Clear Concept Caches
@@ -368,13 +434,21 @@ public class TxCache{
         newAttributes.clear();
         newRelationships.clear();
         shardingCount.clear();
+        edgeInstanceCount.clear();
+        connectedThings.clear();
+        dataRemoved = false;
         conceptCache.clear();
         schemaConceptCache.clear();
         labelCache.clear();
     }
-    public void openTx(GraknTxType txType){
+    /**
+     * @param txType the type of the transaction being opened
+     * @param dataVersion the data version of the session when the transaction is opened
+     */
+    public void openTx(GraknTxType txType, long dataVersion){
         isTxOpen = true;
         this.txType = txType;
+        this.dataVersion = dataVersion;
         closedReason = null;
     }
     public boolean isTxOpen(){
@@ -385,6 +459,13 @@ public class TxCache{
         return txType;
     }
 
+    /**
+     * @return the data version of the session when the transaction was opened, i.e. the newest data it may read
+     */
+    public long dataVersion(){
+        return dataVersion;
+    }
+
     public String getClosedReason(){
         return closedReason;
     }
@@ -21,6 +21,7 @@ package ai.grakn.kb.internal.computer;
 import ai.grakn.GraknComputer;
 import ai.grakn.concept.LabelId;
 import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
@@ -55,6 +56,11 @@ import java.util.stream.Collectors;
  * {@link MapReduce} processed the vertices in a parallel manner by aggregating values emitted by vertices.
  * MapReduce can be executed alone or used to collect the results after executing a VertexProgram.
  * </p>
+ * <p>
+ * Distributed graphs are computed with the {@link GraknSparkComputer}. Any other graph is computed in process with its
+ * own multi-threaded {@link GraphComputer}, which avoids the job startup and serialisation overheads of Spark when the
+ * computation fits on a single machine.
+ * </p>
  *
  * @author duckofyork
  * @author sheldonkhall
@@ -62,16 +68,28 @@ import java.util.stream.Collectors;
  */
 public class GraknComputerImpl implements GraknComputer {
     private final Graph graph;
-    private final Class<? extends GraphComputer> graphComputerClass;
+    private final @Nullable Class<? extends GraphComputer> graphComputerClass;
+    private final int workers;
     private GraphComputer graphComputer = null;
     private boolean filterAllEdges = false;
 
     public GraknComputerImpl(Graph graph) {
+        this(graph, 0);
+    }
+
+    /**
+     * @param graph the graph to compute over
+     * @param workers the number of threads of an in process computer, or 0 to use the default of the computer
+     */
+    public GraknComputerImpl(Graph graph, int workers) {
         this.graph = graph;
+        this.workers = workers;
         if (graph instanceof TinkerGraph) {
             graphComputerClass = TinkerGraphComputer.class;
-        } else {
+        } else if (graph instanceof HadoopGraph) {
             graphComputerClass = GraknSparkComputer.class;
+        } else {
+            graphComputerClass = null;
         }
     }
 
@@ -101,7 +119,7 @@ public class GraknComputerImpl implements GraknComputer {
 
     @Override
     public void killJobs() {
-        if (graphComputer != null && graphComputerClass.equals(GraknSparkComputer.class)) {
+        if (graphComputer != null && GraknSparkComputer.class.equals(graphComputerClass)) {
             ((GraknSparkComputer) graphComputer).cancelJobs();
         }
     }
@@ -116,7 +134,11 @@ public class GraknComputerImpl implements GraknComputer {
     }
 
     protected GraphComputer getGraphComputer() {
-        return graph.compute(this.graphComputerClass);
+        GraphComputer computer = graphComputerClass == null ? graph.compute() : graph.compute(graphComputerClass);
+        if (workers > 0 && !GraknSparkComputer.class.equals(graphComputerClass)) {
+            computer = computer.workers(workers);
+        }
+        return computer;
     }
 
     private void applyFilters(Set<LabelId> types, boolean includesRolePlayerEdge) {
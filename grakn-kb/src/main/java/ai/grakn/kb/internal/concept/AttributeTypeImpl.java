@@ -128,8 +128,30 @@ public class AttributeTypeImpl<D> extends TypeImpl<AttributeType<D>, Attribute<D
             return vertex().tx().factory().buildAttribute(vertex, type, value);
         };
 
+        //Inferred attributes are never committed, so there is no point waiting for concurrent transactions
         return putInstance(Schema.BaseType.ATTRIBUTE,
-                () -> attribute(value), instanceBuilder, isInferred);
+                () -> isInferred ? attribute(value) : guardedAttribute(value), instanceBuilder, isInferred);
+    }
+
+    /**
+     * Finds the {@link Attribute} with the provided value. If it does not exist yet, the guard of its index is acquired
+     * before looking for it again, so that an {@link Attribute} created by a concurrent transaction is reused.
+     *
+     * @param value The value of the {@link Attribute}
+     * @return The {@link Attribute} with the value or null if it does not exist
+     */
+    @Nullable
+    private Attribute<D> guardedAttribute(D value){
+        Attribute<D> attribute = attribute(value);
+        if(attribute != null) return attribute;
+
+        String index = Schema.generateAttributeIndex(label(), value.toString());
+        if(!vertex().tx().guardAttribute(index)) return null;
+
+        //The attribute may have been committed by a concurrent transaction while waiting for the guard
+        attribute = attribute(value);
+        if(attribute != null) return attribute;
+        return vertex().tx().<D>getRecentAttribute(index).orElse(null);
     }
 
     /**
@@ -34,7 +34,9 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -59,6 +61,8 @@ public abstract class ConceptImpl implements Concept, ConceptVertex, CacheOwner{
         Vertex shardVertex = vertex().tx().getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), currentShardId).next();
         return vertex().tx().factory().buildShard(shardVertex);
     });
+    //Same as the current shard, the shards of a concept are only cached for the transaction
+    private final Cache<List<Shard>> cachedShards = Cache.createTxCache(this, Cacheable.list(), () -> shards().collect(Collectors.toList()));
     private final Cache<Long> shardCount = Cache.createSessionCache(this, Cacheable.number(), () -> shards().count());
     private final Cache<ConceptId> conceptId = Cache.createPersistentCache(this, Cacheable.conceptId(), () -> ConceptId.of(vertex().property(Schema.VertexProperty.ID)));
     private final VertexElement vertexElement;
@@ -205,16 +209,21 @@ public abstract class ConceptImpl implements Concept, ConceptVertex, CacheOwner{
     }
 
     //----------------------------------- Sharding Functionality
-    public void createShard(){
+    /**
+     * @return the new shard, which becomes the current shard of the concept
+     */
+    public Shard createShard(){
         VertexElement shardVertex = vertex().tx().addVertexElement(Schema.BaseType.SHARD);
         Shard shard = vertex().tx().factory().buildShard(this, shardVertex);
         vertex().property(Schema.VertexProperty.CURRENT_SHARD, shard.id());
         currentShard.set(shard);
+        cachedShards.ifPresent(shards -> shards.add(shard));
 
         //Updated the cached shard count if needed
         if(shardCount.isPresent()){
             shardCount.set(shardCount() + 1);
         }
+        return shard;
     }
 
     public Stream<Shard> shards(){
@@ -231,4 +240,47 @@ public abstract class ConceptImpl implements Concept, ConceptVertex, CacheOwner{
         return currentShard.get();
     }
 
+    /**
+     * New instances are spread across all the shards of the concept by hashing their id, so that inserting many
+     * instances of a large type does not contend on the single current shard.
+     *
+     * @param instance the new instance to link to a shard
+     * @return the shard the instance should be linked to
+     */
+    Shard shardOf(ConceptImpl instance){
+        List<Shard> shards = cachedShards.get();
+        if(shards.size() <= 1) return currentShard();
+        return shards.get(Math.floorMod(instance.id().hashCode(), shards.size()));
+    }
+
+    /**
+     * Moves instances linked to the older shards of the concept to its newly created shards, so that the new shards
+     * take their share of the existing instances. The same number of instances is taken from each of the older shards
+     * and the instances are dealt out to the new shards in turn.
+     *
+     * @param newShardIds the ids of the newly created shards
+     * @param limit the maximum number of instances to move
+     * @return the number of instances which have been moved
+     */
+    public long rebalanceShards(Set<String> newShardIds, long limit){
+        List<Shard> newShards = cachedShards.get().stream().filter(shard -> newShardIds.contains(shard.id())).collect(Collectors.toList());
+        List<Shard> oldShards = cachedShards.get().stream().filter(shard -> !newShardIds.contains(shard.id())).collect(Collectors.toList());
+        if(newShards.isEmpty() || oldShards.isEmpty() || limit <= 0) return 0;
+
+        long perShard = (limit + oldShards.size() - 1) / oldShards.size();
+        long moved = 0;
+        for(Shard shard : oldShards){
+            long toMove = Math.min(perShard, limit - moved);
+            List<VertexElement> instances = shard.links().limit(toMove).
+                    map(instance -> ConceptVertex.from(instance).vertex()).collect(Collectors.toList());
+            for(VertexElement instance : instances){
+                Shard newShard = newShards.get((int) (moved % newShards.size()));
+                instance.deleteEdge(Direction.OUT, Schema.EdgeLabel.ISA, shard.vertex());
+                instance.addEdge(newShard.vertex(), Schema.EdgeLabel.ISA);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
 }
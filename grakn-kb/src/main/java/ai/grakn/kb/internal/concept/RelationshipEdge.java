@@ -84,6 +84,11 @@ public class RelationshipEdge implements RelationshipStructure, CacheOwner {
     private RelationshipEdge(RelationshipType relationshipType, Role ownerRole, Role valueRole, EdgeElement edgeElement) {
         this(edgeElement);
 
+        //Relationships stored as edges are counted as instances of their type, but they are never sharded
+        if(edgeElement.property(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID) == null){
+            edgeElement.tx().txCache().addedEdgeInstance(relationshipType.id());
+        }
+
         edgeElement.propertyImmutable(Schema.EdgeProperty.RELATIONSHIP_ROLE_OWNER_LABEL_ID, ownerRole, null, o -> o.labelId().getValue());
         edgeElement.propertyImmutable(Schema.EdgeProperty.RELATIONSHIP_ROLE_VALUE_LABEL_ID, valueRole, null, v -> v.labelId().getValue());
         edgeElement.propertyImmutable(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID, relationshipType, null, t -> t.labelId().getValue());
@@ -122,8 +127,8 @@ public class RelationshipEdge implements RelationshipStructure, CacheOwner {
         VertexElement relationVertex = edge().tx().addVertexElement(Schema.BaseType.RELATIONSHIP, id());
         RelationshipReified relationReified = edge().tx().factory().buildRelationReified(relationVertex, type());
 
-        //Delete the old edge
-        delete();
+        //Delete the old edge. The relationship is still an instance of its type, so it is not counted as removed
+        edge().delete();
 
         return relationReified;
     }
@@ -179,6 +184,7 @@ public class RelationshipEdge implements RelationshipStructure, CacheOwner {
 
     @Override
     public void delete() {
+        edge().tx().txCache().removedEdgeInstance(type().id());
         edge().delete();
     }
 
@@ -143,6 +143,8 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
         edge.property(Schema.EdgeProperty.ROLE_LABEL_ID, role.labelId().getValue());
         Casting casting = Casting.create(edge, owner, role, toThing);
         vertex().tx().txCache().trackForValidation(casting);
+        vertex().tx().txCache().thingConnected(id());
+        vertex().tx().txCache().thingConnected(toThing.id());
     }
 
     /**
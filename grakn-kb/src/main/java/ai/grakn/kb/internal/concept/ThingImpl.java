@@ -123,8 +123,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
             return relationship;
         }).collect(Collectors.toSet());
 
-        vertex().tx().txCache().removedInstance(type().id());
-        deleteNode();
+        deleteThingNode();
 
         relationships.forEach(relation -> {
             if(relation.type().isImplicit()){//For now implicit relationships die
@@ -136,6 +135,16 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         });
     }
 
+    /**
+     * Deletes the vertex of this {@link Thing} together with the {@link Relationship}s stored as its edges,
+     * keeping track of the instances which are removed
+     */
+    public void deleteThingNode(){
+        edgeRelations().forEach(relationship -> vertex().tx().txCache().removedEdgeInstance(relationship.type().id()));
+        vertex().tx().txCache().removedInstance(type().id());
+        deleteNode();
+    }
+
     /**
      * This index is used by concepts such as casting and relations to speed up internal lookups
      * @return The inner index value of some concepts.
@@ -293,6 +302,8 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
 
         EdgeElement attributeEdge = addEdge(AttributeImpl.from(attribute), Schema.EdgeLabel.ATTRIBUTE);
         if(isInferred) attributeEdge.property(Schema.EdgeProperty.IS_INFERRED, true);
+        vertex().tx().txCache().thingConnected(id());
+        vertex().tx().txCache().thingConnected(attribute.id());
         return vertex().tx().factory().buildRelation(attributeEdge, hasAttribute, hasAttributeOwner, hasAttributeValue);
     }
 
@@ -336,7 +347,7 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         if(type != null){
             //noinspection unchecked
             cachedType.set((V) type); //We cache the type early because it turns out we use it EVERY time. So this prevents many db reads
-            type.currentShard().link(this);
+            type.shardOf(this).link(this);
             setInternalType(type);
         }
     }
@@ -128,6 +128,7 @@ public class TypeImpl<T extends Type, V extends Thing> extends SchemaConceptImpl
         }
         V instance = producer.apply(instanceVertex, getThis());
         assert instance != null : "producer should never return null";
+        if(!Schema.MetaSchema.isMetaLabel(label())) vertex().tx().txCache().thingConnected(instance.id());
         return instance;
     }
 
@@ -207,7 +208,7 @@ public class TypeImpl<T extends Type, V extends Thing> extends SchemaConceptImpl
     }
     @Override
     boolean deletionAllowed(){
-        return super.deletionAllowed() && !currentShard().links().findAny().isPresent();
+        return super.deletionAllowed() && shards().noneMatch(shard -> shard.links().findAny().isPresent());
     }
 
     /**
@@ -83,7 +83,21 @@ public class CommitLogHandler {
     }
 
     /**
-     * Submits the commit logs to the provided server address and under the provided {@link Keyspace}
+     * @return the number of entries of the commit log waiting to be submitted
+     */
+    public int size(){
+        try{
+            lock.readLock().lock();
+            return commitLog().instanceCount().size() + commitLog().attributes().size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Submits the commit logs to the provided server address and under the provided {@link Keyspace}.
+     * The lock is only held while taking the log out, so that committing transactions do not wait for engine.
+     * If the submission fails the log is merged back, to be submitted again later.
      */
     public Optional<String> submit(String engineUri, Keyspace keyspace){
         if(commitLog().instanceCount().isEmpty() && commitLog().attributes().isEmpty()){
@@ -91,15 +105,29 @@ public class CommitLogHandler {
         }
 
         URI endPoint = getCommitLogEndPoint(engineUri, keyspace);
+        CommitLog pending = CommitLog.createDefault(keyspace);
         try{
             lock.writeLock().lock();
-            String response = EngineCommunicator.contactEngine(endPoint, REST.HttpConn.POST_METHOD, mapper.writeValueAsString(commitLog()));
+            pending.instanceCount().putAll(commitLog().instanceCount());
+            pending.attributes().putAll(commitLog().attributes());
             commitLog().clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try{
+            String response = EngineCommunicator.contactEngine(endPoint, REST.HttpConn.POST_METHOD, mapper.writeValueAsString(pending));
             return Optional.of("Response from engine [" + response + "]");
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
-        } finally {
-            lock.writeLock().unlock();
+        } catch (RuntimeException e) {
+            addNewInstances(pending.instanceCount());
+            lockDataAddition(() -> pending.attributes().forEach((key, value) ->
+                    commitLog().attributes().merge(key, value, (v1, v2) -> {
+                        v1.addAll(v2);
+                        return v1;
+                    })));
+            throw e;
         }
     }
 
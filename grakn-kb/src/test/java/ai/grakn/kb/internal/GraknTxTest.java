@@ -25,6 +25,7 @@ import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
@@ -37,6 +38,7 @@ import ai.grakn.exception.InvalidKBException;
 import ai.grakn.factory.EmbeddedGraknSession;
 import ai.grakn.kb.internal.concept.EntityTypeImpl;
 import ai.grakn.kb.internal.structure.Shard;
+import ai.grakn.kb.log.CommitLog;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.VerificationException;
@@ -44,6 +46,7 @@ import org.hamcrest.core.IsInstanceOf;
 import org.junit.Test;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -410,6 +413,16 @@ public class GraknTxTest extends TxTestBase {
         assertEquals(2L, tx.getShardCount(entity));
     }
 
+    @Test
+    public void whenCommittingOnlySchema_EnsureTheMetaTypeIsLoggedWithoutNewInstances(){
+        tx.putEntityType("my amazing entity type");
+        ConceptId thing = tx.getMetaConcept().id();
+
+        CommitLog commitLog = tx.commitSubmitNoLogs().get();
+
+        assertEquals(Collections.singletonMap(thing, 0L), commitLog.instanceCount());
+    }
+
     @Test
     public void whenGettingSupsOfASchemaConcept_ResultIncludesMetaThing() {
         EntityType yes = tx.putEntityType("yes");
@@ -19,9 +19,12 @@
 package ai.grakn.kb.internal;
 
 import ai.grakn.Grakn;
+import ai.grakn.GraknConfigKey;
 import ai.grakn.GraknTx;
 import ai.grakn.GraknTxType;
 import ai.grakn.Keyspace;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.exception.GraknTxOperationException;
 import ai.grakn.exception.InvalidKBException;
 import ai.grakn.factory.EmbeddedGraknSession;
@@ -30,6 +33,7 @@ import org.junit.Test;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -68,6 +72,44 @@ public class GraknTxTinkerTest extends TxTestBase {
         }
     }
 
+    @Test
+    public void whenCreatingTheSameAttributeConcurrentlyWithTheGuardEnabled_TheAttributeIsReused() throws ExecutionException, InterruptedException {
+        EmbeddedGraknSession session = EmbeddedGraknSession.create(Keyspace.of("guardedattributes"), Grakn.IN_MEMORY);
+        session.config().setConfigProperty(GraknConfigKey.ATTRIBUTE_GUARD_TIMEOUT_MS, 10_000);
+        try(GraknTx graph = session.transaction(GraknTxType.WRITE)){
+            graph.putAttributeType("name", AttributeType.DataType.STRING);
+            graph.commit();
+        }
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Future<ConceptId>> futures = new HashSet<>();
+        for(int i = 0; i < threads; i ++){
+            futures.add(pool.submit(() -> {
+                try(GraknTx graph = session.transaction(GraknTxType.WRITE)){
+                    start.await();
+                    ConceptId id = graph.<String>getAttributeType("name").create("alice").id();
+                    graph.commit();
+                    return id;
+                }
+            }));
+        }
+        start.countDown();
+
+        Set<ConceptId> ids = new HashSet<>();
+        for (Future<ConceptId> future : futures) {
+            ids.add(future.get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, ids.size());
+        try(GraknTx graph = session.transaction(GraknTxType.READ)){
+            assertEquals(1, graph.getAttributeType("name").instances().count());
+        }
+        session.close();
+    }
+
     @Test
     public void whenClearingGraph_EnsureGraphIsClosedAndRealodedWhenNextOpening(){
         tx.putEntityType("entity type");
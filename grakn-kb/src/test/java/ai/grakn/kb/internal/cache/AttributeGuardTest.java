@@ -0,0 +1,70 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.concept.ConceptId;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AttributeGuardTest {
+
+    @Test
+    public void whenGuardIsHeldByAnotherTransaction_AcquiringItTimesOut(){
+        AttributeGuard guard = new AttributeGuard(10);
+        Set<Semaphore> tx1 = new HashSet<>();
+        Set<Semaphore> tx2 = new HashSet<>();
+
+        assertTrue(guard.acquire("index", tx1));
+        assertTrue(guard.acquire("index", tx1));
+        assertFalse(guard.acquire("index", tx2));
+
+        guard.release(tx1);
+        assertTrue(guard.acquire("index", tx2));
+    }
+
+    @Test
+    public void whenGuardIsReleasedWhileWaiting_ItIsAcquiredAndTheCommittedAttributeIsFound() throws ExecutionException, InterruptedException {
+        AttributeGuard guard = new AttributeGuard(10_000);
+        Set<Semaphore> tx1 = new HashSet<>();
+        ConceptId attribute = ConceptId.of("attribute");
+
+        assertTrue(guard.acquire("index", tx1));
+        CompletableFuture<ConceptId> waiting = CompletableFuture.supplyAsync(() -> {
+            if (!guard.acquire("index", new HashSet<>())) return null;
+            return guard.recentAttribute("index");
+        });
+
+        assertNull(guard.recentAttribute("index"));
+        guard.committed(ImmutableMap.of("index", attribute));
+        guard.release(tx1);
+
+        assertEquals(attribute, waiting.get());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016-2018 Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/agpl.txt>.
+ */
+
+package ai.grakn.kb.internal.cache;
+
+import ai.grakn.concept.Attribute;
+import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.factory.EmbeddedGraknSession;
+import ai.grakn.kb.internal.TxTestBase;
+import ai.grakn.kb.log.CommitLog;
+import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KeyspaceStatisticsTest extends TxTestBase {
+
+    @Test
+    public void whenIncrementingCounts_OnlyKnownCountsAreUpdated(){
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        ConceptId known = ConceptId.of("known");
+        ConceptId unknown = ConceptId.of("unknown");
+
+        statistics.setInstanceCount(known, 10L);
+        statistics.increment(ImmutableMap.of(known, -3L, unknown, 5L));
+
+        assertEquals(7L, (long) statistics.instanceCount(known));
+        assertNull(statistics.instanceCount(unknown));
+    }
+
+    @Test
+    public void whenCommittingNewInstances_CountsOfTheSessionAreIncremented(){
+        EntityType person = tx.putEntityType("person");
+        EntityType animal = tx.putEntityType("animal");
+        ConceptId personId = person.getId();
+        ConceptId animalId = animal.getId();
+        EmbeddedGraknSession txSession = tx.session();
+        txSession.statistics().setInstanceCount(personId, 0L);
+
+        person.create();
+        person.create();
+        animal.create();
+        tx.commit();
+
+        assertEquals(2L, (long) txSession.statistics().instanceCount(personId));
+        assertNull(txSession.statistics().instanceCount(animalId));
+    }
+
+    @Test
+    public void whenSeedingExactCounts_TheyAreUpdatedByCommits(){
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        statistics.enableExactCounts();
+        ConceptId type = ConceptId.of("type");
+
+        long version = statistics.exactCountsVersion().get();
+        assertTrue(statistics.setExactInstanceCounts(ImmutableMap.of(type, 10L), version));
+
+        statistics.committing();
+        statistics.committed(ImmutableMap.of(type, 2L), ImmutableMap.of());
+
+        assertEquals(ImmutableMap.of(type, 12L), statistics.exactInstanceCounts(ImmutableSet.of(type)).get());
+    }
+
+    @Test
+    public void whenCommittingRelationshipsStoredAsEdges_OnlyExactCountsAreUpdated(){
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        statistics.enableExactCounts();
+        ConceptId type = ConceptId.of("type");
+        statistics.setInstanceCount(type, 10L);
+        assertTrue(statistics.setExactInstanceCounts(ImmutableMap.of(type, 10L), statistics.exactCountsVersion().get()));
+
+        statistics.committing();
+        statistics.committed(ImmutableMap.of(), ImmutableMap.of(type, 3L));
+
+        assertEquals(10L, (long) statistics.instanceCount(type));
+        assertEquals(ImmutableMap.of(type, 13L), statistics.exactInstanceCounts(ImmutableSet.of(type)).get());
+    }
+
+    @Test
+    public void whenCommittingWhileCounting_ExactCountsAreNotSeeded(){
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        statistics.enableExactCounts();
+        ConceptId type = ConceptId.of("type");
+
+        long version = statistics.exactCountsVersion().get();
+        statistics.committing();
+        assertFalse(statistics.exactCountsVersion().isPresent());
+        statistics.committed(ImmutableMap.of(type, 2L), ImmutableMap.of());
+
+        assertFalse(statistics.setExactInstanceCounts(ImmutableMap.of(type, 10L), version));
+        assertFalse(statistics.exactInstanceCounts(ImmutableSet.of(type)).isPresent());
+    }
+
+    @Test
+    public void whenExactCountsAreNotEnabledOrInvalidated_TheyAreUnknown(){
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        ConceptId type = ConceptId.of("type");
+        assertFalse(statistics.exactCountsVersion().isPresent());
+        assertFalse(statistics.setExactInstanceCounts(ImmutableMap.of(type, 10L), 0));
+
+        statistics.enableExactCounts();
+        assertTrue(statistics.setExactInstanceCounts(ImmutableMap.of(type, 10L), statistics.exactCountsVersion().get()));
+        statistics.invalidateExactCounts();
+
+        assertFalse(statistics.exactInstanceCounts(ImmutableSet.of(type)).isPresent());
+    }
+
+    @Test
+    public void whenExactCountsAreDisabled_TheyCannotBeSeededAgain(){
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        statistics.enableExactCounts();
+        ConceptId type = ConceptId.of("type");
+        assertTrue(statistics.setExactInstanceCounts(ImmutableMap.of(type, 10L), statistics.exactCountsVersion().get()));
+
+        statistics.disableExactCounts();
+
+        assertFalse(statistics.exactInstanceCounts(ImmutableSet.of(type)).isPresent());
+        assertFalse(statistics.exactCountsVersion().isPresent());
+    }
+
+    @Test
+    public void whenAddingAndRemovingAttributeEdges_ImplicitRelationshipsAreCounted(){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        EntityType person = tx.putEntityType("person").has(name);
+        ConceptId hasName = tx.getSchemaConcept(Schema.ImplicitType.HAS.getLabel(name.label())).id();
+
+        Entity alice = person.create().has(name.create("alice"));
+        person.create().has(name.create("bob"));
+        assertEquals(2L, (long) tx.txCache().getEdgeInstanceCount().get(hasName));
+        assertNull(tx.txCache().getShardingCount().get(hasName));
+
+        alice.delete();
+        assertEquals(1L, (long) tx.txCache().getEdgeInstanceCount().get(hasName));
+    }
+
+    @Test
+    public void whenCommittingOnlyAttributeEdges_TheirTypesAreLoggedWithoutNewInstances(){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        EntityType person = tx.putEntityType("person").has(name);
+        ConceptId personId = person.create().id();
+        ConceptId aliceId = name.create("alice").id();
+        ConceptId hasName = tx.getSchemaConcept(Schema.ImplicitType.HAS.getLabel(name.label())).id();
+        tx.commit();
+
+        tx = tx();
+        Attribute<String> alice = tx.getConcept(aliceId);
+        tx.<Entity>getConcept(personId).has(alice);
+        CommitLog commitLog = tx.commitSubmitNoLogs().get();
+
+        assertEquals(ImmutableMap.of(hasName, 0L), commitLog.instanceCount());
+        assertTrue(commitLog.attributes().isEmpty());
+    }
+}
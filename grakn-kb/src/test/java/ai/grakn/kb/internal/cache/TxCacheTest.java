@@ -22,6 +22,7 @@ import ai.grakn.Grakn;
 import ai.grakn.GraknTxType;
 import ai.grakn.concept.Attribute;
 import ai.grakn.concept.AttributeType;
+import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Label;
@@ -36,6 +37,8 @@ import ai.grakn.kb.internal.structure.Casting;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -204,6 +207,30 @@ public class TxCacheTest extends TxTestBase {
         assertThat(cache.getModifiedCastings(), empty());
     }
 
+    @Test
+    public void whenCommittingTransactionsOnTheSameThread_EnsureEachCommitOnlyReportsItsOwnConnectedThings(){
+        tx.putEntityType("My Type");
+        tx.commit();
+
+        //Connect a thing and remove data
+        tx = session.transaction(GraknTxType.WRITE);
+        tx.getEntityType("My Type").create();
+        tx.getEntityType("My Type").create().delete();
+        tx.commit();
+
+        TxCache cache = tx.txCache();
+        assertThat(cache.getConnectedThings(), empty());
+        assertFalse(cache.hasDataBeenRemoved());
+
+        //Only connect a thing
+        long version = session.dataVersion();
+        tx = session.transaction(GraknTxType.WRITE);
+        ConceptId entity = tx.getEntityType("My Type").create().id();
+        tx.commit();
+
+        assertEquals(Optional.of(Collections.singleton(entity)), session.connectedThings(version, session.dataVersion()));
+    }
+
     @Test
     public void whenMutatingSuperTypeOfConceptCreatedInAnotherTransaction_EnsureTransactionBoundConceptIsMutated(){
         EntityType e1 = tx.putEntityType("e1");
@@ -31,6 +31,7 @@ import ai.grakn.exception.PropertyNotUniqueException;
 import ai.grakn.kb.internal.TxTestBase;
 import ai.grakn.kb.internal.structure.Shard;
 import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSet;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.junit.Before;
 import org.junit.Test;
@@ -436,6 +437,46 @@ public class EntityTypeTest extends TxTestBase {
         assertEquals(e1, shard.links().findAny().get());
     }
 
+    @Test
+    public void whenAddingInstancesToShardedType_EnsureTheyAreSpreadAcrossAllShards(){
+        EntityTypeImpl entityType = (EntityTypeImpl) tx.putEntityType("EntityType");
+        entityType.createShard();
+        for(int i = 0; i < 50; i ++) entityType.create();
+
+        Set<Shard> shards = entityType.shards().collect(toSet());
+        assertEquals(2, shards.size());
+        shards.forEach(shard -> assertTrue(shard.links().findAny().isPresent()));
+        assertEquals(50, entityType.instances().count());
+    }
+
+    @Test
+    public void whenRebalancingShards_EnsureInstancesAreMovedToTheNewShards(){
+        EntityTypeImpl entityType = (EntityTypeImpl) tx.putEntityType("EntityType");
+        Shard oldShard = entityType.currentShard();
+        for(int i = 0; i < 10; i ++) entityType.create();
+        Shard newShard = entityType.createShard();
+        Shard otherNewShard = entityType.createShard();
+
+        long moved = entityType.rebalanceShards(ImmutableSet.of(newShard.id(), otherNewShard.id()), 4);
+
+        assertEquals(4, moved);
+        assertEquals(2, newShard.links().count());
+        assertEquals(2, otherNewShard.links().count());
+        assertEquals(10 - 4, oldShard.links().count());
+        assertEquals(10, entityType.instances().count());
+    }
+
+    @Test
+    public void whenInstancesAreOnlyInOlderShards_EnsureTypeCannotBeDeleted(){
+        EntityTypeImpl entityType = (EntityTypeImpl) tx.putEntityType("EntityType");
+        entityType.create();
+        entityType.createShard();
+
+        expectedException.expect(GraknTxOperationException.class);
+
+        entityType.delete();
+    }
+
     @Test
     public void whenAddingTypeUsingReservedWord_ThrowReadableError(){
         String reservedWord = Schema.MetaSchema.THING.getLabel().getValue();